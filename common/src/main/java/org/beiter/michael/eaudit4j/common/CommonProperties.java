@@ -77,6 +77,36 @@ public class CommonProperties {
      */
     private boolean failOnMissingProcessors;
 
+    /**
+     * @see CommonProperties#setReloadDrainTimeout(int)
+     */
+    private int reloadDrainTimeout;
+
+    /**
+     * @see CommonProperties#setParallelInit(boolean)
+     */
+    private boolean parallelInit;
+
+    /**
+     * @see CommonProperties#setWarmUpEvents(int)
+     */
+    private int warmUpEvents;
+
+    /**
+     * @see CommonProperties#setWarmUpAuditStream(String)
+     */
+    private String warmUpAuditStream;
+
+    /**
+     * @see CommonProperties#setPayloadCompression(boolean)
+     */
+    private boolean payloadCompression;
+
+    /**
+     * @see CommonProperties#setPayloadDictionary(String)
+     */
+    private String payloadDictionary;
+
     /**
      * @see CommonProperties#setFieldNameEventType(String)
      */
@@ -178,6 +208,12 @@ public class CommonProperties {
         setDateFormat(properties.getDateFormat());
         setProcessors(properties.getProcessors());
         setFailOnMissingProcessors(properties.isFailOnMissingProcessors());
+        setReloadDrainTimeout(properties.getReloadDrainTimeout());
+        setParallelInit(properties.isParallelInit());
+        setWarmUpEvents(properties.getWarmUpEvents());
+        setWarmUpAuditStream(properties.getWarmUpAuditStream());
+        setPayloadCompression(properties.isPayloadCompression());
+        setPayloadDictionary(properties.getPayloadDictionary());
         setFieldNameEventType(properties.getFieldNameEventType());
         setFieldNameEventGroupType(properties.getFieldNameEventGroupType());
         setFieldNameSubject(properties.getFieldNameSubject());
@@ -190,7 +226,9 @@ public class CommonProperties {
         setFieldNameResult(properties.getFieldNameResult());
         setFieldNameResultSummary(properties.getFieldNameResultSummary());
         setFieldNameEventSummary(properties.getFieldNameEventSummary());
-        setAdditionalProperties(properties.getAdditionalProperties());
+        // the setter creates a defensive copy, so we can pass the source map directly instead of the copy returned by
+        // the getter (saves one map copy)
+        setAdditionalProperties(properties.additionalProperties);
     }
 
     /**
@@ -349,6 +387,183 @@ public class CommonProperties {
         this.failOnMissingProcessors = failOnMissingProcessors;
     }
 
+    /**
+     * @return the maximum time (in milliseconds) to wait for in-flight events when a processor chain is replaced
+     * @see CommonProperties#setReloadDrainTimeout(int)
+     */
+    public final int getReloadDrainTimeout() {
+
+        // no need for defensive copies of int
+
+        return reloadDrainTimeout;
+    }
+
+    /**
+     * The maximum time (in milliseconds) to wait for in-flight events to complete on a processor chain that is being
+     * replaced by a new processor chain when an audit chain is re-initialized at runtime.
+     * <p>
+     * The retired processors are cleaned up once all in-flight events have completed. If the in-flight events do not
+     * complete within this time, a warning is logged, and the retired processors are handed to a background thread,
+     * which cleans them up once the in-flight events have completed.
+     *
+     * @param reloadDrainTimeout the maximum time to wait for in-flight events (must be 0 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code reloadDrainTimeout} is out of range
+     */
+    public final void setReloadDrainTimeout(final int reloadDrainTimeout) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, reloadDrainTimeout);
+
+        // no need for defensive copies of int
+
+        this.reloadDrainTimeout = reloadDrainTimeout;
+    }
+
+    /**
+     * @return the indication of whether the processors of a processor chain are initialized concurrently
+     * @see CommonProperties#setParallelInit(boolean)
+     */
+    public final boolean isParallelInit() {
+
+        // no need for defensive copies of boolean
+
+        return parallelInit;
+    }
+
+    /**
+     * The indication of whether the processors of a processor chain are initialized concurrently (i.e. each
+     * processor's {@link Processor#init(CommonProperties)} method is called in a separate thread), or one after
+     * another. Only enable concurrent initialization if the initialization of the configured processors does not
+     * depend on the order in which they are initialized.
+     *
+     * @param parallelInit the indication of whether to initialize the processors concurrently
+     */
+    public final void setParallelInit(final boolean parallelInit) {
+
+        // no need for validation, as boolean cannot be null and all possible values are allowed
+        // no need for defensive copies of boolean
+
+        this.parallelInit = parallelInit;
+    }
+
+    /**
+     * @return the number of synthetic events to process when a processor chain is initialized
+     * @see CommonProperties#setWarmUpEvents(int)
+     */
+    public final int getWarmUpEvents() {
+
+        // no need for defensive copies of int
+
+        return warmUpEvents;
+    }
+
+    /**
+     * The number of synthetic events to push through a newly initialized processor chain before the chain is used
+     * for real events, e.g. to trigger JIT compilation and the seeding of random number generators.
+     * <p>
+     * The synthetic events are processed in the audit stream configured with
+     * {@link CommonProperties#setWarmUpAuditStream(String)}, and are not handed to the processors that persist events
+     * (see {@link Persisting}). Set this value to 0 to disable the warm-up.
+     *
+     * @param warmUpEvents the number of synthetic events to process (must be 0 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code warmUpEvents} is out of range
+     */
+    public final void setWarmUpEvents(final int warmUpEvents) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, warmUpEvents);
+
+        // no need for defensive copies of int
+
+        this.warmUpEvents = warmUpEvents;
+    }
+
+    /**
+     * @return The audit stream used for synthetic warm-up events
+     * @see CommonProperties#setWarmUpAuditStream(String)
+     */
+    public final String getWarmUpAuditStream() {
+
+        // no need for defensive copies of String
+
+        return warmUpAuditStream;
+    }
+
+    /**
+     * The audit stream used for the synthetic events that are processed when a processor chain is warmed up.
+     * <p>
+     * The synthetic events are not handed to the processors that persist events (see {@link Persisting}), so that
+     * no warm-up events end up in the audit trail.
+     *
+     * @param warmUpAuditStream The audit stream used for synthetic warm-up events
+     */
+    public final void setWarmUpAuditStream(final String warmUpAuditStream) {
+
+        // no need for validation, as the warm-up audit stream is only used if warm-up is enabled
+
+        // no need for defensive copies of String
+
+        this.warmUpAuditStream = warmUpAuditStream;
+    }
+
+    /**
+     * @return Whether processors that persist events store the serialized events compressed
+     * @see CommonProperties#setPayloadCompression(boolean)
+     */
+    public final boolean isPayloadCompression() {
+
+        // no need for defensive copies of boolean
+
+        return payloadCompression;
+    }
+
+    /**
+     * Whether processors that persist events store the serialized events compressed (as binary data), using the
+     * {@link PayloadCodec}.
+     * <p>
+     * The compression uses a preset dictionary derived from the configured field names and
+     * {@link CommonProperties#setPayloadDictionary(String)}. The events must be read with the same configuration that
+     * they have been written with.
+     *
+     * @param payloadCompression {@code true} to store the serialized events compressed
+     */
+    public final void setPayloadCompression(final boolean payloadCompression) {
+
+        // no need for validation, as boolean cannot be null and all possible values are allowed
+
+        // no need for defensive copies of boolean
+
+        this.payloadCompression = payloadCompression;
+    }
+
+    /**
+     * @return The additional values of the preset dictionary used to compress serialized events
+     * @see CommonProperties#setPayloadDictionary(String)
+     */
+    public final String getPayloadDictionary() {
+
+        // no need for defensive copies of String
+
+        return payloadDictionary;
+    }
+
+    /**
+     * Values that occur in many events (e.g. audit stream names, machine IDs, or the names of custom fields),
+     * separated by {@code ,}, which are added to the preset dictionary used to compress serialized events. The values
+     * that occur most often should be listed last.
+     * <p>
+     * Changing the dictionary changes the format of the compressed events: events that have been compressed with a
+     * different dictionary cannot be decompressed.
+     *
+     * @param payloadDictionary The additional values of the preset dictionary (may be {@code null})
+     */
+    public final void setPayloadDictionary(final String payloadDictionary) {
+
+        // no need for validation, as the dictionary is only used if payload compression is enabled
+
+        // no need for defensive copies of String
+
+        this.payloadDictionary = payloadDictionary;
+    }
+
     /**
      * @return The field name of the named field "Event Type"
      * @see CommonProperties#setFieldNameEventType(String)
@@ -87,6 +87,18 @@ public interface Event {
      */
     Field getField(String fieldName);
 
+    /**
+     * Retrieve the value of a field from the event, returning {@code null} if the field is not part of the event.
+     * <p>
+     * In contrast to {@link Event#getField(String)}, this method does not throw an exception when the field does not
+     * exist. Use this method instead of a combination of {@link Event#containsField(String)} and
+     * {@link Event#getField(String)} to retrieve optional fields.
+     *
+     * @param fieldName The name of the field to retrieve.
+     * @return The value of the specified field, or {@code null} if the field is not part of the Event
+     */
+    Field findField(String fieldName);
+
     /**
      * Retrieve a list of all fields (i.e. a list of field names) currently registered with the event.
      * <p>
@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A projection of event fields, mapping the names of fields in an {@link Event} (the source names) to the names that
+ * a processor uses to store or output the fields (the target names).
+ * <p>
+ * A projection is parsed once from a field list specification of the form {@code name[:alias],name[:alias],...},
+ * where the separators between the entries and between the field names and their aliases are configurable. If no
+ * alias is configured for a field, the target name is the source name.
+ * <p>
+ * Processors should parse their projections once (e.g. in {@link Processor#init(CommonProperties)}), and then use
+ * them on every event instead of parsing the field list specification for every event.
+ * <p>
+ * Instances of this class are immutable and thread safe.
+ */
+public final class FieldProjection {
+
+    /**
+     * An empty projection
+     */
+    private static final FieldProjection EMPTY = new FieldProjection(new String[0], new String[0]);
+
+    /**
+     * The names of the fields in the event
+     */
+    private final String[] sourceNames;
+
+    /**
+     * The names to use for the fields in the processor's output
+     */
+    private final String[] targetNames;
+
+    /**
+     * Create a new projection
+     *
+     * @param sourceNames The names of the fields in the event
+     * @param targetNames The names to use for the fields in the processor's output
+     */
+    private FieldProjection(final String[] sourceNames, final String[] targetNames) {
+
+        this.sourceNames = sourceNames;
+        this.targetNames = targetNames;
+    }
+
+    /**
+     * Parse a field list specification into a projection.
+     * <p>
+     * Blank entries in the field list specification, and entries without a field name (which cannot match any field
+     * in an event), are ignored. An entry with an empty or blank alias (e.g. {@code actor:}) uses the field name. A
+     * {@code null} or empty field list specification results in an empty projection.
+     *
+     * @param spec          The field list specification, e.g. {@code subject,actor:myActor}
+     * @param separator     The regular expression separating the entries in the specification, e.g. {@code ,}
+     * @param nameSeparator The regular expression separating a field name from its alias, e.g. {@code :}
+     * @return The parsed projection
+     * @throws NullPointerException     When {@code separator} or {@code nameSeparator} is {@code null}
+     * @throws IllegalArgumentException When {@code separator} or {@code nameSeparator} is empty, or when an entry in
+     *                                  the specification has more than one alias
+     */
+    // Need to validate sizes of the entry split to decide whether we use an alias, or the field name
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    public static FieldProjection parse(final String spec, final String separator, final String nameSeparator) {
+
+        Validate.notEmpty(separator, "The validated character sequence 'separator' is null or empty");
+        Validate.notEmpty(nameSeparator, "The validated character sequence 'nameSeparator' is null or empty");
+
+        if (spec == null || spec.isEmpty()) {
+            return EMPTY;
+        }
+
+        final String[] entries = spec.split(separator);
+        final List<String> sources = new ArrayList<>(entries.length);
+        final List<String> targets = new ArrayList<>(entries.length);
+
+        for (final String entry : entries) {
+
+            if (StringUtils.isBlank(entry)) {
+                continue;
+            }
+
+            // trailing empty strings are dropped, so that an entry with an empty alias (e.g. "a:") uses the field name
+            final String[] names = entry.split(nameSeparator);
+            if (names.length > 2) {
+                final String error = "The field name / alias mapping '" + entry + "' is invalid";
+                throw new IllegalArgumentException(error);
+            }
+            if (names.length == 0 || StringUtils.isBlank(names[0])) {
+                continue;
+            }
+
+            sources.add(names[0]);
+            targets.add(names.length == 2 && StringUtils.isNotBlank(names[1]) ? names[1] : names[0]);
+        }
+
+        return new FieldProjection(sources.toArray(new String[sources.size()]),
+                targets.toArray(new String[targets.size()]));
+    }
+
+    /**
+     * @return The number of fields in this projection
+     */
+    public int size() {
+
+        return sourceNames.length;
+    }
+
+    /**
+     * Return the name of a field in the event.
+     *
+     * @param index The index of the field in this projection
+     * @return The name of the field in the event
+     * @throws ArrayIndexOutOfBoundsException When {@code index} is not within {@code [0, size())}
+     */
+    public String getSourceName(final int index) {
+
+        // no need for defensive copies of String
+        return sourceNames[index];
+    }
+
+    /**
+     * Return the name to use for a field in the processor's output.
+     *
+     * @param index The index of the field in this projection
+     * @return The name to use for the field in the processor's output
+     * @throws ArrayIndexOutOfBoundsException When {@code index} is not within {@code [0, size())}
+     */
+    public String getTargetName(final int index) {
+
+        // no need for defensive copies of String
+        return targetNames[index];
+    }
+}
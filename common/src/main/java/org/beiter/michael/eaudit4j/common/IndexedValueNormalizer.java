@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Prepares the values of indexed fields for storage: truncates them to the configured maximum length, optionally
+ * converts them to lowercase, and normalizes them to NFC form for deterministic search.
+ * <p>
+ * The configuration is evaluated once when the object is created. Values that consist of ASCII characters only (which
+ * is the common case for identifiers) are detected in a single scan, and are converted without locale-aware case
+ * mapping and without NFC normalization: ASCII text is always in NFC form, and the ASCII case mapping is only used if
+ * the configured locale maps {@code A-Z} to {@code a-z}. All other values take the general path.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+public final class IndexedValueNormalizer {
+
+    /**
+     * The largest buffer that is kept for re-use by a thread. Larger values use a temporary buffer.
+     */
+    private static final int MAX_RETAINED_BUFFER_LENGTH = 4096;
+
+    /**
+     * The first non-ASCII character
+     */
+    private static final char NON_ASCII = 0x80;
+
+    /**
+     * The distance between an uppercase ASCII letter and its lowercase counterpart
+     */
+    private static final int ASCII_CASE_OFFSET = 'a' - 'A';
+
+    /**
+     * The maximum length of a value
+     */
+    private final int maxLength;
+
+    /**
+     * Whether values are converted to lowercase
+     */
+    private final boolean toLower;
+
+    /**
+     * The locale used for converting values to lowercase
+     */
+    private final Locale locale;
+
+    /**
+     * Whether ASCII values can take the fast path, i.e. whether the case mapping of the locale is the ASCII case
+     * mapping (if values are converted to lowercase at all)
+     */
+    private final boolean asciiFastPath;
+
+    /**
+     * A per-thread buffer for converting ASCII values to lowercase
+     */
+    private final ThreadLocal<char[]> buffer = new ThreadLocal<>();
+
+    /**
+     * Create a normalizer for the provided configuration.
+     *
+     * @param maxLength The maximum length of a value, longer values are truncated before they are converted
+     * @param toLower   Whether values are converted to lowercase
+     * @param locale    The locale used for converting values to lowercase
+     */
+    public IndexedValueNormalizer(final int maxLength, final boolean toLower, final Locale locale) {
+
+        this.maxLength = maxLength;
+        this.toLower = toLower;
+        this.locale = locale;
+
+        // some locales (e.g. Turkish) map uppercase ASCII letters to non-ASCII lowercase letters
+        this.asciiFastPath = !toLower
+                || "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toLowerCase(locale).equals("abcdefghijklmnopqrstuvwxyz");
+    }
+
+    /**
+     * Truncate, convert, and normalize a value as configured.
+     *
+     * @param value The value of the indexed field (not modified by this method)
+     * @return The value to store
+     */
+    // suppress warnings about comparing to characters - this is what this method is for
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    public String normalize(final char[] value) {
+
+        // truncate before converting, so that only the characters that are stored are processed
+        final int length = Math.min(value.length, maxLength);
+
+        if (!asciiFastPath) {
+            return normalizeGeneral(value, length);
+        }
+
+        // scan the value once, converting ASCII characters to lowercase on the way if needed
+        final char[] lower = toLower ? getBuffer(length) : null;
+        for (int i = 0; i < length; i++) {
+
+            final char c = value[i];
+            if (c >= NON_ASCII) {
+                return normalizeGeneral(value, length);
+            }
+            if (lower != null) {
+                lower[i] = c >= 'A' && c <= 'Z' ? (char) (c + ASCII_CASE_OFFSET) : c;
+            }
+        }
+
+        return lower == null ? new String(value, 0, length) : new String(lower, 0, length);
+    }
+
+    /**
+     * Convert and normalize a value that may contain non-ASCII characters.
+     *
+     * @param value  The value of the indexed field
+     * @param length The length of the value after truncation
+     * @return The value to store
+     */
+    private String normalizeGeneral(final char[] value, final int length) {
+
+        String result = new String(value, 0, length);
+
+        if (toLower) {
+            result = result.toLowerCase(locale);
+        }
+
+        return Normalizer.normalize(result, Normalizer.Form.NFC);
+    }
+
+    /**
+     * Get a buffer of at least the requested length, re-using the buffer of the current thread if possible.
+     *
+     * @param length The requested length (at most the maximum length of a value)
+     * @return A buffer
+     */
+    private char[] getBuffer(final int length) {
+
+        if (length > MAX_RETAINED_BUFFER_LENGTH) {
+            return new char[length];
+        }
+
+        // the retained buffer is large enough for any truncated value that does not exceed the retention limit
+        char[] chars = buffer.get();
+        if (chars == null) {
+            chars = new char[Math.min(maxLength, MAX_RETAINED_BUFFER_LENGTH)];
+            buffer.set(chars);
+        }
+
+        return chars;
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.beiter.michael.eaudit4j.common.impl.AuditEvent;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses serialized events (see {@link Event#toJson(String)}) for storage, and decompresses them again.
+ * <p>
+ * The serialized events are highly repetitive (field names, audit stream names, machine IDs, ...), but are usually
+ * too short for a general purpose compressor to learn from. This codec compresses with DEFLATE and a preset
+ * dictionary, derived from the record format, the configured field names, and the values configured with
+ * {@link CommonProperties#setPayloadDictionary(String)}, so that even the first occurrence of these values in an event
+ * is compressed.
+ * <p>
+ * The compressed payload starts with a header of {@link PayloadCodec#HEADER_LENGTH} bytes:
+ * <ul>
+ * <li>2 bytes: the magic number {@code 0xEA 0x4A}</li>
+ * <li>1 byte: the format version ({@code 1})</li>
+ * <li>1 byte: the compression method ({@code 0} for uncompressed UTF-8, {@code 1} for DEFLATE with the preset
+ * dictionary)</li>
+ * <li>4 bytes: the Adler-32 checksum of the preset dictionary (big endian)</li>
+ * </ul>
+ * followed by the payload (a zlib stream, or UTF-8 text). Payloads that do not become smaller when compressed are
+ * stored uncompressed. Payloads without the header are decoded as UTF-8 text, so that uncompressed events that have
+ * been stored in the same (binary) column can be read as well.
+ * <p>
+ * Payloads can only be decompressed with the dictionary that they have been compressed with, i.e. with the same
+ * field name and dictionary configuration.
+ * <p>
+ * Instances of this class are thread safe. The compressors and decompressors hold native memory, and are pooled for
+ * re-use until the codec is closed with {@link PayloadCodec#close()}. A closed codec can still be used, but releases
+ * its compressors and decompressors after every use.
+ */
+public final class PayloadCodec
+        implements Closeable {
+
+    /**
+     * The length of the header of a compressed payload
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    /**
+     * The first byte of the magic number
+     */
+    private static final byte MAGIC_0 = (byte) 0xEA;
+
+    /**
+     * The second byte of the magic number
+     */
+    private static final byte MAGIC_1 = (byte) 0x4A;
+
+    /**
+     * The version of the payload format
+     */
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * The compression method of payloads that are stored uncompressed
+     */
+    private static final byte METHOD_STORED = 0;
+
+    /**
+     * The compression method of payloads that are compressed with DEFLATE and the preset dictionary
+     */
+    private static final byte METHOD_DEFLATE = 1;
+
+    /**
+     * The maximum length of the preset dictionary (the DEFLATE window size)
+     */
+    private static final int MAX_DICTIONARY_LENGTH = 32 * 1024;
+
+    /**
+     * The separator of the values configured with {@link CommonProperties#setPayloadDictionary(String)}
+     */
+    private static final String DICTIONARY_SEPARATOR = ",";
+
+    /**
+     * The preset dictionary
+     */
+    private final byte[] dictionary;
+
+    /**
+     * The Adler-32 checksum of the preset dictionary
+     */
+    private final int dictionaryId;
+
+    /**
+     * The idle compressors, which grow to the number of threads compressing at the same time
+     */
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The idle decompressors, which grow to the number of threads decompressing at the same time
+     */
+    private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether the codec has been closed, i.e. whether the compressors and decompressors are released after use
+     */
+    private volatile boolean closed;
+
+    /**
+     * Create a codec with the preset dictionary derived from the provided configuration.
+     *
+     * @param properties The configuration (field names and payload dictionary)
+     * @throws NullPointerException When {@code properties} is {@code null}
+     */
+    public PayloadCodec(final CommonProperties properties) {
+
+        Validate.notNull(properties, "The validated object 'properties' is null");
+
+        this.dictionary = createDictionary(properties);
+
+        final Adler32 adler = new Adler32();
+        adler.update(dictionary, 0, dictionary.length);
+        this.dictionaryId = (int) adler.getValue();
+    }
+
+    /**
+     * Compress a serialized event.
+     *
+     * @param payload The serialized event
+     * @return The compressed payload, including the header
+     * @throws NullPointerException When {@code payload} is {@code null}
+     */
+    public byte[] encode(final String payload) {
+
+        Validate.notNull(payload, "The validated object 'payload' is null");
+
+        final byte[] input = payload.getBytes(StandardCharsets.UTF_8);
+
+        // the compressed payload must be smaller than the uncompressed payload, otherwise we store it uncompressed
+        final byte[] output = new byte[HEADER_LENGTH + input.length];
+        int length = HEADER_LENGTH;
+        final boolean finished;
+
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater();
+        }
+        try {
+            deflater.setDictionary(dictionary);
+            deflater.setInput(input);
+            deflater.finish();
+
+            while (!deflater.finished() && length < output.length) {
+                length += deflater.deflate(output, length, output.length - length);
+            }
+            finished = deflater.finished();
+        } finally {
+            deflater.reset();
+            release(deflater);
+        }
+
+        if (finished && length < output.length) {
+            writeHeader(output, METHOD_DEFLATE);
+            return Arrays.copyOf(output, length);
+        }
+
+        System.arraycopy(input, 0, output, HEADER_LENGTH, input.length);
+        writeHeader(output, METHOD_STORED);
+        return output;
+    }
+
+    /**
+     * Decompress a serialized event. Payloads without a header are decoded as UTF-8 text.
+     *
+     * @param data The compressed payload, including the header
+     * @return The serialized event
+     * @throws NullPointerException     When {@code data} is {@code null}
+     * @throws IllegalArgumentException When the payload has an unsupported format, has been compressed with a different
+     *                                  dictionary, or is corrupt
+     */
+    public String decode(final byte[] data) {
+
+        Validate.notNull(data, "The validated object 'data' is null");
+
+        if (!isEncoded(data)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+
+        Validate.isTrue(data[2] == FORMAT_VERSION, "Unsupported payload format version: %s", data[2]);
+
+        if (data[3] == METHOD_STORED) {
+            return new String(data, HEADER_LENGTH, data.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+        }
+
+        Validate.isTrue(data[3] == METHOD_DEFLATE, "Unsupported payload compression method: %s", data[3]);
+        Validate.isTrue(readInt(data, 4) == dictionaryId,
+                "The payload has been compressed with a different dictionary");
+
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+
+        try {
+            inflater.setInput(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+
+            // serialized events compress well, start with a buffer of a few times the compressed size
+            byte[] output = new byte[Math.max(64, 4 * data.length)];
+            int length = 0;
+            while (!inflater.finished()) {
+
+                if (length == output.length) {
+                    output = Arrays.copyOf(output, 2 * output.length);
+                }
+
+                final int inflated = inflater.inflate(output, length, output.length - length);
+                length += inflated;
+
+                if (inflated == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalArgumentException("The compressed payload is truncated");
+                    }
+                }
+            }
+
+            return new String(output, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("The compressed payload is corrupt", e);
+        } finally {
+            inflater.reset();
+            release(inflater);
+        }
+    }
+
+    /**
+     * Release the native memory of the idle compressors and decompressors, and stop pooling them. Compressors and
+     * decompressors that are in use are released when the ongoing operation completes.
+     * <p>
+     * The codec can still be used after it has been closed, but creates a new compressor or decompressor for every
+     * operation.
+     */
+    @Override
+    public void close() {
+
+        closed = true;
+
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+
+        Inflater inflater;
+        while ((inflater = inflaters.poll()) != null) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Check whether a payload starts with the header of a compressed payload.
+     *
+     * @param data The payload
+     * @return {@code true} if the payload starts with the header
+     * @throws NullPointerException When {@code data} is {@code null}
+     */
+    public static boolean isEncoded(final byte[] data) {
+
+        Validate.notNull(data, "The validated object 'data' is null");
+
+        return data.length >= HEADER_LENGTH && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+
+    /**
+     * Return a compressor to the pool, or release its native memory if the codec has been closed.
+     *
+     * @param deflater The compressor, which has been reset
+     */
+    private void release(final Deflater deflater) {
+
+        deflaters.offer(deflater);
+
+        // the codec may have been closed concurrently, in which case the compressor may have missed the clean up
+        if (closed && deflaters.remove(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Return a decompressor to the pool, or release its native memory if the codec has been closed.
+     *
+     * @param inflater The decompressor, which has been reset
+     */
+    private void release(final Inflater inflater) {
+
+        inflaters.offer(inflater);
+
+        // the codec may have been closed concurrently, in which case the decompressor may have missed the clean up
+        if (closed && inflaters.remove(inflater)) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @return The number of idle compressors and decompressors in the pool
+     */
+    int getPoolSize() {
+
+        return deflaters.size() + inflaters.size();
+    }
+
+    /**
+     * @return The Adler-32 checksum of the preset dictionary
+     */
+    int getDictionaryId() {
+
+        return dictionaryId;
+    }
+
+    /**
+     * Write the header of a compressed payload.
+     *
+     * @param output The compressed payload
+     * @param method The compression method
+     */
+    private void writeHeader(final byte[] output, final byte method) {
+
+        output[0] = MAGIC_0;
+        output[1] = MAGIC_1;
+        output[2] = FORMAT_VERSION;
+        output[3] = method;
+        output[4] = (byte) (dictionaryId >>> 24);
+        output[5] = (byte) (dictionaryId >>> 16);
+        output[6] = (byte) (dictionaryId >>> 8);
+        output[7] = (byte) dictionaryId;
+    }
+
+    /**
+     * Read a big endian int.
+     *
+     * @param data   The data
+     * @param offset The offset of the int
+     * @return The int
+     */
+    private static int readInt(final byte[] data, final int offset) {
+
+        return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16
+                | (data[offset + 2] & 0xFF) << 8 | data[offset + 3] & 0xFF;
+    }
+
+    /**
+     * Create the preset dictionary: the configured values, the field names, and the record format. DEFLATE encodes
+     * matches close to the end of the dictionary with the fewest bits, which is why the strings that occur in every
+     * event are added last.
+     *
+     * @param properties The configuration
+     * @return The preset dictionary
+     */
+    private static byte[] createDictionary(final CommonProperties properties) {
+
+        final StringBuilder builder = new StringBuilder();
+
+        // the configured values, the most common values last
+        final String[] values = StringUtils.split(properties.getPayloadDictionary(), DICTIONARY_SEPARATOR);
+        if (values != null) {
+            for (final String value : values) {
+                builder.append(value.trim());
+            }
+        }
+
+        // the field names, in the form they occur in the serialized event
+        final String[] fieldNames = {
+                properties.getFieldNameEventSummary(),
+                properties.getFieldNameResultSummary(),
+                properties.getFieldNameContentBeforeOperation(),
+                properties.getFieldNameContentAfterOperation(),
+                properties.getFieldNameObjectLocation(),
+                properties.getFieldNameSubjectLocation(),
+                properties.getFieldNameEventGroupType(),
+                properties.getFieldNameEventType(),
+                properties.getFieldNameResult(),
+                properties.getFieldNameObject(),
+                properties.getFieldNameActor(),
+                properties.getFieldNameSubject()
+        };
+        for (final String fieldName : fieldNames) {
+            if (fieldName != null) {
+                builder.append("\",\"").append(fieldName).append("\":\"");
+            }
+        }
+
+        // the record format, which starts every serialized event
+        builder.append("{\"version\":\"").append(AuditEvent.FORMAT_VERSION).append("\",\"fields\":{\"");
+
+        final byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= MAX_DICTIONARY_LENGTH
+                ? bytes : Arrays.copyOfRange(bytes, bytes.length - MAX_DICTIONARY_LENGTH, bytes.length);
+    }
+}
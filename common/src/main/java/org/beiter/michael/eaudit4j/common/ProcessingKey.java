@@ -0,0 +1,173 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed key to store and retrieve objects in {@link ProcessingObjects}.
+ * <p>
+ * Each object name is assigned a slot index the first time a key is created for that name. The slot index is shared
+ * by all keys of the same name, and allows {@link ProcessingObjects} to store and retrieve the object with a single
+ * array access instead of a map lookup. Processors should create the keys they need once (e.g. in
+ * {@link Processor#init(CommonProperties)}), and then use them on every event.
+ * <p>
+ * Keys of the same name but with a different type share the same slot. The type is checked when the object is
+ * retrieved from the {@link ProcessingObjects}.
+ * <p>
+ * Instances of this class are immutable and thread safe.
+ *
+ * @param <T> The type of the object referenced by this key
+ */
+public final class ProcessingKey<T> {
+
+    /**
+     * The slot indexes assigned to object names
+     */
+    private static final ConcurrentHashMap<String, Integer> SLOTS = new ConcurrentHashMap<>();
+
+    /**
+     * The next slot index to assign
+     */
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    /**
+     * The name of the object referenced by this key
+     */
+    private final String name;
+
+    /**
+     * The type of the object referenced by this key
+     */
+    private final Class<T> type;
+
+    /**
+     * The slot index of the object referenced by this key
+     */
+    private final int index;
+
+    /**
+     * Create a new key
+     *
+     * @param name  The name of the object referenced by this key
+     * @param type  The type of the object referenced by this key
+     * @param index The slot index of the object referenced by this key
+     */
+    private ProcessingKey(final String name, final Class<T> type, final int index) {
+
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    /**
+     * Return a key for an object of the specified name and type.
+     * <p>
+     * The slot index for the name is assigned when this method is called for the name for the first time, and then
+     * re-used for all subsequent calls with the same name.
+     *
+     * @param name The name of the object
+     * @param type The type of the object
+     * @param <T>  The type of the object
+     * @return A key to store and retrieve the object in {@link ProcessingObjects}
+     * @throws NullPointerException     When {@code name} or {@code type} is {@code null}
+     * @throws IllegalArgumentException When {@code name} is empty
+     */
+    public static <T> ProcessingKey<T> of(final String name, final Class<T> type) {
+
+        Validate.notBlank(name, "The validated character sequence 'name' is null or empty");
+        Validate.notNull(type, "The validated object 'type' is null");
+
+        Integer slot = SLOTS.get(name);
+        if (slot == null) {
+
+            // we may waste a slot index if two threads register the same name concurrently, but this is cheaper than
+            // locking, and only happens once per name
+            final Integer newSlot = NEXT_SLOT.getAndIncrement();
+            final Integer existingSlot = SLOTS.putIfAbsent(name, newSlot);
+            slot = existingSlot == null ? newSlot : existingSlot;
+        }
+
+        return new ProcessingKey<>(name, type, slot);
+    }
+
+    /**
+     * Return the slot index that has been assigned to an object name.
+     *
+     * @param name The name of the object
+     * @return The slot index, or {@code -1} if no key has been created for the name
+     */
+    static int slotOf(final String name) {
+
+        final Integer slot = SLOTS.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Return the number of slot indexes that have been assigned so far.
+     *
+     * @return The number of slots
+     */
+    static int slotCount() {
+
+        return NEXT_SLOT.get();
+    }
+
+    /**
+     * @return The name of the object referenced by this key
+     */
+    public String getName() {
+
+        // no need for defensive copies of String
+        return name;
+    }
+
+    /**
+     * @return The type of the object referenced by this key
+     */
+    public Class<T> getType() {
+
+        return type;
+    }
+
+    /**
+     * @return The slot index of the object referenced by this key
+     */
+    public int getIndex() {
+
+        return index;
+    }
+}
@@ -38,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +51,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * Examples for such object include, for instance, a data source object that can be used by a processor to persist
  * data to a database.
+ * <p>
+ * Objects can be stored and retrieved by name, or through a typed {@link ProcessingKey}. Objects whose name has been
+ * registered as a {@link ProcessingKey} are additionally stored in an array slot, which allows retrieving them with
+ * {@link ProcessingObjects#find(ProcessingKey)} at the cost of a single array access. The array slots are not safe for
+ * concurrent modification: an instance of this class should only be populated by one thread at a time. Instances can
+ * be re-used (e.g. per thread) by calling {@link ProcessingObjects#clear()} between events.
  */
 // suppress warnings about the constructor (required for producing java docs)
 @SuppressWarnings("PMD.UnnecessaryConstructor")
@@ -65,6 +72,11 @@ public class ProcessingObjects {
      */
     private final Map<String, Object> objects = new ConcurrentHashMap<>();
 
+    /**
+     * The objects registered through a {@link ProcessingKey}, indexed by {@link ProcessingKey#getIndex()}.
+     */
+    private Object[] slots = new Object[ProcessingKey.slotCount()];
+
     /**
      * Constructs an empty set of processing objects.
      * <p>
@@ -93,9 +105,39 @@ public class ProcessingObjects {
 
         objects.put(name, value);
 
+        // if a key has been created for this name, also store the object in its slot
+        final int slot = ProcessingKey.slotOf(name);
+        if (slot >= 0) {
+            setSlot(slot, value);
+        }
+
         return name;
     }
 
+    /**
+     * Add an object to this structure using a typed key.
+     * <p>
+     * This is equivalent to {@link ProcessingObjects#add(String, Object)} with the name of the key, but skips the
+     * lookup of the key's slot. Note that this method does <strong>not</strong> create a defensive copy of the
+     * provided {@code Object}).
+     *
+     * @param key   The key of the object to add
+     * @param value The object to add
+     * @param <T>   The type of the object
+     * @return The name of the object that was added to the event
+     * @throws NullPointerException When {@code key} or {@code value} is {@code null}
+     */
+    public final <T> String put(final ProcessingKey<T> key, final T value) {
+
+        Validate.notNull(key, "The validated object 'key' is null");
+        Validate.notNull(value, "The validated object 'object' is null");
+
+        objects.put(key.getName(), value);
+        setSlot(key.getIndex(), value);
+
+        return key.getName();
+    }
+
     /**
      * Checks if this structure contains an object with the specified name.
      *
@@ -121,6 +163,11 @@ public class ProcessingObjects {
 
         Validate.notBlank(name, "The validated character sequence 'name' is null or empty");
 
+        final int slot = ProcessingKey.slotOf(name);
+        if (slot >= 0 && slot < slots.length) {
+            slots[slot] = null;
+        }
+
         // return "true" if the field was found in the map, "false" otherwise
         return objects.remove(name) != null;
     }
@@ -140,16 +187,74 @@ public class ProcessingObjects {
 
         Validate.notBlank(name, "The validated character sequence 'name' is null or empty");
 
-        if (!objects.containsKey(name)) {
+        final Object value = objects.get(name);
+        if (value == null) {
             final String error = "The object " + name + " is not part of this structure.";
             LOG.info(error);
             throw new NoSuchElementException(error);
         }
 
+        // return the original (not a defensive copy!) of the requested object
+        return value;
+    }
+
+    /**
+     * Retrieve an object from this structure, returning {@code null} if the object is not present.
+     * <p>
+     * In contrast to {@link ProcessingObjects#get(String)}, this method does not throw an exception when the object
+     * does not exist. Note that this method returns original objects, and does not make defensive copies.
+     *
+     * @param name The name of the object to retrieve.
+     * @return The object, or {@code null} if the object is not part of this structure
+     * @throws NullPointerException     When {@code name} is {@code null}
+     * @throws IllegalArgumentException When {@code name} is empty
+     */
+    public final Object find(final String name) {
+
+        Validate.notBlank(name, "The validated character sequence 'name' is null or empty");
+
         // return the original (not a defensive copy!) of the requested object
         return objects.get(name);
     }
 
+    /**
+     * Retrieve an object from this structure using a typed key, returning {@code null} if the object is not present.
+     * <p>
+     * This method does not throw an exception when the object does not exist, and is the preferred method to retrieve
+     * objects on the event processing path. Note that this method returns original objects, and does not make
+     * defensive copies.
+     *
+     * @param key The key of the object to retrieve.
+     * @param <T> The type of the object
+     * @return The object, or {@code null} if the object is not part of this structure, or is not of the key's type
+     * @throws NullPointerException When {@code key} is {@code null}
+     */
+    public final <T> T find(final ProcessingKey<T> key) {
+
+        Validate.notNull(key, "The validated object 'key' is null");
+
+        final int slot = key.getIndex();
+        Object value = slot < slots.length ? slots[slot] : null;
+
+        // fall back to the map if the object has been added before the key was created
+        if (value == null) {
+            value = objects.get(key.getName());
+        }
+
+        return key.getType().isInstance(value) ? key.getType().cast(value) : null;
+    }
+
+    /**
+     * Remove all objects from this structure.
+     * <p>
+     * Use this method to re-use an instance of this class for the next event instead of creating a new instance.
+     */
+    public final void clear() {
+
+        objects.clear();
+        Arrays.fill(slots, null);
+    }
+
     /**
      * Retrieve a list of all objects (i.e. a list of objects names) currently included in this structure.
      * <p>
@@ -177,4 +282,18 @@ public class ProcessingObjects {
         // wrap the result to help the caller avoid accidental modifications...
         return Collections.unmodifiableList(objectNames);
     }
+
+    /**
+     * Store an object in a slot, growing the slot array if keys have been created after this instance was created.
+     *
+     * @param slot  The slot index
+     * @param value The object to store
+     */
+    private void setSlot(final int slot, final Object value) {
+
+        if (slot >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(slot + 1, ProcessingKey.slotCount()));
+        }
+        slots[slot] = value;
+    }
 }
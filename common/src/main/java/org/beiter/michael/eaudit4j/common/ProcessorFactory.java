@@ -38,9 +38,17 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory to create instances of objects that implement the {@link Processor} interface.
+ * <p>
+ * Processors can be identified either by their fully qualified class name, or by the short name of a
+ * {@link ProcessorProvider} that has been registered with {@link ServiceLoader}.
  */
 public final class ProcessorFactory {
 
@@ -54,6 +62,11 @@ public final class ProcessorFactory {
      */
     private static volatile Processor processorInstance;
 
+    /**
+     * The processor providers discovered with {@link ServiceLoader}, identified by their short name
+     */
+    private static volatile Map<String, ProcessorProvider> providers;
+
     /**
      * A private constructor to prevent instantiation of this class
      */
@@ -65,7 +78,8 @@ public final class ProcessorFactory {
      * <p>
      * Classes implementing the {@link Processor} interface <b>must</b> be thread safe.
      *
-     * @param className  The name of a class that implements the {@link Processor} interface
+     * @param className  The name of a class that implements the {@link Processor} interface, or the short name of a
+     *                   registered {@link ProcessorProvider}
      * @param properties The properties to initialize the instance with
      * @return An instance of a class implementing the {@link Processor} interface
      * @throws FactoryException         When the class cannot be instantiated
@@ -78,6 +92,44 @@ public final class ProcessorFactory {
         Validate.notBlank(className, "The validated character sequence 'className' is null or empty");
         Validate.notNull(properties, "The validated object 'properties' is null");
 
+        final Processor processor = newInstance(className);
+
+        processor.init(properties);
+
+        return processor;
+    }
+
+    /**
+     * Return a new, <strong>uninitialized</strong> instance of a {@link Processor} class.
+     * <p>
+     * The caller must initialize the returned instance with {@link Processor#init(CommonProperties)} before using it.
+     * This allows callers to create the instances of a processor chain first, and then initialize them concurrently.
+     *
+     * @param className The name of a class that implements the {@link Processor} interface, or the short name of a
+     *                  registered {@link ProcessorProvider}
+     * @return An uninitialized instance of a class implementing the {@link Processor} interface
+     * @throws FactoryException         When the class cannot be instantiated
+     * @throws NullPointerException     When the {@code className} is {@code null}
+     * @throws IllegalArgumentException When {@code className} is empty
+     */
+    public static Processor newInstance(final String className)
+            throws FactoryException {
+
+        Validate.notBlank(className, "The validated character sequence 'className' is null or empty");
+
+        // registered short names take precedence over class names
+        final ProcessorProvider provider = getProviders().get(className);
+        if (provider != null) {
+            final Processor processor = provider.newProcessor();
+            if (processor == null) {
+                final String error = "The processor provider registered for '" + className + "' ('"
+                        + provider.getClass().getCanonicalName() + "') did not return a processor";
+                LOG.warn(error);
+                throw new FactoryException(error);
+            }
+            return processor;
+        }
+
         final Class<? extends Processor> processorsClazz;
         try {
             processorsClazz = Class.forName(className).asSubclass(Processor.class);
@@ -92,7 +144,6 @@ public final class ProcessorFactory {
             throw new FactoryException(error, e);
         }
 
-        final Processor processor;
         try {
             final Constructor<? extends Processor> constructor = processorsClazz.getDeclaredConstructor();
             if (!constructor.isAccessible()) {
@@ -101,17 +152,71 @@ public final class ProcessorFactory {
                 LOG.info(error);
                 constructor.setAccessible(true);
             }
-            processor = constructor.newInstance();
+            return constructor.newInstance();
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException
                 | NoSuchMethodException | IllegalArgumentException e) {
             final String error = "Cannot instantiate class '" + processorsClazz.getCanonicalName() + "'";
             LOG.warn(error, e);
             throw new FactoryException(error, e);
         }
+    }
+
+    /**
+     * Return the processor providers that have been discovered with {@link ServiceLoader}, identified by their short
+     * name.
+     * <p>
+     * The providers are discovered when this method is called for the first time (or the first time after
+     * {@link ProcessorFactory#reset()}). If more than one provider is registered for the same short name, the first
+     * provider found is used.
+     *
+     * @return An unmodifiable map of the registered providers
+     */
+    public static Map<String, ProcessorProvider> getProviders() {
+
+        Map<String, ProcessorProvider> result = providers;
+        if (result == null) {
+            synchronized (ProcessorFactory.class) {
+                result = providers;
+                if (result == null) {
+                    result = loadProviders();
+                    providers = result;
+                }
+            }
+        }
 
-        processor.init(properties);
+        return result;
+    }
 
-        return processor;
+    /**
+     * Discover the processor providers with {@link ServiceLoader}.
+     *
+     * @return An unmodifiable map of the discovered providers, identified by their short name
+     */
+    private static Map<String, ProcessorProvider> loadProviders() {
+
+        final Map<String, ProcessorProvider> result = new ConcurrentHashMap<>();
+        try {
+            for (final ProcessorProvider provider : ServiceLoader.load(ProcessorProvider.class)) {
+
+                final String name = provider.getName();
+                if (name == null || name.isEmpty()) {
+                    final String error = "Ignoring processor provider without a name: "
+                            + provider.getClass().getCanonicalName();
+                    LOG.warn(error);
+                } else if (result.containsKey(name)) {
+                    final String error = "Ignoring processor provider '" + provider.getClass().getCanonicalName()
+                            + "', another provider is already registered for '" + name + "'";
+                    LOG.warn(error);
+                } else {
+                    result.put(name, provider);
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            final String error = "Cannot load the registered processor providers";
+            LOG.warn(error, e);
+        }
+
+        return Collections.unmodifiableMap(result);
     }
 
     /**
@@ -162,7 +267,7 @@ public final class ProcessorFactory {
     /**
      * Resets the internal state of the factory, which causes the
      * {@link ProcessorFactory#getSingleton(String, CommonProperties)} method to return a new {@link Processor}
-     * instance the next time it is called.
+     * instance the next time it is called, and the processor providers to be discovered again.
      */
     // CHECKSTYLE:OFF
     // this is flagged in checkstyle with a missing whitespace before '}', which is a bug in checkstyle
@@ -173,5 +278,6 @@ public final class ProcessorFactory {
         // Unset the instance singleton that has been created earlier
         // null-assignments for de-referencing objects are okay
         processorInstance = null;
+        providers = null;
     }
 }
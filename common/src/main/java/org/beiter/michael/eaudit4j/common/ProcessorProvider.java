@@ -0,0 +1,65 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+/**
+ * A service provider that creates instances of a {@link Processor} implementation, and registers them under a short
+ * name (e.g. {@code eventId} or {@code jdbc-pool}).
+ * <p>
+ * Providers are discovered with {@link java.util.ServiceLoader}: a module that ships a provider lists the fully
+ * qualified class name of the provider in a {@code META-INF/services/org.beiter.michael.eaudit4j.common.ProcessorProvider}
+ * resource. The short name can then be used in place of the processor's class name in the processor chain
+ * configuration (see {@link CommonProperties#setProcessors(String)}).
+ * <p>
+ * Classes implementing this interface must provide a public no-argument constructor, and <b>must</b> be thread safe.
+ */
+public interface ProcessorProvider {
+
+    /**
+     * Return the short name of the processor created by this provider.
+     * <p>
+     * Short names must not contain the separator of the processor chain configuration (i.e. a comma).
+     *
+     * @return The short name of the processor
+     */
+    String getName();
+
+    /**
+     * Create a new, uninitialized instance of the processor.
+     * <p>
+     * The caller is responsible for initializing the returned instance with {@link Processor#init(CommonProperties)}.
+     *
+     * @return A new instance of the processor
+     */
+    Processor newProcessor();
+}
@@ -88,8 +88,9 @@ public class AuditEvent
      * <p>
      * You may still use the setters to add additional fields.
      * <p>
-     * Note that this constructor creates defensive copies of the data in the provided fields. You need to explicitly
-     * clear the fields provided to this constructor if they contain confidential information that you wish to destroy.
+     * Note that this constructor creates defensive copies of the data in the provided fields (except for
+     * {@link ImmutableField}s, which are shared). You need to explicitly clear the fields provided to this constructor
+     * if they contain confidential information that you wish to destroy.
      *
      * @param fields The fields to set
      */
@@ -105,8 +106,8 @@ public class AuditEvent
                 // a null field in a list of fields seems to be a problem we should report back to the caller.
                 Validate.notNull(field, "A 'field' object in the provided var args list is null");
 
-                // create a defensive copy of the field
-                final Field tmpField = new EventField(field);
+                // create a defensive copy of the field (immutable fields can be shared)
+                final Field tmpField = copyOf(field);
 
                 // assign the field to the existing map
                 this.fields.put(tmpField.getName(), tmpField);
@@ -133,8 +134,8 @@ public class AuditEvent
 
         Validate.notNull(field, "The validated object 'field' is null");
 
-        // create a defensive copy of the field
-        final Field tmpField = new EventField(field);
+        // create a defensive copy of the field (immutable fields can be shared)
+        final Field tmpField = copyOf(field);
 
         // assign the field to the existing map
         this.fields.put(field.getName(), tmpField);
@@ -182,14 +183,32 @@ public class AuditEvent
 
         Validate.notBlank(fieldName, "The validated character sequence 'fieldName' is null or empty");
 
-        if (!fields.containsKey(fieldName)) {
+        final Field field = fields.get(fieldName);
+        if (field == null) {
             final String error = "The field " + fieldName + " is not registered with this event.";
             LOG.info(error);
             throw new NoSuchElementException(error);
         }
 
         // return a defensive copy of the requested field
-        return new EventField(fields.get(fieldName));
+        return new EventField(field);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException     When {@code fieldName} is {@code null}
+     * @throws IllegalArgumentException When {@code className} is empty
+     */
+    @Override
+    public final Field findField(final String fieldName) {
+
+        Validate.notBlank(fieldName, "The validated character sequence 'fieldName' is null or empty");
+
+        final Field field = fields.get(fieldName);
+
+        // return a defensive copy of the requested field, if it exists
+        return field == null ? null : new EventField(field);
     }
 
     /**
@@ -319,4 +338,21 @@ public class AuditEvent
 
         return result;
     }
+
+    /**
+     * Create a defensive copy of a field that is to be stored in the event.
+     * <p>
+     * {@link ImmutableField}s cannot be modified and are therefore stored as they are, without a copy.
+     *
+     * @param field The field to copy
+     * @return The field to store in the event
+     */
+    private static Field copyOf(final Field field) {
+
+        if (field instanceof ImmutableField) {
+            return field;
+        }
+
+        return new EventField(field);
+    }
 }
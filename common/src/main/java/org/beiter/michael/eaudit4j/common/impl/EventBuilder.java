@@ -49,7 +49,7 @@ import org.beiter.michael.eaudit4j.common.Field;
 public class EventBuilder {
 
     /**
-     * A copy of the common properties
+     * A copy of the common properties (or a shared copy owned by an {@link EventFactory})
      */
     private final CommonProperties properties;
 
@@ -77,6 +77,26 @@ public class EventBuilder {
         this.event = new AuditEvent();
     }
 
+    /**
+     * Create a new instance of the event builder that shares the provided configuration properties instead of
+     * copying them.
+     * <p>
+     * This constructor is used by {@link EventFactory}, which holds a private copy of the properties that is never
+     * modified, and can therefore be shared by all builders created by the factory.
+     *
+     * @param event            The event to populate
+     * @param sharedProperties The configuration properties to be used by this builder instance, which are not copied
+     * @throws NullPointerException When {@code event} or {@code sharedProperties} is {@code null}
+     */
+    EventBuilder(final Event event, final CommonProperties sharedProperties) {
+
+        Validate.notNull(event, "The validated object 'event' is null");
+        Validate.notNull(sharedProperties, "The validated object 'sharedProperties' is null");
+
+        this.properties = sharedProperties;
+        this.event = event;
+    }
+
     /**
      * Set a new field in the event with the specified properties.
      * <p>
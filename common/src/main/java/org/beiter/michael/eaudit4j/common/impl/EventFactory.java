@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common.impl;
+
+import org.apache.commons.lang3.Validate;
+import org.beiter.michael.eaudit4j.common.CommonProperties;
+import org.beiter.michael.eaudit4j.common.ExtendedEvent;
+import org.beiter.michael.eaudit4j.common.Field;
+
+/**
+ * Create audit events and event builders from a configuration that is copied only once.
+ * <p>
+ * Creating an {@link ExtendedAuditEvent} or an {@link EventBuilder} with their public constructors creates a copy of
+ * the provided {@link CommonProperties} for every instance. This factory creates a single private copy of the
+ * properties when it is constructed, and shares that copy (which is never modified or exposed) with all events and
+ * builders that it creates. Create the factory once from the configuration, and use it for every event.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+public class EventFactory {
+
+    /**
+     * A private copy of the common properties, shared with all events and builders created by this factory
+     */
+    private final CommonProperties properties;
+
+    /**
+     * Create a new event factory.
+     *
+     * @param properties The configuration properties to be used by the events and builders created by this factory
+     * @throws NullPointerException When {@code properties} is {@code null}
+     */
+    public EventFactory(final CommonProperties properties) {
+
+        Validate.notNull(properties, "The validated object 'properties' is null");
+
+        this.properties = new CommonProperties(properties);
+    }
+
+    /**
+     * Create a new (extended) audit event.
+     * <p>
+     * See {@link ExtendedAuditEvent#ExtendedAuditEvent(CommonProperties, Field...)}.
+     *
+     * @param fields The fields to set
+     * @return A new audit event
+     */
+    public final ExtendedEvent createEvent(final Field... fields) {
+
+        return new ExtendedAuditEvent(fields, properties);
+    }
+
+    /**
+     * Create a new event builder.
+     * <p>
+     * See {@link EventBuilder#EventBuilder(CommonProperties)}.
+     *
+     * @return A new event builder
+     */
+    public final EventBuilder createBuilder() {
+
+        return new EventBuilder(new AuditEvent(), properties);
+    }
+}
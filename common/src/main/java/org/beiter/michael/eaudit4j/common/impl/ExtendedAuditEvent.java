@@ -48,7 +48,7 @@ public class ExtendedAuditEvent
         implements ExtendedEvent {
 
     /**
-     * A copy of the common properties
+     * A copy of the common properties (or a shared copy owned by an {@link EventFactory})
      */
     private final CommonProperties properties;
 
@@ -92,6 +92,25 @@ public class ExtendedAuditEvent
         this.properties = new CommonProperties(properties);
     }
 
+    /**
+     * Create a new (extended) audit event that shares the provided configuration properties instead of copying them.
+     * <p>
+     * This constructor is used by {@link EventFactory}, which holds a private copy of the properties that is never
+     * modified, and can therefore be shared by all events created by the factory.
+     *
+     * @param fields           The fields to set
+     * @param sharedProperties The configuration properties to be used by this event instance, which are not copied
+     * @throws NullPointerException When {@code sharedProperties} is {@code null}
+     */
+    ExtendedAuditEvent(final Field[] fields, final CommonProperties sharedProperties) {
+
+        super(fields);
+
+        Validate.notNull(sharedProperties, "The validated object 'sharedProperties' is null");
+
+        this.properties = sharedProperties;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -0,0 +1,201 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common.impl;
+
+import org.apache.commons.lang3.Validate;
+import org.beiter.michael.array.Converter;
+import org.beiter.michael.eaudit4j.common.Encodings;
+import org.beiter.michael.eaudit4j.common.Field;
+
+/**
+ * This class implements an immutable {@link Field} for constant, non-confidential values.
+ * <p>
+ * Unlike {@link EventField}, an instance of this class can be shared between any number of events: {@link AuditEvent}
+ * stores it without making a defensive copy, which allows processors to pre-encode constant fields (e.g. the
+ * application name or version) once and attach them to every event without allocating a new field per event.
+ * <p>
+ * Attempts to modify the value of the field throw an {@link UnsupportedOperationException}. Callers that need to
+ * modify the value should obtain a mutable copy through {@link ImmutableField#getCopy()} and set that copy on the
+ * event instead (copy-on-write). Because the value is shared, {@link ImmutableField#clear()} does not wipe it: do not
+ * use this class for confidential information.
+ */
+public final class ImmutableField
+        implements Field {
+
+    /**
+     * The name of the field
+     */
+    private final String name;
+
+    /**
+     * The value of the field
+     */
+    private final byte[] value;
+
+    /**
+     * The encoding used to produce the byte[] representation of this field's value
+     */
+    private final Encodings encoding;
+
+    /**
+     * Create a new immutable field of the specified name, with the specified value (assuming {@link Encodings#PLAIN}
+     * encoding).
+     * <p>
+     * See {@link ImmutableField#ImmutableField(String, byte[], Encodings)}.
+     *
+     * @param name  The name of the field
+     * @param value The value of the field
+     * @throws NullPointerException     When the {@code name} or {@code value} are {@code null}
+     * @throws IllegalArgumentException When {@code name} is empty
+     */
+    public ImmutableField(final String name, final byte[] value) {
+
+        this(name, value, Encodings.PLAIN);
+    }
+
+    /**
+     * Create a new immutable field of the specified name, with the specified value and encoding.
+     * <p>
+     * Note that this constructor creates a defensive copy of the provided {@code value}), and stores the copy in the
+     * field.
+     *
+     * @param name     The name of the field
+     * @param value    The value of the field
+     * @param encoding The encoding of the field
+     * @throws NullPointerException     When the {@code name}, {@code value}, or {@code encoding} are {@code null}
+     * @throws IllegalArgumentException When {@code name} is empty
+     */
+    public ImmutableField(final String name, final byte[] value, final Encodings encoding) {
+
+        Validate.notBlank(name, "The validated character sequence 'name' is null or empty");
+        Validate.notNull(value, "The validated object 'value' is null");
+        Validate.notNull(encoding, "The validated object 'encoding' is null");
+
+        // no need for defensive copies of String...
+        this.name = name;
+
+        // make a defensive copy of the value
+        this.value = value.clone();
+
+        // no need for defensive copies of ENUM
+        this.encoding = encoding;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+
+        // no need for defensive copies of String...
+        return name;
+    }
+
+    /**
+     * The value of an immutable field cannot be changed.
+     *
+     * @param pValue The value to set
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public void setValue(final byte[] pValue) {
+
+        throw new UnsupportedOperationException("The field " + name + " is immutable");
+    }
+
+    /**
+     * The value of an immutable field cannot be changed.
+     *
+     * @param pValue    The value to set
+     * @param pEncoding The encoding that was used to produce the data in the byte[] array
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public void setValue(final byte[] pValue, final Encodings pEncoding) {
+
+        throw new UnsupportedOperationException("The field " + name + " is immutable");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getValue() {
+
+        // make a defensive copy of the value
+        return value.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char[] getCharValue(final String stringEncoding) {
+
+        // the byte array already represents an encoded string,
+        // we hence only have to convert it into char[] here:
+        return Converter.toChars(value, stringEncoding);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Encodings getEncoding() {
+
+        // no need for defensive copies of ENUM
+        return encoding;
+    }
+
+    /**
+     * Create a mutable copy of the field.
+     *
+     * @return A mutable {@link EventField} with the same name, value, and encoding as this field
+     */
+    @Override
+    public Field getCopy() {
+
+        return new EventField(name, value, encoding);
+    }
+
+    /**
+     * The value of an immutable field is shared between events and is not confidential, hence it is not wiped.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void clear() {
+
+        // do nothing
+    }
+}
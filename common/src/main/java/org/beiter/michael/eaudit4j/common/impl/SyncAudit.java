@@ -40,6 +40,7 @@ import org.beiter.michael.eaudit4j.common.AuditException;
 import org.beiter.michael.eaudit4j.common.CommonProperties;
 import org.beiter.michael.eaudit4j.common.Event;
 import org.beiter.michael.eaudit4j.common.FactoryException;
+import org.beiter.michael.eaudit4j.common.Persisting;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.ProcessorFactory;
@@ -50,9 +51,20 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class provides a synchronous implementation of {@link Audit}.
+ * <p>
+ * This implementation supports re-initialization at runtime: calling {@link SyncAudit#init(CommonProperties)} on an
+ * instance that is in use builds and initializes a new processor chain while events continue to be processed by the
+ * current chain. The new chain is then swapped in atomically, the events that are still being processed by the old
+ * chain are drained (see {@link CommonProperties#getReloadDrainTimeout()}), and the {@link Processor#cleanUp()}
+ * method is called on the retired processors.
  */
 public class SyncAudit
         implements Audit {
@@ -63,61 +75,71 @@ public class SyncAudit
     private static final Logger LOG = LoggerFactory.getLogger(SyncAudit.class);
 
     /**
-     * A copy of the common properties, initialize with a default config set:
+     * The time (in milliseconds) to wait between checks for in-flight events when draining a retired chain
      */
-    private CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+    private static final long DRAIN_POLL_INTERVAL = 1;
 
     /**
-     * The List itself is not thread safe, but it also does not need to be modified in this class after initialization
-     * (i.e. build once in {@code init()), and then read only from there on). Repeated calls to {@code init()} will
-     * create a new list, and then replace this list reference.
+     * The name of the thread that cleans up a retired chain after the drain timeout has expired
      */
-    private List<Processor> processors = new ArrayList<>();
+    private static final String RETIRER_THREAD_NAME = "eAudit4j-chain-retirer";
+
+    /**
+     * The current processor chain, initialized with a default config set and no processors. Calls to {@code init()}
+     * build a new chain, and then replace this reference.
+     */
+    private volatile Chain chain = new Chain(MapBasedCommonPropsBuilder.buildDefault(),
+            Collections.<Processor>emptyList());
+
+    /**
+     * A lock to serialize concurrent calls to {@code init()}
+     */
+    private final Object initLock = new Object();
+
+    /**
+     * A per-thread set of processing objects that is re-used for every event audited through
+     * {@link SyncAudit#audit(Event, String)}, to avoid creating a new instance for every event.
+     */
+    private final ThreadLocal<ProcessingObjects> threadProcessingObjects = new ThreadLocal<ProcessingObjects>() {
+        @Override
+        protected ProcessingObjects initialValue() {
+            return new ProcessingObjects();
+        }
+    };
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If this instance has been initialized before, the new processor chain replaces the current processor chain
+     * once it has been fully initialized. The processors of the replaced chain are cleaned up after the events that
+     * are being processed by the replaced chain have completed. If the initialization of the new chain fails, the
+     * processors of the new chain are cleaned up, and the current processor chain remains in use.
      */
+    // suppress warnings about catching generic exceptions - the new processors must be cleaned up, no matter what
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     @Override
     public final void init(final CommonProperties properties)
             throws AuditException {
 
         // store a local copy of the properties
-        this.commonProps = new CommonProperties(properties);
+        final CommonProperties commonProps = new CommonProperties(properties);
 
-        // get the config string will the processors from the configuration
-        final String processorClasses = this.commonProps.getProcessors();
-        if (processorClasses != null && processorClasses.length() > 0) {
-
-            // split the processor config string to give us a list of classes to instantiate
-            final String[] procClassesList = processorClasses.split(",");
-
-            // we want to be thread safe with the configuration, hence we create a local instance of the audit processor
-            // chain, and assign it at the end of the init() operation in a single call
-            final List<Processor> tmpProcessors = new ArrayList<>(procClassesList.length);
-
-            // the processors are stored from left to right in the config file, so we can simply create them and add
-            // them to the list of registered processors (which we will invoke later on in the audit() methods) in the
-            // provided order
-            for (final String procClassName : procClassesList) {
-
-                if (procClassName != null && !procClassName.isEmpty()) {
-
-                    Processor processor;
-                    try {
-                        processor = ProcessorFactory.getInstance(procClassName, this.commonProps);
-                    } catch (FactoryException e) {
-                        final String error = "Failed to retrieve instance of processor class: " + procClassName;
-                        LOG.warn(error, e);
-                        throw new AuditException(AuditErrorConditions.INITIALIZATION, error, e);
-                    }
+        synchronized (initLock) {
 
-                    // add the newly created processor to the local tmpProcessors list
-                    tmpProcessors.add(processor);
-                }
+            // build, initialize, and warm up the new chain while the current chain continues to process events
+            final Chain newChain = new Chain(commonProps, buildProcessors(commonProps));
+            try {
+                warmUp(newChain);
+            } catch (RuntimeException | Error e) {
+                cleanUp(newChain.processors);
+                throw e;
             }
 
-            // swap the processors reference, and make sure that the list cannot be accidentally modified
-            processors = Collections.unmodifiableList(tmpProcessors);
+            // swap the chain reference, and retire the old chain
+            final Chain oldChain = chain;
+            chain = newChain;
+
+            retire(oldChain, commonProps.getReloadDrainTimeout());
         }
     }
 
@@ -134,7 +156,7 @@ public class SyncAudit
             throw new AuditException(AuditErrorConditions.INVALID_EVENT, error);
         }
 
-        final String auditStream = commonProps.getDefaultAuditStream();
+        final String auditStream = chain.commonProps.getDefaultAuditStream();
         if (auditStream == null || StringUtils.isBlank(auditStream)) {
             final String error = "The validated character sequence 'auditStream' is null or empty";
             LOG.warn(error);
@@ -159,19 +181,28 @@ public class SyncAudit
 
         Validate.notBlank(auditStreamName, "The validated character sequence 'auditStreamName' is null or empty");
 
-        // We create the set of default (empty) ProcessingObjects every time this method is invoked to prevent
-        // interference, because there is zero protection on that object by design (processors can modify the objects
-        // list and the objects themselves at will, there are no defensive copies or other isolation).
-        final ProcessingObjects processingObjects = new ProcessingObjects();
+        // We use an empty set of default ProcessingObjects every time this method is invoked to prevent interference,
+        // because there is zero protection on that object by design (processors can modify the objects list and the
+        // objects themselves at will, there are no defensive copies or other isolation). The set is re-used per
+        // thread and cleared after each event. If a processor audits another event from within the processing chain
+        // (i.e. the per-thread set is currently in use), we fall back to a fresh instance.
+        final ProcessingObjects processingObjects = threadProcessingObjects.get();
+        if (processingObjects == null) {
+            return audit(event, auditStreamName, new ProcessingObjects());
+        }
 
-        return audit(event, auditStreamName, processingObjects);
+        threadProcessingObjects.set(null);
+        try {
+            return audit(event, auditStreamName, processingObjects);
+        } finally {
+            processingObjects.clear();
+            threadProcessingObjects.set(processingObjects);
+        }
     }
 
     /**
      * {@inheritDoc}
      */
-    // suppress warnings about using a StringBuffer for the error concatenation (only used for exception handling)
-    @SuppressWarnings("PMD.UseStringBufferForStringAppends")
     @Override
     public final Event audit(final Event event, final String auditStreamName, final ProcessingObjects processingObjects)
             throws AuditException {
@@ -185,12 +216,39 @@ public class SyncAudit
         Validate.notBlank(auditStreamName, "The validated character sequence 'auditStreamName' is null or empty");
         Validate.notNull(processingObjects, "The validated object 'processingObjects' is null");
 
+        // acquire the current chain, which prevents the chain from being cleaned up while the event is processed
+        final Chain currentChain = acquireChain();
+        try {
+            return processChain(event, auditStreamName, processingObjects, currentChain);
+        } finally {
+            currentChain.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Process an event with the provided processor chain.
+     *
+     * @param event             The event to audit
+     * @param auditStreamName   The audit stream to send events to
+     * @param processingObjects Processing objects to be provided to the processors
+     * @param currentChain      The processor chain to use
+     * @return The event after processing
+     * @throws AuditException when the audit operation fails
+     */
+    // suppress warnings about using a StringBuffer for the error concatenation (only used for exception handling)
+    @SuppressWarnings("PMD.UseStringBufferForStringAppends")
+    private static Event processChain(final Event event, final String auditStreamName,
+                                      final ProcessingObjects processingObjects, final Chain currentChain)
+            throws AuditException {
+
+        final List<Processor> processors = currentChain.processors;
+
         // if the array with processors is empty, no processors have been configured.
         // Log an error (and fail) or just log a warning, depending on the configuration:
-        if (processors == null || processors.isEmpty()) {
+        if (processors.isEmpty()) {
 
             String error = "No processors configured for auditing subsystem";
-            if (commonProps.isFailOnMissingProcessors()) {
+            if (currentChain.commonProps.isFailOnMissingProcessors()) {
                 LOG.warn(error);
                 throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
             } else {
@@ -212,4 +270,328 @@ public class SyncAudit
             return tmpEvent;
         }
     }
+
+    /**
+     * Acquire the current processor chain for processing an event.
+     * <p>
+     * The in-flight counter of the returned chain has been incremented, and must be decremented by the caller once the
+     * event has been processed.
+     *
+     * @return The current processor chain
+     */
+    private Chain acquireChain() {
+
+        while (true) {
+
+            final Chain currentChain = chain;
+            currentChain.inFlight.incrementAndGet();
+
+            // If the chain has been swapped between reading the reference and incrementing the counter, the old chain
+            // may already have been drained. Release it and try again with the new chain.
+            if (currentChain == chain) {
+                return currentChain;
+            }
+            currentChain.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Create and initialize the processors configured in the provided properties.
+     * <p>
+     * The processors are created in the configured order, and then initialized either one after another, or
+     * concurrently (see {@link CommonProperties#isParallelInit()}). If the initialization of a processor fails, all
+     * processors that have been created are cleaned up.
+     *
+     * @param commonProps The properties with the processor configuration
+     * @return An unmodifiable list of initialized processors
+     * @throws AuditException When a processor cannot be created or initialized
+     */
+    // suppress warnings about catching generic exceptions - the new processors must be cleaned up, no matter what
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static List<Processor> buildProcessors(final CommonProperties commonProps)
+            throws AuditException {
+
+        // get the config string will the processors from the configuration
+        final String processorClasses = commonProps.getProcessors();
+        if (processorClasses == null || processorClasses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // split the processor config string to give us a list of classes (or provider names) to instantiate
+        final String[] procClassesList = processorClasses.split(",");
+
+        final List<Processor> tmpProcessors = new ArrayList<>(procClassesList.length);
+
+        // the processors are stored from left to right in the config file, so we can simply create them and add
+        // them to the list of registered processors (which we will invoke later on in the audit() methods) in the
+        // provided order
+        for (final String procClassName : procClassesList) {
+
+            if (procClassName != null && !procClassName.isEmpty()) {
+
+                Processor processor;
+                try {
+                    processor = ProcessorFactory.newInstance(procClassName);
+                } catch (FactoryException e) {
+                    final String error = "Failed to retrieve instance of processor class: " + procClassName;
+                    LOG.warn(error, e);
+                    throw new AuditException(AuditErrorConditions.INITIALIZATION, error, e);
+                }
+
+                // add the newly created processor to the local tmpProcessors list
+                tmpProcessors.add(processor);
+            }
+        }
+
+        try {
+            if (commonProps.isParallelInit() && tmpProcessors.size() > 1) {
+                initConcurrently(tmpProcessors, commonProps);
+            } else {
+                for (final Processor processor : tmpProcessors) {
+                    processor.init(commonProps);
+                }
+            }
+        } catch (AuditException | RuntimeException | Error e) {
+            cleanUp(tmpProcessors);
+            throw e;
+        }
+
+        // make sure that the list cannot be accidentally modified
+        return Collections.unmodifiableList(tmpProcessors);
+    }
+
+    /**
+     * Initialize processors concurrently, using one thread per processor, and wait for all processors to complete
+     * their initialization.
+     * <p>
+     * Runtime exceptions thrown by a processor's {@link Processor#init(CommonProperties)} method are re-thrown in the
+     * calling thread.
+     *
+     * @param processors  The processors to initialize
+     * @param commonProps The properties to initialize the processors with
+     * @throws AuditException When the initialization is interrupted
+     */
+    // The processors are initialized in a loop, which requires one task per processor
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static void initConcurrently(final List<Processor> processors, final CommonProperties commonProps)
+            throws AuditException {
+
+        final ExecutorService executor = Executors.newFixedThreadPool(processors.size());
+        try {
+            final List<Future<?>> results = new ArrayList<>(processors.size());
+            for (final Processor processor : processors) {
+                results.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        processor.init(commonProps);
+                    }
+                }));
+            }
+
+            // wait for all processors (so that none of them is still initializing when the processors are cleaned up
+            // after a failure), and re-throw the first failure in the order of the processor chain
+            ExecutionException failure = null;
+            for (final Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            final String error = "Interrupted while initializing the processors";
+            LOG.warn(error, e);
+            Thread.currentThread().interrupt();
+            throw new AuditException(AuditErrorConditions.INITIALIZATION, error, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            final String error = "Failed to initialize the processors";
+            LOG.warn(error, e);
+            throw new AuditException(AuditErrorConditions.INITIALIZATION, error, cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Push the configured number of synthetic events through the processors of a newly built processor chain that do
+     * not persist events (see {@link Persisting}).
+     * <p>
+     * A failure to process a synthetic event is logged and ends the warm-up, but does not fail the initialization.
+     *
+     * @param newChain The processor chain to warm up
+     */
+    private static void warmUp(final Chain newChain) {
+
+        final CommonProperties commonProps = newChain.commonProps;
+        final int warmUpEvents = commonProps.getWarmUpEvents();
+        if (warmUpEvents <= 0) {
+            return;
+        }
+
+        // the synthetic events must not end up in the audit trail
+        final List<Processor> warmUpProcessors = new ArrayList<>(newChain.processors.size());
+        for (final Processor processor : newChain.processors) {
+            if (!(processor instanceof Persisting)) {
+                warmUpProcessors.add(processor);
+            }
+        }
+        if (warmUpProcessors.isEmpty()) {
+            return;
+        }
+        final Chain warmUpChain = new Chain(commonProps, warmUpProcessors);
+
+        final String auditStream = commonProps.getWarmUpAuditStream();
+        if (StringUtils.isBlank(auditStream)) {
+            final String error = "The audit stream for warm-up events is not configured, skipping the warm-up";
+            LOG.warn(error);
+            return;
+        }
+
+        final EventFactory eventFactory = new EventFactory(commonProps);
+        final char[] eventType = "eAudit4j warm-up".toCharArray();
+        for (int i = 0; i < warmUpEvents; i++) {
+
+            final Event event = eventFactory.createBuilder().setEventType(eventType).build();
+            try {
+                processChain(event, auditStream, new ProcessingObjects(), warmUpChain);
+            } catch (AuditException | RuntimeException e) {
+                final String error = "Failed to process a warm-up event, ending the warm-up after " + i + " event(s)";
+                LOG.warn(error, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Wait for the events that are being processed by a retired chain to complete, and clean up the retired
+     * processors.
+     * <p>
+     * If the events do not complete within the drain timeout (or waiting is interrupted), the retired chain is handed
+     * to a background thread, which cleans up the retired processors once the events have completed.
+     *
+     * @param oldChain     The retired chain
+     * @param drainTimeout The maximum time (in milliseconds) to wait for in-flight events
+     */
+    private static void retire(final Chain oldChain, final int drainTimeout) {
+
+        if (oldChain.processors.isEmpty()) {
+            return;
+        }
+
+        if (awaitDrained(oldChain, System.currentTimeMillis() + drainTimeout)) {
+            cleanUp(oldChain.processors);
+            return;
+        }
+
+        final String error = "The " + oldChain.inFlight.get() + " in-flight event(s) on the replaced processor chain "
+                + "have not completed in time. The replaced processors are cleaned up in the background once these "
+                + "events have completed.";
+        LOG.warn(error);
+
+        final Thread retirer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                // there is nobody to report an interrupt to, so clean up right away in that case
+                awaitDrained(oldChain, Long.MAX_VALUE);
+                cleanUp(oldChain.processors);
+            }
+        }, RETIRER_THREAD_NAME);
+        retirer.setDaemon(true);
+        retirer.start();
+    }
+
+    /**
+     * Wait for the events that are being processed by a retired chain to complete.
+     * <p>
+     * If the calling thread is interrupted, this method stops waiting and restores the interrupt flag.
+     *
+     * @param oldChain The retired chain
+     * @param deadline The time (in milliseconds since the epoch) until which to wait for in-flight events
+     * @return {@code true} if all events have completed, {@code false} if the deadline has passed or waiting has been
+     * interrupted
+     */
+    private static boolean awaitDrained(final Chain oldChain, final long deadline) {
+
+        while (oldChain.inFlight.get() > 0) {
+
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+
+            try {
+                Thread.sleep(DRAIN_POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while waiting for in-flight events on the replaced processor chain", e);
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Clean up processors. A failure to clean up a processor is logged, and does not prevent the remaining processors
+     * from being cleaned up.
+     *
+     * @param processors The processors to clean up
+     */
+    // suppress warnings about catching generic exceptions - every processor must be cleaned up, no matter what
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static void cleanUp(final List<Processor> processors) {
+
+        for (final Processor processor : processors) {
+            try {
+                processor.cleanUp();
+            } catch (RuntimeException e) {
+                final String error = "Failed to clean up the processor " + processor.getClass().getCanonicalName();
+                LOG.warn(error, e);
+            }
+        }
+    }
+
+    /**
+     * An immutable processor chain, together with the configuration it has been created from.
+     */
+    private static final class Chain {
+
+        /**
+         * A copy of the common properties
+         */
+        private final CommonProperties commonProps;
+
+        /**
+         * The initialized processors, in processing order
+         */
+        private final List<Processor> processors;
+
+        /**
+         * The number of events that are currently being processed by this chain
+         */
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        /**
+         * Create a new chain
+         *
+         * @param commonProps A copy of the common properties
+         * @param processors  The initialized processors, in processing order
+         */
+        private Chain(final CommonProperties commonProps, final List<Processor> processors) {
+
+            this.commonProps = commonProps;
+            this.processors = processors;
+        }
+    }
 }
@@ -93,6 +93,36 @@ public final class MapBasedCommonPropsBuilder {
      */
     public static final boolean DEFAULT_FAIL_ON_MISSING_PROCESSORS = true;
 
+    /**
+     * @see CommonProperties#setReloadDrainTimeout(int)
+     */
+    public static final int DEFAULT_RELOAD_DRAIN_TIMEOUT = 5000;
+
+    /**
+     * @see CommonProperties#setParallelInit(boolean)
+     */
+    public static final boolean DEFAULT_PARALLEL_INIT = false;
+
+    /**
+     * @see CommonProperties#setWarmUpEvents(int)
+     */
+    public static final int DEFAULT_WARM_UP_EVENTS = 0;
+
+    /**
+     * @see CommonProperties#setWarmUpAuditStream(String)
+     */
+    public static final String DEFAULT_WARM_UP_AUDIT_STREAM = "eAudit4j warm-up";
+
+    /**
+     * @see CommonProperties#setPayloadCompression(boolean)
+     */
+    public static final boolean DEFAULT_PAYLOAD_COMPRESSION = false;
+
+    /**
+     * @see CommonProperties#setPayloadDictionary(String)
+     */
+    public static final String DEFAULT_PAYLOAD_DICTIONARY = null;
+
     /**
      * @see CommonProperties#setFieldNameEventType(String)
      */
@@ -187,6 +217,36 @@ public final class MapBasedCommonPropsBuilder {
      */
     public static final String KEY_FAIL_ON_MISSING_PROCESSORS = "audit.failOnMissingProcessors";
 
+    /**
+     * @see CommonProperties#setReloadDrainTimeout(int)
+     */
+    public static final String KEY_RELOAD_DRAIN_TIMEOUT = "audit.reloadDrainTimeout";
+
+    /**
+     * @see CommonProperties#setParallelInit(boolean)
+     */
+    public static final String KEY_PARALLEL_INIT = "audit.parallelInit";
+
+    /**
+     * @see CommonProperties#setWarmUpEvents(int)
+     */
+    public static final String KEY_WARM_UP_EVENTS = "audit.warmUp.events";
+
+    /**
+     * @see CommonProperties#setWarmUpAuditStream(String)
+     */
+    public static final String KEY_WARM_UP_AUDIT_STREAM = "audit.warmUp.auditStreamName";
+
+    /**
+     * @see CommonProperties#setPayloadCompression(boolean)
+     */
+    public static final String KEY_PAYLOAD_COMPRESSION = "audit.payload.compression";
+
+    /**
+     * @see CommonProperties#setPayloadDictionary(String)
+     */
+    public static final String KEY_PAYLOAD_DICTIONARY = "audit.payload.dictionary";
+
     /**
      * @see CommonProperties#setFieldNameEventType(String)
      */
@@ -336,6 +396,70 @@ public final class MapBasedCommonPropsBuilder {
             logDefault(KEY_FAIL_ON_MISSING_PROCESSORS, String.valueOf(DEFAULT_FAIL_ON_MISSING_PROCESSORS));
         }
 
+        tmp = properties.get(KEY_RELOAD_DRAIN_TIMEOUT);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp)) {
+                commonProps.setReloadDrainTimeout(Integer.decode(tmp));
+                logValue(KEY_RELOAD_DRAIN_TIMEOUT, tmp);
+            } else {
+                commonProps.setReloadDrainTimeout(DEFAULT_RELOAD_DRAIN_TIMEOUT);
+                logDefault(KEY_RELOAD_DRAIN_TIMEOUT, tmp, "not numeric", String.valueOf(DEFAULT_RELOAD_DRAIN_TIMEOUT));
+            }
+        } else {
+            commonProps.setReloadDrainTimeout(DEFAULT_RELOAD_DRAIN_TIMEOUT);
+            logDefault(KEY_RELOAD_DRAIN_TIMEOUT, String.valueOf(DEFAULT_RELOAD_DRAIN_TIMEOUT));
+        }
+
+        tmp = properties.get(KEY_PARALLEL_INIT);
+        if (StringUtils.isNotEmpty(tmp)) {
+            commonProps.setParallelInit(Boolean.parseBoolean(tmp));
+            logValue(KEY_PARALLEL_INIT, tmp);
+        } else {
+            commonProps.setParallelInit(DEFAULT_PARALLEL_INIT);
+            logDefault(KEY_PARALLEL_INIT, String.valueOf(DEFAULT_PARALLEL_INIT));
+        }
+
+        tmp = properties.get(KEY_WARM_UP_EVENTS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp)) {
+                commonProps.setWarmUpEvents(Integer.decode(tmp));
+                logValue(KEY_WARM_UP_EVENTS, tmp);
+            } else {
+                commonProps.setWarmUpEvents(DEFAULT_WARM_UP_EVENTS);
+                logDefault(KEY_WARM_UP_EVENTS, tmp, "not numeric", String.valueOf(DEFAULT_WARM_UP_EVENTS));
+            }
+        } else {
+            commonProps.setWarmUpEvents(DEFAULT_WARM_UP_EVENTS);
+            logDefault(KEY_WARM_UP_EVENTS, String.valueOf(DEFAULT_WARM_UP_EVENTS));
+        }
+
+        tmp = properties.get(KEY_WARM_UP_AUDIT_STREAM);
+        if (StringUtils.isNotEmpty(tmp)) {
+            commonProps.setWarmUpAuditStream(tmp);
+            logValue(KEY_WARM_UP_AUDIT_STREAM, tmp);
+        } else {
+            commonProps.setWarmUpAuditStream(DEFAULT_WARM_UP_AUDIT_STREAM);
+            logDefault(KEY_WARM_UP_AUDIT_STREAM, DEFAULT_WARM_UP_AUDIT_STREAM);
+        }
+
+        tmp = properties.get(KEY_PAYLOAD_COMPRESSION);
+        if (StringUtils.isNotEmpty(tmp)) {
+            commonProps.setPayloadCompression(Boolean.parseBoolean(tmp));
+            logValue(KEY_PAYLOAD_COMPRESSION, tmp);
+        } else {
+            commonProps.setPayloadCompression(DEFAULT_PAYLOAD_COMPRESSION);
+            logDefault(KEY_PAYLOAD_COMPRESSION, String.valueOf(DEFAULT_PAYLOAD_COMPRESSION));
+        }
+
+        tmp = properties.get(KEY_PAYLOAD_DICTIONARY);
+        if (StringUtils.isNotEmpty(tmp)) {
+            commonProps.setPayloadDictionary(tmp);
+            logValue(KEY_PAYLOAD_DICTIONARY, tmp);
+        } else {
+            commonProps.setPayloadDictionary(DEFAULT_PAYLOAD_DICTIONARY);
+            logDefault(KEY_PAYLOAD_DICTIONARY, DEFAULT_PAYLOAD_DICTIONARY);
+        }
+
         tmp = properties.get(KEY_FIELD_NAME_EVENT_TYPE);
         if (StringUtils.isNotEmpty(tmp)) {
             commonProps.setFieldNameEventType(tmp);
@@ -529,7 +653,6 @@ public final class MapBasedCommonPropsBuilder {
      * @param validationError The validation error that caused the invalid value to be refused
      * @param defaultValue    The default value that is being used
      */
-    /* This method is not needed anymore, but keep it around for debugging in case we will need it again
     // suppress warnings about not using an object for the four strings in this PRIVATE method
     @SuppressWarnings("PMD.UseObjectForClearerAPI")
     private static void logDefault(final String key,
@@ -553,5 +676,4 @@ public final class MapBasedCommonPropsBuilder {
             LOG.warn(msg.toString());
         }
     }
-    */
 }
@@ -0,0 +1,175 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class FieldProjectionTest {
+
+    /**
+     * Test that field names with and without aliases are parsed correctly
+     */
+    @Test
+    public void parseTest() {
+
+        FieldProjection projection = FieldProjection.parse("subject,actor:myActor,object", ",", ":");
+
+        String error = "The number of fields is not correct";
+        assertThat(error, projection.size(), is(equalTo(3)));
+        error = "The source name is not correct";
+        assertThat(error, projection.getSourceName(0), is(equalTo("subject")));
+        assertThat(error, projection.getSourceName(1), is(equalTo("actor")));
+        assertThat(error, projection.getSourceName(2), is(equalTo("object")));
+        error = "The target name is not correct";
+        assertThat(error, projection.getTargetName(0), is(equalTo("subject")));
+        assertThat(error, projection.getTargetName(1), is(equalTo("myActor")));
+        assertThat(error, projection.getTargetName(2), is(equalTo("object")));
+    }
+
+    /**
+     * Test that empty entries are ignored
+     */
+    @Test
+    public void parseEmptyEntriesTest() {
+
+        FieldProjection projection = FieldProjection.parse("subject,,actor,", ",", ":");
+
+        String error = "The number of fields is not correct";
+        assertThat(error, projection.size(), is(equalTo(2)));
+        error = "The source name is not correct";
+        assertThat(error, projection.getSourceName(1), is(equalTo("actor")));
+    }
+
+    /**
+     * Test that a null or empty specification results in an empty projection
+     */
+    @Test
+    public void parseNullOrEmptySpecTest() {
+
+        String error = "A null specification does not result in an empty projection";
+        assertThat(error, FieldProjection.parse(null, ",", ":").size(), is(equalTo(0)));
+        error = "An empty specification does not result in an empty projection";
+        assertThat(error, FieldProjection.parse("", ",", ":").size(), is(equalTo(0)));
+    }
+
+    /**
+     * Test that custom separators are supported
+     */
+    @Test
+    public void parseCustomSeparatorsTest() {
+
+        FieldProjection projection = FieldProjection.parse("subject;actor=myActor", ";", "=");
+
+        String error = "The number of fields is not correct";
+        assertThat(error, projection.size(), is(equalTo(2)));
+        error = "The target name is not correct";
+        assertThat(error, projection.getTargetName(1), is(equalTo("myActor")));
+    }
+
+    /**
+     * Test that an entry with more than one alias is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void parseTooManyAliasesTest() {
+
+        FieldProjection.parse("subject,actor:myActor:otherActor", ",", ":");
+    }
+
+    /**
+     * Test that blank entries are ignored
+     */
+    @Test
+    public void parseBlankEntriesTest() {
+
+        FieldProjection projection = FieldProjection.parse("subject, ,actor, ", ",", ":");
+
+        String error = "The number of fields is not correct";
+        assertThat(error, projection.size(), is(equalTo(2)));
+        error = "The source name is not correct";
+        assertThat(error, projection.getSourceName(1), is(equalTo("actor")));
+    }
+
+    /**
+     * Test that an entry without a field name is ignored
+     */
+    @Test
+    public void parseMissingFieldNameTest() {
+
+        FieldProjection projection = FieldProjection.parse("subject,:myActor", ",", ":");
+
+        String error = "The number of fields is not correct";
+        assertThat(error, projection.size(), is(equalTo(1)));
+        error = "The source name is not correct";
+        assertThat(error, projection.getSourceName(0), is(equalTo("subject")));
+    }
+
+    /**
+     * Test that an entry with an empty alias uses the field name
+     */
+    @Test
+    public void parseEmptyAliasTest() {
+
+        FieldProjection projection = FieldProjection.parse("subject,actor:", ",", ":");
+
+        String error = "The number of fields is not correct";
+        assertThat(error, projection.size(), is(equalTo(2)));
+        error = "The target name is not correct";
+        assertThat(error, projection.getTargetName(1), is(equalTo("actor")));
+    }
+
+    /**
+     * Test that an entry with a blank alias uses the field name
+     */
+    @Test
+    public void parseBlankAliasTest() {
+
+        FieldProjection projection = FieldProjection.parse("subject,actor: ", ",", ":");
+
+        String error = "The number of fields is not correct";
+        assertThat(error, projection.size(), is(equalTo(2)));
+        error = "The target name is not correct";
+        assertThat(error, projection.getTargetName(1), is(equalTo("actor")));
+    }
+
+    /**
+     * Test that a null separator is rejected
+     */
+    @Test(expected = NullPointerException.class)
+    public void parseNullSeparatorTest() {
+
+        FieldProjection.parse("subject", null, ":");
+    }
+}
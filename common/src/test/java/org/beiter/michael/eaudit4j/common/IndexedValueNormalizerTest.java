@@ -0,0 +1,163 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.junit.Test;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IndexedValueNormalizerTest {
+
+    private static final Locale TURKISH = new Locale("tr", "TR");
+
+    /**
+     * Test that ASCII values are stored unchanged if they are not converted to lowercase
+     */
+    @Test
+    public void asciiValueTest() {
+
+        IndexedValueNormalizer normalizer = new IndexedValueNormalizer(255, false, Locale.US);
+
+        String error = "The ASCII value has been changed";
+        assertThat(error, normalizer.normalize("SubjectId-1234".toCharArray()), is(equalTo("SubjectId-1234")));
+    }
+
+    /**
+     * Test that ASCII values are converted to lowercase
+     */
+    @Test
+    public void asciiValueToLowerTest() {
+
+        IndexedValueNormalizer normalizer = new IndexedValueNormalizer(255, true, Locale.US);
+
+        String error = "The ASCII value has not been converted to lowercase";
+        assertThat(error, normalizer.normalize("SubjectId-1234 [@Z`]".toCharArray()),
+                is(equalTo("subjectid-1234 [@z`]")));
+
+        // the buffer is re-used, make sure that a shorter value does not contain leftovers of the previous value
+        error = "The re-used buffer leaks characters of a previous value";
+        assertThat(error, normalizer.normalize("ABC".toCharArray()), is(equalTo("abc")));
+    }
+
+    /**
+     * Test that values are truncated before they are converted
+     */
+    @Test
+    public void truncateTest() {
+
+        IndexedValueNormalizer normalizer = new IndexedValueNormalizer(4, true, Locale.US);
+
+        String error = "The ASCII value has not been truncated";
+        assertThat(error, normalizer.normalize("ABCDEFG".toCharArray()), is(equalTo("abcd")));
+
+        // the non-ASCII character is truncated, and the value takes the ASCII path
+        error = "The value has not been truncated before checking for non-ASCII characters";
+        assertThat(error, normalizer.normalize("ABCD\u00c9".toCharArray()), is(equalTo("abcd")));
+
+        error = "The non-ASCII value has not been truncated";
+        assertThat(error, normalizer.normalize("\u00c9BCDEFG".toCharArray()), is(equalTo("\u00e9bcd")));
+    }
+
+    /**
+     * Test that values longer than the retained buffer are converted correctly
+     */
+    @Test
+    public void longValueTest() {
+
+        IndexedValueNormalizer normalizer = new IndexedValueNormalizer(Integer.MAX_VALUE, true, Locale.US);
+
+        StringBuilder value = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            value.append('X');
+            expected.append('x');
+        }
+
+        String error = "The long value has not been converted correctly";
+        assertThat(error, normalizer.normalize(value.toString().toCharArray()), is(equalTo(expected.toString())));
+    }
+
+    /**
+     * Test that non-ASCII values are normalized to NFC form
+     */
+    @Test
+    public void nonAsciiValueTest() {
+
+        IndexedValueNormalizer normalizer = new IndexedValueNormalizer(255, false, Locale.US);
+
+        // "e" followed by a combining acute accent
+        String decomposed = "Cafe\u0301";
+
+        String error = "The non-ASCII value has not been normalized to NFC form";
+        assertThat(error, normalizer.normalize(decomposed.toCharArray()),
+                is(equalTo(Normalizer.normalize(decomposed, Normalizer.Form.NFC))));
+        assertThat(error, normalizer.normalize(decomposed.toCharArray()), is(equalTo("Caf\u00e9")));
+    }
+
+    /**
+     * Test that the locale-aware case mapping is used for ASCII values if the locale does not use the ASCII case
+     * mapping
+     */
+    @Test
+    public void localeCaseMappingTest() {
+
+        IndexedValueNormalizer normalizer = new IndexedValueNormalizer(255, true, TURKISH);
+
+        String error = "The value has not been converted with the case mapping of the locale";
+        assertThat(error, normalizer.normalize("ID".toCharArray()), is(equalTo("ID".toLowerCase(TURKISH))));
+        assertThat(error, normalizer.normalize("ID".toCharArray()), is(equalTo("\u0131d")));
+    }
+
+    /**
+     * Test that the result of the fast path matches the result of the general conversion for all ASCII characters
+     */
+    @Test
+    public void asciiFastPathMatchesGeneralPathTest() {
+
+        IndexedValueNormalizer normalizer = new IndexedValueNormalizer(255, true, Locale.US);
+
+        char[] value = new char[128];
+        for (char c = 0; c < 128; c++) {
+            value[c] = c;
+        }
+        String expected = Normalizer.normalize(new String(value).toLowerCase(Locale.US), Normalizer.Form.NFC);
+
+        String error = "The fast path does not match the general conversion";
+        assertThat(error, normalizer.normalize(value), is(equalTo(expected)));
+    }
+}
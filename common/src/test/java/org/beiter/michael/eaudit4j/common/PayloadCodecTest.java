@@ -0,0 +1,256 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.beiter.michael.eaudit4j.common.impl.EventBuilder;
+import org.beiter.michael.eaudit4j.common.propsbuilder.MapBasedCommonPropsBuilder;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class PayloadCodecTest {
+
+    /**
+     * Test that a serialized event is compressed to a fraction of its size, and decompressed to the original event
+     */
+    @Test
+    public void roundTripTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setPayloadDictionary("myAuditStream,machine-0123456789");
+        PayloadCodec codec = new PayloadCodec(properties);
+
+        String payload = getTestEvent(properties);
+        byte[] encoded = codec.encode(payload);
+
+        String error = "The compressed payload does not have a header";
+        assertThat(error, PayloadCodec.isEncoded(encoded), is(equalTo(true)));
+        error = "The payload has not been compressed";
+        assertThat(error, encoded.length, is(lessThan(payload.length() / 2)));
+        error = "The decompressed payload does not match the original payload";
+        assertThat(error, codec.decode(encoded), is(equalTo(payload)));
+
+        // the compressors are re-used, make sure that they do not keep state between payloads
+        String payload2 = payload.replace("Alice", "Bob");
+        error = "The decompressed payload does not match the original payload after re-using the codec";
+        assertThat(error, codec.decode(codec.encode(payload2)), is(equalTo(payload2)));
+        assertThat(error, codec.decode(encoded), is(equalTo(payload)));
+    }
+
+    /**
+     * Test that a payload that does not become smaller when compressed is stored uncompressed
+     */
+    @Test
+    public void storedTest() {
+
+        PayloadCodec codec = new PayloadCodec(MapBasedCommonPropsBuilder.buildDefault());
+
+        byte[] encoded = codec.encode("x");
+
+        String error = "The uncompressed payload does not have the correct size";
+        assertThat(error, encoded.length, is(equalTo(PayloadCodec.HEADER_LENGTH + 1)));
+        error = "The uncompressed payload has not been decoded correctly";
+        assertThat(error, codec.decode(encoded), is(equalTo("x")));
+    }
+
+    /**
+     * Test that non-ASCII characters are preserved
+     */
+    @Test
+    public void unicodeTest() {
+
+        PayloadCodec codec = new PayloadCodec(MapBasedCommonPropsBuilder.buildDefault());
+
+        String payload = "{\"version\":\"1.0\",\"fields\":{\"subject\":"
+                + "\"\u00c5ngstr\u00f6m \u4e2d\u6587 \ud83d\ude00\"}}";
+
+        String error = "The non-ASCII characters have not been preserved";
+        assertThat(error, codec.decode(codec.encode(payload)), is(equalTo(payload)));
+    }
+
+    /**
+     * Test that payloads without a header are decoded as UTF-8 text
+     */
+    @Test
+    public void unencodedTest() {
+
+        PayloadCodec codec = new PayloadCodec(MapBasedCommonPropsBuilder.buildDefault());
+
+        String payload = "{\"version\":\"1.0\",\"fields\":{}}";
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+
+        String error = "The payload without a header is reported as compressed";
+        assertThat(error, PayloadCodec.isEncoded(data), is(equalTo(false)));
+        error = "The payload without a header has not been decoded as text";
+        assertThat(error, codec.decode(data), is(equalTo(payload)));
+    }
+
+    /**
+     * Test that the dictionary depends on the configuration
+     */
+    @Test
+    public void dictionaryTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        int defaultId = new PayloadCodec(properties).getDictionaryId();
+
+        properties.setPayloadDictionary("myAuditStream");
+        String error = "The payload dictionary does not change the dictionary";
+        assertThat(error, new PayloadCodec(properties).getDictionaryId(), is(not(equalTo(defaultId))));
+
+        properties.setPayloadDictionary(null);
+        properties.setFieldNameSubject("mySubject");
+        error = "The field names do not change the dictionary";
+        assertThat(error, new PayloadCodec(properties).getDictionaryId(), is(not(equalTo(defaultId))));
+    }
+
+    /**
+     * Test that a payload compressed with a different dictionary is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void differentDictionaryTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        byte[] encoded = new PayloadCodec(properties).encode(getTestEvent(properties));
+
+        properties.setPayloadDictionary("myAuditStream");
+        new PayloadCodec(properties).decode(encoded);
+    }
+
+    /**
+     * Test that a corrupt payload is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void corruptPayloadTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        PayloadCodec codec = new PayloadCodec(properties);
+        byte[] encoded = codec.encode(getTestEvent(properties));
+
+        for (int i = PayloadCodec.HEADER_LENGTH; i < encoded.length; i++) {
+            encoded[i] = (byte) ~encoded[i];
+        }
+        codec.decode(encoded);
+    }
+
+    /**
+     * Test that a truncated payload is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedPayloadTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        PayloadCodec codec = new PayloadCodec(properties);
+        byte[] encoded = codec.encode(getTestEvent(properties));
+
+        byte[] truncated = new byte[encoded.length - 4];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        codec.decode(truncated);
+    }
+
+    /**
+     * Test that the decompressor is re-used after a corrupt payload has been rejected
+     */
+    @Test
+    public void corruptPayloadReuseTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        PayloadCodec codec = new PayloadCodec(properties);
+        String payload = getTestEvent(properties);
+        byte[] encoded = codec.encode(payload);
+
+        byte[] corrupt = encoded.clone();
+        for (int i = PayloadCodec.HEADER_LENGTH; i < corrupt.length; i++) {
+            corrupt[i] = (byte) ~corrupt[i];
+        }
+        try {
+            codec.decode(corrupt);
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        String error = "The decompressed payload does not match the original payload after a corrupt payload";
+        assertThat(error, codec.decode(encoded), is(equalTo(payload)));
+        error = "The compressor and decompressor have not been returned to the pool";
+        assertThat(error, codec.getPoolSize(), is(equalTo(2)));
+    }
+
+    /**
+     * Test that closing the codec releases the pooled compressors and decompressors, and that a closed codec can still
+     * be used without pooling
+     */
+    @Test
+    public void closeTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        PayloadCodec codec = new PayloadCodec(properties);
+        String payload = getTestEvent(properties);
+        byte[] encoded = codec.encode(payload);
+        codec.decode(encoded);
+
+        String error = "The compressor and decompressor have not been returned to the pool";
+        assertThat(error, codec.getPoolSize(), is(equalTo(2)));
+
+        codec.close();
+        error = "The pooled compressor and decompressor have not been released";
+        assertThat(error, codec.getPoolSize(), is(equalTo(0)));
+
+        error = "The decompressed payload does not match the original payload after closing the codec";
+        assertThat(error, codec.decode(codec.encode(payload)), is(equalTo(payload)));
+        error = "The closed codec pools compressors or decompressors";
+        assertThat(error, codec.getPoolSize(), is(equalTo(0)));
+    }
+
+    /**
+     * Produce a serialized test event
+     */
+    private String getTestEvent(CommonProperties properties) {
+
+        return String.valueOf(new EventBuilder(properties)
+                .setField("eventId", "0123456789ABCDEF".toCharArray())
+                .setField("machineId", "machine-0123456789".toCharArray())
+                .setEventType("login".toCharArray())
+                .setSubject("Alice".toCharArray())
+                .setActor("Alice".toCharArray())
+                .setObject("account".toCharArray())
+                .setResult("success".toCharArray())
+                .build()
+                .toJson("UTF-8"));
+    }
+}
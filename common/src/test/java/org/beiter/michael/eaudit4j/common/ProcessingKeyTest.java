@@ -0,0 +1,112 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ProcessingKeyTest {
+
+    /**
+     * Test that keys of the same name share the same slot, and that keys of different names use different slots
+     */
+    @Test
+    public void slotAssignmentTest() {
+
+        ProcessingKey<String> key1 = ProcessingKey.of("keyTestName1", String.class);
+        ProcessingKey<Object> key2 = ProcessingKey.of("keyTestName1", Object.class);
+        ProcessingKey<String> key3 = ProcessingKey.of("keyTestName2", String.class);
+
+        String error = "Keys of the same name do not share the same slot";
+        assertThat(error, key2.getIndex(), is(equalTo(key1.getIndex())));
+        error = "Keys of different names share the same slot";
+        assertThat(error, key3.getIndex(), is(not(equalTo(key1.getIndex()))));
+        error = "The slot of a registered name is not reported correctly";
+        assertThat(error, ProcessingKey.slotOf("keyTestName1"), is(equalTo(key1.getIndex())));
+        error = "The slot count does not cover the assigned slots";
+        assertThat(error, ProcessingKey.slotCount(), is(greaterThan(key3.getIndex())));
+    }
+
+    /**
+     * Test that an unregistered name does not have a slot
+     */
+    @Test
+    public void unregisteredNameTest() {
+
+        String error = "An unregistered name has a slot";
+        assertThat(error, ProcessingKey.slotOf("keyTestUnregisteredName"), is(equalTo(-1)));
+    }
+
+    /**
+     * Test that the key stores the provided name and type
+     */
+    @Test
+    public void nameAndTypeTest() {
+
+        ProcessingKey<Integer> key = ProcessingKey.of("keyTestName3", Integer.class);
+
+        String error = "The key name is not correct";
+        assertThat(error, key.getName(), is(equalTo("keyTestName3")));
+        error = "The key type is not correct";
+        assertThat(error, key.getType(), is(equalTo((Object) Integer.class)));
+    }
+
+    /**
+     * Test creating a key with a null name
+     */
+    @Test(expected = NullPointerException.class)
+    public void nullNameTest() {
+
+        ProcessingKey.of(null, String.class);
+    }
+
+    /**
+     * Test creating a key with a blank name
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void blankNameTest() {
+
+        ProcessingKey.of("", String.class);
+    }
+
+    /**
+     * Test creating a key with a null type
+     */
+    @Test(expected = NullPointerException.class)
+    public void nullTypeTest() {
+
+        ProcessingKey.of("keyTestName4", null);
+    }
+}
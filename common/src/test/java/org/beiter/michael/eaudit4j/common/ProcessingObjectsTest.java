@@ -403,4 +403,109 @@ public class ProcessingObjectsTest {
         error = "An expected field is missing in the structure";
         assertThat(error, processingObjects.getObjectNames(), containsInAnyOrder(key2));
     }
+
+    /**
+     * Test that an object put with a typed key can be retrieved with the key and by name
+     */
+    @Test
+    public void addAndFindWithKeyTest() {
+
+        ProcessingKey<String> key = ProcessingKey.of("typedObjectKey1", String.class);
+        String value = "objectValue";
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.put(key, value);
+
+        String error = "The object retrieved with the key is not the same instance as provided";
+        assertThat(error, processingObjects.find(key), is(sameInstance(value)));
+        error = "The object retrieved by name is not the same instance as provided";
+        assertThat(error, (String) processingObjects.get(key.getName()), is(sameInstance(value)));
+    }
+
+    /**
+     * Test that an object added by name can be retrieved with a typed key, regardless of whether the key was created
+     * before or after the object was added
+     */
+    @Test
+    public void addByNameFindWithKeyTest() {
+
+        String value1 = "objectValue1";
+        String value2 = "objectValue2";
+
+        ProcessingKey<String> key1 = ProcessingKey.of("typedObjectKey2", String.class);
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(key1.getName(), value1);
+        processingObjects.add("typedObjectKey3", value2);
+        ProcessingKey<String> key2 = ProcessingKey.of("typedObjectKey3", String.class);
+
+        String error = "The object added by name before the key was created is not found";
+        assertThat(error, processingObjects.find(key1), is(sameInstance(value1)));
+        error = "The object added by name after the key was created is not found";
+        assertThat(error, processingObjects.find(key2), is(sameInstance(value2)));
+    }
+
+    /**
+     * Test that finding a missing object or an object of the wrong type returns null
+     */
+    @Test
+    public void findMissingOrWrongTypeTest() {
+
+        ProcessingKey<Integer> key = ProcessingKey.of("typedObjectKey4", Integer.class);
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+
+        String error = "A missing object is not reported as null";
+        assertThat(error, processingObjects.find(key), is(nullValue()));
+
+        processingObjects.add(key.getName(), "notAnInteger");
+
+        error = "An object of the wrong type is not reported as null";
+        assertThat(error, processingObjects.find(key), is(nullValue()));
+    }
+
+    /**
+     * Test that removing and clearing objects also removes the objects from the typed key slots
+     */
+    @Test
+    public void removeAndClearWithKeyTest() {
+
+        ProcessingKey<String> key1 = ProcessingKey.of("typedObjectKey6", String.class);
+        ProcessingKey<String> key2 = ProcessingKey.of("typedObjectKey7", String.class);
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.put(key1, "objectValue1");
+        processingObjects.put(key2, "objectValue2");
+
+        processingObjects.remove(key1.getName());
+
+        String error = "A removed object is still found with its key";
+        assertThat(error, processingObjects.find(key1), is(nullValue()));
+        error = "An object that has not been removed is not found with its key";
+        assertThat(error, processingObjects.find(key2), is(equalTo("objectValue2")));
+
+        processingObjects.clear();
+
+        error = "A cleared object is still found with its key";
+        assertThat(error, processingObjects.find(key2), is(nullValue()));
+        error = "The structure is not empty after clearing it";
+        assertThat(error, processingObjects.getObjectNames().size(), is(equalTo(0)));
+    }
+
+    /**
+     * Test that finding an object by name returns the original object, and null for a missing object
+     */
+    @Test
+    public void findObjectTest() {
+
+        String key = "objectKey";
+        String value = "objectValue";
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(key, value);
+
+        String error = "The method does not return the same object instance as provided";
+        assertThat(error, (String) processingObjects.find(key), is(sameInstance(value)));
+        error = "A missing object is not reported as null";
+        assertThat(error, processingObjects.find("missingObjectKey"), is(nullValue()));
+    }
 }
@@ -32,6 +32,10 @@
  */
 package org.beiter.michael.eaudit4j.common;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * This is a dummy implementation of the {@link Processor} interface, which does nothing.
  * It is only used to facilitate the {@link ProcessorFactory} unit tests.
@@ -40,10 +44,33 @@ package org.beiter.michael.eaudit4j.common;
 public class ProcessorDummy
 implements  Processor {
 
+    private static final List<ProcessorDummy> INSTANCES = new CopyOnWriteArrayList<>();
+
+    private volatile boolean cleanedUp;
+    private volatile boolean initialized;
+    private final AtomicInteger processedEvents = new AtomicInteger();
+
+    public ProcessorDummy() {
+
+        // record every instance, so that tests can inspect the processors of a chain that failed to initialize
+        INSTANCES.add(this);
+    }
+
+    public static List<ProcessorDummy> getInstances() {
+
+        return INSTANCES;
+    }
+
+    public static void clearInstances() {
+
+        INSTANCES.clear();
+    }
+
     @Override
     public void init(CommonProperties properties) {
 
-        // do nothing
+        // only record that the processor has been initialized
+        initialized = true;
     }
 
     @Override
@@ -65,7 +92,8 @@ implements  Processor {
     @Override
     public Event process(Event event, String auditStreamName, ProcessingObjects processingObjects) throws AuditException {
 
-        // do nothing
+        // only count the event
+        processedEvents.incrementAndGet();
 
         return event;
     }
@@ -73,6 +101,22 @@ implements  Processor {
     @Override
     public void cleanUp() {
 
-        // do nothing
+        // only record that the processor has been cleaned up
+        cleanedUp = true;
+    }
+
+    public boolean isCleanedUp() {
+
+        return cleanedUp;
+    }
+
+    public boolean isInitialized() {
+
+        return initialized;
+    }
+
+    public int getProcessedEvents() {
+
+        return processedEvents.get();
     }
 }
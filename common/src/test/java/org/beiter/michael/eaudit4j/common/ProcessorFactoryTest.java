@@ -91,6 +91,82 @@ public class ProcessorFactoryTest {
         ProcessorFactory.getInstance(String.class.getCanonicalName(), commonProps);
     }
 
+    /**
+     * The providers registered with the service loader must be available by their short name
+     */
+    @Test
+    public void getProvidersTest() {
+
+        String error = "The dummy provider is not registered under its short name";
+        assertThat(error, ProcessorFactory.getProviders(), hasKey(ProcessorDummyProvider.NAME));
+        assertThat(error, ProcessorFactory.getProviders().get(ProcessorDummyProvider.NAME),
+                is(instanceOf(ProcessorDummyProvider.class)));
+    }
+
+    /**
+     * A processor can be instantiated by its short name
+     */
+    @Test
+    public void newInstanceByNameTest() {
+
+        Processor processor1, processor2;
+        try {
+            processor1 = ProcessorFactory.newInstance(ProcessorDummyProvider.NAME);
+            processor2 = ProcessorFactory.newInstance(ProcessorDummyProvider.NAME);
+        } catch (FactoryException e) {
+            AssertionError ae = new AssertionError("Instantiation error");
+            ae.initCause(e);
+            throw ae;
+        }
+
+        String error = "The class instantiated by the factory does not match the expected class";
+        assertThat(error, processor1.getClass().getCanonicalName(), is(equalTo(CLASS_NAME)));
+        error = "The factory returns a singleton instead of a new object";
+        assertThat(error, processor1, is(not(sameInstance(processor2))));
+        error = "The factory initializes the processor, although newInstance() must not initialize it";
+        assertThat(error, ((ProcessorDummy) processor1).isInitialized(), is(false));
+    }
+
+    /**
+     * A processor can still be instantiated by its class name through newInstance()
+     */
+    @Test
+    public void newInstanceByClassNameTest() {
+
+        Processor processor;
+        try {
+            processor = ProcessorFactory.newInstance(CLASS_NAME);
+        } catch (FactoryException e) {
+            AssertionError ae = new AssertionError("Instantiation error");
+            ae.initCause(e);
+            throw ae;
+        }
+
+        String error = "The class instantiated by the factory does not match the expected class";
+        assertThat(error, processor.getClass().getCanonicalName(), is(equalTo(CLASS_NAME)));
+    }
+
+    /**
+     * getInstance() must accept a short name, and initialize the processor
+     */
+    @Test
+    public void getInstanceByNameTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+
+        Processor processor;
+        try {
+            processor = ProcessorFactory.getInstance(ProcessorDummyProvider.NAME, commonProps);
+        } catch (FactoryException e) {
+            AssertionError ae = new AssertionError("Instantiation error");
+            ae.initCause(e);
+            throw ae;
+        }
+
+        String error = "The factory does not initialize the processor";
+        assertThat(error, ((ProcessorDummy) processor).isInitialized(), is(true));
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Advanced Tests
     ///////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,137 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the registration of every {@link ProcessorProvider} that is discovered with {@link ServiceLoader} on the class
+ * path.
+ */
+@RunWith(Parameterized.class)
+public class ProcessorProviderTest {
+
+    private final ProcessorProvider provider;
+
+    /**
+     * Create a test for a provider
+     *
+     * @param name     The short name of the provider (only used to name the test)
+     * @param provider The provider to test
+     */
+    public ProcessorProviderTest(String name, ProcessorProvider provider) {
+
+        this.provider = provider;
+    }
+
+    /**
+     * @return The providers registered with the service loader
+     */
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> providers() {
+
+        List<Object[]> providers = new ArrayList<>();
+        for (ProcessorProvider provider : ServiceLoader.load(ProcessorProvider.class)) {
+            providers.add(new Object[]{provider.getName(), provider});
+        }
+
+        return providers;
+    }
+
+    /**
+     * Reset the factory to make sure the providers are loaded from the class path.
+     */
+    @Before
+    public void resetFactory() {
+
+        ProcessorFactory.reset();
+    }
+
+    /**
+     * The short name must be usable in the processor chain configuration
+     */
+    @Test
+    public void providerNameTest() {
+
+        String error = "The short name of the provider is blank";
+        assertThat(error, StringUtils.isBlank(provider.getName()), is(false));
+        error = "The short name of the provider contains the processor chain separator";
+        assertThat(error, provider.getName(), not(containsString(",")));
+    }
+
+    /**
+     * The provider must be registered under its short name, and not be shadowed by another provider
+     */
+    @Test
+    public void providerIsRegisteredTest() {
+
+        String error = "The provider is not registered under its short name";
+        assertThat(error, ProcessorFactory.getProviders().get(provider.getName()),
+                is(instanceOf(provider.getClass())));
+    }
+
+    /**
+     * The factory must create the processor of the provider by its short name, and create a new processor instance
+     * per call
+     */
+    @Test
+    public void newInstanceByNameTest() {
+
+        Processor processor1, processor2;
+        try {
+            processor1 = ProcessorFactory.newInstance(provider.getName());
+            processor2 = ProcessorFactory.newInstance(provider.getName());
+        } catch (FactoryException e) {
+            AssertionError ae = new AssertionError("Instantiation error");
+            ae.initCause(e);
+            throw ae;
+        }
+
+        String error = "The provider does not create the expected processor class";
+        assertThat(error, processor1, is(instanceOf(provider.newProcessor().getClass())));
+        error = "The provider returns a singleton instead of a new object";
+        assertThat(error, processor1, is(not(sameInstance(processor2))));
+    }
+}
@@ -465,6 +465,46 @@ public class AuditEventTest {
         Field field = auditEvent.getField("invalid_field");
     }
 
+    /**
+     * Find an existing field in an AuditEvent, and make sure that:
+     * <ul>
+     * <li>the method makes a defensive copy of the field</li>
+     * <li>the value is correct</li>
+     * </ul>
+     *
+     * @throws UnsupportedEncodingException when the encoding used to create the value bytes is invalid
+     * @throws IllegalAccessException       when reflection does not work
+     */
+    @Test
+    public void findExistingFieldInAuditEventTest()
+            throws UnsupportedEncodingException, IllegalAccessException {
+
+        Field field1 = new EventField("field_1", "field_1_value".getBytes("UTF-8"));
+
+        AuditEvent auditEvent = new AuditEvent(field1);
+
+        // Use reflection to get access to the internal fields
+        ConcurrentHashMap<String, Field> fieldsInObject = (ConcurrentHashMap<String, Field>) field_fields.get(auditEvent);
+
+        String error = "The method does not create an outbound defensive copy";
+        assertThat(error, fieldsInObject.get(field1.getName()), is(not(sameInstance(auditEvent.findField(field1.getName())))));
+
+        error = "The value is not correct";
+        assertThat(error, fieldsInObject.get(field1.getName()).getValue(), is(equalTo(auditEvent.findField(field1.getName()).getValue())));
+    }
+
+    /**
+     * Find a non-existing field in an AuditEvent
+     */
+    @Test
+    public void findNonExistingFieldInAuditEventTest() {
+
+        AuditEvent auditEvent = new AuditEvent();
+
+        String error = "A non-existing field is not reported as null";
+        assertThat(error, auditEvent.findField("invalid_field"), is(nullValue()));
+    }
+
     /**
      * Get (retrieve) a list of fields from an AuditEvent, and make sure the list contains the provided field names,
      * and the provided field names only.
@@ -529,6 +569,38 @@ public class AuditEventTest {
         assertThat(error, fieldsInObject.size(), is(equalTo(0)));
     }
 
+    /**
+     * Immutable fields are shared with the event instead of being copied, and are not wiped when the event is cleared
+     *
+     * @throws UnsupportedEncodingException when the encoding used to create the value bytes is invalid
+     * @throws IllegalAccessException       when reflection does not work
+     */
+    @Test
+    public void immutableFieldIsSharedTest()
+            throws UnsupportedEncodingException, IllegalAccessException {
+
+        Field field = new ImmutableField("field_1", "field_1_value".getBytes("UTF-8"));
+
+        AuditEvent auditEvent1 = new AuditEvent(field);
+        AuditEvent auditEvent2 = new AuditEvent();
+        auditEvent2.setField(field);
+
+        // Use reflection to get access to the internal fields
+        ConcurrentHashMap<String, Field> fieldsInObject1 = (ConcurrentHashMap<String, Field>) field_fields.get(auditEvent1);
+        ConcurrentHashMap<String, Field> fieldsInObject2 = (ConcurrentHashMap<String, Field>) field_fields.get(auditEvent2);
+
+        String error = "The immutable field has been copied in the constructor";
+        assertThat(error, fieldsInObject1.get(field.getName()), is(sameInstance(field)));
+        error = "The immutable field has been copied in setField()";
+        assertThat(error, fieldsInObject2.get(field.getName()), is(sameInstance(field)));
+
+        // clearing one event must not affect the other event sharing the field
+        auditEvent1.clear();
+        error = "Clearing an event wiped the value of a shared immutable field";
+        assertThat(error, auditEvent2.getField(field.getName()).getValue(),
+                is(equalTo("field_1_value".getBytes("UTF-8"))));
+    }
+
     /**
      * Get a serialized representation of an AuditEvent, and make sure the JSON is correct
      *
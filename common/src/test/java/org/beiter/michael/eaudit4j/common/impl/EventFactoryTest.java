@@ -0,0 +1,175 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common.impl;
+
+import org.beiter.michael.eaudit4j.common.CommonProperties;
+import org.beiter.michael.eaudit4j.common.Event;
+import org.beiter.michael.eaudit4j.common.ExtendedEvent;
+import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.propsbuilder.MapBasedCommonPropsBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class EventFactoryTest {
+
+    private static final String CHAR_ENCODING = "UTF-8";
+
+    private java.lang.reflect.Field field_factoryProperties;
+    private java.lang.reflect.Field field_eventProperties;
+    private java.lang.reflect.Field field_builderProperties;
+
+    /**
+     * Make some of the private fields in the EventFactory, ExtendedAuditEvent, and EventBuilder classes accessible.
+     * <p>
+     * This is executed before every test to ensure consistency even if one of the tests mock with field accessibility.
+     */
+    @Before
+    public void makePrivateFieldsAccessible() {
+
+        // make private fields accessible as needed
+        try {
+            field_factoryProperties = EventFactory.class.getDeclaredField("properties");
+            field_eventProperties = ExtendedAuditEvent.class.getDeclaredField("properties");
+            field_builderProperties = EventBuilder.class.getDeclaredField("properties");
+        } catch (NoSuchFieldException e) {
+            AssertionError ae = new AssertionError("An expected private field does not exist");
+            ae.initCause(e);
+            throw ae;
+        }
+        field_factoryProperties.setAccessible(true);
+        field_eventProperties.setAccessible(true);
+        field_builderProperties.setAccessible(true);
+    }
+
+    /**
+     * Create an EventFactory, and make sure that the constructor makes a defensive copy of the properties
+     *
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void createEventFactoryTest()
+            throws IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        EventFactory eventFactory = new EventFactory(properties);
+
+        CommonProperties propertiesInObject = (CommonProperties) field_factoryProperties.get(eventFactory);
+
+        String error = "The method does not create an inbound defensive copy";
+        assertThat(error, propertiesInObject, is(not(sameInstance(properties))));
+    }
+
+    /**
+     * Create an EventFactory with null properties
+     */
+    @Test(expected = NullPointerException.class)
+    public void createEventFactoryWithNullPropertiesTest() {
+
+        CommonProperties properties = null;
+        EventFactory eventFactory = new EventFactory(properties);
+    }
+
+    /**
+     * Create events and builders from an EventFactory, and make sure that they share the factory's properties
+     *
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void sharedPropertiesTest()
+            throws IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        EventFactory eventFactory = new EventFactory(properties);
+
+        CommonProperties propertiesInFactory = (CommonProperties) field_factoryProperties.get(eventFactory);
+
+        ExtendedEvent event1 = eventFactory.createEvent();
+        ExtendedEvent event2 = eventFactory.createEvent();
+        EventBuilder builder = eventFactory.createBuilder();
+
+        String error = "The event does not share the factory's properties";
+        assertThat(error, field_eventProperties.get(event1), is(sameInstance((Object) propertiesInFactory)));
+        assertThat(error, field_eventProperties.get(event2), is(sameInstance((Object) propertiesInFactory)));
+        error = "The builder does not share the factory's properties";
+        assertThat(error, field_builderProperties.get(builder), is(sameInstance((Object) propertiesInFactory)));
+    }
+
+    /**
+     * Create an event with fields from an EventFactory, and make sure that the fields and configured field names are
+     * used
+     *
+     * @throws UnsupportedEncodingException when the encoding used to create the value bytes is invalid
+     */
+    @Test
+    public void createEventWithFieldsTest()
+            throws UnsupportedEncodingException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        EventFactory eventFactory = new EventFactory(properties);
+
+        Field field1 = new EventField("field_1", "field_1_value".getBytes(CHAR_ENCODING));
+        ExtendedEvent event = eventFactory.createEvent(field1);
+        event.setSubject("SubjectId-1234".toCharArray());
+
+        String error = "The number of fields in the event is not correct";
+        assertThat(error, event.getFieldNames().size(), is(equalTo(2)));
+        error = "The event does not contain the subject under the configured name";
+        assertThat(error, event.containsField(properties.getFieldNameSubject()), is(true));
+    }
+
+    /**
+     * Create separate events from an EventBuilder created by an EventFactory, and make sure they do not interfere
+     */
+    @Test
+    public void createBuilderTest() {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        EventFactory eventFactory = new EventFactory(properties);
+
+        Event event1 = eventFactory.createBuilder().setSubject("SubjectId-1234".toCharArray()).build();
+        Event event2 = eventFactory.createBuilder().setActor("ActorId-5678".toCharArray()).build();
+
+        String error = "The builders share the same event";
+        assertThat(error, event1, is(not(sameInstance(event2))));
+        error = "The number of fields in the event is not correct";
+        assertThat(error, event1.getFieldNames().size(), is(equalTo(1)));
+        assertThat(error, event2.getFieldNames().size(), is(equalTo(1)));
+        error = "The event does not contain the subject under the configured name";
+        assertThat(error, event1.containsField(properties.getFieldNameSubject()), is(true));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable auditing solutions.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.common.impl;
+
+import org.beiter.michael.eaudit4j.common.Encodings;
+import org.beiter.michael.eaudit4j.common.Field;
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ImmutableFieldTest {
+
+    /**
+     * Create a field with a null name
+     */
+    @Test(expected = NullPointerException.class)
+    public void createFieldWithNullNameTest() {
+
+        new ImmutableField(null, new byte[]{0x01});
+    }
+
+    /**
+     * Create a field with a blank name
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void createFieldWithBlankNameTest() {
+
+        new ImmutableField(" ", new byte[]{0x01});
+    }
+
+    /**
+     * Create a field with a null value
+     */
+    @Test(expected = NullPointerException.class)
+    public void createFieldWithNullValueTest() {
+
+        new ImmutableField("name", null);
+    }
+
+    /**
+     * The field must make a defensive copy of the value, and return defensive copies
+     */
+    @Test
+    public void defensiveCopyTest() {
+
+        byte[] value = new byte[]{0x01, 0x02};
+        Field field = new ImmutableField("name", value, Encodings.HEX);
+
+        value[0] = 0x00;
+        String error = "The constructor does not make a defensive copy of the value";
+        assertThat(error, field.getValue(), is(equalTo(new byte[]{0x01, 0x02})));
+
+        field.getValue()[1] = 0x00;
+        error = "The getter does not return a defensive copy of the value";
+        assertThat(error, field.getValue(), is(equalTo(new byte[]{0x01, 0x02})));
+
+        error = "The encoding does not match the expected value";
+        assertThat(error, field.getEncoding(), is(equalTo(Encodings.HEX)));
+        error = "The name does not match the expected value";
+        assertThat(error, field.getName(), is(equalTo("name")));
+    }
+
+    /**
+     * Setting the value of an immutable field must fail
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void setValueTest() {
+
+        Field field = new ImmutableField("name", new byte[]{0x01});
+        field.setValue(new byte[]{0x02});
+    }
+
+    /**
+     * Setting the value and encoding of an immutable field must fail
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void setValueWithEncodingTest() {
+
+        Field field = new ImmutableField("name", new byte[]{0x01});
+        field.setValue(new byte[]{0x02}, Encodings.PLAIN);
+    }
+
+    /**
+     * Clearing an immutable field must not wipe the shared value
+     */
+    @Test
+    public void clearTest() {
+
+        Field field = new ImmutableField("name", new byte[]{0x01});
+        field.clear();
+
+        String error = "The shared value has been wiped";
+        assertThat(error, field.getValue(), is(equalTo(new byte[]{0x01})));
+    }
+
+    /**
+     * The copy of an immutable field is a mutable field with the same content (copy-on-write)
+     *
+     * @throws UnsupportedEncodingException when the encoding used to create the value bytes is invalid
+     */
+    @Test
+    public void getCopyTest()
+            throws UnsupportedEncodingException {
+
+        Field field = new ImmutableField("name", "value".getBytes("UTF-8"));
+        Field copy = field.getCopy();
+
+        String error = "The copy is not a mutable field";
+        assertThat(error, copy, is(instanceOf(EventField.class)));
+        error = "The copy does not have the same value";
+        assertThat(error, String.valueOf(copy.getCharValue("UTF-8")), is(equalTo("value")));
+
+        copy.setValue("other".getBytes("UTF-8"));
+        error = "Modifying the copy changed the original field";
+        assertThat(error, String.valueOf(field.getCharValue("UTF-8")), is(equalTo("value")));
+    }
+}
@@ -58,6 +58,7 @@ public class SyncAuditTest {
 
 
     private java.lang.reflect.Field field_defaultAuditStream;
+    private java.lang.reflect.Field field_chain;
     private java.lang.reflect.Field field_properties;
     private java.lang.reflect.Field field_processors;
 
@@ -72,14 +73,17 @@ public class SyncAuditTest {
         // make private fields accessible as needed
         try {
             field_defaultAuditStream = CommonProperties.class.getDeclaredField("defaultAuditStream");
-            field_properties = SyncAudit.class.getDeclaredField("commonProps");
-            field_processors = SyncAudit.class.getDeclaredField("processors");
-        } catch (NoSuchFieldException e) {
+            field_chain = SyncAudit.class.getDeclaredField("chain");
+            Class<?> chainClass = Class.forName(SyncAudit.class.getName() + "$Chain");
+            field_properties = chainClass.getDeclaredField("commonProps");
+            field_processors = chainClass.getDeclaredField("processors");
+        } catch (NoSuchFieldException | ClassNotFoundException e) {
             AssertionError ae = new AssertionError("An expected private field does not exist");
             ae.initCause(e);
             throw ae;
         }
         field_defaultAuditStream.setAccessible(true);
+        field_chain.setAccessible(true);
         field_properties.setAccessible(true);
         field_processors.setAccessible(true);
     }
@@ -113,7 +117,7 @@ public class SyncAuditTest {
         }
 
         // Use reflection to get access to the internal fields
-        CommonProperties propertiesInObject = (CommonProperties) field_properties.get(syncAudit);
+        CommonProperties propertiesInObject = (CommonProperties) field_properties.get(field_chain.get(syncAudit));
 
         String error = "The method does not create an inbound defensive copy";
         assertThat(error, propertiesInObject, is(not(sameInstance(properties))));
@@ -209,7 +213,7 @@ public class SyncAuditTest {
         }
 
         // Use reflection to get access to the internal fields
-        List<Processor> processorsInObject = (List<Processor>) field_processors.get(syncAudit);
+        List<Processor> processorsInObject = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
 
         String error = "The number of processors in the auditor is not correct";
         assertThat(error, processorsInObject.size(), is(equalTo(1)));
@@ -242,7 +246,7 @@ public class SyncAuditTest {
         }
 
         // Use reflection to get access to the internal fields
-        List<Processor> processorsInObject = (List<Processor>) field_processors.get(syncAudit);
+        List<Processor> processorsInObject = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
 
         String error = "The number of processors in the auditor is not correct";
         assertThat(error, processorsInObject.size(), is(equalTo(2)));
@@ -281,8 +285,8 @@ public class SyncAuditTest {
         }
 
         // Use reflection to get access to the internal fields
-        List<Processor> processorsInObject1 = (List<Processor>) field_processors.get(syncAudit1);
-        List<Processor> processorsInObject2 = (List<Processor>) field_processors.get(syncAudit2);
+        List<Processor> processorsInObject1 = (List<Processor>) field_processors.get(field_chain.get(syncAudit1));
+        List<Processor> processorsInObject2 = (List<Processor>) field_processors.get(field_chain.get(syncAudit2));
 
         String error = "The instantiated classes are singletons instead of a distinct objects";
         assertThat(error, processorsInObject1.get(0), is(not(sameInstance(processorsInObject2.get(0)))));
@@ -781,4 +785,282 @@ public class SyncAuditTest {
         String error = "The event returned by the auditor is not identical to the event that was passed in";
         assertThat(error, event, is(sameInstance(returnedEvent)));
     }
+
+    /**
+     * Re-initialize a SyncAudit, and make sure that:
+     * <ul>
+     * <li>the new processor chain replaces the old chain</li>
+     * <li>the retired processors are cleaned up</li>
+     * <li>events are processed by the new chain</li>
+     * </ul>
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void reinitSyncAuditTest()
+            throws AuditException, IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(CLASS_NAME);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        List<Processor> oldProcessors = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
+
+        properties.setProcessors(CLASS_NAME + "," + CLASS_NAME);
+        syncAudit.init(properties);
+
+        List<Processor> newProcessors = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
+
+        String error = "The number of processors in the auditor is not correct";
+        assertThat(error, newProcessors.size(), is(equalTo(2)));
+        error = "The retired processor has not been cleaned up";
+        assertThat(error, ((ProcessorDummy) oldProcessors.get(0)).isCleanedUp(), is(true));
+        error = "The new processor has been cleaned up";
+        assertThat(error, ((ProcessorDummy) newProcessors.get(0)).isCleanedUp(), is(false));
+
+        Event event = new AuditEvent();
+        Event returnedEvent = syncAudit.audit(event, "A custom audit stream for testing");
+
+        error = "The event returned by the auditor is not identical to the event that was passed in";
+        assertThat(error, event, is(sameInstance(returnedEvent)));
+    }
+
+    /**
+     * Re-initialize a SyncAudit with an invalid processor, and make sure that the old processor chain remains in use
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void reinitSyncAuditWithInvalidProcessorTest()
+            throws AuditException, IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(CLASS_NAME);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        Object oldChain = field_chain.get(syncAudit);
+        List<Processor> oldProcessors = (List<Processor>) field_processors.get(oldChain);
+
+        properties.setProcessors("some.invalid.ProcessorClass");
+        try {
+            syncAudit.init(properties);
+            throw new AssertionError("Expected an exception, but that exception was not thrown");
+        } catch (AuditException e) {
+            String error = "The type of exception thrown is not correct";
+            assertThat(error, e.getErrorCondition(), is(equalTo(AuditErrorConditions.INITIALIZATION)));
+        }
+
+        String error = "The processor chain has been replaced";
+        assertThat(error, field_chain.get(syncAudit), is(sameInstance(oldChain)));
+        error = "The processor of the current chain has been cleaned up";
+        assertThat(error, ((ProcessorDummy) oldProcessors.get(0)).isCleanedUp(), is(false));
+    }
+
+    /**
+     * Re-initialize a SyncAudit with a processor that fails to initialize, and make sure that the processors of the new
+     * chain are cleaned up, and that the old processor chain remains in use
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void reinitSyncAuditWithFailingProcessorTest()
+            throws AuditException, IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(CLASS_NAME);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        Object oldChain = field_chain.get(syncAudit);
+        List<Processor> oldProcessors = (List<Processor>) field_processors.get(oldChain);
+
+        for (boolean parallelInit : new boolean[]{false, true}) {
+
+            ProcessorDummy.clearInstances();
+            properties.setProcessors(CLASS_NAME + "," + ProcessorDummyFailingInit.class.getCanonicalName());
+            properties.setParallelInit(parallelInit);
+            try {
+                syncAudit.init(properties);
+                throw new AssertionError("Expected an exception, but that exception was not thrown");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+
+            String error = "The number of processors created is not correct";
+            assertThat(error, ProcessorDummy.getInstances().size(), is(equalTo(2)));
+            for (ProcessorDummy processor : ProcessorDummy.getInstances()) {
+                error = "The processor of the failed chain has not been cleaned up";
+                assertThat(error, processor.isCleanedUp(), is(true));
+            }
+        }
+
+        String error = "The processor chain has been replaced";
+        assertThat(error, field_chain.get(syncAudit), is(sameInstance(oldChain)));
+        error = "The processor of the current chain has been cleaned up";
+        assertThat(error, ((ProcessorDummy) oldProcessors.get(0)).isCleanedUp(), is(false));
+    }
+
+    /**
+     * Re-initialize a SyncAudit while an event is being processed by the old chain, and make sure that the retired
+     * processors are not cleaned up before the drain timeout expires, but are cleaned up once the event has completed
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void reinitSyncAuditDrainTimeoutTest()
+            throws AuditException, IllegalAccessException, InterruptedException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(CLASS_NAME);
+        properties.setReloadDrainTimeout(10);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        Object oldChain = field_chain.get(syncAudit);
+        List<Processor> oldProcessors = (List<Processor>) field_processors.get(oldChain);
+
+        // simulate an event that is still being processed by the old chain
+        java.lang.reflect.Field field_inFlight;
+        try {
+            field_inFlight = oldChain.getClass().getDeclaredField("inFlight");
+        } catch (NoSuchFieldException e) {
+            AssertionError ae = new AssertionError("An expected private field does not exist");
+            ae.initCause(e);
+            throw ae;
+        }
+        field_inFlight.setAccessible(true);
+        java.util.concurrent.atomic.AtomicInteger inFlight =
+                (java.util.concurrent.atomic.AtomicInteger) field_inFlight.get(oldChain);
+        inFlight.incrementAndGet();
+
+        syncAudit.init(properties);
+
+        String error = "The processor chain has not been replaced";
+        assertThat(error, field_chain.get(syncAudit), is(not(sameInstance(oldChain))));
+        error = "The retired processor has been cleaned up while an event was in flight";
+        assertThat(error, ((ProcessorDummy) oldProcessors.get(0)).isCleanedUp(), is(false));
+
+        // complete the event, and wait for the retired processors to be cleaned up in the background
+        inFlight.decrementAndGet();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!((ProcessorDummy) oldProcessors.get(0)).isCleanedUp() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        error = "The retired processor has not been cleaned up after the event has completed";
+        assertThat(error, ((ProcessorDummy) oldProcessors.get(0)).isCleanedUp(), is(true));
+    }
+
+    /**
+     * Configure a processor chain by provider short names, initialize the processors concurrently, and make sure
+     * that all processors are initialized and kept in the configured order
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void parallelInitSyncAuditTest()
+            throws AuditException, IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(ProcessorDummyProvider.NAME + "," + CLASS_NAME + "," + ProcessorDummyProvider.NAME);
+        properties.setParallelInit(true);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        List<Processor> processors = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
+
+        String error = "The number of processors in the auditor is not correct";
+        assertThat(error, processors.size(), is(equalTo(3)));
+        for (Processor processor : processors) {
+            error = "The processor has not been initialized";
+            assertThat(error, ((ProcessorDummy) processor).isInitialized(), is(true));
+        }
+    }
+
+    /**
+     * Configure a number of warm-up events, and make sure that they are pushed through the processor chain during
+     * initialization
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void warmUpSyncAuditTest()
+            throws AuditException, IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(CLASS_NAME + "," + CLASS_NAME);
+        properties.setWarmUpEvents(5);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        List<Processor> processors = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
+
+        for (Processor processor : processors) {
+            String error = "The number of warm-up events processed is not correct";
+            assertThat(error, ((ProcessorDummy) processor).getProcessedEvents(), is(equalTo(5)));
+        }
+    }
+
+    /**
+     * Configure a number of warm-up events, and make sure that they are not pushed through the processors that persist
+     * events
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void warmUpPersistingProcessorSyncAuditTest()
+            throws AuditException, IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(CLASS_NAME + "," + ProcessorDummyPersisting.class.getCanonicalName());
+        properties.setWarmUpEvents(5);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        List<Processor> processors = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
+
+        String error = "The number of warm-up events processed is not correct";
+        assertThat(error, ((ProcessorDummy) processors.get(0)).getProcessedEvents(), is(equalTo(5)));
+        error = "Warm-up events have been processed by a processor that persists events";
+        assertThat(error, ((ProcessorDummy) processors.get(1)).getProcessedEvents(), is(equalTo(0)));
+    }
+
+    /**
+     * Disable the warm-up, and make sure that no events are pushed through the processor chain during initialization
+     *
+     * @throws AuditException         in case of an error (test failure)
+     * @throws IllegalAccessException when reflection does not work
+     */
+    @Test
+    public void noWarmUpSyncAuditTest()
+            throws AuditException, IllegalAccessException {
+
+        CommonProperties properties = MapBasedCommonPropsBuilder.buildDefault();
+        properties.setProcessors(CLASS_NAME);
+        properties.setWarmUpEvents(0);
+
+        SyncAudit syncAudit = new SyncAudit();
+        syncAudit.init(properties);
+
+        List<Processor> processors = (List<Processor>) field_processors.get(field_chain.get(syncAudit));
+
+        String error = "Warm-up events have been processed although the warm-up is disabled";
+        assertThat(error, ((ProcessorDummy) processors.get(0)).getProcessedEvents(), is(equalTo(0)));
+    }
 }
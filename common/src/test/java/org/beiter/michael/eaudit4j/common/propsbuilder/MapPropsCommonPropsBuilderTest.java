@@ -298,6 +298,271 @@ public class MapPropsCommonPropsBuilderTest {
         assertThat(error, commonProps.isFailOnMissingProcessors(), is(equalTo(true)));
     }
 
+    /**
+     * default reloadDrainTimeout test
+     */
+    @Test
+    public void defaultReloadDrainTimeoutTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+
+        String error = "reloadDrainTimeout does not match expected default value";
+        assertThat(error, commonProps.getReloadDrainTimeout(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_RELOAD_DRAIN_TIMEOUT)));
+        error = "reloadDrainTimeout does not match expected value";
+        commonProps.setReloadDrainTimeout(0);
+        assertThat(error, commonProps.getReloadDrainTimeout(), is(equalTo(0)));
+    }
+
+    /**
+     * reloadDrainTimeout test
+     */
+    @Test
+    public void reloadDrainTimeoutTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCommonPropsBuilder.KEY_RELOAD_DRAIN_TIMEOUT, null);
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(map);
+        String error = "reloadDrainTimeout does not match expected default value";
+        assertThat(error, commonProps.getReloadDrainTimeout(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_RELOAD_DRAIN_TIMEOUT)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_RELOAD_DRAIN_TIMEOUT, "asdf");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "reloadDrainTimeout does not match expected default value";
+        assertThat(error, commonProps.getReloadDrainTimeout(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_RELOAD_DRAIN_TIMEOUT)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_RELOAD_DRAIN_TIMEOUT, "42");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "reloadDrainTimeout does not match expected value";
+        assertThat(error, commonProps.getReloadDrainTimeout(), is(equalTo(42)));
+    }
+
+    /**
+     * reloadDrainTimeout out of range test
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void reloadDrainTimeoutRangeTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+        commonProps.setReloadDrainTimeout(-1);
+    }
+
+    /**
+     * default parallelInit test
+     */
+    @Test
+    public void defaultParallelInitTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+
+        String error = "parallelInit does not match expected default value";
+        assertThat(error, commonProps.isParallelInit(), is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_PARALLEL_INIT)));
+        error = "parallelInit does not match expected value";
+        commonProps.setParallelInit(!MapBasedCommonPropsBuilder.DEFAULT_PARALLEL_INIT);
+        assertThat(error, commonProps.isParallelInit(),
+                is(equalTo(!MapBasedCommonPropsBuilder.DEFAULT_PARALLEL_INIT)));
+    }
+
+    /**
+     * parallelInit test
+     */
+    @Test
+    public void parallelInitTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCommonPropsBuilder.KEY_PARALLEL_INIT, null);
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(map);
+        String error = "parallelInit does not match expected default value";
+        assertThat(error, commonProps.isParallelInit(), is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_PARALLEL_INIT)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_PARALLEL_INIT, "false");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "parallelInit does not match expected value";
+        assertThat(error, commonProps.isParallelInit(), is(equalTo(false)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_PARALLEL_INIT, "true");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        assertThat(error, commonProps.isParallelInit(), is(equalTo(true)));
+    }
+
+    /**
+     * default warmUpEvents test
+     */
+    @Test
+    public void defaultWarmUpEventsTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+
+        String error = "warmUpEvents does not match expected default value";
+        assertThat(error, commonProps.getWarmUpEvents(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_WARM_UP_EVENTS)));
+        error = "warmUpEvents does not match expected value";
+        commonProps.setWarmUpEvents(42);
+        assertThat(error, commonProps.getWarmUpEvents(), is(equalTo(42)));
+    }
+
+    /**
+     * warmUpEvents test
+     */
+    @Test
+    public void warmUpEventsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCommonPropsBuilder.KEY_WARM_UP_EVENTS, null);
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(map);
+        String error = "warmUpEvents does not match expected default value";
+        assertThat(error, commonProps.getWarmUpEvents(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_WARM_UP_EVENTS)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_WARM_UP_EVENTS, "asdf");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "warmUpEvents does not match expected default value";
+        assertThat(error, commonProps.getWarmUpEvents(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_WARM_UP_EVENTS)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_WARM_UP_EVENTS, "42");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "warmUpEvents does not match expected value";
+        assertThat(error, commonProps.getWarmUpEvents(), is(equalTo(42)));
+    }
+
+    /**
+     * warmUpEvents out of range test
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void warmUpEventsRangeTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+        commonProps.setWarmUpEvents(-1);
+    }
+
+    /**
+     * default warm-up audit stream test
+     */
+    @Test
+    public void defaultWarmUpAuditStreamTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+
+        String error = "warm-up audit stream does not match expected default value";
+        assertThat(error, commonProps.getWarmUpAuditStream(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_WARM_UP_AUDIT_STREAM)));
+        error = "warm-up audit stream does not match expected value";
+        commonProps.setWarmUpAuditStream("42");
+        assertThat(error, commonProps.getWarmUpAuditStream(), is(equalTo("42")));
+    }
+
+    /**
+     * warm-up audit stream test
+     */
+    @Test
+    public void warmUpAuditStreamTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCommonPropsBuilder.KEY_WARM_UP_AUDIT_STREAM, null);
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(map);
+        String error = "warm-up audit stream does not match expected default value";
+        assertThat(error, commonProps.getWarmUpAuditStream(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_WARM_UP_AUDIT_STREAM)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_WARM_UP_AUDIT_STREAM, "42");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "warm-up audit stream does not match expected value";
+        assertThat(error, commonProps.getWarmUpAuditStream(), is(equalTo("42")));
+    }
+
+    /**
+     * default payload compression test
+     */
+    @Test
+    public void defaultPayloadCompressionTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+
+        String error = "payload compression does not match expected default value";
+        assertThat(error, commonProps.isPayloadCompression(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_COMPRESSION)));
+        error = "payload compression does not match expected value";
+        commonProps.setPayloadCompression(!MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_COMPRESSION);
+        assertThat(error, commonProps.isPayloadCompression(),
+                is(equalTo(!MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_COMPRESSION)));
+    }
+
+    /**
+     * payload compression test
+     */
+    @Test
+    public void payloadCompressionTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_COMPRESSION, null);
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(map);
+        String error = "payload compression does not match expected default value";
+        assertThat(error, commonProps.isPayloadCompression(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_COMPRESSION)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_COMPRESSION,
+                String.valueOf(!MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_COMPRESSION));
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "payload compression does not match expected value";
+        assertThat(error, commonProps.isPayloadCompression(),
+                is(equalTo(!MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_COMPRESSION)));
+
+        // copy constructor test
+        CommonProperties commonProps2 = new CommonProperties(commonProps);
+        error = "copy constructor does not copy field";
+        assertThat(error, commonProps2.isPayloadCompression(),
+                is(equalTo(!MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_COMPRESSION)));
+    }
+
+    /**
+     * default payload dictionary test
+     */
+    @Test
+    public void defaultPayloadDictionaryTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+
+        String error = "payload dictionary does not match expected default value";
+        assertThat(error, commonProps.getPayloadDictionary(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_DICTIONARY)));
+        error = "payload dictionary does not match expected value";
+        commonProps.setPayloadDictionary("42");
+        assertThat(error, commonProps.getPayloadDictionary(), is(equalTo("42")));
+    }
+
+    /**
+     * payload dictionary test
+     */
+    @Test
+    public void payloadDictionaryTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_DICTIONARY, null);
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(map);
+        String error = "payload dictionary does not match expected default value";
+        assertThat(error, commonProps.getPayloadDictionary(),
+                is(equalTo(MapBasedCommonPropsBuilder.DEFAULT_PAYLOAD_DICTIONARY)));
+
+        map.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_DICTIONARY, "stream1,machine1");
+        commonProps = MapBasedCommonPropsBuilder.build(map);
+        error = "payload dictionary does not match expected value";
+        assertThat(error, commonProps.getPayloadDictionary(), is(equalTo("stream1,machine1")));
+
+        // copy constructor test
+        CommonProperties commonProps2 = new CommonProperties(commonProps);
+        error = "copy constructor does not copy field";
+        assertThat(error, commonProps2.getPayloadDictionary(), is(equalTo("stream1,machine1")));
+    }
+
     /**
      * default field name (event type) test
      */
@@ -35,10 +35,16 @@
 package org.beiter.michael.eaudit4j.processors.cassandra;
 
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
 import org.beiter.michael.eaudit4j.common.AuditException;
@@ -46,6 +52,11 @@ import org.beiter.michael.eaudit4j.common.CommonProperties;
 import org.beiter.michael.eaudit4j.common.Event;
 import org.beiter.michael.eaudit4j.common.FactoryException;
 import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.FieldProjection;
+import org.beiter.michael.eaudit4j.common.IndexedValueNormalizer;
+import org.beiter.michael.eaudit4j.common.PayloadCodec;
+import org.beiter.michael.eaudit4j.common.Persisting;
+import org.beiter.michael.eaudit4j.common.ProcessingKey;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.Reversible;
@@ -53,17 +64,50 @@ import org.beiter.michael.eaudit4j.processors.cassandra.propsbuilder.MapBasedCas
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * This processors persists events to a Cassandra database. The Cassandra session is not managed in this class and must
- * be provided by the users of this processors through the {@link ProcessingObjects} in the
- * {@link CassandraProcessor#process(Event, String, ProcessingObjects)} method.
+ * This processors persists events to a Cassandra database.
+ * <p>
+ * If {@link CassandraProperties#getContactPoints()} is set, the processor builds its own Cassandra {@link Cluster} and
+ * {@link Session} during initialization, keeps them open while it is in use, and closes them in
+ * {@link CassandraProcessor#cleanUp()}. Otherwise, the Cassandra session is not managed in this class and must be
+ * provided by the users of this processors through the {@link ProcessingObjects} in the
+ * {@link CassandraProcessor#process(Event, String, ProcessingObjects)} method. Note that, in this case, the methods
+ * that do not take a {@link ProcessingObjects} parameter will fail with an exception when called.
+ * <p>
+ * If {@link CommonProperties#isPayloadCompression()} is set, the serialized event is stored compressed (see
+ * {@link PayloadCodec}), and the event column must be of type {@code blob}.
+ * <p>
+ * The insert statement is prepared once per {@link Session}, and re-prepared only if the integrating application
+ * provides a different session. If {@link CassandraProperties#isAsync()} is set, the events are written
+ * asynchronously, with the number of in-flight requests capped at {@link CassandraProperties#getAsyncMaxInFlight()}.
+ * Applications that close the session should call {@link CassandraProcessor#awaitPendingWrites(long, TimeUnit)}
+ * before doing so.
  * <p>
- * Note that, as this processor relies on the Cassandra session being managed by the integrating application, the
- * methods that do not take a {@link ProcessingObjects} parameter will fail with an exception when called.
+ * If {@link CassandraProperties#getTimeBucketCqlParam()} is set, the time bucket of the event (see {@link TimeBucket})
+ * is bound to the insert statement, so that it can become part of the partition key of the event table.
  * <p>
+ * If {@link CassandraProperties#isBatch()} is set, the events of all calling threads are grouped by partition key (the
+ * audit stream name, plus the time bucket if configured) and written in {@code UNLOGGED} batches of a single partition
+ * (see {@link PartitionBatchWriter}).
+ * <p>
+ * If {@link CassandraProperties#getIndexedFields()} is set, the configured fields are written to a denormalized lookup
+ * table (field name, normalized value, and time bucket to event ID), in the same synchronous, asynchronous, or batched
+ * way as the event itself.
  */
 public class CassandraProcessor
-        implements Processor, Reversible {
+        implements Processor, Reversible, Persisting {
 
     /**
      * The logger object for this class
@@ -80,6 +124,84 @@ public class CassandraProcessor
      */
     private CassandraProperties properties;
 
+    /**
+     * The key of the session in the processing objects, created once during initialization
+     */
+    private ProcessingKey<Session> sessionKey;
+
+    /**
+     * Compresses the serialized events (only used if {@link CommonProperties#isPayloadCompression()} is set), created
+     * during initialization
+     */
+    private PayloadCodec payloadCodec;
+
+    /**
+     * Derives the time bucket of the events (only used if {@link CassandraProperties#getTimeBucketCqlParam()} is set),
+     * created during initialization
+     */
+    private TimeBucket timeBucket;
+
+    /**
+     * The parsed indexed field configuration, or {@code null} if the configuration is invalid, created during
+     * initialization
+     */
+    private FieldProjection indexedFieldProjection;
+
+    /**
+     * Truncates, converts, and normalizes the values of indexed fields, created during initialization
+     */
+    private IndexedValueNormalizer indexedValueNormalizer;
+
+    /**
+     * The insert statements, prepared on the session they are cached for
+     */
+    private volatile PreparedInsert preparedInsert;
+
+    /**
+     * Guards the preparation of the insert statements
+     */
+    private final Object prepareLock = new Object();
+
+    /**
+     * Caps the number of asynchronous write requests in flight (only used if {@link CassandraProperties#isAsync()} is
+     * set), created during initialization
+     */
+    private volatile Semaphore inFlight;
+
+    /**
+     * The number of asynchronous writes that have failed since the processor was created
+     */
+    private final AtomicLong failedWrites = new AtomicLong();
+
+    /**
+     * Writes the events in batches per partition (only used if {@link CassandraProperties#isBatch()} is set), started
+     * during initialization
+     */
+    private volatile PartitionBatchWriter batchWriter;
+
+    /**
+     * The cluster owned by this processor (only used if {@link CassandraProperties#getContactPoints()} is set), built
+     * during initialization
+     */
+    private Cluster cluster;
+
+    /**
+     * The session owned by this processor (only used if {@link CassandraProperties#getContactPoints()} is set),
+     * connected during initialization
+     */
+    private volatile Session ownedSession;
+
+    /**
+     * Guards building and closing the cluster owned by this processor
+     */
+    private final Object connectLock = new Object();
+
+    /**
+     * The time (in milliseconds since the epoch) before which no new connection attempt is made after a connection
+     * attempt has failed (see {@link CassandraProperties#getConnectRetryDelay()}), {@code 0} if there is no such time
+     */
+    private volatile long nextConnectAttempt;
+
     /**
      * {@inheritDoc}
      */
@@ -90,6 +212,51 @@ public class CassandraProcessor
 
         this.commonProperties = new CommonProperties(pCommonProperties);
         this.properties = MapBasedCassandraPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+        this.sessionKey = ProcessingKey.of(this.properties.getSessionName(), Session.class);
+        closePayloadCodec();
+        this.payloadCodec = pCommonProperties.isPayloadCompression() ? new PayloadCodec(pCommonProperties) : null;
+
+        this.timeBucket = properties.getTimeBucketCqlParam() == null
+                ? null : new TimeBucket(properties.getTimeBucket(), properties.getTimeBucketSubBuckets());
+
+        // parse the indexed field list once, instead of splitting the configuration string for every event
+        try {
+            this.indexedFieldProjection = FieldProjection.parse(properties.getIndexedFields(),
+                    properties.getIndexedFieldSeparator(), properties.getIndexedFieldNameSeparator());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("The Event field name / index mapping is invalid. ", e);
+            this.indexedFieldProjection = null;
+        }
+
+        // We use the platform's default locale here, like the JDBC processors do.
+        // Search for Locale.getDefault() to find all locations.
+        this.indexedValueNormalizer = new IndexedValueNormalizer(properties.getIndexedFieldsMaxLength(),
+                properties.isIndexedFieldsToLower(), Locale.getDefault());
+
+        // the statements may have changed, so drop the cached statements and prepare them again on first use
+        this.preparedInsert = null;
+        this.inFlight = properties.isAsync() ? new Semaphore(properties.getAsyncMaxInFlight()) : null;
+
+        // replace the batch writer of a previous initialization, sending the events it has already collected
+        stopBatchWriter();
+        if (properties.isBatch()) {
+            final PartitionBatchWriter writer = new PartitionBatchWriter(properties.getBatchMaxEvents(),
+                    properties.getBatchMaxBytes(), properties.getBatchMaxDelay());
+            writer.start();
+            this.batchWriter = writer;
+        }
+
+        // replace the cluster of a previous initialization, and connect to the configured cluster once, instead of
+        // looking up the session for every event
+        closeSession();
+        if (properties.getContactPoints() != null) {
+            try {
+                connect();
+            } catch (FactoryException e) {
+                // the error has been logged, try again when the first event is processed
+                LOG.debug("The session will be connected when the first event is processed", e);
+            }
+        }
     }
 
     /**
@@ -183,8 +350,11 @@ public class CassandraProcessor
         // get a JSON representation of the event
         final String eventJson = String.valueOf(event.toJson(properties.getStringEncoding()));
 
+        // get the (normalized) values of the indexed fields
+        final Map<String, String> indexedFields = getIndexedFields(event, indexedFieldProjection);
+
         // persist the event
-        persistEvent(auditStreamName, processingObjects, eventId, eventJson);
+        persistEvent(auditStreamName, processingObjects, eventId, eventJson, indexedFields);
 
         // return the event unchanged
         return event;
@@ -193,12 +363,18 @@ public class CassandraProcessor
     /**
      * This processor does not store any confidential information.
      * <p>
-     * The implementation of this method does nothing.
+     * The implementation of this method stops the batch writer (if {@link CassandraProperties#isBatch()} is set), after
+     * it has sent the events it has already collected, and closes the cluster and session owned by this processor (if
+     * {@link CassandraProperties#getContactPoints()} is set), and releases the native memory of the payload
+     * compressors (see {@link PayloadCodec#close()}). It does not wait for pending asynchronous writes (see
+     * {@link CassandraProcessor#awaitPendingWrites(long, TimeUnit)}).
      */
     @Override
     public final void cleanUp() {
 
-        // do nothing
+        stopBatchWriter();
+        closeSession();
+        closePayloadCodec();
     }
 
     /**
@@ -219,8 +395,57 @@ public class CassandraProcessor
     }
 
     /**
-     * Retrieve a Cassandra session from the processing objects, using the configured object name to identify the
-     * session object.
+     * Wait until all asynchronous writes that are currently in flight have completed.
+     * <p>
+     * If the processor is not configured for asynchronous writes, this method returns {@code true} immediately.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit    The unit of the {@code timeout} argument
+     * @return {@code true} if all pending writes have completed, {@code false} if the timeout elapsed before
+     * @throws InterruptedException When the current thread is interrupted while waiting
+     * @throws NullPointerException When {@code unit} is {@code null}
+     */
+    public final boolean awaitPendingWrites(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+
+        Validate.notNull(unit, "The validated object 'unit' is null");
+
+        final Semaphore semaphore = inFlight;
+        if (semaphore == null) {
+            return true;
+        }
+
+        // all permits are available once nothing is in flight anymore
+        final int permits = properties.getAsyncMaxInFlight();
+        if (semaphore.tryAcquire(permits, timeout, unit)) {
+            semaphore.release(permits);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return The number of asynchronous writes that are currently in flight
+     */
+    public final int getPendingWrites() {
+
+        final Semaphore semaphore = inFlight;
+        return semaphore == null ? 0 : properties.getAsyncMaxInFlight() - semaphore.availablePermits();
+    }
+
+    /**
+     * @return The number of asynchronous writes that have failed (or were not applied) since the processor was created
+     */
+    public final long getFailedWrites() {
+
+        return failedWrites.get();
+    }
+
+    /**
+     * Retrieve the Cassandra session owned by this processor (if {@link CassandraProperties#getContactPoints()} is set,
+     * connecting it if it is not connected yet), or retrieve a Cassandra session from the processing objects, using the
+     * configured object name to identify the session object.
      *
      * @param pProperties       The processor configuration
      * @param processingObjects The processing objects providing to the class, which may contain a {@link Session}
@@ -231,29 +456,28 @@ public class CassandraProcessor
     private Session getSession(final CassandraProperties pProperties, final ProcessingObjects processingObjects)
             throws FactoryException {
 
-        final String snName = pProperties.getSessionName();
+        // use the session owned by this processor, if it is configured to connect on its own
+        if (pProperties.getContactPoints() != null) {
+            final Session owned = ownedSession;
+            return owned == null ? connect() : owned;
+        }
 
-        // get the session from the processing objects, and throw an exception if the session object is not present or
-        // is of the wrong class type
-        final Session session;
-        if (processingObjects.contains(snName)) {
+        // get the session from the processing objects (fast path: typed key lookup)
+        final Session session = processingObjects.find(sessionKey);
 
-            final Object snObject = processingObjects.get(snName); // compiler will optimize this
-            if (snObject instanceof Session) {
+        // throw an exception if the session object is not present or is of the wrong class type
+        if (session == null) {
 
-                session = (Session) snObject;
-            } else {
-
-                final String error = "The object provided in the 'ProcessingObjects' referenced by the configured "
+            final String snName = pProperties.getSessionName();
+            final String error;
+            if (processingObjects.contains(snName)) {
+                error = "The object provided in the 'ProcessingObjects' referenced by the configured "
                         + " session name ('" + snName + "') is not an instance of '"
                         + Session.class.getCanonicalName() + "'";
-                LOG.warn(error);
-                throw new FactoryException(error);
+            } else {
+                error = "The configured session name ('" + snName
+                        + "') does not exist in the 'ProcessingObjects'";
             }
-        } else {
-
-            final String error = "The configured session name ('" + snName
-                    + "') does not exist in the 'ProcessingObjects'";
             LOG.warn(error);
             throw new FactoryException(error);
         }
@@ -261,13 +485,117 @@ public class CassandraProcessor
         return session;
     }
 
+    /**
+     * Build the cluster and connect the session owned by this processor, if the session is not connected yet.
+     * <p>
+     * After a failed connection attempt, this method fails immediately (without taking the lock) until the configured
+     * retry delay has passed, so that the calling threads are not serialized on connection attempts to an unreachable
+     * cluster.
+     *
+     * @return The session owned by this processor
+     * @throws FactoryException When the session cannot be connected, or the retry delay has not passed yet
+     */
+    // CHECKSTYLE:OFF
+    // this is flagged in checkstyle with a missing whitespace before '}', which is a bug in checkstyle
+    // the cluster is intentionally kept open and closed in closeSession()
+    // The datastax driver throws many runtime exceptions that are not very well documented, hence catching them all
+    @SuppressWarnings({"PMD.CloseResource", "PMD.AvoidCatchingGenericException"})
+    // CHECKSTYLE:ON
+    private Session connect()
+            throws FactoryException {
+
+        checkConnectRetryDelay();
+
+        synchronized (connectLock) {
+
+            if (ownedSession != null) {
+                return ownedSession;
+            }
+
+            // another thread may have failed to connect while this thread was waiting for the lock
+            checkConnectRetryDelay();
+
+            final String contactPoints = properties.getContactPoints();
+            Cluster newCluster = null;
+            try {
+                newCluster = Cluster.builder()
+                        .addContactPoints(StringUtils.split(contactPoints, ", "))
+                        .withPort(properties.getPort())
+                        .build();
+                final String keyspace = properties.getKeyspace();
+                final Session session = keyspace == null ? newCluster.connect() : newCluster.connect(keyspace);
+
+                this.cluster = newCluster;
+                this.ownedSession = session;
+                nextConnectAttempt = 0;
+                return session;
+            } catch (RuntimeException e) {
+                if (newCluster != null) {
+                    newCluster.close();
+                }
+                nextConnectAttempt = System.currentTimeMillis() + properties.getConnectRetryDelay();
+                final String error = "Cannot connect to the Cassandra cluster at '" + contactPoints + "'";
+                LOG.warn(error, e);
+                throw new FactoryException(error, e);
+            }
+        }
+    }
+
+    /**
+     * Check that no connection attempt has failed within the configured retry delay.
+     *
+     * @throws FactoryException When the retry delay after a failed connection attempt has not passed yet
+     */
+    private void checkConnectRetryDelay()
+            throws FactoryException {
+
+        final long next = nextConnectAttempt;
+        if (next != 0 && System.currentTimeMillis() < next) {
+            final String error = "Cannot connect to the Cassandra cluster at '" + properties.getContactPoints()
+                    + "', the last connection attempt has failed less than " + properties.getConnectRetryDelay()
+                    + " ms ago";
+            LOG.warn(error);
+            throw new FactoryException(error);
+        }
+    }
+
+    /**
+     * Release the native memory of the compressors of the payload codec, if payload compression is enabled.
+     */
+    private void closePayloadCodec() {
+
+        final PayloadCodec codec = payloadCodec;
+        if (codec != null) {
+            codec.close();
+        }
+    }
+
+    /**
+     * Close the cluster and session owned by this processor, if they are open. The next event that is processed
+     * connects a new session, regardless of any previously failed connection attempt.
+     */
+    private void closeSession() {
+
+        synchronized (connectLock) {
+
+            final Cluster oldCluster = cluster;
+            cluster = null;
+            ownedSession = null;
+            nextConnectAttempt = 0;
+            if (oldCluster != null) {
+                oldCluster.close();
+            }
+        }
+    }
+
     /**
      * Persist an event to Cassandra
      *
      * @param auditStreamName   The name of the audit stream
      * @param processingObjects The provided processing objects
      * @param eventId           The unique event ID of the event
-     * @param eventJson         The serialized event
+     * @param eventJson         The serialized event (compressed before it is stored if payload compression is enabled)
+     * @param indexedFields     The names and normalized values of the indexed fields to add to the lookup table
      * @throws AuditException When The database operation fails
      */
     // CHECKSTYLE:OFF
@@ -278,7 +606,7 @@ public class CassandraProcessor
     @SuppressWarnings({"PMD.CloseResource", "PMD.AvoidCatchingGenericException"})
     // CHECKSTYLE:ON
     private void persistEvent(final String auditStreamName, final ProcessingObjects processingObjects,
-                              final String eventId, final String eventJson)
+                              final String eventId, final String eventJson, final Map<String, String> indexedFields)
             throws AuditException {
 
         // get a Cassandra session
@@ -292,19 +620,76 @@ public class CassandraProcessor
         }
 
         try {
-            // create a prepared statement
-            final PreparedStatement prepared = session.prepare(properties.getInsertEventCqlStmt());
+            // get the prepared statements, which are prepared only once per session
+            final PreparedInsert prepared = getPreparedInsert(session);
 
             // bind to the prepared statement, populate, and execute it
-            final BoundStatement bound = prepared.bind()
+            final BoundStatement bound = prepared.statement.bind()
                     .setString(properties.getEventIdCqlParam(), eventId)
-                    .setString(properties.getAuditStreamNameCqlParam(), auditStreamName)
-                    .setString(properties.getEventJsonCqlParam(), eventJson);
+                    .setString(properties.getAuditStreamNameCqlParam(), auditStreamName);
+
+            // the time bucket is derived from the time the event is written, and is part of the partition key
+            final TimeBucket bucketing = timeBucket;
+            final String bucket = bucketing == null ? null : bucketing.bucket(System.currentTimeMillis(), eventId);
+            if (bucket != null) {
+                bound.setString(properties.getTimeBucketCqlParam(), bucket);
+            }
+
+            // the serialized event is either stored as text, or compressed as binary data
+            final PayloadCodec codec = payloadCodec;
+            if (codec == null) {
+                bound.setString(properties.getEventJsonCqlParam(), eventJson);
+            } else {
+                bound.setBytes(properties.getEventJsonCqlParam(), ByteBuffer.wrap(codec.encode(eventJson)));
+            }
+
+            // execute the operation, either asynchronously or waiting for the result
+            final Semaphore semaphore = inFlight;
+            final PartitionBatchWriter writer = batchWriter;
+            if (writer == null && semaphore == null && indexedFields.isEmpty()) {
+
+                final ResultSet rsEvent = session.execute(bound);
 
-            // execute the operation
-            final ResultSet rsEvent = session.execute(bound);
+                if (!rsEvent.wasApplied()) {
+                    final String error = "Error when persisting the audit event. The operation was not executed.";
+                    LOG.warn(error);
+                    throw new AuditException(AuditErrorConditions.PROCESSING, error);
+                }
+                return;
+            }
+
+            // the permit covers the event and its lookup table records
+            if (semaphore != null) {
+                semaphore.acquire();
+            }
 
-            if (!rsEvent.wasApplied()) {
+            final ListenableFuture<?> result;
+            try {
+                final List<ListenableFuture<?>> results = new ArrayList<>(1 + indexedFields.size());
+
+                // the approximate size of the statements, used to cap the size of the batches
+                results.add(execute(session, writer, bound, partitionKey(auditStreamName, bucket),
+                        eventId.length() + auditStreamName.length() + eventJson.length()));
+
+                for (final Map.Entry<String, String> field : indexedFields.entrySet()) {
+                    final String name = field.getKey();
+                    final String value = field.getValue();
+                    final BoundStatement lookup = bindLookup(prepared, eventId, auditStreamName, bucket, name, value);
+                    results.add(execute(session, writer, lookup, partitionKey(auditStreamName, bucket, name, value),
+                            eventId.length() + name.length() + value.length()));
+                }
+
+                result = results.size() == 1 ? results.get(0) : Futures.allAsList(results);
+            } catch (RuntimeException e) {
+                if (semaphore != null) {
+                    semaphore.release();
+                }
+                throw e;
+            }
+
+            if (semaphore != null) {
+                track(result, semaphore);
+            } else if (!isApplied(Uninterruptibles.getUninterruptibly(result))) {
                 final String error = "Error when persisting the audit event. The operation was not executed.";
                 LOG.warn(error);
                 throw new AuditException(AuditErrorConditions.PROCESSING, error);
@@ -314,6 +699,17 @@ public class CassandraProcessor
             final String error = "Invalid CQL query";
             LOG.warn(error, e);
             throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
+        } catch (ExecutionException e) {
+
+            final String error = "Unrecoverable error when executing the CQL transaction";
+            LOG.warn(error, e.getCause());
+            throw new AuditException(AuditErrorConditions.PROCESSING, error, e.getCause());
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            final String error = "Interrupted while waiting for an asynchronous write request to complete";
+            LOG.warn(error, e);
+            throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
         } catch (Exception e) {
 
             final String error = "Unrecoverable error when executing the CQL transaction";
@@ -321,4 +717,275 @@ public class CassandraProcessor
             throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
         }
     }
+
+    /**
+     * Get the insert statements prepared on the provided session, preparing them if the statements have not yet been
+     * prepared, or if they have been prepared on a different session.
+     *
+     * @param session The Cassandra session
+     * @return The prepared insert statements
+     */
+    private PreparedInsert getPreparedInsert(final Session session) {
+
+        // fast path: the statements have already been prepared on this session
+        PreparedInsert cached = preparedInsert;
+        if (cached != null && cached.session == session) {
+            return cached;
+        }
+
+        synchronized (prepareLock) {
+            cached = preparedInsert;
+            if (cached == null || cached.session != session) {
+                LOG.debug("Preparing the insert statements on a new Cassandra session");
+                final PreparedStatement statement = session.prepare(properties.getInsertEventCqlStmt());
+                final FieldProjection projection = indexedFieldProjection;
+                final PreparedStatement lookupStatement = projection == null || projection.size() == 0
+                        ? null : session.prepare(properties.getInsertIndexedFieldCqlStmt());
+                cached = new PreparedInsert(session, statement, lookupStatement, properties);
+                preparedInsert = cached;
+            }
+        }
+
+        return cached;
+    }
+
+    /**
+     * Bind a lookup table record of an indexed field. The event ID, audit stream name, and time bucket are only bound
+     * if the lookup table statement has the respective parameter.
+     *
+     * @param prepared        The prepared insert statements
+     * @param eventId         The unique event ID of the event
+     * @param auditStreamName The name of the audit stream
+     * @param bucket          The time bucket of the event, or {@code null} if no time bucket is configured
+     * @param name            The name of the indexed field
+     * @param value           The normalized value of the indexed field
+     * @return The bound statement
+     */
+    // suppress warnings about the number of parameters - this is a private helper, not an API
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private BoundStatement bindLookup(final PreparedInsert prepared, final String eventId, final String auditStreamName,
+                                      final String bucket, final String name, final String value) {
+
+        final BoundStatement lookup = prepared.lookupStatement.bind()
+                .setString(properties.getIndexedFieldNameCqlParam(), name)
+                .setString(properties.getIndexedFieldValueCqlParam(), value);
+
+        if (prepared.lookupEventId) {
+            lookup.setString(properties.getEventIdCqlParam(), eventId);
+        }
+        if (prepared.lookupAuditStreamName) {
+            lookup.setString(properties.getAuditStreamNameCqlParam(), auditStreamName);
+        }
+        if (bucket != null && prepared.lookupTimeBucket) {
+            lookup.setString(properties.getTimeBucketCqlParam(), bucket);
+        }
+
+        return lookup;
+    }
+
+    /**
+     * Execute a bound statement asynchronously, either directly or through the batch writer.
+     *
+     * @param session      The Cassandra session
+     * @param writer       The batch writer, or {@code null} if batching is not enabled
+     * @param statement    The bound statement to execute
+     * @param partitionKey The key grouping the statements of the same partition in the batch writer
+     * @param size         The approximate size of the statement
+     * @return The result of the statement
+     */
+    private static ListenableFuture<?> execute(final Session session, final PartitionBatchWriter writer,
+                                               final BoundStatement statement, final String partitionKey,
+                                               final int size) {
+
+        if (writer == null) {
+            return session.executeAsync(statement);
+        }
+
+        return writer.submit(session, partitionKey, statement, size);
+    }
+
+    /**
+     * Create the key that groups the statements of the same partition in the batch writer. The key contains all values
+     * that may be part of the partition key of the table: being more specific than the actual partition key of the
+     * table results in smaller batches, but never in batches that span several partitions.
+     *
+     * @param values The values that may be part of the partition key ({@code null} values are skipped)
+     * @return The key
+     */
+    private static String partitionKey(final String... values) {
+
+        final StringBuilder key = new StringBuilder();
+        for (final String value : values) {
+            if (value != null) {
+                // a separator that does not occur in audit stream names, field names, or field values
+                key.append(value).append('\u0000');
+            }
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Check whether a write request (or all of a group of write requests) has been applied.
+     *
+     * @param result The result of the request, or a list of results
+     * @return {@code true} if the request(s) have been applied
+     */
+    private static boolean isApplied(final Object result) {
+
+        if (result instanceof ResultSet) {
+            return ((ResultSet) result).wasApplied();
+        }
+        if (result instanceof List) {
+            for (final Object element : (List<?>) result) {
+                if (!isApplied(element)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Release the permit of an asynchronous write request when the request completes, and count the request if it
+     * has failed (or has not been applied).
+     *
+     * @param future    The result of the write request
+     * @param semaphore The semaphore that caps the number of in-flight requests
+     */
+    private void track(final ListenableFuture<?> future, final Semaphore semaphore) {
+
+        Futures.addCallback(future, new FutureCallback<Object>() {
+
+            @Override
+            public void onSuccess(final Object result) {
+
+                semaphore.release();
+                if (!isApplied(result)) {
+                    failedWrites.incrementAndGet();
+                    LOG.warn("Error when persisting the audit event. The asynchronous operation was not executed.");
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+
+                semaphore.release();
+                failedWrites.incrementAndGet();
+                LOG.warn("Unrecoverable error when executing the asynchronous CQL operation", t);
+            }
+        });
+    }
+
+    /**
+     * Create a map of the names and normalized values of the indexed event fields to be added to the lookup table as
+     * configured.
+     *
+     * @param event      The event to take the fields from
+     * @param projection The indexed field configuration, as parsed during initialization
+     * @return A map with the names and normalized values of the fields to add to the lookup table
+     * @throws AuditException When there is an invalid indexed field list configuration
+     */
+    private Map<String, String> getIndexedFields(final Event event, final FieldProjection projection)
+            throws AuditException {
+
+        if (projection == null) {
+            // the indexed field list configuration could not be parsed during initialization
+            final String error = "The Event field name / index mapping is invalid. ";
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
+        }
+
+        final int size = projection.size();
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+
+        // Go through the list of configured fields, and add them under their alias (or field name, if no alias is
+        // configured). Only add the field if it exists in the event (not all events necessarily contain all fields)
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+
+            final Field field = event.findField(projection.getSourceName(i));
+            if (field != null) {
+                map.put(projection.getTargetName(i),
+                        indexedValueNormalizer.normalize(field.getCharValue(properties.getStringEncoding())));
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * Stop the batch writer (if any), after it has sent the events it has already collected.
+     */
+    private void stopBatchWriter() {
+
+        final PartitionBatchWriter writer = batchWriter;
+        batchWriter = null;
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    /**
+     * The insert statements, together with the session they have been prepared on
+     */
+    private static final class PreparedInsert {
+
+        /**
+         * The session the statements have been prepared on
+         */
+        private final Session session;
+
+        /**
+         * The prepared event insert statement
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * The prepared lookup table insert statement, or {@code null} if no indexed fields are configured
+         */
+        private final PreparedStatement lookupStatement;
+
+        /**
+         * Whether the lookup table statement has an event ID parameter
+         */
+        private final boolean lookupEventId;
+
+        /**
+         * Whether the lookup table statement has an audit stream name parameter
+         */
+        private final boolean lookupAuditStreamName;
+
+        /**
+         * Whether the lookup table statement has a time bucket parameter
+         */
+        private final boolean lookupTimeBucket;
+
+        /**
+         * Create a cache entry
+         *
+         * @param session         The session the statements have been prepared on
+         * @param statement       The prepared event insert statement
+         * @param lookupStatement The prepared lookup table insert statement, or {@code null}
+         * @param properties      The processor configuration, naming the statement parameters
+         */
+        private PreparedInsert(final Session session, final PreparedStatement statement,
+                               final PreparedStatement lookupStatement, final CassandraProperties properties) {
+
+            this.session = session;
+            this.statement = statement;
+            this.lookupStatement = lookupStatement;
+
+            final String bucketParam = properties.getTimeBucketCqlParam();
+            this.lookupEventId = lookupStatement != null
+                    && lookupStatement.getVariables().contains(properties.getEventIdCqlParam());
+            this.lookupAuditStreamName = lookupStatement != null
+                    && lookupStatement.getVariables().contains(properties.getAuditStreamNameCqlParam());
+            this.lookupTimeBucket = lookupStatement != null && bucketParam != null
+                    && lookupStatement.getVariables().contains(bucketParam);
+        }
+    }
 }
@@ -67,6 +67,81 @@ public class CassandraProperties {
      */
     private String eventJsonCqlParam;
 
+    /**
+     * @see CassandraProperties#setTimeBucketCqlParam(String)
+     */
+    private String timeBucketCqlParam;
+
+    /**
+     * @see CassandraProperties#setTimeBucket(String)
+     */
+    private String timeBucket = TimeBucket.DAY;
+
+    /**
+     * @see CassandraProperties#setTimeBucketSubBuckets(int)
+     */
+    private int timeBucketSubBuckets;
+
+    /**
+     * @see CassandraProperties#setIndexedFields(String)
+     */
+    private String indexedFields;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldSeparator(String)
+     */
+    private String indexedFieldSeparator;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldNameSeparator(String)
+     */
+    private String indexedFieldNameSeparator;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldsMaxLength(int)
+     */
+    private int indexedFieldsMaxLength;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldsToLower(boolean)
+     */
+    private boolean indexedFieldsToLower;
+
+    /**
+     * @see CassandraProperties#setInsertIndexedFieldCqlStmt(String)
+     */
+    private String insertIndexedFieldCqlStmt;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldNameCqlParam(String)
+     */
+    private String indexedFieldNameCqlParam;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldValueCqlParam(String)
+     */
+    private String indexedFieldValueCqlParam;
+
+    /**
+     * @see CassandraProperties#setContactPoints(String)
+     */
+    private String contactPoints;
+
+    /**
+     * @see CassandraProperties#setPort(int)
+     */
+    private int port = 9042;
+
+    /**
+     * @see CassandraProperties#setKeyspace(String)
+     */
+    private String keyspace;
+
+    /**
+     * @see CassandraProperties#setConnectRetryDelay(int)
+     */
+    private int connectRetryDelay;
+
     /**
      * @see CassandraProperties#setStringEncoding(String)
      */
@@ -82,6 +157,36 @@ public class CassandraProperties {
      */
     private String sessionName;
 
+    /**
+     * @see CassandraProperties#setAsync(boolean)
+     */
+    private boolean async;
+
+    /**
+     * @see CassandraProperties#setAsyncMaxInFlight(int)
+     */
+    private int asyncMaxInFlight;
+
+    /**
+     * @see CassandraProperties#setBatch(boolean)
+     */
+    private boolean batch;
+
+    /**
+     * @see CassandraProperties#setBatchMaxEvents(int)
+     */
+    private int batchMaxEvents;
+
+    /**
+     * @see CassandraProperties#setBatchMaxBytes(int)
+     */
+    private int batchMaxBytes;
+
+    /**
+     * @see CassandraProperties#setBatchMaxDelay(int)
+     */
+    private int batchMaxDelay;
+
     /**
      * @see CassandraProperties#setAdditionalProperties(Map)
      */
@@ -120,9 +225,30 @@ public class CassandraProperties {
         setEventIdCqlParam(properties.getEventIdCqlParam());
         setAuditStreamNameCqlParam(properties.getAuditStreamNameCqlParam());
         setEventJsonCqlParam(properties.getEventJsonCqlParam());
+        setTimeBucketCqlParam(properties.getTimeBucketCqlParam());
+        setTimeBucket(properties.getTimeBucket());
+        setTimeBucketSubBuckets(properties.getTimeBucketSubBuckets());
+        setIndexedFields(properties.getIndexedFields());
+        setIndexedFieldSeparator(properties.getIndexedFieldSeparator());
+        setIndexedFieldNameSeparator(properties.getIndexedFieldNameSeparator());
+        setIndexedFieldsMaxLength(properties.getIndexedFieldsMaxLength());
+        setIndexedFieldsToLower(properties.isIndexedFieldsToLower());
+        setInsertIndexedFieldCqlStmt(properties.getInsertIndexedFieldCqlStmt());
+        setIndexedFieldNameCqlParam(properties.getIndexedFieldNameCqlParam());
+        setIndexedFieldValueCqlParam(properties.getIndexedFieldValueCqlParam());
+        setContactPoints(properties.getContactPoints());
+        setPort(properties.getPort());
+        setKeyspace(properties.getKeyspace());
+        setConnectRetryDelay(properties.getConnectRetryDelay());
         setStringEncoding(properties.getStringEncoding());
         setEventIdFieldName(properties.getEventIdFieldName());
         setSessionName(properties.getSessionName());
+        setAsync(properties.isAsync());
+        setAsyncMaxInFlight(properties.getAsyncMaxInFlight());
+        setBatch(properties.isBatch());
+        setBatchMaxEvents(properties.getBatchMaxEvents());
+        setBatchMaxBytes(properties.getBatchMaxBytes());
+        setBatchMaxDelay(properties.getBatchMaxDelay());
         setAdditionalProperties(properties.getAdditionalProperties());
     }
 
@@ -344,6 +470,640 @@ public class CassandraProperties {
         this.sessionName = sessionName;
     }
 
+    /**
+     * @return whether events are written asynchronously
+     * @see CassandraProperties#setAsync(boolean)
+     */
+    public final boolean isAsync() {
+
+        // no need for defensive copies of boolean
+
+        return async;
+    }
+
+    /**
+     * Whether events are written asynchronously.
+     * <p>
+     * When enabled, the processor hands the insert statement to the driver and returns without waiting for the result.
+     * The number of requests that may be in flight at the same time is capped (see
+     * {@link CassandraProperties#setAsyncMaxInFlight(int)}): once the cap is reached, the processor blocks until one
+     * of the outstanding requests completes. Failed writes are logged and counted, but are NOT reported to the caller,
+     * which means that an event may be lost without the caller noticing.
+     * <p>
+     * When disabled, the processor waits for every write to complete, and throws an exception if the write fails.
+     *
+     * @param async whether to write events asynchronously
+     */
+    public final void setAsync(final boolean async) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of boolean
+
+        this.async = async;
+    }
+
+    /**
+     * @return the maximum number of asynchronous write requests that may be in flight at the same time
+     * @see CassandraProperties#setAsyncMaxInFlight(int)
+     */
+    public final int getAsyncMaxInFlight() {
+
+        // no need for defensive copies of int
+
+        return asyncMaxInFlight;
+    }
+
+    /**
+     * The maximum number of asynchronous write requests that may be in flight at the same time. This setting is only
+     * used if {@link CassandraProperties#isAsync()} is set.
+     *
+     * @param asyncMaxInFlight the maximum number of in-flight write requests (must be 1 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code asyncMaxInFlight} is out of range
+     */
+    public final void setAsyncMaxInFlight(final int asyncMaxInFlight) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, asyncMaxInFlight);
+
+        // no need for defensive copies of int
+
+        this.asyncMaxInFlight = asyncMaxInFlight;
+    }
+
+    /**
+     * @return whether events are written in batches per partition
+     * @see CassandraProperties#setBatch(boolean)
+     */
+    public final boolean isBatch() {
+
+        // no need for defensive copies of boolean
+
+        return batch;
+    }
+
+    /**
+     * Whether events are written in batches per partition.
+     * <p>
+     * When enabled, a writer thread collects the events of all threads calling the processor, groups them by partition
+     * key (the audit stream name, plus the time bucket if {@link CassandraProperties#getTimeBucketCqlParam()} is set),
+     * and writes the events of every partition in {@code UNLOGGED} batches, bounded by
+     * {@link CassandraProperties#setBatchMaxEvents(int)} and {@link CassandraProperties#setBatchMaxBytes(int)}. A batch
+     * never contains events of more than one partition. This requires that the table the events are inserted into is
+     * partitioned by the audit stream name (and time bucket).
+     * <p>
+     * When disabled, every event is written with a statement of its own.
+     *
+     * @param batch whether to write events in batches per partition
+     */
+    public final void setBatch(final boolean batch) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of boolean
+
+        this.batch = batch;
+    }
+
+    /**
+     * @return the maximum number of events per batch
+     * @see CassandraProperties#setBatchMaxEvents(int)
+     */
+    public final int getBatchMaxEvents() {
+
+        // no need for defensive copies of int
+
+        return batchMaxEvents;
+    }
+
+    /**
+     * The maximum number of events that are collected by the batch writer before the collected events are written, and
+     * the maximum number of events in one batch. This setting is only used if {@link CassandraProperties#isBatch()} is
+     * set.
+     *
+     * @param batchMaxEvents the maximum number of events per batch (must be 1 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code batchMaxEvents} is out of range
+     */
+    public final void setBatchMaxEvents(final int batchMaxEvents) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, batchMaxEvents);
+
+        // no need for defensive copies of int
+
+        this.batchMaxEvents = batchMaxEvents;
+    }
+
+    /**
+     * @return the approximate maximum size of a batch
+     * @see CassandraProperties#setBatchMaxBytes(int)
+     */
+    public final int getBatchMaxBytes() {
+
+        // no need for defensive copies of int
+
+        return batchMaxBytes;
+    }
+
+    /**
+     * The approximate maximum size of a batch, measured in characters of the serialized events, event IDs, and audit
+     * stream names. This setting is only used if {@link CassandraProperties#isBatch()} is set, and should be kept below
+     * the {@code batch_size_warn_threshold_in_kb} setting of the Cassandra cluster.
+     *
+     * @param batchMaxBytes the approximate maximum size of a batch (must be 1 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code batchMaxBytes} is out of range
+     */
+    public final void setBatchMaxBytes(final int batchMaxBytes) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, batchMaxBytes);
+
+        // no need for defensive copies of int
+
+        this.batchMaxBytes = batchMaxBytes;
+    }
+
+    /**
+     * @return the maximum time in milliseconds the batch writer waits for more events
+     * @see CassandraProperties#setBatchMaxDelay(int)
+     */
+    public final int getBatchMaxDelay() {
+
+        // no need for defensive copies of int
+
+        return batchMaxDelay;
+    }
+
+    /**
+     * The maximum time in milliseconds the batch writer waits for more events after it has picked up the first event of
+     * a batch. This setting is only used if {@link CassandraProperties#isBatch()} is set.
+     *
+     * @param batchMaxDelay the maximum time in milliseconds to wait for more events (must be 0 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code batchMaxDelay} is out of range
+     */
+    public final void setBatchMaxDelay(final int batchMaxDelay) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, batchMaxDelay);
+
+        // no need for defensive copies of int
+
+        this.batchMaxDelay = batchMaxDelay;
+    }
+
+    /**
+     * @return the name of the "time bucket" parameter in the insert statement
+     * @see CassandraProperties#setTimeBucketCqlParam(String)
+     */
+    public final String getTimeBucketCqlParam() {
+
+        // no need for defensive copies of String
+
+        return timeBucketCqlParam;
+    }
+
+    /**
+     * Set the name of the "time bucket" parameter in the event CQL "INSERT" parameterized statement, or
+     * {@code null} if the statement does not have a time bucket parameter.
+     * <p>
+     * The time bucket is derived from the time the event is written, with the granularity configured with
+     * {@link CassandraProperties#setTimeBucket(String)}, and is meant to become part of the partition key of the event
+     * table, so that the partitions of an audit stream stay bounded in size.
+     *
+     * @param timeBucketCqlParam the name of the time bucket parameter, or {@code null} to not bind a time bucket
+     */
+    public final void setTimeBucketCqlParam(final String timeBucketCqlParam) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of String
+
+        this.timeBucketCqlParam = timeBucketCqlParam;
+    }
+
+    /**
+     * @return the granularity of the time buckets
+     * @see CassandraProperties#setTimeBucket(String)
+     */
+    public final String getTimeBucket() {
+
+        // no need for defensive copies of String
+
+        return timeBucket;
+    }
+
+    /**
+     * The granularity of the time buckets: {@code hour} or {@code day} (in UTC). This setting is only used if
+     * {@link CassandraProperties#getTimeBucketCqlParam()} is set.
+     *
+     * @param timeBucket the granularity of the time buckets
+     * @throws NullPointerException     When {@code timeBucket} is {@code null}
+     * @throws IllegalArgumentException When {@code timeBucket} is not supported
+     */
+    public final void setTimeBucket(final String timeBucket) {
+
+        Validate.notNull(timeBucket, "The validated object 'timeBucket' is null");
+        Validate.isTrue(TimeBucket.isSupported(timeBucket), "Unsupported time bucket: '%s'", timeBucket);
+
+        // no need for defensive copies of String
+
+        this.timeBucket = timeBucket;
+    }
+
+    /**
+     * @return the number of sub-buckets every time bucket is split into
+     * @see CassandraProperties#setTimeBucketSubBuckets(int)
+     */
+    public final int getTimeBucketSubBuckets() {
+
+        // no need for defensive copies of int
+
+        return timeBucketSubBuckets;
+    }
+
+    /**
+     * The number of sub-buckets every time bucket is split into. If greater than 1, the sub-bucket derived from the
+     * hash of the event ID is appended to the time bucket, which spreads the events of a very hot audit stream over
+     * several partitions. This setting is only used if {@link CassandraProperties#getTimeBucketCqlParam()} is set.
+     *
+     * @param timeBucketSubBuckets the number of sub-buckets (must be 1 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code timeBucketSubBuckets} is out of range
+     */
+    public final void setTimeBucketSubBuckets(final int timeBucketSubBuckets) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, timeBucketSubBuckets);
+
+        // no need for defensive copies of int
+
+        this.timeBucketSubBuckets = timeBucketSubBuckets;
+    }
+
+    /**
+     * @return the fields to be added to the lookup table
+     * @see CassandraProperties#setIndexedFields(String)
+     */
+    public final String getIndexedFields() {
+
+        // no need for defensive copies of String
+
+        return indexedFields;
+    }
+
+    /**
+     * Set the fields to be added to the lookup table, which maps field names and values (and the time bucket) to
+     * event IDs.
+     * <p>
+     * Provide a list of fields that is separated with the separation character specified in
+     * {@link CassandraProperties#setIndexedFieldSeparator}. Define a mapping of
+     * {@link org.beiter.michael.eaudit4j.common.Event} field names to lookup field names (i.e. names under which the
+     * provided {@link org.beiter.michael.eaudit4j.common.Event} field will be stored in the lookup table) as shown in
+     * the example below, using the character specified in the
+     * {@link CassandraProperties#setIndexedFieldNameSeparator}.
+     * <p>
+     * Set this to {@code null} or empty if none of the event fields should be included in the lookup table.
+     * <p>
+     * Example: {@code eventActor:indexedActor,eventSubject,eventObject:indexedObject}
+     *
+     * @param indexedFields The list of fields to be included in the lookup table
+     */
+    public final void setIndexedFields(final String indexedFields) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of String
+
+        this.indexedFields = indexedFields;
+    }
+
+    /**
+     * @return the indexed fields separator character
+     * @see CassandraProperties#setIndexedFieldSeparator(String)
+     */
+    public final String getIndexedFieldSeparator() {
+
+        // no need for defensive copies of String
+
+        return indexedFieldSeparator;
+    }
+
+    /**
+     * Set the indexed fields separator character used in {@link CassandraProperties#setIndexedFields(String)}.
+     * <p>
+     * The length of this parameter must be equal to {@code 1}.
+     *
+     * @param indexedFieldSeparator The character used to separate fields
+     * @throws NullPointerException     When the {@code indexedFieldSeparator} is {@code null}
+     * @throws IllegalArgumentException When the {@code indexedFieldSeparator} is {@code empty} or its length is not 1
+     */
+    public final void setIndexedFieldSeparator(final String indexedFieldSeparator) {
+
+        Validate.notBlank(indexedFieldSeparator,
+                "The validated character sequence 'indexedFieldSeparator' is null or empty");
+        Validate.inclusiveBetween(1, 1, indexedFieldSeparator.length(),
+                "The length of the validated character sequence 'indexedFieldSeparator' is invalid. "
+                        + "Expected 1, was " + indexedFieldSeparator.length());
+
+        // no need for defensive copies of String
+
+        this.indexedFieldSeparator = indexedFieldSeparator;
+    }
+
+    /**
+     * @return the field name separator character
+     * @see CassandraProperties#setIndexedFieldNameSeparator(String)
+     */
+    public final String getIndexedFieldNameSeparator() {
+
+        // no need for defensive copies of String
+
+        return indexedFieldNameSeparator;
+    }
+
+    /**
+     * Set the field name separator character used in {@link CassandraProperties#setIndexedFields(String)} to separate
+     * field names in the lookup table from the event field name. This allows using a different field name in the
+     * lookup table than in the event.
+     * <p>
+     * The length of this parameter must be equal to {@code 1}.
+     *
+     * @param indexedFieldNameSeparator The character used to separate field names in the lookup table from the event
+     *                                  field name
+     * @throws NullPointerException     When the {@code indexedFieldNameSeparator} is {@code null}
+     * @throws IllegalArgumentException When the {@code indexedFieldNameSeparator} is {@code empty} or its length is
+     *                                  not 1
+     */
+    public final void setIndexedFieldNameSeparator(final String indexedFieldNameSeparator) {
+
+        Validate.notBlank(indexedFieldNameSeparator,
+                "The validated character sequence 'indexedFieldNameSeparator' is null or empty");
+        Validate.inclusiveBetween(1, 1, indexedFieldNameSeparator.length(),
+                "The length of the validated character sequence 'indexedFieldNameSeparator' is invalid. "
+                        + "Expected 1, was " + indexedFieldNameSeparator.length());
+
+        // no need for defensive copies of String
+
+        this.indexedFieldNameSeparator = indexedFieldNameSeparator;
+    }
+
+    /**
+     * @return the maximum length of the values to be stored in the lookup table
+     * @see CassandraProperties#setIndexedFieldsMaxLength(int)
+     */
+    public final int getIndexedFieldsMaxLength() {
+
+        // no need for defensive copies of int
+
+        return indexedFieldsMaxLength;
+    }
+
+    /**
+     * The maximum length of the values to be stored in the lookup table.
+     * <p>
+     * If the value of a specific indexed field in an event is longer than this setting, then the value of the field
+     * is truncated to this length before it is inserted in the lookup table.
+     *
+     * @param indexedFieldsMaxLength the maximum length of the values to be stored in the lookup table (must be
+     *                               greater 0)
+     * @throws IllegalArgumentException When the provided value of {@code indexedFieldsMaxLength} is out of range
+     */
+    public final void setIndexedFieldsMaxLength(final int indexedFieldsMaxLength) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, indexedFieldsMaxLength);
+
+        // no need for defensive copies of int
+
+        this.indexedFieldsMaxLength = indexedFieldsMaxLength;
+    }
+
+    /**
+     * @return whether to convert all characters in indexed fields to lowercase
+     * @see CassandraProperties#setIndexedFieldsToLower(boolean)
+     */
+    public final boolean isIndexedFieldsToLower() {
+
+        // no need for defensive copies of boolean
+
+        return indexedFieldsToLower;
+    }
+
+    /**
+     * Whether to convert all characters in indexed fields to lowercase before they are stored in the lookup table.
+     * <p>
+     * Cassandra only supports exact (case-sensitive) lookups on partition keys, so set this to {@code true} to allow
+     * case-insensitive lookups (by converting the searched value to lowercase as well).
+     *
+     * @param indexedFieldsToLower whether to convert all characters in indexed fields to lowercase
+     */
+    public final void setIndexedFieldsToLower(final boolean indexedFieldsToLower) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of boolean
+
+        this.indexedFieldsToLower = indexedFieldsToLower;
+    }
+
+    /**
+     * @return the CQL statement to insert records in the lookup table
+     * @see CassandraProperties#setInsertIndexedFieldCqlStmt(String)
+     */
+    public final String getInsertIndexedFieldCqlStmt() {
+
+        // no need for defensive copies of String
+
+        return insertIndexedFieldCqlStmt;
+    }
+
+    /**
+     * Set the CQL statement to insert records in the lookup table. The statement must be parametrized and use named
+     * parameters: the field name and value parameters as configured with
+     * {@link CassandraProperties#setIndexedFieldNameCqlParam(String)} and
+     * {@link CassandraProperties#setIndexedFieldValueCqlParam(String)}, and optionally the event ID, audit stream name,
+     * and time bucket parameters of the event insert statement.
+     * <p>
+     * This setting is only used if {@link CassandraProperties#getIndexedFields()} is set.
+     *
+     * @param insertIndexedFieldCqlStmt The CQL statement used to insert records in the lookup table
+     * @throws NullPointerException     When the {@code insertIndexedFieldCqlStmt} is {@code null}
+     * @throws IllegalArgumentException When the {@code insertIndexedFieldCqlStmt} is {@code empty}
+     */
+    public final void setInsertIndexedFieldCqlStmt(final String insertIndexedFieldCqlStmt) {
+
+        Validate.notBlank(insertIndexedFieldCqlStmt,
+                "The validated character sequence 'insertIndexedFieldCqlStmt' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.insertIndexedFieldCqlStmt = insertIndexedFieldCqlStmt;
+    }
+
+    /**
+     * @return the name of the "field name" parameter in the lookup table insert statement
+     * @see CassandraProperties#setIndexedFieldNameCqlParam(String)
+     */
+    public final String getIndexedFieldNameCqlParam() {
+
+        // no need for defensive copies of String
+
+        return indexedFieldNameCqlParam;
+    }
+
+    /**
+     * Set the name of the "field name" parameter in the lookup table CQL "INSERT" parameterized statement.
+     *
+     * @param indexedFieldNameCqlParam The name of the "field name" parameter
+     * @throws NullPointerException     When the {@code indexedFieldNameCqlParam} is {@code null}
+     * @throws IllegalArgumentException When the {@code indexedFieldNameCqlParam} is {@code empty}
+     */
+    public final void setIndexedFieldNameCqlParam(final String indexedFieldNameCqlParam) {
+
+        Validate.notBlank(indexedFieldNameCqlParam,
+                "The validated character sequence 'indexedFieldNameCqlParam' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.indexedFieldNameCqlParam = indexedFieldNameCqlParam;
+    }
+
+    /**
+     * @return the name of the "field value" parameter in the lookup table insert statement
+     * @see CassandraProperties#setIndexedFieldValueCqlParam(String)
+     */
+    public final String getIndexedFieldValueCqlParam() {
+
+        // no need for defensive copies of String
+
+        return indexedFieldValueCqlParam;
+    }
+
+    /**
+     * Set the name of the "field value" parameter in the lookup table CQL "INSERT" parameterized statement.
+     *
+     * @param indexedFieldValueCqlParam The name of the "field value" parameter
+     * @throws NullPointerException     When the {@code indexedFieldValueCqlParam} is {@code null}
+     * @throws IllegalArgumentException When the {@code indexedFieldValueCqlParam} is {@code empty}
+     */
+    public final void setIndexedFieldValueCqlParam(final String indexedFieldValueCqlParam) {
+
+        Validate.notBlank(indexedFieldValueCqlParam,
+                "The validated character sequence 'indexedFieldValueCqlParam' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.indexedFieldValueCqlParam = indexedFieldValueCqlParam;
+    }
+
+    /**
+     * @return the contact points of the Cassandra cluster the processor connects to
+     * @see CassandraProperties#setContactPoints(String)
+     */
+    public final String getContactPoints() {
+
+        // no need for defensive copies of String
+
+        return contactPoints;
+    }
+
+    /**
+     * The contact points (host names or IP addresses, separated by {@code ,}) of the Cassandra cluster the processor
+     * connects to.
+     * <p>
+     * When set, the processor builds its own {@code Cluster} and {@code Session} during initialization, keeps them
+     * open while it is in use, and closes them when it is cleaned up. The session provided in the
+     * {@link org.beiter.michael.eaudit4j.common.ProcessingObjects} is not used in this case.
+     * <p>
+     * When not set, the processor uses the session provided in the
+     * {@link org.beiter.michael.eaudit4j.common.ProcessingObjects} (see
+     * {@link CassandraProperties#setSessionName(String)}).
+     *
+     * @param contactPoints the contact points of the Cassandra cluster, or {@code null} to use the provided session
+     */
+    public final void setContactPoints(final String contactPoints) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of String
+
+        this.contactPoints = contactPoints;
+    }
+
+    /**
+     * @return the port of the contact points
+     * @see CassandraProperties#setPort(int)
+     */
+    public final int getPort() {
+
+        // no need for defensive copies of int
+
+        return port;
+    }
+
+    /**
+     * The native protocol port of the contact points. This setting is only used if
+     * {@link CassandraProperties#getContactPoints()} is set.
+     *
+     * @param port the port of the contact points (must be between 1 and 65535)
+     * @throws IllegalArgumentException When the provided value of {@code port} is out of range
+     */
+    public final void setPort(final int port) {
+
+        Validate.inclusiveBetween(1, 65535, port);
+
+        // no need for defensive copies of int
+
+        this.port = port;
+    }
+
+    /**
+     * @return the keyspace of the session the processor connects
+     * @see CassandraProperties#setKeyspace(String)
+     */
+    public final String getKeyspace() {
+
+        // no need for defensive copies of String
+
+        return keyspace;
+    }
+
+    /**
+     * The keyspace of the session the processor connects, or {@code null} if the statements use qualified table names.
+     * This setting is only used if {@link CassandraProperties#getContactPoints()} is set.
+     *
+     * @param keyspace the keyspace of the session, or {@code null} to connect without a keyspace
+     */
+    public final void setKeyspace(final String keyspace) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of String
+
+        this.keyspace = keyspace;
+    }
+
+    /**
+     * @return the time in milliseconds to wait before connecting again after a failed connection attempt
+     * @see CassandraProperties#setConnectRetryDelay(int)
+     */
+    public final int getConnectRetryDelay() {
+
+        // no need for defensive copies of int
+
+        return connectRetryDelay;
+    }
+
+    /**
+     * The time in milliseconds the processor waits before it tries again to connect its own session after a connection
+     * attempt has failed. Events that are processed in the meantime fail immediately, instead of each of them trying to
+     * connect to an unreachable cluster. This setting is only used if {@link CassandraProperties#getContactPoints()} is set.
+     *
+     * @param connectRetryDelay the retry delay in milliseconds (must be 0 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code connectRetryDelay} is out of range
+     */
+    public final void setConnectRetryDelay(final int connectRetryDelay) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, connectRetryDelay);
+
+        // no need for defensive copies of int
+
+        this.connectRetryDelay = connectRetryDelay;
+    }
+
     /**
      * @return Any additional properties stored in this object that have not explicitly been parsed
      * @see CassandraProperties#setAdditionalProperties(Map)
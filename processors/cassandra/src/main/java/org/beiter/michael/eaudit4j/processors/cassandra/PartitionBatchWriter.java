@@ -0,0 +1,471 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a Cassandra database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.cassandra;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
+import org.beiter.michael.eaudit4j.common.AuditException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A writer that collects the insert statements of many calling threads, groups them by partition key, and sends the
+ * statements of every partition as size-capped {@code UNLOGGED} batches.
+ * <p>
+ * A collection window is closed as soon as it contains the configured maximum number of statements, reaches the
+ * configured approximate maximum size, or the configured maximum delay has passed since the first statement of the
+ * window has been picked up. The statements of the window are then grouped by session and partition key, and every
+ * group is split into batches of at most the configured number of statements and size. A batch never contains
+ * statements of more than one partition, so that every batch is applied by the replicas of a single partition without
+ * the coordinator having to fan out. If a batch fails, its statements are executed again one by one, so that only the
+ * offending statements fail.
+ * <p>
+ * The batches are executed asynchronously: the result of a submitted statement is reported through the future returned
+ * by {@link PartitionBatchWriter#submit(Session, String, BoundStatement, int)}.
+ */
+final class PartitionBatchWriter
+        implements Runnable {
+
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionBatchWriter.class);
+
+    /**
+     * The name of the writer thread
+     */
+    private static final String THREAD_NAME = "eAudit4j-cassandra-batch";
+
+    /**
+     * The time in milliseconds the idle writer thread waits for a statement before checking whether it has been
+     * stopped
+     */
+    private static final long IDLE_POLL_INTERVAL = 100;
+
+    /**
+     * The maximum number of statements per batch
+     */
+    private final int maxEvents;
+
+    /**
+     * The approximate maximum size of a batch
+     */
+    private final int maxBytes;
+
+    /**
+     * The maximum time in nanoseconds to wait for more statements after the first statement of a window has been
+     * picked up
+     */
+    private final long maxDelayNanos;
+
+    /**
+     * The statements waiting to be written
+     */
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Whether the writer accepts new statements
+     */
+    private volatile boolean running;
+
+    /**
+     * The writer thread (guarded by {@code this})
+     */
+    private Thread thread;
+
+    /**
+     * Create a batch writer. The writer needs to be started before statements can be submitted.
+     *
+     * @param maxEvents The maximum number of statements per batch
+     * @param maxBytes  The approximate maximum size of a batch
+     * @param maxDelay  The maximum time in milliseconds to wait for more statements
+     */
+    PartitionBatchWriter(final int maxEvents, final int maxBytes, final int maxDelay) {
+
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+    }
+
+    /**
+     * Start the writer thread.
+     */
+    synchronized void start() {
+
+        running = true;
+
+        thread = new Thread(this, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the writer. Statements that have already been submitted are sent before the writer thread terminates, new
+     * statements are rejected.
+     */
+    void stop() {
+
+        running = false;
+
+        final Thread writerThread;
+        synchronized (this) {
+            writerThread = thread;
+            thread = null;
+        }
+
+        if (writerThread != null) {
+            boolean interrupted = false;
+            while (writerThread.isAlive()) {
+                try {
+                    writerThread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // fail anything that has been submitted while the writer thread was terminating
+        failQueued();
+    }
+
+    /**
+     * Submit a statement to be sent in a batch with other statements of the same partition.
+     *
+     * @param session      The session to execute the statement on
+     * @param partitionKey The partition key of the row written by the statement
+     * @param statement    The bound insert statement
+     * @param size         The approximate size of the statement
+     * @return A future that completes when the batch containing the statement has been applied (or has failed)
+     */
+    ListenableFuture<Void> submit(final Session session, final String partitionKey,
+                                  final BoundStatement statement, final int size) {
+
+        final Entry entry = new Entry(session, partitionKey, statement, size);
+
+        if (!running) {
+            entry.fail(stoppedError());
+            return entry.future;
+        }
+
+        queue.add(entry);
+
+        // the writer may have been stopped concurrently, in which case nobody would pick up the statement
+        if (!running) {
+            failQueued();
+        }
+
+        return entry.future;
+    }
+
+    /**
+     * Collect the submitted statements, and send them in batches, until the writer has been stopped and all submitted
+     * statements have been sent.
+     */
+    @Override
+    public void run() {
+
+        final List<Entry> window = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+
+            final Entry first;
+            try {
+                first = queue.poll(IDLE_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            window.add(first);
+            collect(window, first.size);
+
+            write(window);
+            window.clear();
+        }
+    }
+
+    /**
+     * Add statements to the window until one of the bounds is reached.
+     *
+     * @param window The window, containing the first statement
+     * @param size   The size of the first statement
+     */
+    private void collect(final List<Entry> window, final int size) {
+
+        final long deadline = System.nanoTime() + maxDelayNanos;
+        int windowSize = size;
+
+        while (window.size() < maxEvents && windowSize < maxBytes) {
+
+            Entry next = queue.poll();
+            if (next == null) {
+
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    return;
+                }
+
+                try {
+                    next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (next == null) {
+                    return;
+                }
+            }
+
+            window.add(next);
+            windowSize += next.size;
+        }
+    }
+
+    /**
+     * Group the statements of a window by session and partition, and send every group in size-capped batches.
+     *
+     * @param window The statements of the window
+     */
+    private void write(final List<Entry> window) {
+
+        // sessions do not override equals(), so this groups by session identity
+        final Map<Session, Map<String, List<Entry>>> groups = new LinkedHashMap<>();
+        for (final Entry entry : window) {
+            Map<String, List<Entry>> partitions = groups.get(entry.session);
+            if (partitions == null) {
+                partitions = new LinkedHashMap<>();
+                groups.put(entry.session, partitions);
+            }
+            List<Entry> partition = partitions.get(entry.partitionKey);
+            if (partition == null) {
+                partition = new ArrayList<>();
+                partitions.put(entry.partitionKey, partition);
+            }
+            partition.add(entry);
+        }
+
+        for (final Map<String, List<Entry>> partitions : groups.values()) {
+            for (final List<Entry> partition : partitions.values()) {
+
+                // split the partition into batches that stay below the bounds
+                List<Entry> batch = new ArrayList<>();
+                int batchSize = 0;
+                for (final Entry entry : partition) {
+                    if (!batch.isEmpty() && (batch.size() >= maxEvents || batchSize + entry.size > maxBytes)) {
+                        send(batch);
+                        batch = new ArrayList<>();
+                        batchSize = 0;
+                    }
+                    batch.add(entry);
+                    batchSize += entry.size;
+                }
+                send(batch);
+            }
+        }
+    }
+
+    /**
+     * Send a batch of statements of the same partition. A batch with a single statement is sent as a plain statement.
+     *
+     * @param batch The statements to send
+     */
+    // suppress warnings about catching generic exceptions - we must complete the futures, no matter what
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void send(final List<Entry> batch) {
+
+        final Statement statement;
+        if (batch.size() == 1) {
+            statement = batch.get(0).statement;
+        } else {
+            final BatchStatement batchStatement = new BatchStatement(BatchStatement.Type.UNLOGGED);
+            for (final Entry entry : batch) {
+                batchStatement.add(entry.statement);
+            }
+            statement = batchStatement;
+        }
+
+        final ResultSetFuture future;
+        try {
+            future = batch.get(0).session.executeAsync(statement);
+        } catch (RuntimeException e) {
+            failed(batch, e);
+            return;
+        }
+
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+
+            @Override
+            public void onSuccess(final ResultSet resultSet) {
+
+                if (resultSet != null && !resultSet.wasApplied()) {
+                    failed(batch, new AuditException(AuditErrorConditions.PROCESSING,
+                            "Error when persisting the audit event. The operation was not executed."));
+                } else {
+                    for (final Entry entry : batch) {
+                        entry.future.set(null);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+
+                failed(batch, t);
+            }
+        });
+    }
+
+    /**
+     * Handle a failed batch: a batch with several statements is sent again one statement at a time, a single
+     * statement fails.
+     *
+     * @param batch The statements of the failed batch
+     * @param t     The error
+     */
+    private void failed(final List<Entry> batch, final Throwable t) {
+
+        if (batch.size() == 1) {
+            batch.get(0).fail(t);
+        } else {
+            LOG.warn("Cannot write a batch of " + batch.size() + " events, writing the events one by one", t);
+            for (final Entry entry : batch) {
+                final List<Entry> single = new ArrayList<>(1);
+                single.add(entry);
+                send(single);
+            }
+        }
+    }
+
+    /**
+     * Fail all statements that are still waiting in the queue.
+     */
+    private void failQueued() {
+
+        Entry entry = queue.poll();
+        while (entry != null) {
+            entry.fail(stoppedError());
+            entry = queue.poll();
+        }
+    }
+
+    /**
+     * @return The error reported for statements that are submitted after the writer has been stopped
+     */
+    private static AuditException stoppedError() {
+
+        final String error = "The batch writer has been stopped before the event could be written";
+        LOG.warn(error);
+        return new AuditException(AuditErrorConditions.INITIALIZATION, error);
+    }
+
+    /**
+     * A submitted statement, and the future reporting its result
+     */
+    private static final class Entry {
+
+        /**
+         * The session to execute the statement on
+         */
+        private final Session session;
+
+        /**
+         * The partition key of the row written by the statement
+         */
+        private final String partitionKey;
+
+        /**
+         * The bound insert statement
+         */
+        private final BoundStatement statement;
+
+        /**
+         * The approximate size of the statement
+         */
+        private final int size;
+
+        /**
+         * Completed when the statement has been applied (or has failed)
+         */
+        private final SettableFuture<Void> future = SettableFuture.create();
+
+        /**
+         * Create an entry.
+         *
+         * @param session      The session to execute the statement on
+         * @param partitionKey The partition key of the row written by the statement
+         * @param statement    The bound insert statement
+         * @param size         The approximate size of the statement
+         */
+        private Entry(final Session session, final String partitionKey,
+                      final BoundStatement statement, final int size) {
+
+            this.session = session;
+            this.partitionKey = partitionKey;
+            this.statement = statement;
+            this.size = size;
+        }
+
+        /**
+         * Fail the entry. Only the first completion has an effect.
+         *
+         * @param t The error
+         */
+        private void fail(final Throwable t) {
+
+            future.setException(t);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a Cassandra database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.cassandra;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Derives the time bucket an event is stored in, which becomes part of the partition key of the event table, so that
+ * the partitions of an audit stream stay bounded in size.
+ * <p>
+ * A time bucket covers an hour ({@link TimeBucket#HOUR}) or a day ({@link TimeBucket#DAY}) in UTC, and is represented
+ * as a string of the form {@code yyyyMMddHH} or {@code yyyyMMdd}. If the bucket is split into sub-buckets, the
+ * sub-bucket derived from the hash of the event ID is appended (e.g. {@code 2016031712:3}), which spreads the events of
+ * a very hot audit stream over several partitions within the same time bucket.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+final class TimeBucket {
+
+    /**
+     * The granularity of hourly time buckets
+     */
+    static final String HOUR = "hour";
+
+    /**
+     * The granularity of daily time buckets
+     */
+    static final String DAY = "day";
+
+    /**
+     * The length of an hour in milliseconds
+     */
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    /**
+     * The length of a day in milliseconds
+     */
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    /**
+     * The length of a time bucket in milliseconds
+     */
+    private final long bucketMillis;
+
+    /**
+     * The number of sub-buckets every time bucket is split into
+     */
+    private final int subBuckets;
+
+    /**
+     * The most recently formatted time bucket, re-used until the next time bucket starts
+     */
+    private volatile FormattedBucket current = new FormattedBucket(-1, null);
+
+    /**
+     * Create a time bucket.
+     *
+     * @param granularity The granularity of the time buckets ({@link TimeBucket#HOUR} or {@link TimeBucket#DAY})
+     * @param subBuckets  The number of sub-buckets every time bucket is split into
+     * @throws NullPointerException     When {@code granularity} is {@code null}
+     * @throws IllegalArgumentException When {@code granularity} is not supported, or {@code subBuckets} is smaller
+     *                                  than 1
+     */
+    TimeBucket(final String granularity, final int subBuckets) {
+
+        Validate.notNull(granularity, "The validated object 'granularity' is null");
+        Validate.isTrue(isSupported(granularity), "Unsupported time bucket: '%s'", granularity);
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, subBuckets);
+
+        this.bucketMillis = HOUR.equalsIgnoreCase(granularity) ? HOUR_MILLIS : DAY_MILLIS;
+        this.subBuckets = subBuckets;
+    }
+
+    /**
+     * Check whether a time bucket granularity is supported.
+     *
+     * @param granularity The granularity
+     * @return {@code true} if the granularity is supported (ignoring case)
+     */
+    static boolean isSupported(final String granularity) {
+
+        return HOUR.equalsIgnoreCase(granularity) || DAY.equalsIgnoreCase(granularity);
+    }
+
+    /**
+     * Get the time bucket of an event.
+     *
+     * @param timeMillis The time of the event, in milliseconds since the epoch
+     * @param eventId    The event ID, which selects the sub-bucket
+     * @return The time bucket (and sub-bucket, if sub-buckets are configured)
+     */
+    String bucket(final long timeMillis, final String eventId) {
+
+        final String bucket = format(timeMillis);
+        if (subBuckets == 1) {
+            return bucket;
+        }
+
+        // spread the bits of the hash before reducing it to the number of sub-buckets
+        final int hash = eventId.hashCode();
+        final int subBucket = ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % subBuckets;
+        return bucket + ':' + subBucket;
+    }
+
+    /**
+     * Format the time bucket containing a point in time, re-using the last formatted bucket if possible.
+     *
+     * @param timeMillis The time, in milliseconds since the epoch
+     * @return The formatted time bucket
+     */
+    private String format(final long timeMillis) {
+
+        // event times are never before the epoch, so there is no need for floor division
+        final long number = timeMillis / bucketMillis;
+
+        final FormattedBucket cached = current;
+        if (cached.number == number) {
+            return cached.text;
+        }
+
+        final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"), Locale.ROOT);
+        calendar.setTimeInMillis(number * bucketMillis);
+
+        final String text;
+        if (bucketMillis == HOUR_MILLIS) {
+            text = String.format(Locale.ROOT, "%1$tY%1$tm%1$td%1$tH", calendar);
+        } else {
+            text = String.format(Locale.ROOT, "%1$tY%1$tm%1$td", calendar);
+        }
+
+        current = new FormattedBucket(number, text);
+        return text;
+    }
+
+    /**
+     * A time bucket, together with its formatted representation
+     */
+    private static final class FormattedBucket {
+
+        /**
+         * The number of the time bucket since the epoch
+         */
+        private final long number;
+
+        /**
+         * The formatted time bucket
+         */
+        private final String text;
+
+        /**
+         * Create a formatted time bucket
+         *
+         * @param number The number of the time bucket since the epoch
+         * @param text   The formatted time bucket
+         */
+        private FormattedBucket(final long number, final String text) {
+
+            this.number = number;
+            this.text = text;
+        }
+    }
+}
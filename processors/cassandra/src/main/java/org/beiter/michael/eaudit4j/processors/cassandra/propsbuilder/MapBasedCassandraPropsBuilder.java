@@ -84,6 +84,81 @@ public final class MapBasedCassandraPropsBuilder {
      */
     public static final String DEFAULT_EVENT_JSON_CQL_PARAM = "TODO - CONFIGURE ME!";
 
+    /**
+     * @see CassandraProperties#setTimeBucketCqlParam(String)
+     */
+    public static final String DEFAULT_TIME_BUCKET_CQL_PARAM = null;
+
+    /**
+     * @see CassandraProperties#setTimeBucket(String)
+     */
+    public static final String DEFAULT_TIME_BUCKET = "day";
+
+    /**
+     * @see CassandraProperties#setTimeBucketSubBuckets(int)
+     */
+    public static final int DEFAULT_TIME_BUCKET_SUB_BUCKETS = 1;
+
+    /**
+     * @see CassandraProperties#setIndexedFields(String)
+     */
+    public static final String DEFAULT_INDEXED_FIELDS = null;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldSeparator(String)
+     */
+    public static final String DEFAULT_INDEXED_FIELD_SEPARATOR = ",";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldNameSeparator(String)
+     */
+    public static final String DEFAULT_INDEXED_FIELD_NAME_SEPARATOR = ":";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldsMaxLength(int)
+     */
+    public static final int DEFAULT_INDEXED_FIELDS_MAX_LENGTH = 255;
+
+    /**
+     * @see CassandraProperties#setIndexedFieldsToLower(boolean)
+     */
+    public static final boolean DEFAULT_INDEXED_FIELDS_TO_LOWER = false;
+
+    /**
+     * @see CassandraProperties#setInsertIndexedFieldCqlStmt(String)
+     */
+    public static final String DEFAULT_INSERT_INDEXED_FIELD_CQL_STMT = "TODO - CONFIGURE ME!";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldNameCqlParam(String)
+     */
+    public static final String DEFAULT_INDEXED_FIELD_NAME_CQL_PARAM = "TODO - CONFIGURE ME!";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldValueCqlParam(String)
+     */
+    public static final String DEFAULT_INDEXED_FIELD_VALUE_CQL_PARAM = "TODO - CONFIGURE ME!";
+
+    /**
+     * @see CassandraProperties#setContactPoints(String)
+     */
+    public static final String DEFAULT_CONTACT_POINTS = null;
+
+    /**
+     * @see CassandraProperties#setPort(int)
+     */
+    public static final int DEFAULT_PORT = 9042;
+
+    /**
+     * @see CassandraProperties#setKeyspace(String)
+     */
+    public static final String DEFAULT_KEYSPACE = null;
+
+    /**
+     * @see CassandraProperties#setConnectRetryDelay(int)
+     */
+    public static final int DEFAULT_CONNECT_RETRY_DELAY = 5000;
+
     /**
      * @see CassandraProperties#setStringEncoding(String)
      */
@@ -99,6 +174,36 @@ public final class MapBasedCassandraPropsBuilder {
      */
     public static final String DEFAULT_SESSION_NAME = "TODO - CONFIGURE ME!";
 
+    /**
+     * @see CassandraProperties#setAsync(boolean)
+     */
+    public static final boolean DEFAULT_ASYNC = false;
+
+    /**
+     * @see CassandraProperties#setAsyncMaxInFlight(int)
+     */
+    public static final int DEFAULT_ASYNC_MAX_IN_FLIGHT = 256;
+
+    /**
+     * @see CassandraProperties#setBatch(boolean)
+     */
+    public static final boolean DEFAULT_BATCH = false;
+
+    /**
+     * @see CassandraProperties#setBatchMaxEvents(int)
+     */
+    public static final int DEFAULT_BATCH_MAX_EVENTS = 50;
+
+    /**
+     * @see CassandraProperties#setBatchMaxBytes(int)
+     */
+    public static final int DEFAULT_BATCH_MAX_BYTES = 5120;
+
+    /**
+     * @see CassandraProperties#setBatchMaxDelay(int)
+     */
+    public static final int DEFAULT_BATCH_MAX_DELAY = 10;
+
     // #####################
     // # Configuration Keys
     // #####################
@@ -123,6 +228,83 @@ public final class MapBasedCassandraPropsBuilder {
      */
     public static final String KEY_EVENT_JSON_CQL_PARAM = "audit.processor.cassandra.eventJsonCqlParam";
 
+    /**
+     * @see CassandraProperties#setTimeBucketCqlParam(String)
+     */
+    public static final String KEY_TIME_BUCKET_CQL_PARAM = "audit.processor.cassandra.timeBucketCqlParam";
+
+    /**
+     * @see CassandraProperties#setTimeBucket(String)
+     */
+    public static final String KEY_TIME_BUCKET = "audit.processor.cassandra.timeBucket";
+
+    /**
+     * @see CassandraProperties#setTimeBucketSubBuckets(int)
+     */
+    public static final String KEY_TIME_BUCKET_SUB_BUCKETS = "audit.processor.cassandra.timeBucket.subBuckets";
+
+    /**
+     * @see CassandraProperties#setIndexedFields(String)
+     */
+    public static final String KEY_INDEXED_FIELDS = "audit.processor.cassandra.indexedFields";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldSeparator(String)
+     */
+    public static final String KEY_INDEXED_FIELD_SEPARATOR = "audit.processor.cassandra.indexedFieldSeparator";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldNameSeparator(String)
+     */
+    public static final String KEY_INDEXED_FIELD_NAME_SEPARATOR = "audit.processor.cassandra.indexedFieldNameSeparator";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldsMaxLength(int)
+     */
+    public static final String KEY_INDEXED_FIELDS_MAX_LENGTH = "audit.processor.cassandra.indexedFieldsMaxLength";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldsToLower(boolean)
+     */
+    public static final String KEY_INDEXED_FIELDS_TO_LOWER = "audit.processor.cassandra.indexedFieldsToLower";
+
+    /**
+     * @see CassandraProperties#setInsertIndexedFieldCqlStmt(String)
+     */
+    public static final String KEY_INSERT_INDEXED_FIELD_CQL_STMT =
+            "audit.processor.cassandra.insertIndexedFieldCqlStmt";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldNameCqlParam(String)
+     */
+    public static final String KEY_INDEXED_FIELD_NAME_CQL_PARAM = "audit.processor.cassandra.indexedFieldNameCqlParam";
+
+    /**
+     * @see CassandraProperties#setIndexedFieldValueCqlParam(String)
+     */
+    public static final String KEY_INDEXED_FIELD_VALUE_CQL_PARAM =
+            "audit.processor.cassandra.indexedFieldValueCqlParam";
+
+    /**
+     * @see CassandraProperties#setContactPoints(String)
+     */
+    public static final String KEY_CONTACT_POINTS = "audit.processor.cassandra.contactPoints";
+
+    /**
+     * @see CassandraProperties#setPort(int)
+     */
+    public static final String KEY_PORT = "audit.processor.cassandra.port";
+
+    /**
+     * @see CassandraProperties#setKeyspace(String)
+     */
+    public static final String KEY_KEYSPACE = "audit.processor.cassandra.keyspace";
+
+    /**
+     * @see CassandraProperties#setConnectRetryDelay(int)
+     */
+    public static final String KEY_CONNECT_RETRY_DELAY = "audit.processor.cassandra.connectRetryDelay";
+
     /**
      * @see CassandraProperties#setStringEncoding(String)
      */
@@ -138,6 +320,36 @@ public final class MapBasedCassandraPropsBuilder {
      */
     public static final String KEY_SESSION_NAME = "audit.processor.cassandra.sessionName";
 
+    /**
+     * @see CassandraProperties#setAsync(boolean)
+     */
+    public static final String KEY_ASYNC = "audit.processor.cassandra.async";
+
+    /**
+     * @see CassandraProperties#setAsyncMaxInFlight(int)
+     */
+    public static final String KEY_ASYNC_MAX_IN_FLIGHT = "audit.processor.cassandra.async.maxInFlight";
+
+    /**
+     * @see CassandraProperties#setBatch(boolean)
+     */
+    public static final String KEY_BATCH = "audit.processor.cassandra.batch";
+
+    /**
+     * @see CassandraProperties#setBatchMaxEvents(int)
+     */
+    public static final String KEY_BATCH_MAX_EVENTS = "audit.processor.cassandra.batch.maxEvents";
+
+    /**
+     * @see CassandraProperties#setBatchMaxBytes(int)
+     */
+    public static final String KEY_BATCH_MAX_BYTES = "audit.processor.cassandra.batch.maxBytes";
+
+    /**
+     * @see CassandraProperties#setBatchMaxDelay(int)
+     */
+    public static final String KEY_BATCH_MAX_DELAY = "audit.processor.cassandra.batch.maxDelay";
+
     /**
      * A private constructor to prevent instantiation of this class
      */
@@ -236,6 +448,242 @@ public final class MapBasedCassandraPropsBuilder {
             logDefault(KEY_SESSION_NAME, DEFAULT_SESSION_NAME);
         }
 
+        tmp = properties.get(KEY_ASYNC);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setAsync(Boolean.parseBoolean(tmp));
+            logValue(KEY_ASYNC, tmp);
+        } else {
+            cassandraProperties.setAsync(DEFAULT_ASYNC);
+            logDefault(KEY_ASYNC, String.valueOf(DEFAULT_ASYNC));
+        }
+
+        tmp = properties.get(KEY_ASYNC_MAX_IN_FLIGHT);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                cassandraProperties.setAsyncMaxInFlight(Integer.decode(tmp));
+                logValue(KEY_ASYNC_MAX_IN_FLIGHT, tmp);
+            } else {
+                cassandraProperties.setAsyncMaxInFlight(DEFAULT_ASYNC_MAX_IN_FLIGHT);
+                logDefault(KEY_ASYNC_MAX_IN_FLIGHT, tmp, "not numeric", String.valueOf(DEFAULT_ASYNC_MAX_IN_FLIGHT));
+            }
+        } else {
+            cassandraProperties.setAsyncMaxInFlight(DEFAULT_ASYNC_MAX_IN_FLIGHT);
+            logDefault(KEY_ASYNC_MAX_IN_FLIGHT, String.valueOf(DEFAULT_ASYNC_MAX_IN_FLIGHT));
+        }
+
+        tmp = properties.get(KEY_BATCH);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setBatch(Boolean.parseBoolean(tmp));
+            logValue(KEY_BATCH, tmp);
+        } else {
+            cassandraProperties.setBatch(DEFAULT_BATCH);
+            logDefault(KEY_BATCH, String.valueOf(DEFAULT_BATCH));
+        }
+
+        tmp = properties.get(KEY_BATCH_MAX_EVENTS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                cassandraProperties.setBatchMaxEvents(Integer.decode(tmp));
+                logValue(KEY_BATCH_MAX_EVENTS, tmp);
+            } else {
+                cassandraProperties.setBatchMaxEvents(DEFAULT_BATCH_MAX_EVENTS);
+                logDefault(KEY_BATCH_MAX_EVENTS, tmp, "not numeric", String.valueOf(DEFAULT_BATCH_MAX_EVENTS));
+            }
+        } else {
+            cassandraProperties.setBatchMaxEvents(DEFAULT_BATCH_MAX_EVENTS);
+            logDefault(KEY_BATCH_MAX_EVENTS, String.valueOf(DEFAULT_BATCH_MAX_EVENTS));
+        }
+
+        tmp = properties.get(KEY_BATCH_MAX_BYTES);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                cassandraProperties.setBatchMaxBytes(Integer.decode(tmp));
+                logValue(KEY_BATCH_MAX_BYTES, tmp);
+            } else {
+                cassandraProperties.setBatchMaxBytes(DEFAULT_BATCH_MAX_BYTES);
+                logDefault(KEY_BATCH_MAX_BYTES, tmp, "not numeric", String.valueOf(DEFAULT_BATCH_MAX_BYTES));
+            }
+        } else {
+            cassandraProperties.setBatchMaxBytes(DEFAULT_BATCH_MAX_BYTES);
+            logDefault(KEY_BATCH_MAX_BYTES, String.valueOf(DEFAULT_BATCH_MAX_BYTES));
+        }
+
+        tmp = properties.get(KEY_BATCH_MAX_DELAY);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 0) {
+                cassandraProperties.setBatchMaxDelay(Integer.decode(tmp));
+                logValue(KEY_BATCH_MAX_DELAY, tmp);
+            } else {
+                cassandraProperties.setBatchMaxDelay(DEFAULT_BATCH_MAX_DELAY);
+                logDefault(KEY_BATCH_MAX_DELAY, tmp, "not numeric", String.valueOf(DEFAULT_BATCH_MAX_DELAY));
+            }
+        } else {
+            cassandraProperties.setBatchMaxDelay(DEFAULT_BATCH_MAX_DELAY);
+            logDefault(KEY_BATCH_MAX_DELAY, String.valueOf(DEFAULT_BATCH_MAX_DELAY));
+        }
+
+        tmp = properties.get(KEY_TIME_BUCKET_CQL_PARAM);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setTimeBucketCqlParam(tmp);
+            logValue(KEY_TIME_BUCKET_CQL_PARAM, tmp);
+        } else {
+            cassandraProperties.setTimeBucketCqlParam(DEFAULT_TIME_BUCKET_CQL_PARAM);
+            logDefault(KEY_TIME_BUCKET_CQL_PARAM, DEFAULT_TIME_BUCKET_CQL_PARAM);
+        }
+
+        tmp = properties.get(KEY_TIME_BUCKET);
+        if (StringUtils.isNotEmpty(tmp)) {
+            try {
+                cassandraProperties.setTimeBucket(tmp);
+                logValue(KEY_TIME_BUCKET, tmp);
+            } catch (IllegalArgumentException e) {
+                cassandraProperties.setTimeBucket(DEFAULT_TIME_BUCKET);
+                logDefault(KEY_TIME_BUCKET, tmp, "not a supported time bucket", DEFAULT_TIME_BUCKET);
+            }
+        } else {
+            cassandraProperties.setTimeBucket(DEFAULT_TIME_BUCKET);
+            logDefault(KEY_TIME_BUCKET, DEFAULT_TIME_BUCKET);
+        }
+
+        tmp = properties.get(KEY_TIME_BUCKET_SUB_BUCKETS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                cassandraProperties.setTimeBucketSubBuckets(Integer.decode(tmp));
+                logValue(KEY_TIME_BUCKET_SUB_BUCKETS, tmp);
+            } else {
+                cassandraProperties.setTimeBucketSubBuckets(DEFAULT_TIME_BUCKET_SUB_BUCKETS);
+                logDefault(KEY_TIME_BUCKET_SUB_BUCKETS, tmp, "not numeric",
+                        String.valueOf(DEFAULT_TIME_BUCKET_SUB_BUCKETS));
+            }
+        } else {
+            cassandraProperties.setTimeBucketSubBuckets(DEFAULT_TIME_BUCKET_SUB_BUCKETS);
+            logDefault(KEY_TIME_BUCKET_SUB_BUCKETS, String.valueOf(DEFAULT_TIME_BUCKET_SUB_BUCKETS));
+        }
+
+        tmp = properties.get(KEY_INDEXED_FIELDS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setIndexedFields(tmp);
+            logValue(KEY_INDEXED_FIELDS, tmp);
+        } else {
+            cassandraProperties.setIndexedFields(DEFAULT_INDEXED_FIELDS);
+            logDefault(KEY_INDEXED_FIELDS, DEFAULT_INDEXED_FIELDS);
+        }
+
+        tmp = properties.get(KEY_INDEXED_FIELD_SEPARATOR);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setIndexedFieldSeparator(tmp);
+            logValue(KEY_INDEXED_FIELD_SEPARATOR, tmp);
+        } else {
+            cassandraProperties.setIndexedFieldSeparator(DEFAULT_INDEXED_FIELD_SEPARATOR);
+            logDefault(KEY_INDEXED_FIELD_SEPARATOR, DEFAULT_INDEXED_FIELD_SEPARATOR);
+        }
+
+        tmp = properties.get(KEY_INDEXED_FIELD_NAME_SEPARATOR);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setIndexedFieldNameSeparator(tmp);
+            logValue(KEY_INDEXED_FIELD_NAME_SEPARATOR, tmp);
+        } else {
+            cassandraProperties.setIndexedFieldNameSeparator(DEFAULT_INDEXED_FIELD_NAME_SEPARATOR);
+            logDefault(KEY_INDEXED_FIELD_NAME_SEPARATOR, DEFAULT_INDEXED_FIELD_NAME_SEPARATOR);
+        }
+
+        tmp = properties.get(KEY_INDEXED_FIELDS_MAX_LENGTH);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                cassandraProperties.setIndexedFieldsMaxLength(Integer.decode(tmp));
+                logValue(KEY_INDEXED_FIELDS_MAX_LENGTH, tmp);
+            } else {
+                cassandraProperties.setIndexedFieldsMaxLength(DEFAULT_INDEXED_FIELDS_MAX_LENGTH);
+                logDefault(KEY_INDEXED_FIELDS_MAX_LENGTH, tmp, "not numeric",
+                        String.valueOf(DEFAULT_INDEXED_FIELDS_MAX_LENGTH));
+            }
+        } else {
+            cassandraProperties.setIndexedFieldsMaxLength(DEFAULT_INDEXED_FIELDS_MAX_LENGTH);
+            logDefault(KEY_INDEXED_FIELDS_MAX_LENGTH, String.valueOf(DEFAULT_INDEXED_FIELDS_MAX_LENGTH));
+        }
+
+        tmp = properties.get(KEY_INDEXED_FIELDS_TO_LOWER);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setIndexedFieldsToLower(Boolean.parseBoolean(tmp));
+            logValue(KEY_INDEXED_FIELDS_TO_LOWER, tmp);
+        } else {
+            cassandraProperties.setIndexedFieldsToLower(DEFAULT_INDEXED_FIELDS_TO_LOWER);
+            logDefault(KEY_INDEXED_FIELDS_TO_LOWER, String.valueOf(DEFAULT_INDEXED_FIELDS_TO_LOWER));
+        }
+
+        tmp = properties.get(KEY_INSERT_INDEXED_FIELD_CQL_STMT);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setInsertIndexedFieldCqlStmt(tmp);
+            logValue(KEY_INSERT_INDEXED_FIELD_CQL_STMT, tmp);
+        } else {
+            cassandraProperties.setInsertIndexedFieldCqlStmt(DEFAULT_INSERT_INDEXED_FIELD_CQL_STMT);
+            logDefault(KEY_INSERT_INDEXED_FIELD_CQL_STMT, DEFAULT_INSERT_INDEXED_FIELD_CQL_STMT);
+        }
+
+        tmp = properties.get(KEY_INDEXED_FIELD_NAME_CQL_PARAM);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setIndexedFieldNameCqlParam(tmp);
+            logValue(KEY_INDEXED_FIELD_NAME_CQL_PARAM, tmp);
+        } else {
+            cassandraProperties.setIndexedFieldNameCqlParam(DEFAULT_INDEXED_FIELD_NAME_CQL_PARAM);
+            logDefault(KEY_INDEXED_FIELD_NAME_CQL_PARAM, DEFAULT_INDEXED_FIELD_NAME_CQL_PARAM);
+        }
+
+        tmp = properties.get(KEY_INDEXED_FIELD_VALUE_CQL_PARAM);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setIndexedFieldValueCqlParam(tmp);
+            logValue(KEY_INDEXED_FIELD_VALUE_CQL_PARAM, tmp);
+        } else {
+            cassandraProperties.setIndexedFieldValueCqlParam(DEFAULT_INDEXED_FIELD_VALUE_CQL_PARAM);
+            logDefault(KEY_INDEXED_FIELD_VALUE_CQL_PARAM, DEFAULT_INDEXED_FIELD_VALUE_CQL_PARAM);
+        }
+
+        tmp = properties.get(KEY_CONTACT_POINTS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setContactPoints(tmp);
+            logValue(KEY_CONTACT_POINTS, tmp);
+        } else {
+            cassandraProperties.setContactPoints(DEFAULT_CONTACT_POINTS);
+            logDefault(KEY_CONTACT_POINTS, DEFAULT_CONTACT_POINTS);
+        }
+
+        tmp = properties.get(KEY_PORT);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1 && Integer.decode(tmp) <= 65535) {
+                cassandraProperties.setPort(Integer.decode(tmp));
+                logValue(KEY_PORT, tmp);
+            } else {
+                cassandraProperties.setPort(DEFAULT_PORT);
+                logDefault(KEY_PORT, tmp, "not numeric or out of range", String.valueOf(DEFAULT_PORT));
+            }
+        } else {
+            cassandraProperties.setPort(DEFAULT_PORT);
+            logDefault(KEY_PORT, String.valueOf(DEFAULT_PORT));
+        }
+
+        tmp = properties.get(KEY_KEYSPACE);
+        if (StringUtils.isNotEmpty(tmp)) {
+            cassandraProperties.setKeyspace(tmp);
+            logValue(KEY_KEYSPACE, tmp);
+        } else {
+            cassandraProperties.setKeyspace(DEFAULT_KEYSPACE);
+            logDefault(KEY_KEYSPACE, DEFAULT_KEYSPACE);
+        }
+
+        tmp = properties.get(KEY_CONNECT_RETRY_DELAY);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 0) {
+                cassandraProperties.setConnectRetryDelay(Integer.decode(tmp));
+                logValue(KEY_CONNECT_RETRY_DELAY, tmp);
+            } else {
+                cassandraProperties.setConnectRetryDelay(DEFAULT_CONNECT_RETRY_DELAY);
+                logDefault(KEY_CONNECT_RETRY_DELAY, tmp, "not numeric", String.valueOf(DEFAULT_CONNECT_RETRY_DELAY));
+            }
+        } else {
+            cassandraProperties.setConnectRetryDelay(DEFAULT_CONNECT_RETRY_DELAY);
+            logDefault(KEY_CONNECT_RETRY_DELAY, String.valueOf(DEFAULT_CONNECT_RETRY_DELAY));
+        }
+
         // set the additional properties, preserving the originally provided properties
         // create a defensive copy of the map and all its properties
         // the code looks a little more complicated than a simple "putAll()", but it catches situations
@@ -311,4 +759,37 @@ public final class MapBasedCassandraPropsBuilder {
             LOG.info(msg.toString());
         }
     }
+
+    /**
+     * Create a log entry when a default value is being used in case that an invalid configuration value has been
+     * provided in the configuration for the propsbuilder key.
+     *
+     * @param key             The configuration key
+     * @param invalidValue    The invalid value that cannot be used
+     * @param validationError The validation error that caused the invalid value to be refused
+     * @param defaultValue    The default value that is being used
+     */
+    // suppress warnings about not using an object for the four strings in this PRIVATE method
+    @SuppressWarnings("PMD.UseObjectForClearerAPI")
+    private static void logDefault(final String key,
+                                   final String invalidValue,
+                                   final String validationError,
+                                   final String defaultValue) {
+
+        if (LOG.isWarnEnabled()) {
+            final StringBuilder msg = new StringBuilder("Invalid value ('")
+                    .append(invalidValue)
+                    .append("', ")
+                    .append(validationError)
+                    .append(") for key '")
+                    .append(key)
+                    .append("', using default instead ('");
+            if (defaultValue == null) {
+                msg.append("null')");
+            } else {
+                msg.append(defaultValue).append("')");
+            }
+            LOG.warn(msg.toString());
+        }
+    }
 }
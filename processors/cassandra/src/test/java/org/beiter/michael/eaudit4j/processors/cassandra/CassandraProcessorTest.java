@@ -49,6 +49,7 @@ import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
 import org.beiter.michael.eaudit4j.common.FactoryException;
 import org.beiter.michael.eaudit4j.common.Encodings;
 import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.PayloadCodec;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.Reversible;
 import org.beiter.michael.eaudit4j.common.impl.AuditEvent;
@@ -65,13 +66,25 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
@@ -757,6 +770,621 @@ public class CassandraProcessorTest {
         assertThat(error, rsEventSize, is(equalTo(1)));
     }
 
+    /**
+     * Test that, when payload compression is enabled, the events are stored as compressed binary data that decodes to
+     * the serialized event.
+     */
+    @Test
+    public void compressedEventInsertTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the Cassandra Processor configuration
+        props.put(MapBasedCassandraPropsBuilder.KEY_SESSION_NAME, SESSION_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_CQL_PARAM, EVENT_ID_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_AUDIT_STREAM_NAME_CQL_PARAM, AUDIT_STREAM_NAME_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_JSON_CQL_PARAM, EVENT_JSON_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT,
+                "INSERT INTO binary_events (eventId, auditStream, eventJson) VALUES (:"
+                        + EVENT_ID_CQL_FIELD + ", :" + AUDIT_STREAM_NAME_CQL_FIELD + ", :" + EVENT_JSON_CQL_FIELD + ")");
+        props.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_COMPRESSION, "true");
+
+        // the audit library common configuration
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        commonProperties.setEncoding("UTF-8");
+
+        // Create the session and add it to the processing objects
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        Processor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+
+        // assert that the audit operation was successful - get the bytes back from the DB!
+        Session session = CassandraServer.getSessionWithKeyspace();
+        Row row = session.execute("SELECT eventJson FROM binary_events").one();
+
+        ByteBuffer buffer = row.getBytes("eventJson");
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+
+        String error = "The event has not been stored compressed";
+        assertThat(error, PayloadCodec.isEncoded(payload), is(equalTo(true)));
+        error = "The compressed event does not decode to the serialized event";
+        assertThat(error, new PayloadCodec(commonProperties).decode(payload), is(equalTo(T_EVENT_JSON)));
+    }
+
+    /**
+     * Test that the insert statement is prepared once per session, and prepared again when the session changes
+     */
+    @Test
+    public void preparedStatementReuseTest()
+            throws AuditException, UnsupportedEncodingException, NoSuchFieldException, IllegalAccessException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the Cassandra Processor configuration, using a statement that works on sessions with and without keyspace
+        props.put(MapBasedCassandraPropsBuilder.KEY_SESSION_NAME, SESSION_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_CQL_PARAM, EVENT_ID_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_AUDIT_STREAM_NAME_CQL_PARAM, AUDIT_STREAM_NAME_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_JSON_CQL_PARAM, EVENT_JSON_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT,
+                "INSERT INTO " + CassandraServer.KEY_SPACE + ".events (eventId, auditStream, eventJson) VALUES (:"
+                        + EVENT_ID_CQL_FIELD + ", :" + AUDIT_STREAM_NAME_CQL_FIELD + ", :" + EVENT_JSON_CQL_FIELD + ")");
+
+        // the audit library common configuration
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        commonProperties.setEncoding("UTF-8");
+
+        java.lang.reflect.Field field_preparedInsert = CassandraProcessor.class.getDeclaredField("preparedInsert");
+        field_preparedInsert.setAccessible(true);
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+        Object prepared = field_preparedInsert.get(processor);
+        processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+
+        String error = "The insert statement has not been cached";
+        assertThat(error, prepared, is(not(equalTo(null))));
+        error = "The insert statement has been prepared again on the same session";
+        assertThat(error, field_preparedInsert.get(processor), is(sameInstance(prepared)));
+
+        // a different session must result in a newly prepared statement
+        processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSession());
+        processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+
+        error = "The insert statement has not been prepared again on a different session";
+        assertThat(error, field_preparedInsert.get(processor), is(not(sameInstance(prepared))));
+
+        // re-initialization must drop the cached statement
+        processor.init(commonProperties);
+        error = "The cached insert statement has not been dropped on re-initialization";
+        assertThat(error, field_preparedInsert.get(processor), is(equalTo(null)));
+    }
+
+    /**
+     * Test that, in asynchronous mode, the events are persisted once the pending writes have completed
+     */
+    @Test
+    public void asyncEventInsertTest()
+            throws AuditException, UnsupportedEncodingException, InterruptedException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the Cassandra Processor configuration
+        props.put(MapBasedCassandraPropsBuilder.KEY_SESSION_NAME, SESSION_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_CQL_PARAM, EVENT_ID_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_AUDIT_STREAM_NAME_CQL_PARAM, AUDIT_STREAM_NAME_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_JSON_CQL_PARAM, EVENT_JSON_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT, INSERT_EVENT_CQL_STMT);
+        props.put(MapBasedCassandraPropsBuilder.KEY_ASYNC, "true");
+        props.put(MapBasedCassandraPropsBuilder.KEY_ASYNC_MAX_IN_FLIGHT, "2");
+
+        // the audit library common configuration
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        commonProperties.setEncoding("UTF-8");
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+
+        // more events than permits, so that the processor has to wait for permits to be released
+        for (int i = 0; i < 10; i++) {
+            processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+        }
+
+        String error = "The pending writes did not complete in time";
+        assertThat(error, processor.awaitPendingWrites(30, TimeUnit.SECONDS), is(equalTo(true)));
+        error = "There are pending writes after all writes have completed";
+        assertThat(error, processor.getPendingWrites(), is(equalTo(0)));
+        error = "Asynchronous writes have failed";
+        assertThat(error, processor.getFailedWrites(), is(equalTo(0L)));
+
+        // assert that the audit operation was successful - get the data back from the DB!
+        Session session = CassandraServer.getSessionWithKeyspace();
+        Row row = session.execute("SELECT eventJson FROM events").one();
+
+        error = "The event has not been persisted";
+        assertThat(error, row.getString("eventJson"), is(equalTo(T_EVENT_JSON)));
+    }
+
+    /**
+     * Test that, in synchronous mode, there are never any pending writes
+     */
+    @Test
+    public void syncPendingWritesTest()
+            throws InterruptedException {
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(MapBasedCommonPropsBuilder.buildDefault());
+
+        String error = "Pending writes in synchronous mode";
+        assertThat(error, processor.getPendingWrites(), is(equalTo(0)));
+        error = "Waiting for pending writes in synchronous mode did not return immediately";
+        assertThat(error, processor.awaitPendingWrites(0, TimeUnit.SECONDS), is(equalTo(true)));
+    }
+
+    /**
+     * Test that, in batch mode, the events of many calling threads are persisted in the partitions of their audit
+     * streams
+     */
+    @Test
+    public void batchEventInsertTest()
+            throws Exception {
+
+        final CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(getBatchProperties(false));
+        commonProperties.setEncoding("UTF-8");
+
+        final ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        final CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+
+        // many threads, writing to two audit streams, so that the writer collects events of several partitions
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Event>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                final String eventId = "event-" + i;
+                final String stream = "stream-" + (i % 2);
+                results.add(executor.submit(new Callable<Event>() {
+                    @Override
+                    public Event call() throws Exception {
+                        return processor.process(getTestEvent(commonProperties, eventId), stream, processingObjects);
+                    }
+                }));
+            }
+            for (Future<Event> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        processor.cleanUp();
+
+        // assert that the audit operation was successful - count the events in each partition
+        Session session = CassandraServer.getSessionWithKeyspace();
+        for (int i = 0; i < 2; i++) {
+            Row row = session.execute("SELECT COUNT(*) FROM stream_events WHERE auditStream = 'stream-" + i + "'").one();
+            String error = "The events have not been persisted in the partition of their audit stream";
+            assertThat(error, row.getLong(0), is(equalTo(20L)));
+        }
+    }
+
+    /**
+     * Test that batch mode can be combined with asynchronous writes
+     */
+    @Test
+    public void batchAsyncEventInsertTest()
+            throws AuditException, UnsupportedEncodingException, InterruptedException {
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(getBatchProperties(true));
+        commonProperties.setEncoding("UTF-8");
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+
+        for (int i = 0; i < 25; i++) {
+            processor.process(getTestEvent(commonProperties, "event-" + i), T_AUDIT_STREAM_NAME, processingObjects);
+        }
+
+        String error = "The pending writes did not complete in time";
+        assertThat(error, processor.awaitPendingWrites(30, TimeUnit.SECONDS), is(equalTo(true)));
+        error = "Asynchronous writes have failed";
+        assertThat(error, processor.getFailedWrites(), is(equalTo(0L)));
+        processor.cleanUp();
+
+        // assert that the audit operation was successful - count the events in the partition
+        Session session = CassandraServer.getSessionWithKeyspace();
+        Row row = session.execute("SELECT COUNT(*) FROM stream_events WHERE auditStream = '"
+                + T_AUDIT_STREAM_NAME + "'").one();
+        error = "The events have not been persisted";
+        assertThat(error, row.getLong(0), is(equalTo(25L)));
+    }
+
+    /**
+     * Test that, in batch mode, a failing insert is reported to the caller
+     */
+    @Test(expected = AuditException.class)
+    public void batchEventInsertFailureTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(getBatchProperties(false));
+        commonProperties.setEncoding("UTF-8");
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        try {
+            // prepare the statement, then drop the table so that the next insert fails on the server
+            processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+            CassandraServer.getSession().execute("DROP TABLE " + CassandraServer.KEY_SPACE + ".stream_events");
+
+            processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+        } finally {
+            processor.cleanUp();
+        }
+    }
+
+    /**
+     * Test that the time bucket (and sub-bucket) of the events is bound to the insert statement, and becomes part of
+     * the partition key
+     */
+    @Test
+    public void timeBucketEventInsertTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = getBatchProperties(false);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT,
+                "INSERT INTO bucketed_events (eventId, auditStream, bucket, eventJson) VALUES (:"
+                        + EVENT_ID_CQL_FIELD + ", :" + AUDIT_STREAM_NAME_CQL_FIELD + ", :bucket, :"
+                        + EVENT_JSON_CQL_FIELD + ")");
+        props.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_CQL_PARAM, "bucket");
+        props.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET, "hour");
+        props.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_SUB_BUCKETS, "4");
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setEncoding("UTF-8");
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        try {
+            for (int i = 0; i < 20; i++) {
+                processor.process(getTestEvent(commonProperties, "event-" + i), T_AUDIT_STREAM_NAME, processingObjects);
+            }
+        } finally {
+            processor.cleanUp();
+        }
+
+        // assert that the audit operation was successful - every event is stored in an hourly sub-bucket
+        Session session = CassandraServer.getSessionWithKeyspace();
+        int count = 0;
+        for (Row row : session.execute("SELECT auditStream, bucket FROM bucketed_events")) {
+            String error = "The event has not been stored in the partition of its audit stream";
+            assertThat(error, row.getString("auditStream"), is(equalTo(T_AUDIT_STREAM_NAME)));
+            error = "The event has not been stored in an hourly sub-bucket";
+            assertThat(error, row.getString("bucket").matches("[0-9]{10}:[0-3]"), is(equalTo(true)));
+            count++;
+        }
+
+        String error = "The events have not been persisted";
+        assertThat(error, count, is(equalTo(20)));
+    }
+
+    /**
+     * Test that the indexed fields are written to the lookup table under their alias, with normalized values
+     */
+    @Test
+    public void indexedFieldsInsertTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = getIndexedFieldProperties();
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT, INSERT_EVENT_CQL_STMT);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_INDEXED_FIELD_CQL_STMT,
+                "INSERT INTO field_lookup (fieldName, fieldValue, eventId, auditStream) VALUES (:name, :value, :"
+                        + EVENT_ID_CQL_FIELD + ", :" + AUDIT_STREAM_NAME_CQL_FIELD + ")");
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setEncoding("UTF-8");
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+
+        // assert that the audit operation was successful - look up the event by its (lowercase) subject and actor
+        Session session = CassandraServer.getSessionWithKeyspace();
+        Row row = session.execute("SELECT eventId, auditStream FROM field_lookup WHERE fieldName = 'subject' "
+                + "AND fieldValue = '" + T_SUBJECT.toLowerCase(Locale.US) + "'").one();
+        String error = "The subject has not been written to the lookup table";
+        assertThat(error, row.getString("eventId"), is(equalTo(EVENT_ID)));
+        error = "The audit stream has not been written to the lookup table";
+        assertThat(error, row.getString("auditStream"), is(equalTo(T_AUDIT_STREAM_NAME)));
+
+        row = session.execute("SELECT eventId FROM field_lookup WHERE fieldName = 'myActor' "
+                + "AND fieldValue = '" + T_ACTOR.toLowerCase(Locale.US) + "'").one();
+        error = "The actor has not been written to the lookup table under its alias";
+        assertThat(error, row.getString("eventId"), is(equalTo(EVENT_ID)));
+
+        row = session.execute("SELECT COUNT(*) FROM events").one();
+        error = "The event has not been persisted";
+        assertThat(error, row.getLong(0), is(equalTo(1L)));
+    }
+
+    /**
+     * Test that the indexed fields are written to the lookup table in batch mode, including the time bucket
+     */
+    @Test
+    public void indexedFieldsBatchInsertTest()
+            throws AuditException, UnsupportedEncodingException, InterruptedException {
+
+        Map<String, String> props = getIndexedFieldProperties();
+        props.putAll(getBatchProperties(true));
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT,
+                "INSERT INTO bucketed_events (eventId, auditStream, bucket, eventJson) VALUES (:"
+                        + EVENT_ID_CQL_FIELD + ", :" + AUDIT_STREAM_NAME_CQL_FIELD + ", :bucket, :"
+                        + EVENT_JSON_CQL_FIELD + ")");
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_INDEXED_FIELD_CQL_STMT,
+                "INSERT INTO bucketed_field_lookup (fieldName, fieldValue, bucket, eventId) VALUES (:name, :value, "
+                        + ":bucket, :" + EVENT_ID_CQL_FIELD + ")");
+        props.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_CQL_PARAM, "bucket");
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setEncoding("UTF-8");
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        for (int i = 0; i < 15; i++) {
+            processor.process(getTestEvent(commonProperties, "event-" + i), T_AUDIT_STREAM_NAME, processingObjects);
+        }
+
+        String error = "The pending writes did not complete in time";
+        assertThat(error, processor.awaitPendingWrites(30, TimeUnit.SECONDS), is(equalTo(true)));
+        error = "Asynchronous writes have failed";
+        assertThat(error, processor.getFailedWrites(), is(equalTo(0L)));
+        processor.cleanUp();
+
+        // assert that the audit operation was successful - all events are in the lookup table partition of the subject
+        Session session = CassandraServer.getSessionWithKeyspace();
+        Row bucket = session.execute("SELECT bucket FROM bucketed_events LIMIT 1").one();
+        Row row = session.execute("SELECT COUNT(*) FROM bucketed_field_lookup WHERE fieldName = 'subject' "
+                + "AND fieldValue = '" + T_SUBJECT.toLowerCase(Locale.US) + "' "
+                + "AND bucket = '" + bucket.getString("bucket") + "'").one();
+        error = "The events have not been written to the lookup table";
+        assertThat(error, row.getLong(0), is(equalTo(15L)));
+    }
+
+    /**
+     * Test that an invalid indexed field configuration throws an exception
+     */
+    @Test(expected = AuditException.class)
+    public void indexedFieldsInvalidConfigurationTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = getIndexedFieldProperties();
+        props.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS, "subject:a:b");
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setEncoding("UTF-8");
+
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(SESSION_NAME, CassandraServer.getSessionWithKeyspace());
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME, processingObjects);
+    }
+
+    /**
+     * Test that the processor connects its own session when contact points are configured, and connects again after it
+     * has been cleaned up
+     */
+    @Test
+    public void ownedSessionTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = getOwnedSessionProperties(CassandraServer.PORT);
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setEncoding("UTF-8");
+
+        // no session is provided in the processing objects
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        processor.process(getTestEvent(commonProperties, "event-1"), T_AUDIT_STREAM_NAME);
+        processor.cleanUp();
+        processor.process(getTestEvent(commonProperties, "event-2"), T_AUDIT_STREAM_NAME, new ProcessingObjects());
+        processor.cleanUp();
+
+        // assert that the audit operation was successful
+        Session session = CassandraServer.getSessionWithKeyspace();
+        Row row = session.execute("SELECT COUNT(*) FROM events").one();
+        String error = "The events have not been written through the session owned by the processor";
+        assertThat(error, row.getLong(0), is(equalTo(2L)));
+    }
+
+    /**
+     * Test that an unreachable cluster throws an exception
+     */
+    @Test(expected = AuditException.class)
+    public void ownedSessionUnreachableTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        // nothing listens on this port
+        Map<String, String> props = getOwnedSessionProperties(1);
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setEncoding("UTF-8");
+
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        try {
+            processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME);
+        } finally {
+            processor.cleanUp();
+        }
+    }
+
+    /**
+     * Test that the events processed within the retry delay after a failed connection attempt fail without trying to
+     * connect again, and that a connection attempt is made again after the retry delay
+     */
+    @Test
+    public void ownedSessionRetryDelayTest()
+            throws UnsupportedEncodingException {
+
+        // nothing listens on this port
+        Map<String, String> props = getOwnedSessionProperties(1);
+        props.put(MapBasedCassandraPropsBuilder.KEY_CONNECT_RETRY_DELAY, "60000");
+
+        CommonProperties commonProperties = MapBasedCommonPropsBuilder.build(props);
+        commonProperties.setEncoding("UTF-8");
+
+        // the connection attempt during initialization fails
+        CassandraProcessor processor = new CassandraProcessor();
+        processor.init(commonProperties);
+        try {
+            String error = "The event has not failed without a connection attempt";
+            assertThat(error, getConnectFailure(processor, commonProperties).getCause(), is(nullValue()));
+
+            // without a retry delay, every event makes a connection attempt
+            props.put(MapBasedCassandraPropsBuilder.KEY_CONNECT_RETRY_DELAY, "0");
+            commonProperties = MapBasedCommonPropsBuilder.build(props);
+            commonProperties.setEncoding("UTF-8");
+            processor.init(commonProperties);
+
+            error = "The event has failed without a connection attempt";
+            assertThat(error, getConnectFailure(processor, commonProperties).getCause(), is(notNullValue()));
+            assertThat(error, getConnectFailure(processor, commonProperties).getCause(), is(notNullValue()));
+        } finally {
+            processor.cleanUp();
+        }
+    }
+
+    /**
+     * Process an event with a processor that cannot connect its own session, and return the connection error
+     *
+     * @param processor        The processor
+     * @param commonProperties The processor configuration
+     * @return The error that has been thrown when the session could not be retrieved
+     */
+    private Throwable getConnectFailure(CassandraProcessor processor, CommonProperties commonProperties)
+            throws UnsupportedEncodingException {
+
+        try {
+            processor.process(getTestEvent(commonProperties), T_AUDIT_STREAM_NAME);
+        } catch (AuditException e) {
+            String error = "The event has failed with an unexpected error";
+            assertThat(error, e.getCause(), is(instanceOf(FactoryException.class)));
+            return e.getCause();
+        }
+
+        throw new AssertionError("The event has not failed");
+    }
+
+    /**
+     * Create the processor properties for the tests of the session owned by the processor
+     *
+     * @param port The port of the contact point
+     * @return The processor properties
+     */
+    private Map<String, String> getOwnedSessionProperties(int port) {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the Cassandra Processor configuration
+        props.put(MapBasedCassandraPropsBuilder.KEY_CONTACT_POINTS, CassandraServer.HOST);
+        props.put(MapBasedCassandraPropsBuilder.KEY_PORT, String.valueOf(port));
+        props.put(MapBasedCassandraPropsBuilder.KEY_KEYSPACE, CassandraServer.KEY_SPACE);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT, INSERT_EVENT_CQL_STMT);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_CQL_PARAM, EVENT_ID_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_AUDIT_STREAM_NAME_CQL_PARAM, AUDIT_STREAM_NAME_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_JSON_CQL_PARAM, EVENT_JSON_CQL_FIELD);
+
+        return props;
+    }
+
+    /**
+     * Create the processor properties for the indexed field tests (without the insert statements)
+     *
+     * @return The processor properties
+     */
+    private Map<String, String> getIndexedFieldProperties() {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the Cassandra Processor configuration
+        props.put(MapBasedCassandraPropsBuilder.KEY_SESSION_NAME, SESSION_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_CQL_PARAM, EVENT_ID_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_AUDIT_STREAM_NAME_CQL_PARAM, AUDIT_STREAM_NAME_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_JSON_CQL_PARAM, EVENT_JSON_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor");
+        props.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_TO_LOWER, "true");
+        props.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_NAME_CQL_PARAM, "name");
+        props.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_VALUE_CQL_PARAM, "value");
+
+        return props;
+    }
+
+    /**
+     * Create the processor properties for the batch mode tests, writing to a table that is partitioned by audit stream
+     *
+     * @param async Whether the events are written asynchronously
+     * @return The processor properties
+     */
+    private Map<String, String> getBatchProperties(boolean async) {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the Cassandra Processor configuration
+        props.put(MapBasedCassandraPropsBuilder.KEY_SESSION_NAME, SESSION_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_ID_CQL_PARAM, EVENT_ID_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_AUDIT_STREAM_NAME_CQL_PARAM, AUDIT_STREAM_NAME_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_EVENT_JSON_CQL_PARAM, EVENT_JSON_CQL_FIELD);
+        props.put(MapBasedCassandraPropsBuilder.KEY_INSERT_EVENT_CQL_STMT,
+                "INSERT INTO stream_events (eventId, auditStream, eventJson) VALUES (:"
+                        + EVENT_ID_CQL_FIELD + ", :" + AUDIT_STREAM_NAME_CQL_FIELD + ", :" + EVENT_JSON_CQL_FIELD + ")");
+        props.put(MapBasedCassandraPropsBuilder.KEY_BATCH, "true");
+        props.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_EVENTS, "10");
+        props.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_DELAY, "20");
+        props.put(MapBasedCassandraPropsBuilder.KEY_ASYNC, String.valueOf(async));
+        props.put(MapBasedCassandraPropsBuilder.KEY_ASYNC_MAX_IN_FLIGHT, "4");
+
+        return props;
+    }
+
     /**
      * Test that an invalid CQL statement throws an exception
      */
@@ -856,8 +1484,21 @@ public class CassandraProcessorTest {
      */
     private Event getTestEvent(CommonProperties properties) throws UnsupportedEncodingException {
 
+        return getTestEvent(properties, EVENT_ID);
+    }
+
+    /**
+     * Create a test event with the provided event ID
+     *
+     * @param properties The common properties
+     * @param eventId    The event ID
+     * @return A test event
+     * @throws UnsupportedEncodingException When UTF-8 is not supported
+     */
+    private Event getTestEvent(CommonProperties properties, String eventId) throws UnsupportedEncodingException {
+
         // the event ID is required for this processor to work
-        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, EVENT_ID.getBytes("UTF-8"));
+        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, eventId.getBytes("UTF-8"));
 
         // test data
         Field field = new EventField("byteField", new Hex().encode("1234".getBytes("UTF-8")), Encodings.HEX);
@@ -81,6 +81,43 @@ public class CassandraServer {
                             "  eventId     ASCII PRIMARY KEY,\n" +
                             "  auditStream ASCII,\n" +
                             "  eventJson   VARCHAR\n" +
+                            ");",
+                    "DROP TABLE IF EXISTS " + KEY_SPACE + ".binary_events;\n",
+                    "CREATE TABLE " + KEY_SPACE + ".binary_events (\n" +
+                            "  eventId     ASCII PRIMARY KEY,\n" +
+                            "  auditStream ASCII,\n" +
+                            "  eventJson   BLOB\n" +
+                            ");",
+                    "DROP TABLE IF EXISTS " + KEY_SPACE + ".stream_events;\n",
+                    "CREATE TABLE " + KEY_SPACE + ".stream_events (\n" +
+                            "  auditStream ASCII,\n" +
+                            "  eventId     ASCII,\n" +
+                            "  eventJson   VARCHAR,\n" +
+                            "  PRIMARY KEY ((auditStream), eventId)\n" +
+                            ");",
+                    "DROP TABLE IF EXISTS " + KEY_SPACE + ".bucketed_events;\n",
+                    "CREATE TABLE " + KEY_SPACE + ".bucketed_events (\n" +
+                            "  auditStream ASCII,\n" +
+                            "  bucket      ASCII,\n" +
+                            "  eventId     ASCII,\n" +
+                            "  eventJson   VARCHAR,\n" +
+                            "  PRIMARY KEY ((auditStream, bucket), eventId)\n" +
+                            ");",
+                    "DROP TABLE IF EXISTS " + KEY_SPACE + ".field_lookup;\n",
+                    "CREATE TABLE " + KEY_SPACE + ".field_lookup (\n" +
+                            "  fieldName   ASCII,\n" +
+                            "  fieldValue  VARCHAR,\n" +
+                            "  eventId     ASCII,\n" +
+                            "  auditStream ASCII,\n" +
+                            "  PRIMARY KEY ((fieldName, fieldValue), eventId)\n" +
+                            ");",
+                    "DROP TABLE IF EXISTS " + KEY_SPACE + ".bucketed_field_lookup;\n",
+                    "CREATE TABLE " + KEY_SPACE + ".bucketed_field_lookup (\n" +
+                            "  fieldName   ASCII,\n" +
+                            "  fieldValue  VARCHAR,\n" +
+                            "  bucket      ASCII,\n" +
+                            "  eventId     ASCII,\n" +
+                            "  PRIMARY KEY ((fieldName, fieldValue, bucket), eventId)\n" +
                             ");"
             };
 
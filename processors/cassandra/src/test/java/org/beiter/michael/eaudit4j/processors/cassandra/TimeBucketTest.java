@@ -0,0 +1,138 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a Cassandra database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.cassandra;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TimeBucketTest {
+
+    // 2016-03-17T12:34:56.789Z
+    private static final long TIME = 1458218096789L;
+
+    private static final long HOUR = 3600000L;
+
+    private static final int SUB_BUCKETS = 4;
+
+    /**
+     * Test that the supported granularities are recognized
+     */
+    @Test
+    public void supportedGranularitiesTest() {
+
+        String error = "A supported granularity is not recognized";
+        assertThat(error, TimeBucket.isSupported("hour"), is(equalTo(true)));
+        assertThat(error, TimeBucket.isSupported("DAY"), is(equalTo(true)));
+
+        error = "An unsupported granularity is recognized";
+        assertThat(error, TimeBucket.isSupported("week"), is(equalTo(false)));
+        assertThat(error, TimeBucket.isSupported(null), is(equalTo(false)));
+    }
+
+    /**
+     * Test that a time bucket cannot be created for an unsupported granularity
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedGranularityTest() {
+
+        new TimeBucket("week", 1);
+    }
+
+    /**
+     * Test that a time bucket cannot be created without sub-buckets
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void noSubBucketsTest() {
+
+        new TimeBucket("day", 0);
+    }
+
+    /**
+     * Test the hourly time buckets, including the switch to the next bucket
+     */
+    @Test
+    public void hourTest() {
+
+        TimeBucket bucket = new TimeBucket("hour", 1);
+
+        String error = "The hourly time bucket is not correct";
+        assertThat(error, bucket.bucket(TIME, "eventId"), is(equalTo("2016031712")));
+        assertThat(error, bucket.bucket(TIME + HOUR, "eventId"), is(equalTo("2016031713")));
+        assertThat(error, bucket.bucket(TIME, "eventId"), is(equalTo("2016031712")));
+    }
+
+    /**
+     * Test the daily time buckets, including the switch to the next bucket
+     */
+    @Test
+    public void dayTest() {
+
+        TimeBucket bucket = new TimeBucket("day", 1);
+
+        String error = "The daily time bucket is not correct";
+        assertThat(error, bucket.bucket(TIME, "eventId"), is(equalTo("20160317")));
+        assertThat(error, bucket.bucket(TIME + 11 * HOUR, "eventId"), is(equalTo("20160317")));
+        assertThat(error, bucket.bucket(TIME + 12 * HOUR, "eventId"), is(equalTo("20160318")));
+    }
+
+    /**
+     * Test that events are assigned to a stable sub-bucket, and spread over all sub-buckets
+     */
+    @Test
+    public void subBucketTest() {
+
+        TimeBucket bucket = new TimeBucket("day", SUB_BUCKETS);
+        int[] counts = new int[SUB_BUCKETS];
+        for (int i = 0; i < 1000; i++) {
+            String value = bucket.bucket(TIME, "event-" + i);
+
+            String error = "The sub-bucket is not stable";
+            assertThat(error, bucket.bucket(TIME, "event-" + i), is(equalTo(value)));
+            error = "The sub-bucket is not appended to the time bucket";
+            assertThat(error, value.matches("20160317:[0-3]"), is(equalTo(true)));
+
+            counts[value.charAt(value.length() - 1) - '0']++;
+        }
+
+        for (int count : counts) {
+            String error = "The events are not spread over all sub-buckets";
+            assertThat(error, count, is(greaterThan(0)));
+        }
+    }
+}
@@ -364,4 +364,933 @@ public class MapBasedCassandraPropsBuilderTest {
         error = "copy constructor does not copy field";
         assertThat(error, properties2.getSessionName(), is(equalTo("42")));
     }
+
+    /**
+     * default async test
+     */
+    @Test
+    public void defaultAsyncTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "async does not match expected default value";
+        assertThat(error, properties.isAsync(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_ASYNC)));
+        error = "async does not match expected value";
+        properties.setAsync(!MapBasedCassandraPropsBuilder.DEFAULT_ASYNC);
+        assertThat(error, properties.isAsync(), is(equalTo(!MapBasedCassandraPropsBuilder.DEFAULT_ASYNC)));
+    }
+
+    /**
+     * async test
+     */
+    @Test
+    public void asyncTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "async does not match expected default value";
+        assertThat(error, properties.isAsync(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_ASYNC)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "async does not match expected value";
+        assertThat(error, properties.isAsync(), is(equalTo(false)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC, "tRuE");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "async does not match expected value";
+        assertThat(error, properties.isAsync(), is(equalTo(true)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.isAsync(), is(equalTo(true)));
+    }
+
+    /**
+     * default async max in flight test
+     */
+    @Test
+    public void defaultAsyncMaxInFlightTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "async max in flight does not match expected default value";
+        assertThat(error, properties.getAsyncMaxInFlight(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_ASYNC_MAX_IN_FLIGHT)));
+        error = "async max in flight does not match expected value";
+        properties.setAsyncMaxInFlight(42);
+        assertThat(error, properties.getAsyncMaxInFlight(), is(equalTo(42)));
+    }
+
+    /**
+     * async max in flight test
+     */
+    @Test
+    public void asyncMaxInFlightTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC_MAX_IN_FLIGHT, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "async max in flight does not match expected default value";
+        assertThat(error, properties.getAsyncMaxInFlight(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_ASYNC_MAX_IN_FLIGHT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC_MAX_IN_FLIGHT, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "async max in flight does not match expected default value";
+        assertThat(error, properties.getAsyncMaxInFlight(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_ASYNC_MAX_IN_FLIGHT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC_MAX_IN_FLIGHT, "0");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "async max in flight does not match expected default value";
+        assertThat(error, properties.getAsyncMaxInFlight(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_ASYNC_MAX_IN_FLIGHT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC_MAX_IN_FLIGHT, "-1");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "async max in flight does not match expected default value";
+        assertThat(error, properties.getAsyncMaxInFlight(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_ASYNC_MAX_IN_FLIGHT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_ASYNC_MAX_IN_FLIGHT, "42");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "async max in flight does not match expected value";
+        assertThat(error, properties.getAsyncMaxInFlight(), is(equalTo(42)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getAsyncMaxInFlight(), is(equalTo(42)));
+    }
+
+    /**
+     * default batch test
+     */
+    @Test
+    public void defaultBatchTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "batch does not match expected default value";
+        assertThat(error, properties.isBatch(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH)));
+        error = "batch does not match expected value";
+        properties.setBatch(!MapBasedCassandraPropsBuilder.DEFAULT_BATCH);
+        assertThat(error, properties.isBatch(), is(equalTo(!MapBasedCassandraPropsBuilder.DEFAULT_BATCH)));
+    }
+
+    /**
+     * batch test
+     */
+    @Test
+    public void batchTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "batch does not match expected default value";
+        assertThat(error, properties.isBatch(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch does not match expected value";
+        assertThat(error, properties.isBatch(), is(equalTo(false)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH, "tRuE");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch does not match expected value";
+        assertThat(error, properties.isBatch(), is(equalTo(true)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.isBatch(), is(equalTo(true)));
+    }
+
+    /**
+     * default batch max events test
+     */
+    @Test
+    public void defaultBatchMaxEventsTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "batch max events does not match expected default value";
+        assertThat(error, properties.getBatchMaxEvents(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_EVENTS)));
+        error = "batch max events does not match expected value";
+        properties.setBatchMaxEvents(42);
+        assertThat(error, properties.getBatchMaxEvents(), is(equalTo(42)));
+    }
+
+    /**
+     * batch max events test
+     */
+    @Test
+    public void batchMaxEventsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_EVENTS, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "batch max events does not match expected default value";
+        assertThat(error, properties.getBatchMaxEvents(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_EVENTS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_EVENTS, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max events does not match expected default value";
+        assertThat(error, properties.getBatchMaxEvents(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_EVENTS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_EVENTS, "0");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max events does not match expected default value";
+        assertThat(error, properties.getBatchMaxEvents(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_EVENTS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_EVENTS, "42");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max events does not match expected value";
+        assertThat(error, properties.getBatchMaxEvents(), is(equalTo(42)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getBatchMaxEvents(), is(equalTo(42)));
+    }
+
+    /**
+     * default batch max bytes test
+     */
+    @Test
+    public void defaultBatchMaxBytesTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "batch max bytes does not match expected default value";
+        assertThat(error, properties.getBatchMaxBytes(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_BYTES)));
+        error = "batch max bytes does not match expected value";
+        properties.setBatchMaxBytes(1024);
+        assertThat(error, properties.getBatchMaxBytes(), is(equalTo(1024)));
+    }
+
+    /**
+     * batch max bytes test
+     */
+    @Test
+    public void batchMaxBytesTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_BYTES, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "batch max bytes does not match expected default value";
+        assertThat(error, properties.getBatchMaxBytes(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_BYTES)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_BYTES, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max bytes does not match expected default value";
+        assertThat(error, properties.getBatchMaxBytes(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_BYTES)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_BYTES, "0");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max bytes does not match expected default value";
+        assertThat(error, properties.getBatchMaxBytes(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_BYTES)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_BYTES, "1024");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max bytes does not match expected value";
+        assertThat(error, properties.getBatchMaxBytes(), is(equalTo(1024)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getBatchMaxBytes(), is(equalTo(1024)));
+    }
+
+    /**
+     * default batch max delay test
+     */
+    @Test
+    public void defaultBatchMaxDelayTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "batch max delay does not match expected default value";
+        assertThat(error, properties.getBatchMaxDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_DELAY)));
+        error = "batch max delay does not match expected value";
+        properties.setBatchMaxDelay(0);
+        assertThat(error, properties.getBatchMaxDelay(), is(equalTo(0)));
+    }
+
+    /**
+     * batch max delay test
+     */
+    @Test
+    public void batchMaxDelayTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_DELAY, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "batch max delay does not match expected default value";
+        assertThat(error, properties.getBatchMaxDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_DELAY)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_DELAY, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max delay does not match expected default value";
+        assertThat(error, properties.getBatchMaxDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_DELAY)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_DELAY, "-1");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max delay does not match expected default value";
+        assertThat(error, properties.getBatchMaxDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_BATCH_MAX_DELAY)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_BATCH_MAX_DELAY, "0");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "batch max delay does not match expected value";
+        assertThat(error, properties.getBatchMaxDelay(), is(equalTo(0)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getBatchMaxDelay(), is(equalTo(0)));
+    }
+
+    /**
+     * default time bucket CQL param test
+     */
+    @Test
+    public void defaultTimeBucketCqlParamTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "time bucket CQL param does not match expected default value";
+        assertThat(error, properties.getTimeBucketCqlParam(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET_CQL_PARAM)));
+        error = "time bucket CQL param does not match expected value";
+        properties.setTimeBucketCqlParam("bucket");
+        assertThat(error, properties.getTimeBucketCqlParam(), is(equalTo("bucket")));
+    }
+
+    /**
+     * time bucket CQL param test
+     */
+    @Test
+    public void timeBucketCqlParamTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_CQL_PARAM, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "time bucket CQL param does not match expected default value";
+        assertThat(error, properties.getTimeBucketCqlParam(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET_CQL_PARAM)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_CQL_PARAM, "bucket");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "time bucket CQL param does not match expected value";
+        assertThat(error, properties.getTimeBucketCqlParam(), is(equalTo("bucket")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getTimeBucketCqlParam(), is(equalTo("bucket")));
+    }
+
+    /**
+     * default time bucket test
+     */
+    @Test
+    public void defaultTimeBucketTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "time bucket does not match expected default value";
+        assertThat(error, properties.getTimeBucket(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET)));
+        error = "time bucket does not match expected value";
+        properties.setTimeBucket("hour");
+        assertThat(error, properties.getTimeBucket(), is(equalTo("hour")));
+    }
+
+    /**
+     * time bucket test
+     */
+    @Test
+    public void timeBucketTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "time bucket does not match expected default value";
+        assertThat(error, properties.getTimeBucket(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET, "week");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "time bucket does not match expected default value";
+        assertThat(error, properties.getTimeBucket(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET, "hour");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "time bucket does not match expected value";
+        assertThat(error, properties.getTimeBucket(), is(equalTo("hour")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getTimeBucket(), is(equalTo("hour")));
+    }
+
+    /**
+     * default time bucket sub-buckets test
+     */
+    @Test
+    public void defaultTimeBucketSubBucketsTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "time bucket sub-buckets does not match expected default value";
+        assertThat(error, properties.getTimeBucketSubBuckets(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET_SUB_BUCKETS)));
+        error = "time bucket sub-buckets does not match expected value";
+        properties.setTimeBucketSubBuckets(8);
+        assertThat(error, properties.getTimeBucketSubBuckets(), is(equalTo(8)));
+    }
+
+    /**
+     * time bucket sub-buckets test
+     */
+    @Test
+    public void timeBucketSubBucketsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_SUB_BUCKETS, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "time bucket sub-buckets does not match expected default value";
+        assertThat(error, properties.getTimeBucketSubBuckets(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET_SUB_BUCKETS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_SUB_BUCKETS, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "time bucket sub-buckets does not match expected default value";
+        assertThat(error, properties.getTimeBucketSubBuckets(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET_SUB_BUCKETS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_SUB_BUCKETS, "0");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "time bucket sub-buckets does not match expected default value";
+        assertThat(error, properties.getTimeBucketSubBuckets(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_TIME_BUCKET_SUB_BUCKETS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_TIME_BUCKET_SUB_BUCKETS, "8");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "time bucket sub-buckets does not match expected value";
+        assertThat(error, properties.getTimeBucketSubBuckets(), is(equalTo(8)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getTimeBucketSubBuckets(), is(equalTo(8)));
+    }
+
+    /**
+     * default indexed fields test
+     */
+    @Test
+    public void defaultIndexedFieldsTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "indexed fields does not match expected default value";
+        assertThat(error, properties.getIndexedFields(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS)));
+        error = "indexed fields does not match expected value";
+        properties.setIndexedFields("subject,actor:myActor");
+        assertThat(error, properties.getIndexedFields(), is(equalTo("subject,actor:myActor")));
+    }
+
+    /**
+     * indexed fields test
+     */
+    @Test
+    public void indexedFieldsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "indexed fields does not match expected default value";
+        assertThat(error, properties.getIndexedFields(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed fields does not match expected value";
+        assertThat(error, properties.getIndexedFields(), is(equalTo("subject,actor:myActor")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedFields(), is(equalTo("subject,actor:myActor")));
+    }
+
+    /**
+     * default indexed field separator test
+     */
+    @Test
+    public void defaultIndexedFieldSeparatorTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "indexed field separator does not match expected default value";
+        assertThat(error, properties.getIndexedFieldSeparator(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_SEPARATOR)));
+        error = "indexed field separator does not match expected value";
+        properties.setIndexedFieldSeparator(";");
+        assertThat(error, properties.getIndexedFieldSeparator(), is(equalTo(";")));
+    }
+
+    /**
+     * indexed field separator test
+     */
+    @Test
+    public void indexedFieldSeparatorTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_SEPARATOR, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "indexed field separator does not match expected default value";
+        assertThat(error, properties.getIndexedFieldSeparator(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_SEPARATOR)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_SEPARATOR, ";");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed field separator does not match expected value";
+        assertThat(error, properties.getIndexedFieldSeparator(), is(equalTo(";")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedFieldSeparator(), is(equalTo(";")));
+    }
+
+    /**
+     * default indexed field name separator test
+     */
+    @Test
+    public void defaultIndexedFieldNameSeparatorTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "indexed field name separator does not match expected default value";
+        assertThat(error, properties.getIndexedFieldNameSeparator(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_NAME_SEPARATOR)));
+        error = "indexed field name separator does not match expected value";
+        properties.setIndexedFieldNameSeparator("=");
+        assertThat(error, properties.getIndexedFieldNameSeparator(), is(equalTo("=")));
+    }
+
+    /**
+     * indexed field name separator test
+     */
+    @Test
+    public void indexedFieldNameSeparatorTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_NAME_SEPARATOR, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "indexed field name separator does not match expected default value";
+        assertThat(error, properties.getIndexedFieldNameSeparator(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_NAME_SEPARATOR)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_NAME_SEPARATOR, "=");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed field name separator does not match expected value";
+        assertThat(error, properties.getIndexedFieldNameSeparator(), is(equalTo("=")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedFieldNameSeparator(), is(equalTo("=")));
+    }
+
+    /**
+     * default indexed fields max length test
+     */
+    @Test
+    public void defaultIndexedFieldsMaxLengthTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "indexed fields max length does not match expected default value";
+        assertThat(error, properties.getIndexedFieldsMaxLength(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_MAX_LENGTH)));
+        error = "indexed fields max length does not match expected value";
+        properties.setIndexedFieldsMaxLength(42);
+        assertThat(error, properties.getIndexedFieldsMaxLength(), is(equalTo(42)));
+    }
+
+    /**
+     * indexed fields max length test
+     */
+    @Test
+    public void indexedFieldsMaxLengthTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_MAX_LENGTH, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "indexed fields max length does not match expected default value";
+        assertThat(error, properties.getIndexedFieldsMaxLength(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_MAX_LENGTH)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_MAX_LENGTH, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed fields max length does not match expected default value";
+        assertThat(error, properties.getIndexedFieldsMaxLength(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_MAX_LENGTH)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_MAX_LENGTH, "0");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed fields max length does not match expected default value";
+        assertThat(error, properties.getIndexedFieldsMaxLength(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_MAX_LENGTH)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_MAX_LENGTH, "42");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed fields max length does not match expected value";
+        assertThat(error, properties.getIndexedFieldsMaxLength(), is(equalTo(42)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedFieldsMaxLength(), is(equalTo(42)));
+    }
+
+    /**
+     * default indexed fields to lower test
+     */
+    @Test
+    public void defaultIndexedFieldsToLowerTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "indexed fields to lower does not match expected default value";
+        assertThat(error, properties.isIndexedFieldsToLower(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_TO_LOWER)));
+        error = "indexed fields to lower does not match expected value";
+        properties.setIndexedFieldsToLower(!MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_TO_LOWER);
+        assertThat(error, properties.isIndexedFieldsToLower(), is(equalTo(!MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_TO_LOWER)));
+    }
+
+    /**
+     * indexed fields to lower test
+     */
+    @Test
+    public void indexedFieldsToLowerTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_TO_LOWER, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "indexed fields to lower does not match expected default value";
+        assertThat(error, properties.isIndexedFieldsToLower(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELDS_TO_LOWER)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_TO_LOWER, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed fields to lower does not match expected value";
+        assertThat(error, properties.isIndexedFieldsToLower(), is(equalTo(false)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELDS_TO_LOWER, "tRuE");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed fields to lower does not match expected value";
+        assertThat(error, properties.isIndexedFieldsToLower(), is(equalTo(true)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.isIndexedFieldsToLower(), is(equalTo(true)));
+    }
+
+    /**
+     * default insert indexed field CQL statement test
+     */
+    @Test
+    public void defaultInsertIndexedFieldCqlStmtTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "insert indexed field CQL statement does not match expected default value";
+        assertThat(error, properties.getInsertIndexedFieldCqlStmt(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INSERT_INDEXED_FIELD_CQL_STMT)));
+        error = "insert indexed field CQL statement does not match expected value";
+        properties.setInsertIndexedFieldCqlStmt("INSERT INTO lookup");
+        assertThat(error, properties.getInsertIndexedFieldCqlStmt(), is(equalTo("INSERT INTO lookup")));
+    }
+
+    /**
+     * insert indexed field CQL statement test
+     */
+    @Test
+    public void insertIndexedFieldCqlStmtTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INSERT_INDEXED_FIELD_CQL_STMT, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "insert indexed field CQL statement does not match expected default value";
+        assertThat(error, properties.getInsertIndexedFieldCqlStmt(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INSERT_INDEXED_FIELD_CQL_STMT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INSERT_INDEXED_FIELD_CQL_STMT, "INSERT INTO lookup");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "insert indexed field CQL statement does not match expected value";
+        assertThat(error, properties.getInsertIndexedFieldCqlStmt(), is(equalTo("INSERT INTO lookup")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getInsertIndexedFieldCqlStmt(), is(equalTo("INSERT INTO lookup")));
+    }
+
+    /**
+     * default indexed field name CQL param test
+     */
+    @Test
+    public void defaultIndexedFieldNameCqlParamTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "indexed field name CQL param does not match expected default value";
+        assertThat(error, properties.getIndexedFieldNameCqlParam(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_NAME_CQL_PARAM)));
+        error = "indexed field name CQL param does not match expected value";
+        properties.setIndexedFieldNameCqlParam("name");
+        assertThat(error, properties.getIndexedFieldNameCqlParam(), is(equalTo("name")));
+    }
+
+    /**
+     * indexed field name CQL param test
+     */
+    @Test
+    public void indexedFieldNameCqlParamTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_NAME_CQL_PARAM, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "indexed field name CQL param does not match expected default value";
+        assertThat(error, properties.getIndexedFieldNameCqlParam(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_NAME_CQL_PARAM)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_NAME_CQL_PARAM, "name");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed field name CQL param does not match expected value";
+        assertThat(error, properties.getIndexedFieldNameCqlParam(), is(equalTo("name")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedFieldNameCqlParam(), is(equalTo("name")));
+    }
+
+    /**
+     * default indexed field value CQL param test
+     */
+    @Test
+    public void defaultIndexedFieldValueCqlParamTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "indexed field value CQL param does not match expected default value";
+        assertThat(error, properties.getIndexedFieldValueCqlParam(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_VALUE_CQL_PARAM)));
+        error = "indexed field value CQL param does not match expected value";
+        properties.setIndexedFieldValueCqlParam("value");
+        assertThat(error, properties.getIndexedFieldValueCqlParam(), is(equalTo("value")));
+    }
+
+    /**
+     * indexed field value CQL param test
+     */
+    @Test
+    public void indexedFieldValueCqlParamTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_VALUE_CQL_PARAM, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "indexed field value CQL param does not match expected default value";
+        assertThat(error, properties.getIndexedFieldValueCqlParam(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_INDEXED_FIELD_VALUE_CQL_PARAM)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_INDEXED_FIELD_VALUE_CQL_PARAM, "value");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "indexed field value CQL param does not match expected value";
+        assertThat(error, properties.getIndexedFieldValueCqlParam(), is(equalTo("value")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedFieldValueCqlParam(), is(equalTo("value")));
+    }
+
+    /**
+     * default contact points test
+     */
+    @Test
+    public void defaultContactPointsTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "contact points does not match expected default value";
+        assertThat(error, properties.getContactPoints(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_CONTACT_POINTS)));
+        error = "contact points does not match expected value";
+        properties.setContactPoints("host1,host2");
+        assertThat(error, properties.getContactPoints(), is(equalTo("host1,host2")));
+    }
+
+    /**
+     * contact points test
+     */
+    @Test
+    public void contactPointsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_CONTACT_POINTS, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "contact points does not match expected default value";
+        assertThat(error, properties.getContactPoints(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_CONTACT_POINTS)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_CONTACT_POINTS, "host1,host2");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "contact points does not match expected value";
+        assertThat(error, properties.getContactPoints(), is(equalTo("host1,host2")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getContactPoints(), is(equalTo("host1,host2")));
+    }
+
+    /**
+     * default port test
+     */
+    @Test
+    public void defaultPortTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "port does not match expected default value";
+        assertThat(error, properties.getPort(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_PORT)));
+        error = "port does not match expected value";
+        properties.setPort(9142);
+        assertThat(error, properties.getPort(), is(equalTo(9142)));
+    }
+
+    /**
+     * port test
+     */
+    @Test
+    public void portTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_PORT, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "port does not match expected default value";
+        assertThat(error, properties.getPort(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_PORT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_PORT, "asdf");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "port does not match expected default value";
+        assertThat(error, properties.getPort(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_PORT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_PORT, "0");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "port does not match expected default value";
+        assertThat(error, properties.getPort(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_PORT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_PORT, "70000");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "port does not match expected default value";
+        assertThat(error, properties.getPort(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_PORT)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_PORT, "9142");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "port does not match expected value";
+        assertThat(error, properties.getPort(), is(equalTo(9142)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getPort(), is(equalTo(9142)));
+    }
+
+    /**
+     * default keyspace test
+     */
+    @Test
+    public void defaultKeyspaceTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "keyspace does not match expected default value";
+        assertThat(error, properties.getKeyspace(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_KEYSPACE)));
+        error = "keyspace does not match expected value";
+        properties.setKeyspace("audit");
+        assertThat(error, properties.getKeyspace(), is(equalTo("audit")));
+    }
+
+    /**
+     * keyspace test
+     */
+    @Test
+    public void keyspaceTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_KEYSPACE, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "keyspace does not match expected default value";
+        assertThat(error, properties.getKeyspace(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_KEYSPACE)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_KEYSPACE, "audit");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "keyspace does not match expected value";
+        assertThat(error, properties.getKeyspace(), is(equalTo("audit")));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getKeyspace(), is(equalTo("audit")));
+    }
+
+    /**
+     * default connect retry delay test
+     */
+    @Test
+    public void defaultConnectRetryDelayTest() {
+
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.buildDefault();
+
+        String error = "connect retry delay does not match expected default value";
+        assertThat(error, properties.getConnectRetryDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_CONNECT_RETRY_DELAY)));
+        error = "connect retry delay does not match expected value";
+        properties.setConnectRetryDelay(1000);
+        assertThat(error, properties.getConnectRetryDelay(), is(equalTo(1000)));
+    }
+
+    /**
+     * connect retry delay test
+     */
+    @Test
+    public void connectRetryDelayTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_CONNECT_RETRY_DELAY, null);
+        CassandraProperties properties = MapBasedCassandraPropsBuilder.build(map);
+        String error = "connect retry delay does not match expected default value";
+        assertThat(error, properties.getConnectRetryDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_CONNECT_RETRY_DELAY)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_CONNECT_RETRY_DELAY, "-1");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "connect retry delay does not match expected default value";
+        assertThat(error, properties.getConnectRetryDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_CONNECT_RETRY_DELAY)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_CONNECT_RETRY_DELAY, "abc");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "connect retry delay does not match expected default value";
+        assertThat(error, properties.getConnectRetryDelay(), is(equalTo(MapBasedCassandraPropsBuilder.DEFAULT_CONNECT_RETRY_DELAY)));
+
+        map.put(MapBasedCassandraPropsBuilder.KEY_CONNECT_RETRY_DELAY, "1000");
+        properties = MapBasedCassandraPropsBuilder.build(map);
+        error = "connect retry delay does not match expected value";
+        assertThat(error, properties.getConnectRetryDelay(), is(equalTo(1000)));
+
+        // copy constructor test
+        CassandraProperties properties2 = new CassandraProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getConnectRetryDelay(), is(equalTo(1000)));
+    }
 }
@@ -54,8 +54,10 @@ import java.io.UnsupportedEncodingException;
 import java.security.SecureRandom;
 
 /**
- * This processors generates a random event identifier of configurable length
- * (and entropy), and appends it to the event.
+ * This processors generates an event identifier, and appends it to the event.
+ * <p>
+ * The event identifier is either a random String of configurable length (and entropy), or a time-ordered identifier
+ * (see {@link EventIdProperties#setStrategy(String)}).
  */
 public class EventIdProcessor
         implements Processor, Reversible {
@@ -75,6 +77,16 @@ public class EventIdProcessor
      */
     private EventIdProperties properties;
 
+    /**
+     * The worker ID used in Snowflake-style event IDs, resolved during initialization
+     */
+    private int workerId;
+
+    /**
+     * The pool of pre-generated random event IDs, {@code null} if the pool is disabled
+     */
+    private volatile RandomIdPool idPool;
+
     /**
      * Initializing SecureRandom can be very time consuming, and (based on the local
      * Java security configuration) may be even blocking. Using a ThreadLocal instance
@@ -94,6 +106,18 @@ public class EventIdProcessor
 
         this.commonProperties = new CommonProperties(pCommonProperties);
         this.properties = MapBasedEventIdPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+        this.workerId = resolveWorkerId(properties);
+
+        // replace the pool of a previous initialization, as the configuration may have changed
+        final RandomIdPool previousPool = idPool;
+        if (properties.getPoolSize() > 0 && EventIdProperties.STRATEGY_RANDOM.equals(properties.getStrategy())) {
+            idPool = new RandomIdPool(properties.getPoolSize(), properties.getLength());
+        } else {
+            idPool = null;
+        }
+        if (previousPool != null) {
+            previousPool.close();
+        }
     }
 
     /**
@@ -142,7 +166,8 @@ public class EventIdProcessor
      * <p>
      * The method creates an event ID, and adds that event ID to the event.
      * <p>
-     * The event ID is created with a cryptographically secure pseudo random number generator.
+     * The event ID is created with the configured strategy. Random event IDs are created with a cryptographically
+     * secure pseudo random number generator.
      * <p>
      * See {@link org.beiter.michael.eaudit4j.common.Audit#audit(Event, String)}.
      *
@@ -220,12 +245,17 @@ public class EventIdProcessor
     /**
      * This processor does not store any confidential information.
      * <p>
-     * The implementation of this method does nothing.
+     * The implementation of this method stops the background thread of the pool of pre-generated event IDs, if the
+     * pool is enabled.
      */
     @Override
     public void cleanUp() {
 
-        // do nothing
+        final RandomIdPool pool = idPool;
+        idPool = null;
+        if (pool != null) {
+            pool.close();
+        }
     }
 
     /**
@@ -260,13 +290,36 @@ public class EventIdProcessor
     }
 
     /**
-     * Creates an event ID with the configured String length
+     * Creates an event ID with the configured strategy
      *
      * @param pProperties The processor configuration
-     * @return An event ID with the configured String length
+     * @return An event ID
      */
     private String createEventId(final EventIdProperties pProperties) {
 
+        switch (pProperties.getStrategy()) {
+            case EventIdProperties.STRATEGY_ULID:
+                return TimeOrderedIds.ulid();
+            case EventIdProperties.STRATEGY_UUID_V7:
+                return TimeOrderedIds.uuidV7();
+            case EventIdProperties.STRATEGY_SNOWFLAKE:
+                return TimeOrderedIds.snowflake(workerId);
+            default:
+                // take the event ID from the pool if possible, and create it here if the pool is empty
+                final RandomIdPool pool = idPool;
+                final String pooledEventId = pool == null ? null : pool.next();
+                return pooledEventId == null ? createRandomEventId(pProperties) : pooledEventId;
+        }
+    }
+
+    /**
+     * Creates a random event ID with the configured String length
+     *
+     * @param pProperties The processor configuration
+     * @return An event ID with the configured String length
+     */
+    private String createRandomEventId(final EventIdProperties pProperties) {
+
         if (SECURE_RANDOM.get() == null) {
             LOG.info("Trying to create a new instance of SecureRandom for thread ID '" + Thread.currentThread().getId()
                     + "'. If this operation blocks, your entropy pool is depleted and needs to refill first.");
@@ -283,4 +336,29 @@ public class EventIdProcessor
         // truncate the ID here to the requested length
         return Base64.encodeBase64URLSafeString(eventId).substring(0, pProperties.getLength());
     }
+
+    /**
+     * Resolve the worker ID for Snowflake-style event IDs.
+     * <p>
+     * Snowflake-style event IDs are only unique if every process uses a different worker ID, which cannot be
+     * guaranteed by deriving the worker ID from local information. The worker ID must therefore be configured
+     * explicitly when using the {@link EventIdProperties#STRATEGY_SNOWFLAKE} strategy.
+     *
+     * @param pProperties The processor configuration
+     * @return The worker ID (between 0 and {@link EventIdProperties#MAX_WORKER_ID}), or
+     * {@link EventIdProperties#UNDEFINED_WORKER_ID} if no worker ID is configured and none is required
+     * @throws IllegalArgumentException When the Snowflake-style strategy is configured without a worker ID
+     */
+    private static int resolveWorkerId(final EventIdProperties pProperties) {
+
+        if (EventIdProperties.STRATEGY_SNOWFLAKE.equals(pProperties.getStrategy())
+                && pProperties.getWorkerId() == EventIdProperties.UNDEFINED_WORKER_ID) {
+            final String error = "Snowflake-style event IDs require a unique worker ID per process, but no worker ID "
+                    + "has been configured in '" + MapBasedEventIdPropsBuilder.KEY_WORKER_ID + "'";
+            LOG.warn(error);
+            throw new IllegalArgumentException(error);
+        }
+
+        return pProperties.getWorkerId();
+    }
 }
@@ -36,7 +36,11 @@ package org.beiter.michael.eaudit4j.processors.eventid;
 
 import org.apache.commons.lang3.Validate;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -46,11 +50,63 @@ import java.util.concurrent.ConcurrentHashMap;
 @SuppressWarnings("PMD.LongVariable")
 public class EventIdProperties {
 
+    /**
+     * Random event IDs of configurable length, created with {@link java.security.SecureRandom}
+     */
+    public static final String STRATEGY_RANDOM = "random";
+
+    /**
+     * Time-ordered, 26 character ULIDs (48 bit timestamp, 80 bit randomness, Crockford Base32 encoded)
+     */
+    public static final String STRATEGY_ULID = "ulid";
+
+    /**
+     * Time-ordered, 36 character version 7 UUIDs (48 bit timestamp, 74 bit randomness, canonical hex encoding)
+     */
+    public static final String STRATEGY_UUID_V7 = "uuidv7";
+
+    /**
+     * Time-ordered, 13 character Snowflake-style IDs (41 bit timestamp, 10 bit worker ID, 12 bit sequence,
+     * Crockford Base32 encoded)
+     */
+    public static final String STRATEGY_SNOWFLAKE = "snowflake";
+
+    /**
+     * The largest worker ID that fits into the 10 bit worker ID of a Snowflake-style event ID
+     */
+    public static final int MAX_WORKER_ID = 1023;
+
+    /**
+     * A worker ID that indicates that no worker ID has been configured
+     */
+    public static final int UNDEFINED_WORKER_ID = -1;
+
+    /**
+     * The names of the supported event ID strategies
+     */
+    private static final Set<String> STRATEGIES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(STRATEGY_RANDOM, STRATEGY_ULID, STRATEGY_UUID_V7, STRATEGY_SNOWFLAKE)));
+
+    /**
+     * @see EventIdProperties#setStrategy(String)
+     */
+    private String strategy;
+
+    /**
+     * @see EventIdProperties#setWorkerId(int)
+     */
+    private int workerId;
+
     /**
      * @see EventIdProperties#setLength(int)
      */
     private int length;
 
+    /**
+     * @see EventIdProperties#setPoolSize(int)
+     */
+    private int poolSize;
+
     /**
      * @see EventIdProperties#setEventFieldName(String)
      */
@@ -90,11 +146,97 @@ public class EventIdProperties {
 
         Validate.notNull(properties, "The validated object 'properties' is null");
 
+        setStrategy(properties.getStrategy());
+        setWorkerId(properties.getWorkerId());
         setLength(properties.getLength());
+        setPoolSize(properties.getPoolSize());
         setEventFieldName(properties.getEventFieldName());
         setAdditionalProperties(properties.getAdditionalProperties());
     }
 
+    /**
+     * Indicates whether the provided name is the name of a supported event ID strategy.
+     *
+     * @param strategy The name of the strategy
+     * @return {@code true} if the strategy is supported, {@code false} otherwise
+     */
+    public static boolean isSupportedStrategy(final String strategy) {
+
+        return strategy != null && STRATEGIES.contains(strategy);
+    }
+
+    /**
+     * @return The strategy used to create event IDs
+     * @see EventIdProperties#setStrategy(String)
+     */
+    public final String getStrategy() {
+
+        // no need for defensive copies of String
+
+        return strategy;
+    }
+
+    /**
+     * The strategy used to create event IDs.
+     * <p>
+     * Supported values:
+     * <ul>
+     * <li>{@link #STRATEGY_RANDOM}: random IDs of the configured length, created with a
+     * {@link java.security.SecureRandom}</li>
+     * <li>{@link #STRATEGY_ULID}: time-ordered ULIDs</li>
+     * <li>{@link #STRATEGY_UUID_V7}: time-ordered version 7 UUIDs</li>
+     * <li>{@link #STRATEGY_SNOWFLAKE}: time-ordered Snowflake-style IDs, see {@link #setWorkerId(int)}</li>
+     * </ul>
+     * <p>
+     * The time-ordered IDs start with a timestamp, and sort in the order of their creation (with millisecond
+     * granularity). Inserting them in an index appends to the end of the index instead of scattering the inserts
+     * across the index. They are created without {@link java.security.SecureRandom}, and must not be used where the
+     * event ID needs to be unpredictable.
+     *
+     * @param strategy The name of the strategy used to create event IDs
+     * @throws NullPointerException     When the {@code strategy} is {@code null}
+     * @throws IllegalArgumentException When the {@code strategy} is not supported
+     */
+    public final void setStrategy(final String strategy) {
+
+        Validate.notBlank(strategy, "The validated character sequence 'strategy' is null or empty");
+        Validate.isTrue(isSupportedStrategy(strategy), "The event ID strategy is not supported: '%s'", strategy);
+
+        // no need for defensive copies of String
+
+        this.strategy = strategy;
+    }
+
+    /**
+     * @return The worker ID used in Snowflake-style event IDs
+     * @see EventIdProperties#setWorkerId(int)
+     */
+    public final int getWorkerId() {
+
+        // no need for defensive copies of int
+
+        return workerId;
+    }
+
+    /**
+     * The worker ID used in Snowflake-style event IDs (see {@link #STRATEGY_SNOWFLAKE}).
+     * <p>
+     * Snowflake-style event IDs are only unique if every process that creates them uses a different worker ID.
+     * The worker ID must be configured when using Snowflake-style event IDs: the processor fails to initialize if the
+     * worker ID is set to {@link #UNDEFINED_WORKER_ID}.
+     *
+     * @param workerId The worker ID (must be between 0 and {@link #MAX_WORKER_ID}), or {@link #UNDEFINED_WORKER_ID}
+     * @throws IllegalArgumentException When the provided value of {@code workerId} is out of range
+     */
+    public final void setWorkerId(final int workerId) {
+
+        Validate.inclusiveBetween(UNDEFINED_WORKER_ID, MAX_WORKER_ID, workerId);
+
+        // no need for defensive copies of int
+
+        this.workerId = workerId;
+    }
+
     /**
      * @return the length of the (random) event ID generated by this processor
      * @see EventIdProperties#setLength(int)
@@ -110,6 +252,9 @@ public class EventIdProperties {
      * The length in chars of the (random) event ID that is generated by this processor.
      * <p>
      * The entropy of this random String is approximately 3/4 of the overall String length.
+     * <p>
+     * The length only applies to the {@link #STRATEGY_RANDOM} strategy. The time-ordered strategies create IDs of a
+     * fixed length.
      *
      * @param length the length of the (random) event ID generated by this processor (must be greater 0)
      * @throws IllegalArgumentException When the provided value of {@code eventIdLength} is out of range
@@ -123,6 +268,39 @@ public class EventIdProperties {
         this.length = length;
     }
 
+    /**
+     * @return The number of pre-generated random event IDs kept in a pool
+     * @see EventIdProperties#setPoolSize(int)
+     */
+    public final int getPoolSize() {
+
+        // no need for defensive copies of int
+
+        return poolSize;
+    }
+
+    /**
+     * The number of pre-generated random event IDs kept in a pool.
+     * <p>
+     * If the pool is enabled (i.e. the size is greater 0), a background thread creates random event IDs in bulk, and
+     * the processor takes the event IDs from the pool instead of creating them while processing an event. This moves
+     * the cost of creating random data (and potentially blocking on a depleted entropy pool) off the threads that
+     * process events. If the pool runs empty, the processor creates the event ID itself.
+     * <p>
+     * The pool only applies to the {@link #STRATEGY_RANDOM} strategy.
+     *
+     * @param poolSize The number of pre-generated event IDs (0 to disable the pool)
+     * @throws IllegalArgumentException When the provided value of {@code poolSize} is out of range
+     */
+    public final void setPoolSize(final int poolSize) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, poolSize);
+
+        // no need for defensive copies of int
+
+        this.poolSize = poolSize;
+    }
+
     /**
      * @return The field name used to store the event ID in events
      * @see EventIdProperties#setEventFieldName(String)
@@ -0,0 +1,217 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that creates
+ * a random event ID that is appended as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.eventid;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.lang3.Validate;
+import org.beiter.michael.array.Cleanser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A ring of pre-generated random event IDs, which is refilled in bulk by a background thread.
+ * <p>
+ * Claiming an event ID from the pool is lock-free: the claiming thread increments the read position, and takes the
+ * event ID from the slot at that position, leaving the slot empty. Every event ID is handed out at most once.
+ * If the slot is empty (e.g. because the background thread has not caught up yet), {@link #next()} returns
+ * {@code null}, and the caller needs to create the event ID itself.
+ * <p>
+ * The background thread fills all empty slots with one call to {@link SecureRandom#nextBytes(byte[])} per refill,
+ * which also moves the (potentially blocking) instantiation of {@link SecureRandom} off the threads that process
+ * events.
+ * <p>
+ * This class is thread safe.
+ */
+final class RandomIdPool
+        implements Runnable {
+
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(RandomIdPool.class);
+
+    /**
+     * The maximum time the background thread waits for a refill request before it checks the pool anyway
+     */
+    private static final long REFILL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The pre-generated event IDs, {@code null} for empty slots
+     */
+    private final AtomicReferenceArray<String> slots;
+
+    /**
+     * The length of the event IDs in this pool
+     */
+    private final int length;
+
+    /**
+     * The number of claims after which the background thread is woken up to refill the pool
+     */
+    private final int refillThreshold;
+
+    /**
+     * The position of the next slot to claim
+     */
+    private final AtomicLong readPosition = new AtomicLong();
+
+    /**
+     * The background thread refilling the pool
+     */
+    private final Thread refillThread;
+
+    /**
+     * Indicates whether the pool has been closed
+     */
+    private volatile boolean closed;
+
+    /**
+     * Create a pool of random event IDs, and start the background thread that fills the pool.
+     *
+     * @param capacity The number of event IDs to keep in the pool (must be greater 0)
+     * @param length   The length of the event IDs (must be greater 0)
+     * @throws IllegalArgumentException When {@code capacity} or {@code length} are out of range
+     */
+    RandomIdPool(final int capacity, final int length) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, capacity);
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, length);
+
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.length = length;
+        this.refillThreshold = Math.max(1, capacity / 2);
+
+        refillThread = new Thread(this, "eAudit4j-eventId-pool");
+        refillThread.setDaemon(true);
+        refillThread.start();
+    }
+
+    /**
+     * Claim the next pre-generated event ID.
+     *
+     * @return A random event ID, or {@code null} if the pool has no event ID available at the claimed position, or
+     * if the pool has been closed
+     */
+    String next() {
+
+        if (closed) {
+            return null;
+        }
+
+        final long position = readPosition.getAndIncrement();
+        final String eventId = slots.getAndSet((int) (position % slots.length()), null);
+
+        // wake up the background thread when the pool runs empty, or every time half of the pool has been claimed
+        if (eventId == null || position % refillThreshold == 0) {
+            LockSupport.unpark(refillThread);
+        }
+
+        return eventId;
+    }
+
+    /**
+     * Stop the background thread. Event IDs that remain in the pool are discarded.
+     */
+    void close() {
+
+        closed = true;
+        LockSupport.unpark(refillThread);
+
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    /**
+     * Refill the pool until it is closed.
+     */
+    @Override
+    public void run() {
+
+        LOG.info("Trying to create a new instance of SecureRandom for the event ID pool. If this operation blocks, "
+                + "your entropy pool is depleted and needs to refill first.");
+        final SecureRandom secureRandom = new SecureRandom();
+        LOG.info("Successfully created a new instance of SecureRandom for the event ID pool.");
+
+        while (!closed) {
+            refill(secureRandom);
+            LockSupport.parkNanos(this, REFILL_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * Fill all empty slots of the pool, using one call to {@link SecureRandom#nextBytes(byte[])}.
+     *
+     * @param secureRandom The source of randomness
+     */
+    private void refill(final SecureRandom secureRandom) {
+
+        int empty = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null) {
+                empty++;
+            }
+        }
+        if (empty == 0) {
+            return;
+        }
+
+        // as in EventIdProcessor, we create more random bytes than needed, and cut the encoded String
+        final byte[] randomBytes = new byte[empty * length];
+        secureRandom.nextBytes(randomBytes);
+
+        final byte[] idBytes = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < slots.length() && offset < randomBytes.length && !closed; i++) {
+            if (slots.get(i) == null) {
+                System.arraycopy(randomBytes, offset, idBytes, 0, length);
+                offset += length;
+
+                // the slot is only filled if it is still empty, so that an event ID is never replaced
+                slots.compareAndSet(i, null, Base64.encodeBase64URLSafeString(idBytes).substring(0, length));
+            }
+        }
+
+        // clear the random data from local variables
+        Cleanser.wipe(randomBytes);
+        Cleanser.wipe(idBytes);
+    }
+}
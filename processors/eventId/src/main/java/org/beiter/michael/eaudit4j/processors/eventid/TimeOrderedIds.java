@@ -0,0 +1,237 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that creates
+ * a random event ID that is appended as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.eventid;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates time-ordered event IDs (ULIDs, version 7 UUIDs, and Snowflake-style IDs).
+ * <p>
+ * The IDs start with the creation time, and the encoded IDs sort lexicographically in the order of their creation
+ * (with millisecond granularity). The random parts of the IDs are taken from {@link ThreadLocalRandom}, which does
+ * not block and does not contend between threads, but is not cryptographically secure.
+ * <p>
+ * This class is thread safe, and does not use locks.
+ */
+final class TimeOrderedIds {
+
+    /**
+     * The Crockford Base32 alphabet, which preserves the sort order of the encoded values
+     */
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /**
+     * The number of bits encoded by one Crockford Base32 character
+     */
+    private static final int BITS_PER_CHAR = 5;
+
+    /**
+     * The mask to extract the bits encoded by one Crockford Base32 character
+     */
+    private static final int CHAR_MASK = 0x1F;
+
+    /**
+     * The length of an encoded ULID
+     */
+    private static final int ULID_LENGTH = 26;
+
+    /**
+     * The number of characters of an encoded ULID that hold the timestamp
+     */
+    private static final int ULID_TIME_CHARS = 10;
+
+    /**
+     * The number of characters that encode 40 bits of randomness
+     */
+    private static final int RANDOM_40_CHARS = 8;
+
+    /**
+     * The mask to extract 40 bits of randomness
+     */
+    private static final long RANDOM_40_MASK = 0xFFFFFFFFFFL;
+
+    /**
+     * The number of bits the timestamp is shifted left in the most significant bits of a version 7 UUID
+     */
+    private static final int UUID_TIME_SHIFT = 16;
+
+    /**
+     * The version bits of a version 7 UUID
+     */
+    private static final long UUID_VERSION_7 = 0x7000L;
+
+    /**
+     * The mask to extract the 12 random bits in the most significant bits of a version 7 UUID
+     */
+    private static final long UUID_RAND_A_MASK = 0x0FFFL;
+
+    /**
+     * The variant bits of an RFC 4122 UUID
+     */
+    private static final long UUID_VARIANT = 0x8000000000000000L;
+
+    /**
+     * The mask to extract the 62 random bits in the least significant bits of a version 7 UUID
+     */
+    private static final long UUID_RAND_B_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * The epoch of Snowflake-style IDs (2015-01-01T00:00:00Z), which makes the 41 bit timestamp last until 2084
+     */
+    private static final long SNOWFLAKE_EPOCH = 1420070400000L;
+
+    /**
+     * The number of bits of the sequence in a Snowflake-style ID
+     */
+    private static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The number of bits of the worker ID in a Snowflake-style ID
+     */
+    private static final int WORKER_ID_BITS = 10;
+
+    /**
+     * The mask to extract the sequence from a Snowflake-style ID
+     */
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * The length of an encoded Snowflake-style ID
+     */
+    private static final int SNOWFLAKE_LENGTH = 13;
+
+    /**
+     * The timestamp (shifted left by {@link #SEQUENCE_BITS}) and sequence of the last Snowflake-style ID.
+     * <p>
+     * The state is shared by all processor instances in the JVM, because all of them use the same worker ID (unless
+     * configured otherwise), and would create duplicate IDs with separate states.
+     */
+    private static final AtomicLong SNOWFLAKE_STATE = new AtomicLong();
+
+    /**
+     * A private constructor to prevent instantiation of this class
+     */
+    private TimeOrderedIds() {
+    }
+
+    /**
+     * Create a ULID from the current time and 80 bits of randomness.
+     *
+     * @return A 26 character ULID
+     */
+    static String ulid() {
+
+        final char[] chars = new char[ULID_LENGTH];
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        encode(System.currentTimeMillis(), chars, 0, ULID_TIME_CHARS);
+        encode(random.nextLong() & RANDOM_40_MASK, chars, ULID_TIME_CHARS, RANDOM_40_CHARS);
+        encode(random.nextLong() & RANDOM_40_MASK, chars, ULID_TIME_CHARS + RANDOM_40_CHARS, RANDOM_40_CHARS);
+
+        return new String(chars);
+    }
+
+    /**
+     * Create a version 7 UUID from the current time and 74 bits of randomness.
+     *
+     * @return A 36 character UUID in its canonical (lower case hex) representation
+     */
+    static String uuidV7() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        final long msb = (System.currentTimeMillis() << UUID_TIME_SHIFT) | UUID_VERSION_7
+                | (random.nextLong() & UUID_RAND_A_MASK);
+        final long lsb = UUID_VARIANT | (random.nextLong() & UUID_RAND_B_MASK);
+
+        return new UUID(msb, lsb).toString();
+    }
+
+    /**
+     * Create a Snowflake-style ID from the current time, the provided worker ID, and a JVM wide sequence.
+     * <p>
+     * The sequence is reset every millisecond, and allows 4096 IDs per millisecond. If more IDs are requested within
+     * a millisecond (or if the system clock moves backwards), the timestamp of the IDs is advanced beyond the
+     * current time instead of waiting for the clock, which keeps the IDs unique and ordered.
+     *
+     * @param workerId The worker ID (between 0 and 1023)
+     * @return A 13 character Snowflake-style ID
+     */
+    static String snowflake(final int workerId) {
+
+        final long now = System.currentTimeMillis() - SNOWFLAKE_EPOCH;
+
+        long previous;
+        long next;
+        do {
+            previous = SNOWFLAKE_STATE.get();
+            if (now > previous >>> SEQUENCE_BITS) {
+                // first ID in this millisecond
+                next = now << SEQUENCE_BITS;
+            } else {
+                // an overflow of the sequence carries into the timestamp
+                next = previous + 1;
+            }
+        } while (!SNOWFLAKE_STATE.compareAndSet(previous, next));
+
+        final long timestamp = next >>> SEQUENCE_BITS;
+        final long sequence = next & SEQUENCE_MASK;
+        final long id = (timestamp << (WORKER_ID_BITS + SEQUENCE_BITS)) | ((long) workerId << SEQUENCE_BITS) | sequence;
+
+        final char[] chars = new char[SNOWFLAKE_LENGTH];
+        encode(id, chars, 0, SNOWFLAKE_LENGTH);
+
+        return new String(chars);
+    }
+
+    /**
+     * Encode the lowest bits of a value with Crockford Base32, most significant character first.
+     *
+     * @param value  The value to encode
+     * @param chars  The array to write the characters to
+     * @param offset The position of the first character in the array
+     * @param length The number of characters to write
+     */
+    private static void encode(final long value, final char[] chars, final int offset, final int length) {
+
+        long remaining = value;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = CROCKFORD[(int) (remaining & CHAR_MASK)];
+            remaining >>>= BITS_PER_CHAR;
+        }
+    }
+}
@@ -64,11 +64,26 @@ public final class MapBasedEventIdPropsBuilder {
     // # Default values
     // #################
 
+    /**
+     * @see EventIdProperties#setStrategy(String)
+     */
+    public static final String DEFAULT_STRATEGY = EventIdProperties.STRATEGY_RANDOM;
+
+    /**
+     * @see EventIdProperties#setWorkerId(int)
+     */
+    public static final int DEFAULT_WORKER_ID = EventIdProperties.UNDEFINED_WORKER_ID;
+
     /**
      * @see EventIdProperties#setLength(int)
      */
     public static final int DEFAULT_LENGTH = 16;
 
+    /**
+     * @see EventIdProperties#setPoolSize(int)
+     */
+    public static final int DEFAULT_POOL_SIZE = 0;
+
     /**
      * @see EventIdProperties#setEventFieldName(String)
      */
@@ -78,17 +93,37 @@ public final class MapBasedEventIdPropsBuilder {
     // # Configuration Keys
     // #####################
 
+    /**
+     * @see EventIdProperties#setStrategy(String)
+     */
+    public static final String KEY_STRATEGY = "audit.processor.eid.strategy";
+
+    /**
+     * @see EventIdProperties#setWorkerId(int)
+     */
+    public static final String KEY_WORKER_ID = "audit.processor.eid.workerId";
+
     /**
      * @see EventIdProperties#setLength(int)
      */
     public static final String KEY_LENGTH = "audit.processor.eid.length";
 
+    /**
+     * @see EventIdProperties#setPoolSize(int)
+     */
+    public static final String KEY_POOL_SIZE = "audit.processor.eid.poolSize";
+
     /**
      * @see EventIdProperties#setEventFieldName(String)
      */
     public static final String KEY_EVENT_FIELD_NAME = "audit.processor.eid.eventFieldName";
 
 
+    /**
+     * The number of digits of the largest worker ID
+     */
+    private static final int MAX_WORKER_ID_DIGITS = String.valueOf(EventIdProperties.MAX_WORKER_ID).length();
+
     /**
      * A private constructor to prevent instantiation of this class
      */
@@ -124,7 +159,37 @@ public final class MapBasedEventIdPropsBuilder {
         Validate.notNull(properties, "The validated object 'value' is null");
 
         final EventIdProperties eventIdProperties = new EventIdProperties();
-        String tmp = properties.get(KEY_LENGTH);
+        String tmp = properties.get(KEY_STRATEGY);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (EventIdProperties.isSupportedStrategy(tmp)) {
+                eventIdProperties.setStrategy(tmp);
+                logValue(KEY_STRATEGY, tmp);
+            } else {
+                eventIdProperties.setStrategy(DEFAULT_STRATEGY);
+                logDefault(KEY_STRATEGY, tmp, "not a supported strategy", DEFAULT_STRATEGY);
+            }
+        } else {
+            eventIdProperties.setStrategy(DEFAULT_STRATEGY);
+            logDefault(KEY_STRATEGY, DEFAULT_STRATEGY);
+        }
+
+        tmp = properties.get(KEY_WORKER_ID);
+        if (StringUtils.isNotEmpty(tmp)) {
+            // limit the length before parsing, so that large values cannot overflow the int
+            if (StringUtils.isNumeric(tmp) && tmp.length() <= MAX_WORKER_ID_DIGITS
+                    && Integer.parseInt(tmp) <= EventIdProperties.MAX_WORKER_ID) {
+                eventIdProperties.setWorkerId(Integer.parseInt(tmp));
+                logValue(KEY_WORKER_ID, tmp);
+            } else {
+                eventIdProperties.setWorkerId(DEFAULT_WORKER_ID);
+                logDefault(KEY_WORKER_ID, tmp, "not numeric or out of range", String.valueOf(DEFAULT_WORKER_ID));
+            }
+        } else {
+            eventIdProperties.setWorkerId(DEFAULT_WORKER_ID);
+            logDefault(KEY_WORKER_ID, String.valueOf(DEFAULT_WORKER_ID));
+        }
+
+        tmp = properties.get(KEY_LENGTH);
         if (StringUtils.isNotEmpty(tmp)) {
             if (StringUtils.isNumeric(tmp)) {
                 eventIdProperties.setLength(Integer.decode(tmp));
@@ -138,6 +203,20 @@ public final class MapBasedEventIdPropsBuilder {
             logDefault(KEY_LENGTH, String.valueOf(DEFAULT_LENGTH));
         }
 
+        tmp = properties.get(KEY_POOL_SIZE);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp)) {
+                eventIdProperties.setPoolSize(Integer.decode(tmp));
+                logValue(KEY_POOL_SIZE, tmp);
+            } else {
+                eventIdProperties.setPoolSize(DEFAULT_POOL_SIZE);
+                logDefault(KEY_POOL_SIZE, tmp, "not numeric", String.valueOf(DEFAULT_POOL_SIZE));
+            }
+        } else {
+            eventIdProperties.setPoolSize(DEFAULT_POOL_SIZE);
+            logDefault(KEY_POOL_SIZE, String.valueOf(DEFAULT_POOL_SIZE));
+        }
+
         tmp = properties.get(KEY_EVENT_FIELD_NAME);
         if (StringUtils.isNotEmpty(tmp)) {
             eventIdProperties.setEventFieldName(tmp);
@@ -467,6 +467,180 @@ public class EventIdProcessorTest {
         assertThat(error, id1, is(not(equalTo(id2))));
     }
 
+    /**
+     * Test that ULIDs have the expected format, and sort in the order of their creation
+     */
+    @Test
+    public void testCreateUlidEventId()
+            throws InvocationTargetException, IllegalAccessException, InterruptedException {
+
+        Processor processor = new EventIdProcessor();
+        EventIdProperties eventIdProps = MapBasedEventIdPropsBuilder.buildDefault();
+        eventIdProps.setStrategy(EventIdProperties.STRATEGY_ULID);
+
+        String eventId1 = (String) method_createEventId.invoke(processor, eventIdProps);
+        Thread.sleep(2);
+        String eventId2 = (String) method_createEventId.invoke(processor, eventIdProps);
+
+        String error = "The ULID does not have the expected format";
+        assertThat(error, eventId1.matches("[0-9A-HJKMNP-TV-Z]{26}"), is(true));
+        error = "The ULIDs do not sort in the order of their creation";
+        assertThat(error, eventId1.compareTo(eventId2), is(lessThan(0)));
+    }
+
+    /**
+     * Test that version 7 UUIDs have the expected format, and sort in the order of their creation
+     */
+    @Test
+    public void testCreateUuidV7EventId()
+            throws InvocationTargetException, IllegalAccessException, InterruptedException {
+
+        Processor processor = new EventIdProcessor();
+        EventIdProperties eventIdProps = MapBasedEventIdPropsBuilder.buildDefault();
+        eventIdProps.setStrategy(EventIdProperties.STRATEGY_UUID_V7);
+
+        String eventId1 = (String) method_createEventId.invoke(processor, eventIdProps);
+        Thread.sleep(2);
+        String eventId2 = (String) method_createEventId.invoke(processor, eventIdProps);
+
+        String error = "The UUID does not have the expected format";
+        assertThat(error, eventId1.matches("[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}"),
+                is(true));
+        error = "The UUID does not have the expected version";
+        assertThat(error, java.util.UUID.fromString(eventId1).version(), is(equalTo(7)));
+        error = "The UUIDs do not sort in the order of their creation";
+        assertThat(error, eventId1.compareTo(eventId2), is(lessThan(0)));
+    }
+
+    /**
+     * Test that Snowflake-style IDs have the expected format, and are strictly increasing, also when more IDs than
+     * the sequence can hold are created within one millisecond
+     */
+    @Test
+    public void testCreateSnowflakeEventId()
+            throws InvocationTargetException, IllegalAccessException {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+        Map<String, String> additionalProps = new HashMap<>();
+        additionalProps.put(MapBasedEventIdPropsBuilder.KEY_STRATEGY, EventIdProperties.STRATEGY_SNOWFLAKE);
+        additionalProps.put(MapBasedEventIdPropsBuilder.KEY_WORKER_ID, "42");
+        commonProps.setAdditionalProperties(additionalProps);
+
+        Processor processor = new EventIdProcessor();
+        processor.init(commonProps);
+        EventIdProperties eventIdProps = (EventIdProperties) field_properties.get(processor);
+
+        String previous = (String) method_createEventId.invoke(processor, eventIdProps);
+        String error = "The Snowflake-style ID does not have the expected format";
+        assertThat(error, previous.matches("[0-9A-HJKMNP-TV-Z]{13}"), is(true));
+
+        for (int i = 0; i < 10000; i++) {
+
+            String eventId = (String) method_createEventId.invoke(processor, eventIdProps);
+
+            error = "The Snowflake-style IDs are not strictly increasing";
+            assertThat(error, previous.compareTo(eventId), is(lessThan(0)));
+            previous = eventId;
+        }
+    }
+
+    /**
+     * Test that a processor for Snowflake-style IDs without a configured worker ID fails to initialize
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void snowflakeWithoutWorkerIdTest() {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+        Map<String, String> additionalProps = new HashMap<>();
+        additionalProps.put(MapBasedEventIdPropsBuilder.KEY_STRATEGY, EventIdProperties.STRATEGY_SNOWFLAKE);
+        commonProps.setAdditionalProperties(additionalProps);
+
+        Processor processor = new EventIdProcessor();
+        processor.init(commonProps);
+    }
+
+    /**
+     * Test that a processor with a pool of pre-generated event IDs creates unique event IDs of the configured length
+     */
+    @Test
+    public void pooledEventIdsTest()
+            throws AuditException {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+        Map<String, String> additionalProps = new HashMap<>();
+        additionalProps.put(MapBasedEventIdPropsBuilder.KEY_POOL_SIZE, "16");
+        additionalProps.put(MapBasedEventIdPropsBuilder.KEY_LENGTH, "24");
+        commonProps.setAdditionalProperties(additionalProps);
+
+        Processor processor = new EventIdProcessor();
+        processor.init(commonProps);
+
+        try {
+            java.util.Set<String> eventIds = new java.util.HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                Event event = new AuditEvent();
+                processor.process(event);
+                String eventId = String.valueOf(
+                        event.getField(MapBasedEventIdPropsBuilder.DEFAULT_EVENT_FIELD_NAME).getCharValue(encoding));
+
+                String error = "The event ID does not have the correct length";
+                assertThat(error, eventId.length(), is(equalTo(24)));
+                error = "The processor created an event ID twice";
+                assertThat(error, eventIds.add(eventId), is(true));
+            }
+        } finally {
+            processor.cleanUp();
+        }
+    }
+
+    /**
+     * Test that concurrently created Snowflake-style IDs are unique
+     */
+    @Test
+    public void concurrentSnowflakeEventIdsAreUniqueTest()
+            throws InterruptedException {
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.buildDefault();
+        Map<String, String> additionalProps = new HashMap<>();
+        additionalProps.put(MapBasedEventIdPropsBuilder.KEY_STRATEGY, EventIdProperties.STRATEGY_SNOWFLAKE);
+        additionalProps.put(MapBasedEventIdPropsBuilder.KEY_WORKER_ID, "7");
+        commonProps.setAdditionalProperties(additionalProps);
+
+        final Processor processor = new EventIdProcessor();
+        processor.init(commonProps);
+
+        final int threads = 4;
+        final int eventsPerThread = 5000;
+        final java.util.Set<String> eventIds = java.util.Collections.newSetFromMap(
+                new java.util.concurrent.ConcurrentHashMap<String, Boolean>());
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        Event event = new AuditEvent();
+                        try {
+                            processor.process(event);
+                        } catch (AuditException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        eventIds.add(String.valueOf(event.getField(
+                                MapBasedEventIdPropsBuilder.DEFAULT_EVENT_FIELD_NAME).getCharValue(encoding)));
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        String error = "Concurrently created Snowflake-style IDs are not unique";
+        assertThat(error, eventIds.size(), is(equalTo(threads * eventsPerThread)));
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Revert & clean up tests
     ///////////////////////////////////////////////////////////////////////////
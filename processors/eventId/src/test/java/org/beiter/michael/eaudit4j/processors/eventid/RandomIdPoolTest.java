@@ -0,0 +1,112 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that creates
+ * a random event ID that is appended as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.eventid;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RandomIdPoolTest {
+
+    /**
+     * Invalid capacity test
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacityTest() {
+
+        new RandomIdPool(0, 16);
+    }
+
+    /**
+     * Test that the pool is filled in the background, and hands out unique event IDs of the configured length
+     *
+     * @throws InterruptedException When the test is interrupted
+     */
+    @Test
+    public void poolHandsOutUniqueEventIdsTest()
+            throws InterruptedException {
+
+        int capacity = 64;
+        int length = 20;
+        RandomIdPool pool = new RandomIdPool(capacity, length);
+
+        try {
+            Set<String> eventIds = new HashSet<>();
+            int attempts = 0;
+            while (eventIds.size() < 10 * capacity && attempts < 100000) {
+                attempts++;
+
+                String eventId = pool.next();
+                if (eventId == null) {
+                    // give the background thread a chance to refill the pool
+                    Thread.sleep(1);
+                } else {
+                    String error = "The event ID does not have the correct length";
+                    assertThat(error, eventId.length(), is(equalTo(length)));
+                    error = "The pool handed out an event ID twice";
+                    assertThat(error, eventIds.add(eventId), is(true));
+                }
+            }
+
+            String error = "The pool has not been refilled";
+            assertThat(error, eventIds.size(), is(equalTo(10 * capacity)));
+        } finally {
+            pool.close();
+        }
+    }
+
+    /**
+     * Test that a closed pool does not hand out event IDs
+     *
+     * @throws InterruptedException When the test is interrupted
+     */
+    @Test
+    public void closedPoolIsEmptyTest()
+            throws InterruptedException {
+
+        RandomIdPool pool = new RandomIdPool(16, 16);
+        pool.close();
+        Thread.sleep(50);
+
+        for (int i = 0; i < 32; i++) {
+            String error = "A closed pool hands out event IDs";
+            assertThat(error, pool.next(), is(nullValue()));
+        }
+    }
+}
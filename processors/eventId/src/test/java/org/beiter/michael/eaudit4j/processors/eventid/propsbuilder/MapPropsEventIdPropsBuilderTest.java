@@ -75,6 +75,117 @@ public class MapPropsEventIdPropsBuilderTest {
     //   (test the explicitly named properties)
     ///////////////////////////////////////////////////////////////////////////
 
+    /**
+     * default strategy test
+     */
+    @Test
+    public void defaultStrategyTest() {
+
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.buildDefault();
+
+        String error = "strategy does not match expected default value";
+        assertThat(error, properties.getStrategy(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_STRATEGY)));
+        error = "strategy does not match expected value";
+        properties.setStrategy(EventIdProperties.STRATEGY_ULID);
+        assertThat(error, properties.getStrategy(), is(equalTo(EventIdProperties.STRATEGY_ULID)));
+    }
+
+    /**
+     * strategy test
+     */
+    @Test
+    public void strategyTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_STRATEGY, null);
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.build(map);
+        String error = "strategy does not match expected default value";
+        assertThat(error, properties.getStrategy(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_STRATEGY)));
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_STRATEGY, "asdf");
+        properties = MapBasedEventIdPropsBuilder.build(map);
+        error = "strategy does not match expected default value";
+        assertThat(error, properties.getStrategy(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_STRATEGY)));
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_STRATEGY, EventIdProperties.STRATEGY_SNOWFLAKE);
+        properties = MapBasedEventIdPropsBuilder.build(map);
+        error = "strategy does not match expected value";
+        assertThat(error, properties.getStrategy(), is(equalTo(EventIdProperties.STRATEGY_SNOWFLAKE)));
+
+        // copy constructor test
+        EventIdProperties properties2 = new EventIdProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getStrategy(), is(equalTo(EventIdProperties.STRATEGY_SNOWFLAKE)));
+    }
+
+    /**
+     * unsupported strategy test
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedStrategyTest() {
+
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.buildDefault();
+        properties.setStrategy("asdf");
+    }
+
+    /**
+     * default worker ID test
+     */
+    @Test
+    public void defaultWorkerIdTest() {
+
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.buildDefault();
+
+        String error = "worker ID does not match expected default value";
+        assertThat(error, properties.getWorkerId(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_WORKER_ID)));
+        error = "worker ID does not match expected value";
+        properties.setWorkerId(42);
+        assertThat(error, properties.getWorkerId(), is(equalTo(42)));
+    }
+
+    /**
+     * worker ID test
+     */
+    @Test
+    public void workerIdTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_WORKER_ID, null);
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.build(map);
+        String error = "worker ID does not match expected default value";
+        assertThat(error, properties.getWorkerId(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_WORKER_ID)));
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_WORKER_ID, "asdf");
+        properties = MapBasedEventIdPropsBuilder.build(map);
+        assertThat(error, properties.getWorkerId(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_WORKER_ID)));
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_WORKER_ID, "99999999999");
+        properties = MapBasedEventIdPropsBuilder.build(map);
+        assertThat(error, properties.getWorkerId(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_WORKER_ID)));
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_WORKER_ID, "42");
+        properties = MapBasedEventIdPropsBuilder.build(map);
+        error = "worker ID does not match expected value";
+        assertThat(error, properties.getWorkerId(), is(equalTo(42)));
+
+        // copy constructor test
+        EventIdProperties properties2 = new EventIdProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getWorkerId(), is(equalTo(42)));
+    }
+
+    /**
+     * worker ID out of range test
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void workerIdRangeTest() {
+
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.buildDefault();
+        properties.setWorkerId(EventIdProperties.MAX_WORKER_ID + 1);
+    }
+
     /**
      * default length test
      */
@@ -119,6 +230,59 @@ public class MapPropsEventIdPropsBuilderTest {
         assertThat(error, properties2.getLength(), is(equalTo(42)));
     }
 
+    /**
+     * default pool size test
+     */
+    @Test
+    public void defaultPoolSizeTest() {
+
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.buildDefault();
+
+        String error = "pool size does not match expected default value";
+        assertThat(error, properties.getPoolSize(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_POOL_SIZE)));
+        error = "pool size does not match expected value";
+        properties.setPoolSize(42);
+        assertThat(error, properties.getPoolSize(), is(equalTo(42)));
+    }
+
+    /**
+     * pool size test
+     */
+    @Test
+    public void poolSizeTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_POOL_SIZE, null);
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.build(map);
+        String error = "pool size does not match expected default value";
+        assertThat(error, properties.getPoolSize(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_POOL_SIZE)));
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_POOL_SIZE, "asdf");
+        properties = MapBasedEventIdPropsBuilder.build(map);
+        assertThat(error, properties.getPoolSize(), is(equalTo(MapBasedEventIdPropsBuilder.DEFAULT_POOL_SIZE)));
+
+        map.put(MapBasedEventIdPropsBuilder.KEY_POOL_SIZE, "42");
+        properties = MapBasedEventIdPropsBuilder.build(map);
+        error = "pool size does not match expected value";
+        assertThat(error, properties.getPoolSize(), is(equalTo(42)));
+
+        // copy constructor test
+        EventIdProperties properties2 = new EventIdProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getPoolSize(), is(equalTo(42)));
+    }
+
+    /**
+     * pool size out of range test
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void poolSizeRangeTest() {
+
+        EventIdProperties properties = MapBasedEventIdPropsBuilder.buildDefault();
+        properties.setPoolSize(-1);
+    }
+
     /**
      * default event field name test
      */
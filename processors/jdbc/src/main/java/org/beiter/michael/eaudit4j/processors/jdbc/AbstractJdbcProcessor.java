@@ -34,12 +34,17 @@
  */
 package org.beiter.michael.eaudit4j.processors.jdbc;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
 import org.beiter.michael.eaudit4j.common.AuditException;
 import org.beiter.michael.eaudit4j.common.CommonProperties;
 import org.beiter.michael.eaudit4j.common.Event;
 import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.FieldProjection;
+import org.beiter.michael.eaudit4j.common.IndexedValueNormalizer;
+import org.beiter.michael.eaudit4j.common.PayloadCodec;
+import org.beiter.michael.eaudit4j.common.Persisting;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.Reversible;
@@ -52,10 +57,16 @@ import org.slf4j.LoggerFactory;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.text.Normalizer;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * This processors persists events to a JDBC database. The connection method (pool, JNDI, ...) is not managed in this
@@ -69,15 +80,46 @@ import java.util.concurrent.ConcurrentHashMap;
  * This implementation supports storing specific {@link Event} fields in the second table, either under their
  * {@link Event} field name, or through an "alias", which allows storing {@link Event} fields in the second table using
  * an alternative name ("key") to identify the field.
+ * <p>
+ * Alternatively, the indexed fields can be stored in dedicated columns of the first table (one column per indexed
+ * field, named after the field or its alias), in which case every event is written as a single row and the second table
+ * is not used (see {@link JdbcProperties#isIndexedColumns()}).
+ * <p>
+ * The tables can be partitioned by period (day or week) and audit stream, with the partitions of the upcoming periods
+ * created ahead of time, and expired partitions dropped as a whole (see {@link JdbcProperties#getPartitioning()}).
+ * <p>
+ * If {@link CommonProperties#isPayloadCompression()} is set, the serialized event is stored compressed, and the event
+ * column must be a binary column (e.g. {@code BLOB}).
+ * <p>
+ * The events can be distributed over several databases ("shards"), routed by the hash of their event ID or audit
+ * stream name (see {@link JdbcProperties#getShards()}). Every shard has its own connections, dedicated writer
+ * connection, group commit writer, and partitions, and the health of every shard is tracked independently.
  */
 public abstract class AbstractJdbcProcessor
-        implements Processor, Reversible {
+        implements Processor, Reversible, Persisting {
 
     /**
      * The logger object for this class
      */
     private static final Logger LOG = LoggerFactory.getLogger(AbstractJdbcProcessor.class);
 
+    /**
+     * The column names accepted when generating the insert statement for the indexed columns mode, and the query
+     * statements of {@link AuditQuery} (unquoted SQL identifiers)
+     */
+    static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+
+    /**
+     * The table names accepted when generating the insert statement for the indexed columns mode, and the query
+     * statements of {@link AuditQuery} (unquoted SQL identifiers, optionally qualified with a schema name)
+     */
+    static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*(\\.[A-Za-z_][A-Za-z0-9_$]*)?");
+
+    /**
+     * The number of event columns (event ID, audit stream name, event) in the indexed columns mode
+     */
+    private static final int EVENT_COLUMN_COUNT = 3;
+
     /**
      * A copy of the common properties
      */
@@ -88,9 +130,51 @@ public abstract class AbstractJdbcProcessor
      */
     private JdbcProperties properties;
 
+    /**
+     * The indexed fields, parsed from the processor specific properties during initialization. This is {@code null}
+     * if the indexed field list configuration is invalid.
+     */
+    private FieldProjection indexedFieldProjection;
+
+    /**
+     * Truncates, converts, and normalizes the values of indexed fields, created during initialization
+     */
+    private IndexedValueNormalizer indexedValueNormalizer;
+
+    /**
+     * The statement to insert events: either the configured statement, or the statement generated during
+     * initialization if the indexed fields are stored in dedicated columns. This is {@code null} if the indexed columns
+     * configuration is invalid.
+     */
+    private String insertEventSql;
+
+    /**
+     * Whether the indexed fields are written to the indexed fields table, determined during initialization
+     */
+    private boolean indexTableUsed;
+
+    /**
+     * Compresses the serialized events (only used if {@link CommonProperties#isPayloadCompression()} is set), created
+     * during initialization
+     */
+    private PayloadCodec payloadCodec;
+
+    /**
+     * Routes the events to the shards, and tracks the health of the shards, created during initialization
+     */
+    private volatile ShardRouter shardRouter;
+
+    /**
+     * The shards the events are written to (a single shard if sharding is not configured), created during
+     * initialization
+     */
+    private volatile Shard[] shards = new Shard[0];
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Re-initializing the processor stops the group commit writers (after writing the events that have already been
+     * submitted) and closes the dedicated writer connections, if any are open.
      */
     @Override
     public final void init(final CommonProperties pCommonProperties) {
@@ -99,6 +183,80 @@ public abstract class AbstractJdbcProcessor
 
         this.commonProperties = new CommonProperties(pCommonProperties);
         this.properties = MapBasedJdbcPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+
+        // parse the indexed field list once, instead of splitting the configuration string for every event
+        try {
+            this.indexedFieldProjection = FieldProjection.parse(properties.getIndexedFields(),
+                    properties.getIndexedFieldSeparator(), properties.getIndexedFieldNameSeparator());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("The Event field name / index mapping is invalid. ", e);
+            this.indexedFieldProjection = null;
+        }
+
+        // We use the platform's default locale here. This could be made configurable, but we wait until someone asks
+        // for it. Using an existing object here will help a lot with performance, and the alternative of using a
+        // constant (e.g. Locale.US) is not very appealing either. This is a pattern used throughout the library.
+        // Search for Locale.getDefault() to find all locations.
+        this.indexedValueNormalizer = new IndexedValueNormalizer(properties.getIndexedFieldsMaxLength(),
+                properties.isIndexedFieldsToLower(), Locale.getDefault());
+
+        // generate the insert statement if the indexed fields are stored in dedicated columns of the event table
+        if (properties.isIndexedColumns()) {
+            try {
+                this.insertEventSql = createIndexedColumnsInsertSql(properties, indexedFieldProjection);
+            } catch (NullPointerException | IllegalArgumentException e) {
+                LOG.warn("The indexed columns configuration is invalid. ", e);
+                this.insertEventSql = null;
+            }
+            this.indexTableUsed = false;
+        } else {
+            this.insertEventSql = properties.getInsertEventSqlStmt();
+            this.indexTableUsed = properties.getIndexedFields() != null && !properties.getIndexedFields().isEmpty();
+        }
+
+        // the configuration may have changed, make sure the next event opens new dedicated connections (this also
+        // releases the compressors of the previous payload codec)
+        closeConnections();
+
+        // the preset dictionary is derived from the configuration once
+        this.payloadCodec = pCommonProperties.isPayloadCompression() ? new PayloadCodec(pCommonProperties) : null;
+
+        // set up the shards, with the connection settings of every shard
+        final int shardCount = properties.getShards();
+        final List<JdbcProperties> shardProperties = new ArrayList<>(shardCount);
+        final Shard[] newShards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            final JdbcProperties shardProps = shardCount == 1 ? properties
+                    : MapBasedJdbcPropsBuilder.buildShard(pCommonProperties.getAdditionalProperties(), i);
+            shardProperties.add(shardProps);
+            newShards[i] = createShard(i, shardProps);
+        }
+        this.shardRouter = new ShardRouter(shardCount, properties.getShardKey());
+        this.shards = newShards;
+
+        initConnectionSource(Collections.unmodifiableList(shardProperties));
+
+        if (properties.isGroupCommit()) {
+            for (final Shard shard : newShards) {
+                final GroupCommitWriter groupWriter = new GroupCommitWriter(new GroupCommitWriter.Sink() {
+                    @Override
+                    public void write(final List<EventRecord> records, final ProcessingObjects processingObjects)
+                            throws AuditException {
+
+                        persistEvents(shard, records, processingObjects);
+                    }
+
+                    @Override
+                    public Object getConnectionSourceKey(final ProcessingObjects processingObjects) {
+
+                        return AbstractJdbcProcessor.this.getConnectionSourceKey(processingObjects, shard.index);
+                    }
+                }, properties.getGroupCommitMaxEvents(), properties.getGroupCommitMaxBytes(),
+                        properties.getGroupCommitMaxDelay());
+                groupWriter.start();
+                shard.groupCommitWriter = groupWriter;
+            }
+        }
     }
 
     /**
@@ -179,8 +337,8 @@ public abstract class AbstractJdbcProcessor
 
         // extract the event ID from the event, and throw an exception if the event ID is not present
         final String eventId;
-        if (event.containsField(properties.getEventIdFieldName())) {
-            final Field eventIdField = event.getField(properties.getEventIdFieldName()); // compiler will optimize this
+        final Field eventIdField = event.findField(properties.getEventIdFieldName());
+        if (eventIdField != null) {
             eventId = String.valueOf(eventIdField.getCharValue(properties.getStringEncoding()));
         } else {
             final String error = "The required field `event ID` is not present in the event. Have you configured "
@@ -192,13 +350,26 @@ public abstract class AbstractJdbcProcessor
         }
 
         // create a key / value map of the fields that go to the index table
-        final Map<String, Field> indexedFields = getIndexedFields(event, properties);
+        final Map<String, Field> indexedFieldMap = getIndexedFields(event, indexedFieldProjection);
+
+        if (insertEventSql == null) {
+            // the indexed columns configuration could not be processed during initialization
+            final String error = "The indexed columns configuration is invalid. ";
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
+        }
 
         // serializing the event to JSON will take bit, which is why we do it outside of the transaction
         final String eventJson = String.valueOf(event.toJson(properties.getStringEncoding()));
 
+        // route the event to its shard
+        final Shard shard = shards[shardRouter.route(eventId, auditStreamName)];
+
+        // the same goes for preparing the values of the indexed fields
+        final EventRecord record = createRecord(shard, auditStreamName, eventId, indexedFieldMap, eventJson);
+
         // persist the event
-        persistEvent(auditStreamName, processingObjects, eventId, indexedFields, eventJson);
+        persistEvent(shard, record, processingObjects);
 
         // return the event unchanged
         return event;
@@ -239,205 +410,539 @@ public abstract class AbstractJdbcProcessor
                                                 final ProcessingObjects processingObjects)
             throws FactoryException;
 
+    /**
+     * Retrieve a database connection to a shard.
+     * <p>
+     * The default implementation calls {@link AbstractJdbcProcessor#getConnection(JdbcProperties, ProcessingObjects)}
+     * with the configuration of the shard.
+     *
+     * @param pProperties       The configuration of the shard (see {@link JdbcProperties#getShards()})
+     * @param processingObjects The processing objects providing to the class, which may contain a
+     *                          {@link javax.sql.DataSource} object
+     * @param shard             The index of the shard (starting at {@code 0})
+     * @return A database connection
+     * @throws FactoryException When no database connection can be retrieved
+     */
+    protected Connection getConnection(final JdbcProperties pProperties,
+                                       final ProcessingObjects processingObjects,
+                                       final int shard)
+            throws FactoryException {
+
+        return getConnection(pProperties, processingObjects);
+    }
+
+    /**
+     * Get the key of the connection source that {@link AbstractJdbcProcessor#getConnection(JdbcProperties,
+     * ProcessingObjects, int)} retrieves the connections to a shard from. Events are only persisted in the same
+     * group commit transaction, or through the same dedicated writer connection, if their processing objects refer to
+     * equal keys.
+     * <p>
+     * The default implementation returns the same key for all processing objects, which is suitable for processors
+     * that do not retrieve their connections from the processing objects.
+     *
+     * @param processingObjects The processing objects provided with an event
+     * @param shard             The index of the shard (starting at {@code 0})
+     * @return The key of the connection source, may be {@code null}
+     */
+    protected Object getConnectionSourceKey(final ProcessingObjects processingObjects, final int shard) {
+
+        return shard;
+    }
+
+    /**
+     * Prepare the sources of database connections during initialization, for instance by resolving configuration
+     * values that would otherwise need to be resolved for every event.
+     * <p>
+     * This method is called at the end of {@link AbstractJdbcProcessor#init(CommonProperties)}. The default
+     * implementation does nothing.
+     *
+     * @param pShardProperties The configuration of every shard, in the order of the shards (a single entry if sharding
+     *                         is not configured)
+     */
+    protected void initConnectionSource(final List<JdbcProperties> pShardProperties) {
+
+        // do nothing
+    }
+
+    /**
+     * @return The number of shards the events are distributed over ({@code 0} if the processor has not been
+     * initialized)
+     */
+    public final int getShardCount() {
+
+        return shards.length;
+    }
+
+    /**
+     * Check the health of a shard. A shard is healthy until a transaction fails on the shard, and becomes healthy again
+     * with the next successful transaction.
+     *
+     * @param shard The index of the shard (starting at {@code 0})
+     * @return {@code true} if the last transaction on the shard has succeeded (or there has not been a transaction
+     * yet), {@code false} otherwise
+     * @throws IllegalArgumentException When {@code shard} is not the index of a shard
+     */
+    public final boolean isShardHealthy(final int shard) {
+
+        return getShardFailures(shard) == 0;
+    }
+
+    /**
+     * Get the number of consecutive failed transactions of a shard.
+     *
+     * @param shard The index of the shard (starting at {@code 0})
+     * @return The number of consecutive failed transactions on the shard ({@code 0} if the shard is healthy)
+     * @throws IllegalArgumentException When {@code shard} is not the index of a shard
+     */
+    public final int getShardFailures(final int shard) {
+
+        final ShardRouter router = shardRouter;
+        Validate.isTrue(router != null && shard >= 0 && shard < router.getShards(), "Not a shard: %d", shard);
+
+        return router.getFailures(shard);
+    }
+
+    /**
+     * Stop the group commit writers (after writing the events that have already been submitted), close the dedicated
+     * writer connections and their prepared statements, if dedicated connections are open, and release the native
+     * memory of the payload compressors (see {@link PayloadCodec#close()}).
+     * <p>
+     * Implementations should call this method from {@link Processor#cleanUp()}. Events that are processed afterwards
+     * are written in a transaction of their own, and the next event that is processed on a shard opens a new dedicated
+     * connection.
+     */
+    protected final void closeConnections() {
+
+        final PayloadCodec codec = payloadCodec;
+        if (codec != null) {
+            codec.close();
+        }
+
+        for (final Shard shard : shards) {
+
+            final GroupCommitWriter groupWriter = shard.groupCommitWriter;
+            if (groupWriter != null) {
+                shard.groupCommitWriter = null;
+                groupWriter.stop();
+            }
+
+            synchronized (shard.writerLock) {
+                for (final DedicatedConnection writer : shard.writers.values()) {
+                    writer.close();
+                }
+                shard.writers.clear();
+            }
+        }
+    }
+
+    /**
+     * Create a shard, parsing the connection settings of the shard, and setting up the partitioning of its tables.
+     *
+     * @param index       The index of the shard
+     * @param pProperties The configuration of the shard
+     * @return The shard
+     */
+    private Shard createShard(final int index, final JdbcProperties pProperties) {
+
+        // parse the connection properties once, instead of rebuilding them for every event
+        final boolean autoCommit =
+                MapBasedConnPropsBuilder.build(pProperties.getAdditionalProperties()).isDefaultAutoCommit();
+
+        // set up the partitioning of the tables by period (the partitions are maintained in every shard)
+        final PartitionScheme scheme;
+        if (PartitionScheme.isPartitioned(properties.getPartitioning())) {
+            scheme = new PartitionScheme(properties.getPartitioning(), insertEventSql,
+                    indexTableUsed ? properties.getInsertIndexedFieldSqlStmt() : null,
+                    properties.getPartitionCreateSqlStmts(), properties.getPartitionDropSqlStmts(),
+                    properties.getPartitionsAhead(), properties.getPartitionRetention());
+        } else {
+            scheme = null;
+        }
+
+        return new Shard(index, pProperties, autoCommit, scheme);
+    }
 
     /**
      * Create a key / value map of the indexed event fields to be added to the search table as configured
      *
-     * @param event       The event to take the fields from
-     * @param pProperties The processor configuration
+     * @param event      The event to take the fields from
+     * @param projection The indexed field configuration, as parsed during initialization
      * @return A key / value map with the fields to add to the search table
      * @throws AuditException When there is an invalid indexed field list configuration
      */
-    // CHECKSTYLE:OFF
-    // this is flagged in checkstyle with a missing whitespace before '}', which is a bug in checkstyle
-    // Need to validate sizes of the indexedField split to decide whether we use a custom name, or the field name. We
-    // could do that with a null check, but that seems to be awkward.
-    // Suppress warnings about this method being too complex (can't extract a generic subroutine to reduce exec paths).
-    @SuppressWarnings({"PMD.AvoidLiteralsInIfCondition", "PMD.CyclomaticComplexity"})
-    // CHECKSTYLE:ON
-    private Map<String, Field> getIndexedFields(final Event event, final JdbcProperties pProperties)
+    private Map<String, Field> getIndexedFields(final Event event, final FieldProjection projection)
             throws AuditException {
 
+        if (projection == null) {
+            // the indexed field list configuration could not be parsed during initialization
+            final String error = "The Event field name / index mapping is invalid. ";
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
+        }
+
         final Map<String, Field> map = new ConcurrentHashMap<>();
 
-        // split the configured event name list, and see what we need to add to the map
-        if (pProperties.getIndexedFields() != null && !pProperties.getIndexedFields().isEmpty()) {
+        // Go through the list of configured fields, and add them under their alias (or field name, if no alias is
+        // configured). Only add the field if it exists in the event (not all events necessarily contain all fields)
+        final int size = projection.size();
+        for (int i = 0; i < size; i++) {
 
-            // split the list of fields that we need to add to the map
-            final String[] indexedFieldNames =
-                    pProperties.getIndexedFields().split(pProperties.getIndexedFieldSeparator());
+            final Field field = event.findField(projection.getSourceName(i));
+            if (field != null) {
+                map.put(projection.getTargetName(i), field);
+            }
+        }
 
-            // Go through the list of configured fields, and check if there is an alias configured.
-            // If so, use that alias - otherwise, use the field name directly.
-            // Only add the field if it exists in the event (not all events necessarily contain all fields)
-            for (final String indexedFieldName : indexedFieldNames) {
+        // return the map
+        return map;
+    }
 
-                final String[] indexedField = indexedFieldName.split(pProperties.getIndexedFieldNameSeparator());
-                final Field field; // the actual field
-                final String fieldName; // the name (i.e. the key) we use for the field in the map
+    /**
+     * Generate the statement to insert events if the indexed fields are stored in dedicated columns of the event table:
+     * the event ID, audit stream name, and event columns, followed by one column per indexed field (named after the
+     * field or its alias), in the order of the indexed field configuration.
+     *
+     * @param pProperties The processor configuration
+     * @param projection  The indexed field configuration, as parsed during initialization
+     * @return The insert statement
+     * @throws NullPointerException     When the {@code projection} is {@code null}
+     * @throws IllegalArgumentException When the table or a column name is not a valid (unquoted) SQL identifier, the
+     *                                  number of event columns is not 3, or a column name is used more than once
+     */
+    static String createIndexedColumnsInsertSql(final JdbcProperties pProperties, final FieldProjection projection) {
+
+        Validate.notNull(pProperties, "The validated object 'pProperties' is null");
+        Validate.notNull(projection, "The validated object 'projection' is null (invalid indexed field list)");
+
+        // the table name may contain the placeholders of partitioned tables, which are resolved for each event
+        final String table = pProperties.getIndexedColumnsTable().trim();
+        final String resolvedTable = table.replace(PartitionScheme.PARTITION_PLACEHOLDER, "p")
+                .replace(PartitionScheme.STREAM_PLACEHOLDER, "s");
+        Validate.isTrue(TABLE_NAME.matcher(resolvedTable).matches(), "Invalid table name: '%s'", table);
+
+        final String[] eventColumns = StringUtils.split(pProperties.getIndexedColumnsEventColumns(),
+                pProperties.getIndexedFieldSeparator());
+        Validate.isTrue(eventColumns.length == EVENT_COLUMN_COUNT,
+                "Expected %s event columns (event ID, audit stream name, event), but found %s",
+                EVENT_COLUMN_COUNT, eventColumns.length);
+
+        final int columnCount = EVENT_COLUMN_COUNT + projection.size();
+        final String[] columns = new String[columnCount];
+        for (int i = 0; i < EVENT_COLUMN_COUNT; i++) {
+            columns[i] = eventColumns[i].trim();
+        }
+        for (int i = 0; i < projection.size(); i++) {
+            columns[EVENT_COLUMN_COUNT + i] = projection.getTargetName(i);
+        }
 
-                if (indexedField.length == 1) {
+        final StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (");
+        final StringBuilder values = new StringBuilder(") VALUES (");
+        for (int i = 0; i < columnCount; i++) {
 
-                    // we do not have a dedicated key configured, hence use the field name.
-                    // first, we check if the field has been set:
-                    if (event.containsField(indexedField[0])) {
+            Validate.isTrue(COLUMN_NAME.matcher(columns[i]).matches(), "Invalid column name: '%s'", columns[i]);
+            for (int j = 0; j < i; j++) {
+                Validate.isTrue(!columns[i].equalsIgnoreCase(columns[j]), "Duplicate column name: '%s'", columns[i]);
+            }
 
-                        // the field exists for this event, which means we can pull it
-                        field = event.getField(indexedField[0]);
-                        fieldName = field.getName();
-                    } else {
+            if (i > 0) {
+                sql.append(", ");
+                values.append(", ");
+            }
+            sql.append(columns[i]);
+            values.append('?');
+        }
 
-                        // the field does not exist in this event, hence proceed to the next field
-                        continue;
-                    }
-                } else if (indexedField.length == 2) {
+        return sql.append(values).append(')').toString();
+    }
 
-                    // we do have a dedicated key configured
-                    // first, we check if the field has been set:
-                    if (event.containsField(indexedField[0])) {
+    /**
+     * Prepare an event for persistence: truncate, convert, and normalize the values of the indexed fields as
+     * configured. This is done outside of the database transaction.
+     * <p>
+     * If the indexed fields are stored in dedicated columns of the event table, the prepared event contains all
+     * configured indexed fields in the order of the columns, with a {@code null} value for the fields that are not
+     * present in the event. Otherwise, it contains only the fields that are present in the event.
+     * <p>
+     * If the tables are partitioned, the partition is derived from the processing time of the event, which is only
+     * milliseconds away from the time the event was created.
+     * <p>
+     * If payload compression is enabled, the serialized event is compressed (see {@link PayloadCodec}).
+     *
+     * @param shard           The shard the event is written to
+     * @param auditStreamName The name of the audit stream
+     * @param eventId         The unique event ID of the event
+     * @param indexedFields   The fields that should go in the indexed fields table
+     * @param eventJson       The serialized event
+     * @return The prepared event
+     */
+    private EventRecord createRecord(final Shard shard, final String auditStreamName, final String eventId,
+                                     final Map<String, Field> indexedFields, final String eventJson) {
 
-                        // the field exists for this event, which means we can pull it
-                        field = event.getField(indexedField[0]);
-                        fieldName = indexedField[1];
-                    } else {
+        final String[] fieldNames;
+        final String[] fieldValues;
 
-                        // the field does not exist in this event, hence proceed to the next field
-                        continue;
-                    }
-                } else {
-                    // We have less than 1 and more than 2 field name components.
-                    // This should never happen.
-                    final String error = "The Event field name / index mapping is invalid. ";
-                    LOG.warn(error);
-                    throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
+        if (properties.isIndexedColumns()) {
+
+            final int size = indexedFieldProjection.size();
+            fieldNames = new String[size];
+            fieldValues = new String[size];
+
+            for (int i = 0; i < size; i++) {
+                fieldNames[i] = indexedFieldProjection.getTargetName(i);
+                final Field field = indexedFields.get(fieldNames[i]);
+                fieldValues[i] = field == null ? null : prepareFieldValue(field);
+            }
+        } else {
+
+            final int size = indexedFields.size();
+            fieldNames = new String[size];
+            fieldValues = new String[size];
+
+            int i = 0;
+            for (final Map.Entry<String, Field> entry : indexedFields.entrySet()) {
+                fieldNames[i] = entry.getKey();
+                fieldValues[i] = prepareFieldValue(entry.getValue());
+                i++;
+            }
+        }
+
+        // the serialized event is either stored as text, or compressed as binary data
+        final PayloadCodec codec = payloadCodec;
+        final String json = codec == null ? eventJson : null;
+        final byte[] payload = codec == null ? null : codec.encode(eventJson);
+
+        final PartitionScheme scheme = shard.partitionScheme;
+        if (scheme == null) {
+            return new EventRecord(auditStreamName, eventId, json, payload, fieldNames, fieldValues, insertEventSql,
+                    indexTableUsed ? properties.getInsertIndexedFieldSqlStmt() : null, null);
+        }
+
+        final PartitionScheme.Partition partition = scheme.resolve(auditStreamName, System.currentTimeMillis());
+        return new EventRecord(auditStreamName, eventId, json, payload, fieldNames, fieldValues,
+                partition.getInsertEventSql(), partition.getInsertIndexedFieldSql(), partition);
+    }
+
+    /**
+     * Truncate, convert, and normalize the value of an indexed field as configured.
+     *
+     * @param field The indexed field
+     * @return The value to store
+     */
+    private String prepareFieldValue(final Field field) {
+
+        return indexedValueNormalizer.normalize(field.getCharValue(properties.getStringEncoding()));
+    }
+
+    /**
+     * Persist an event to the database, either through the group commit writer (depending on
+     * {@link JdbcProperties#isGroupCommit()}), or in a transaction of its own.
+     *
+     * @param shard             The shard the event is written to
+     * @param record            The prepared event
+     * @param processingObjects The provided processing objects
+     * @throws AuditException When The database operation fails
+     */
+    private void persistEvent(final Shard shard, final EventRecord record, final ProcessingObjects processingObjects)
+            throws AuditException {
+
+        final GroupCommitWriter groupWriter = shard.groupCommitWriter;
+        if (groupWriter == null) {
+            persistEvents(shard, Collections.singletonList(record), processingObjects);
+        } else {
+            groupWriter.submit(record, processingObjects);
+        }
+    }
+
+    /**
+     * Persist a list of events to the database of a shard in one transaction, either through the dedicated writer
+     * connection or through a connection that is obtained for this transaction only (depending on
+     * {@link JdbcProperties#isDedicatedConnection()}), and update the health of the shard.
+     *
+     * @param shard             The shard the events are written to
+     * @param records           The prepared events
+     * @param processingObjects The provided processing objects
+     * @throws AuditException When The database operation fails
+     */
+    private void persistEvents(final Shard shard, final List<EventRecord> records,
+                               final ProcessingObjects processingObjects)
+            throws AuditException {
+
+        try {
+            if (properties.isDedicatedConnection()) {
+                persistEventsDedicated(shard, records, processingObjects);
+            } else {
+                persistEventsPooled(shard, records, processingObjects);
+            }
+        } catch (AuditException e) {
+            if (shardRouter.recordFailure(shard.index)) {
+                LOG.warn("Shard " + shard.index + " has become unhealthy");
+            }
+            throw e;
+        }
+
+        if (shardRouter.recordSuccess(shard.index)) {
+            LOG.info("Shard " + shard.index + " has become healthy again");
+        }
+    }
+
+    /**
+     * Persist a list of events to the database in one transaction using the dedicated writer connection of the
+     * connection source of the events (see {@link AbstractJdbcProcessor#getConnectionSourceKey(ProcessingObjects,
+     * int)}), opening the connection (and preparing the statements) if needed. If the transaction fails, the dedicated
+     * connection is closed, and the next transaction opens a new connection.
+     *
+     * @param shard             The shard the events are written to
+     * @param records           The prepared events
+     * @param processingObjects The provided processing objects
+     * @throws AuditException When The database operation fails
+     */
+    // CHECKSTYLE:OFF
+    // this is flagged in checkstyle with a missing whitespace before '}', which is a bug in checkstyle
+    // suppress warnings about the DB connection not being closed - it is closed in closeConnections()
+    // suppress warnings about nested catches and re-throwing of exceptions, with the cause being lost - can't avoid.
+    @SuppressWarnings({"PMD.CloseResource", "PMD.PreserveStackTrace"})
+    // CHECKSTYLE:ON
+    private void persistEventsDedicated(final Shard shard, final List<EventRecord> records,
+                                        final ProcessingObjects processingObjects)
+            throws AuditException {
+
+        // every connection source has its own dedicated connection, so that the events are written to the connection
+        // source provided with them
+        final Object sourceKey = getConnectionSourceKey(processingObjects, shard.index);
+
+        synchronized (shard.writerLock) {
+
+            DedicatedConnection writer = shard.writers.get(sourceKey);
+            if (writer == null) {
+                writer = openDedicatedConnection(shard, processingObjects);
+                shard.writers.put(sourceKey, writer);
+            }
+
+            try {
+                writeEvents(shard.partitionScheme, writer.statements, records);
+                writer.connection.commit();
+            } catch (SQLException | AuditException e) {
+
+                final String error = "Unrecoverable error when executing the SQL transaction";
+                LOG.warn(error, e);
+
+                try {
+                    // try to roll back
+                    writer.connection.rollback();
+                } catch (SQLException e1) {
+                    LOG.warn("Cannot roll back the SQL transaction on the dedicated connection", e1);
                 }
 
-                // add the field to the map
-                map.put(fieldName, field);
+                // do not re-use a connection that has failed, the next transaction will open a new one
+                writer.close();
+                shard.writers.remove(sourceKey);
+
+                if (e instanceof AuditException) {
+                    throw (AuditException) e;
+                }
+                throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
             }
         }
+    }
 
-        // return the map
-        return map;
+    /**
+     * Open the dedicated writer connection. The insert statements are prepared on the connection when they are first
+     * used, and kept open with the connection.
+     *
+     * @param shard             The shard to open the connection to
+     * @param processingObjects The provided processing objects
+     * @return The dedicated writer connection
+     * @throws AuditException When the connection cannot be opened or prepared
+     */
+    // CHECKSTYLE:OFF
+    // this is flagged in checkstyle with a missing whitespace before '}', which is a bug in checkstyle
+    // suppress warnings about the DB connection not being closed - it is closed in closeConnections()
+    @SuppressWarnings({"PMD.CloseResource"})
+    // The connection is intentionally kept open and closed in closeConnections()
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"ODR_OPEN_DATABASE_RESOURCE", "OBL_UNSATISFIED_OBLIGATION"})
+    // CHECKSTYLE:ON
+    private DedicatedConnection openDedicatedConnection(final Shard shard, final ProcessingObjects processingObjects)
+            throws AuditException {
+
+        final Connection con;
+        try {
+            con = getConnection(shard.properties, processingObjects, shard.index);
+        } catch (FactoryException e) {
+            final String error = "Cannot retrieve database connection";
+            LOG.warn(error, e);
+            throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
+        }
+
+        final DedicatedConnection dedicated = new DedicatedConnection(con);
+        try {
+            dedicated.autoCommit = con.getAutoCommit();
+
+            // we will commit manually
+            con.setAutoCommit(false);
+        } catch (SQLException e) {
+            dedicated.close();
+
+            final String error = "Cannot prepare the dedicated database connection";
+            LOG.warn(error, e);
+            throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
+        }
+
+        LOG.debug("Opened the dedicated database connection");
+
+        return dedicated;
     }
 
     /**
-     * Persist an event to the database
+     * Persist a list of events to the database in one transaction using a connection that is obtained for this
+     * transaction, and returned after the transaction.
      *
-     * @param auditStreamName   The name of the audit stream
+     * @param records           The prepared events
      * @param processingObjects The provided processing objects
-     * @param eventId           The unique event ID of the event
-     * @param indexedFields     The fields that should go in the indexed fields table
-     * @param eventJson         The serialized event
      * @throws AuditException When The database operation fails
      */
     // CHECKSTYLE:OFF
     // this is flagged in checkstyle with a missing whitespace before '}', which is a bug in checkstyle
     // suppress warnings about the DB connection not being closed - seems as if that checker does not get it
-    // suppress warnings about comparing to "1" - changing this seems to be over-engineering...
     // suppress warnings about nested catches and re-throwing of exceptions, with the cause being lost - can't avoid.
     // suppress warnings about this method being too long (not much point in splitting up this one!)
     // suppress warnings about this method being too complex (can't extract a generic subroutine to reduce exec paths)
-    @SuppressWarnings({"PMD.CloseResource", "PMD.AvoidLiteralsInIfCondition", "PMD.PreserveStackTrace", "PMD.ExcessiveMethodLength", "PMD.NPathComplexity", "PMD.CyclomaticComplexity", "PMD.StdCyclomaticComplexity", "PMD.ModifiedCyclomaticComplexity"})
+    @SuppressWarnings({"PMD.CloseResource", "PMD.PreserveStackTrace", "PMD.ExcessiveMethodLength", "PMD.NPathComplexity", "PMD.CyclomaticComplexity", "PMD.StdCyclomaticComplexity", "PMD.ModifiedCyclomaticComplexity"})
     // The SQL statement is retrieved from the configuration, and the admin is trusted
     // Same open data source comment as above - may be a problem with the checker and the code complexity
     // The OBL_UNSATISFIED_OBLIGATION checker (which is marked experimental) does not seem to work properly
     @edu.umd.cs.findbugs.annotations.SuppressWarnings({"SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING", "ODR_OPEN_DATABASE_RESOURCE", "OBL_UNSATISFIED_OBLIGATION"})
     // CHECKSTYLE:ON
-    private void persistEvent(final String auditStreamName, final ProcessingObjects processingObjects,
-                              final String eventId, final Map<String, Field> indexedFields,
-                              final String eventJson)
+    private void persistEventsPooled(final Shard shard, final List<EventRecord> records,
+                                     final ProcessingObjects processingObjects)
             throws AuditException {
 
         // get a database connection
         final Connection con;
         try {
-            con = getConnection(properties, processingObjects);
+            con = getConnection(shard.properties, processingObjects, shard.index);
         } catch (FactoryException e) {
             final String error = "Cannot retrieve database connection";
             LOG.warn(error, e);
             throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
         }
 
-        // get a reasonable fallback for the auto-commit
-        boolean autoCommit = MapBasedConnPropsBuilder.build(properties.getAdditionalProperties()).isDefaultAutoCommit();
+        // get a reasonable fallback for the auto-commit (parsed from the configuration during initialization)
+        boolean autoCommit = shard.defaultAutoCommit;
 
         // execute the DB transaction
-        PreparedStatement psEvent = null;
-        PreparedStatement psIndex = null;
+        final StatementCache statements = new StatementCache(con);
         try {
 
-            // we will commit manually
+            // we will commit manually (the connection may come from a pool we do not control, hence we have to check
+            // its current state to be able to restore it)
             autoCommit = con.getAutoCommit();
-            con.setAutoCommit(false);
-
-            // create prepared statement for the event, and populate it
-            psEvent = con.prepareStatement(properties.getInsertEventSqlStmt());
-            psEvent.setString(1, eventId);
-            psEvent.setString(2, auditStreamName);
-            psEvent.setString(3, eventJson);
-            final int eventRows = psEvent.executeUpdate();
-
-            // check if the operation has been executed properly:
-            if (eventRows != 1) {
-                final String error = "Error when persisting the audit event. The operation should have affected '1' "
-                        + "index row per field, but a total of '" + eventRows + "' rows was affected";
-                LOG.warn(error);
-                throw new AuditException(AuditErrorConditions.PROCESSING, error);
+            if (autoCommit) {
+                con.setAutoCommit(false);
             }
 
-            // only add indexed fields if there are indexed fields configured... obviously.
-            if (properties.getIndexedFields() != null && !properties.getIndexedFields().isEmpty()) {
-
-                // create a prepared statement for the index, and batch the operations
-                psIndex = con.prepareStatement(properties.getInsertIndexedFieldSqlStmt());
-                for (final Map.Entry<String, Field> entry : indexedFields.entrySet()) {
-
-                    final String fieldName = entry.getKey();
-                    String fieldValue = String.valueOf(entry.getValue().getCharValue(properties.getStringEncoding()));
-
-                    // truncate the field if needed
-                    if (fieldValue.length() > properties.getIndexedFieldsMaxLength()) {
-                        fieldValue = fieldValue.substring(0, properties.getIndexedFieldsMaxLength());
-                    }
-
-                    // convert the field value to lower if needed
-                    if (properties.isIndexedFieldsToLower()) {
-                        // We use the platform's default locale here. This could be made configurable, but we wait
-                        // until someone asks for it. Using an existing object here will help a lot with performance,
-                        // and the alternative of using a constant (e.g. Locale.US) is not very appealing either.
-                        // This is a pattern used throughout the library. Search for Locale.getDefault() to find all
-                        // locations.
-                        fieldValue = fieldValue.toLowerCase(Locale.getDefault());
-                    }
-
-                    // normalize the searchable String value to NFC form for deterministic search
-                    fieldValue = Normalizer.normalize(fieldValue, Normalizer.Form.NFC);
-
-                    psIndex.setString(1, eventId);
-                    psIndex.setString(2, auditStreamName);
-                    psIndex.setString(3, fieldName);
-                    psIndex.setString(4, fieldValue);
-
-                    psIndex.addBatch();
-                }
-                final int[] indexRows = psIndex.executeBatch();
-
-                // check if the operation has been executed properly:
-                // We do not know the number of field operations for sure (this varies with the number of
-                // fields-to-be-persisted present in the actual event), but we can check the execution status of each
-                // field. Not much use without knowing which field, but it is better than nothing and we probably do
-                // not want to over-engineer the error processing here.
-                for (final int indexRow : indexRows) {
-                    if (indexRow != 1) {
-                        final String error = "Error when persisting the audit event. The operation should have "
-                                + "affected '1' index row per field, but a total of '" + indexRow
-                                + "' rows was affected";
-                        LOG.warn(error);
-                        throw new AuditException(AuditErrorConditions.PROCESSING, error);
-                    }
-                }
-            }
+            // the prepared statements are created when first used (the pool or driver may serve these from its
+            // statement cache)
+            writeEvents(shard.partitionScheme, statements, records);
 
             // commit
             con.commit();
@@ -446,13 +951,10 @@ public abstract class AbstractJdbcProcessor
             // We add this code twice, here and in the finalizer. This is because we never know when the finalizer
             // will actually be executed, and closing the connection here immediately in the non-error case prevents
             // resource leaks. Repeating the same code below in the finalizer is just a safety net.
-            con.setAutoCommit(autoCommit);
-            if (!psEvent.isClosed()) {
-                psEvent.close();
-            }
-            if (psIndex != null && !psIndex.isClosed()) {
-                psIndex.close();
+            if (autoCommit) {
+                con.setAutoCommit(true);
             }
+            statements.close();
             if (!con.isClosed()) {
                 con.close();
             }
@@ -484,12 +986,7 @@ public abstract class AbstractJdbcProcessor
                 if (!con.isClosed() && con.getAutoCommit() != autoCommit) {
                     con.setAutoCommit(autoCommit);
                 }
-                if (psEvent != null && !psEvent.isClosed()) {
-                    psEvent.close();
-                }
-                if (psIndex != null && !psIndex.isClosed()) {
-                    psIndex.close();
-                }
+                statements.close();
                 if (!con.isClosed()) {
                     con.close();
                 }
@@ -499,4 +996,409 @@ public abstract class AbstractJdbcProcessor
             }
         }
     }
+
+    /**
+     * Write a list of events (and their indexed fields), maintaining the partitions of the events first if the tables
+     * are partitioned. Consecutive events that are inserted with the same statements are written together. The caller
+     * is responsible for committing or rolling back the transaction.
+     *
+     * @param scheme     The partitioning of the tables of the shard ({@code null} if the tables are not partitioned)
+     * @param statements The prepared statements of the connection
+     * @param records    The prepared events
+     * @throws SQLException   When the database operation fails
+     * @throws AuditException When the database operation does not affect the expected number of rows
+     */
+    private void writeEvents(final PartitionScheme scheme, final StatementCache statements,
+                             final List<EventRecord> records)
+            throws SQLException, AuditException {
+
+        if (scheme != null) {
+            maintainPartitions(scheme, statements.connection, records);
+        }
+
+        int start = 0;
+        while (start < records.size()) {
+
+            final String eventSql = records.get(start).getInsertEventSql();
+            int end = start + 1;
+            while (end < records.size() && eventSql.equals(records.get(end).getInsertEventSql())) {
+                end++;
+            }
+
+            final String indexSql = records.get(start).getInsertIndexedFieldSql();
+            writeEvents(statements.get(eventSql), indexSql == null ? null : statements.get(indexSql),
+                    start == 0 && end == records.size() ? records : records.subList(start, end));
+            start = end;
+        }
+    }
+
+    /**
+     * Maintain the partitions of a list of events (creating and dropping tables), unless this has already been done
+     * for their streams and periods. The table changes are committed before the events are written, so that a failing
+     * event does not revert them.
+     *
+     * @param scheme  The partitioning of the tables of the shard
+     * @param con     The database connection
+     * @param records The prepared events
+     * @throws SQLException When the database operation fails
+     */
+    private static void maintainPartitions(final PartitionScheme scheme, final Connection con,
+                                           final List<EventRecord> records)
+            throws SQLException {
+
+        boolean maintained = false;
+        for (final EventRecord record : records) {
+            final PartitionScheme.Partition partition = record.getPartition();
+            if (partition != null && !partition.isMaintained()) {
+                scheme.maintain(con, partition);
+                maintained = true;
+            }
+        }
+
+        if (maintained) {
+            con.commit();
+        }
+    }
+
+    /**
+     * Write a list of events (and their indexed fields) using the provided prepared statements. A single event is
+     * written with a plain update, multiple events are written with JDBC batches. The caller is responsible for
+     * committing or rolling back the transaction.
+     *
+     * @param psEvent The prepared statement to insert the events
+     * @param psIndex The prepared statement to insert the indexed fields ({@code null} if there are no indexed fields
+     *                configured)
+     * @param records The prepared events
+     * @throws SQLException   When the database operation fails
+     * @throws AuditException When the database operation does not affect the expected number of rows
+     */
+    // suppress warnings about comparing to "1" - changing this seems to be over-engineering...
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    private void writeEvents(final PreparedStatement psEvent, final PreparedStatement psIndex,
+                             final List<EventRecord> records)
+            throws SQLException, AuditException {
+
+        if (records.size() == 1) {
+
+            // populate the prepared statement for the event
+            setEventParameters(psEvent, records.get(0));
+            final int eventRows = psEvent.executeUpdate();
+
+            // check if the operation has been executed properly:
+            if (eventRows != 1) {
+                final String error = "Error when persisting the audit event. The operation should have affected '1' "
+                        + "index row per field, but a total of '" + eventRows + "' rows was affected";
+                LOG.warn(error);
+                throw new AuditException(AuditErrorConditions.PROCESSING, error);
+            }
+        } else {
+
+            // batch the operations for the events
+            for (final EventRecord record : records) {
+                setEventParameters(psEvent, record);
+                psEvent.addBatch();
+            }
+            checkBatchRows(psEvent.executeBatch(), "event");
+        }
+
+        // only add indexed fields if there are indexed fields configured... obviously.
+        if (psIndex == null) {
+            return;
+        }
+
+        // batch the operations for the index
+        int indexOperations = 0;
+        for (final EventRecord record : records) {
+
+            final int fieldCount = record.getFieldCount();
+            for (int i = 0; i < fieldCount; i++) {
+
+                psIndex.setString(1, record.getEventId());
+                psIndex.setString(2, record.getAuditStreamName());
+                psIndex.setString(3, record.getFieldName(i));
+                psIndex.setString(4, record.getFieldValue(i));
+
+                psIndex.addBatch();
+                indexOperations++;
+            }
+        }
+
+        if (indexOperations > 0) {
+            checkBatchRows(psIndex.executeBatch(), "index");
+        }
+    }
+
+    /**
+     * Populate the prepared statement to insert an event, including the indexed columns if the indexed fields are
+     * stored in dedicated columns of the event table.
+     *
+     * @param psEvent The prepared statement to insert the event
+     * @param record  The prepared event
+     * @throws SQLException When a parameter cannot be set
+     */
+    private void setEventParameters(final PreparedStatement psEvent, final EventRecord record)
+            throws SQLException {
+
+        psEvent.setString(1, record.getEventId());
+        psEvent.setString(2, record.getAuditStreamName());
+        if (record.getEventPayload() == null) {
+            psEvent.setString(3, record.getEventJson());
+        } else {
+            psEvent.setBytes(3, record.getEventPayload());
+        }
+
+        if (properties.isIndexedColumns()) {
+
+            // the fields are in the same order as the columns of the generated statement
+            final int fieldCount = record.getFieldCount();
+            for (int i = 0; i < fieldCount; i++) {
+
+                final String fieldValue = record.getFieldValue(i);
+                if (fieldValue == null) {
+                    psEvent.setNull(EVENT_COLUMN_COUNT + 1 + i, Types.VARCHAR);
+                } else {
+                    psEvent.setString(EVENT_COLUMN_COUNT + 1 + i, fieldValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the execution status of each operation in a batch.
+     * <p>
+     * We do not know the number of field operations for sure (this varies with the number of fields-to-be-persisted
+     * present in the actual event), but we can check the execution status of each operation. Not much use without
+     * knowing which operation, but it is better than nothing and we probably do not want to over-engineer the error
+     * processing here. Drivers that rewrite batches into multi-row statements may report
+     * {@link Statement#SUCCESS_NO_INFO} instead of a row count, which is accepted as well.
+     *
+     * @param rows The row counts returned by the batch
+     * @param kind The kind of row, used in the error message
+     * @throws AuditException When an operation did not affect exactly one row
+     */
+    // suppress warnings about comparing to "1" - changing this seems to be over-engineering...
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    private static void checkBatchRows(final int[] rows, final String kind)
+            throws AuditException {
+
+        for (final int row : rows) {
+            if (row != 1 && row != Statement.SUCCESS_NO_INFO) {
+                final String error = "Error when persisting the audit event. The operation should have "
+                        + "affected '1' " + kind + " row per operation, but a total of '" + row
+                        + "' rows was affected";
+                LOG.warn(error);
+                throw new AuditException(AuditErrorConditions.PROCESSING, error);
+            }
+        }
+    }
+
+    /**
+     * The prepared statements of a connection, created when first used. A bounded number of statements is kept open,
+     * evicting the least recently used statement (with partitioned tables, every partition has statements of its own).
+     */
+    private static final class StatementCache {
+
+        /**
+         * The maximum number of prepared statements that are kept open
+         */
+        private static final int MAX_STATEMENTS = 16;
+
+        /**
+         * The connection
+         */
+        private final Connection connection;
+
+        /**
+         * The prepared statements, by statement
+         */
+        private final Map<String, PreparedStatement> statements =
+                new LinkedHashMap<String, PreparedStatement>(MAX_STATEMENTS, 0.75f, true) {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+
+                        if (size() <= MAX_STATEMENTS) {
+                            return false;
+                        }
+
+                        closeStatement(eldest.getValue());
+                        return true;
+                    }
+                };
+
+        /**
+         * Create a statement cache.
+         *
+         * @param connection The connection
+         */
+        private StatementCache(final Connection connection) {
+
+            this.connection = connection;
+        }
+
+        /**
+         * Get the prepared statement of a statement, preparing it if needed.
+         *
+         * @param sql The statement
+         * @return The prepared statement
+         * @throws SQLException When the statement cannot be prepared
+         */
+        // The SQL statement is retrieved from the configuration, and the admin is trusted
+        @edu.umd.cs.findbugs.annotations.SuppressWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+        private PreparedStatement get(final String sql)
+                throws SQLException {
+
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+
+            return statement;
+        }
+
+        /**
+         * Close all prepared statements.
+         */
+        private void close() {
+
+            for (final PreparedStatement statement : statements.values()) {
+                closeStatement(statement);
+            }
+            statements.clear();
+        }
+
+        /**
+         * Close a prepared statement, logging failures.
+         *
+         * @param statement The prepared statement
+         */
+        private static void closeStatement(final PreparedStatement statement) {
+
+            try {
+                if (!statement.isClosed()) {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                final String error = "Cannot close the prepared statement";
+                LOG.warn(error, e);
+            }
+        }
+    }
+
+    /**
+     * A long-lived database connection with its prepared insert statements, used when
+     * {@link JdbcProperties#isDedicatedConnection()} is set.
+     */
+    private static final class DedicatedConnection {
+
+        /**
+         * The connection
+         */
+        private final Connection connection;
+
+        /**
+         * The auto-commit state of the connection when it was obtained, restored when the connection is closed
+         */
+        private boolean autoCommit = true;
+
+        /**
+         * The prepared insert statements
+         */
+        private final StatementCache statements;
+
+        /**
+         * Create a dedicated connection wrapper.
+         *
+         * @param connection The connection
+         */
+        private DedicatedConnection(final Connection connection) {
+
+            this.connection = connection;
+            this.statements = new StatementCache(connection);
+        }
+
+        /**
+         * Close the prepared statements and the connection, restoring the original auto-commit state.
+         */
+        private void close() {
+
+            statements.close();
+            try {
+                if (!connection.isClosed()) {
+                    if (connection.getAutoCommit() != autoCommit) {
+                        connection.setAutoCommit(autoCommit);
+                    }
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                final String error = "Cannot close the dedicated database connection";
+                LOG.warn(error, e);
+            }
+        }
+    }
+
+    /**
+     * A database the events are distributed over, with its configuration, connections, and partitions.
+     */
+    private static final class Shard {
+
+        /**
+         * The index of the shard
+         */
+        private final int index;
+
+        /**
+         * The configuration of the shard
+         */
+        private final JdbcProperties properties;
+
+        /**
+         * The auto-commit fallback of the connection configuration of the shard
+         */
+        private final boolean defaultAutoCommit;
+
+        /**
+         * Resolves and maintains the partitions of the tables in the shard ({@code null} if the tables are not
+         * partitioned)
+         */
+        private final PartitionScheme partitionScheme;
+
+        /**
+         * Guards the dedicated writer connections
+         */
+        private final Object writerLock = new Object();
+
+        /**
+         * The dedicated writer connections (only used if {@link JdbcProperties#isDedicatedConnection()} is set) by the
+         * key of their connection source, created when the first event of a connection source is processed. Guarded by
+         * {@link Shard#writerLock}.
+         */
+        private final Map<Object, DedicatedConnection> writers = new LinkedHashMap<>();
+
+        /**
+         * The group commit writer (only used if {@link JdbcProperties#isGroupCommit()} is set), started during
+         * initialization
+         */
+        private volatile GroupCommitWriter groupCommitWriter;
+
+        /**
+         * Create a shard.
+         *
+         * @param index             The index of the shard
+         * @param properties        The configuration of the shard
+         * @param defaultAutoCommit The auto-commit fallback of the connection configuration of the shard
+         * @param partitionScheme   The partitioning of the tables ({@code null} if the tables are not partitioned)
+         */
+        private Shard(final int index, final JdbcProperties properties, final boolean defaultAutoCommit,
+                      final PartitionScheme partitionScheme) {
+
+            this.index = index;
+            this.properties = properties;
+            this.defaultAutoCommit = defaultAutoCommit;
+            this.partitionScheme = partitionScheme;
+        }
+    }
 }
@@ -0,0 +1,528 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.beiter.michael.eaudit4j.common.CommonProperties;
+import org.beiter.michael.eaudit4j.common.FieldProjection;
+import org.beiter.michael.eaudit4j.common.IndexedValueNormalizer;
+import org.beiter.michael.eaudit4j.common.PayloadCodec;
+import org.beiter.michael.eaudit4j.common.impl.EventFactory;
+import org.beiter.michael.eaudit4j.processors.jdbc.propsbuilder.MapBasedJdbcPropsBuilder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Queries the events that have been persisted by the JDBC processors, selecting events by audit stream, indexed field
+ * values, and ranges of indexed field values (e.g. a time range on an indexed timestamp field).
+ * <p>
+ * The query is configured with the same properties as the JDBC processor that wrote the events: the indexed fields are
+ * selected in the indexed fields table, or in the indexed columns of the event table if
+ * {@link JdbcProperties#isIndexedColumns()} is set, and the provided values are truncated, converted, and normalized
+ * like the values that have been stored. The indexed fields are identified by the name they are stored under (i.e. the
+ * alias, if one is configured).
+ * <p>
+ * The results are streamed in pages of a bounded size (see {@link AuditQuery#setPageSize(int)}), using keyset
+ * pagination on the event ID: every page is read with a short-lived query that continues after the last event ID of
+ * the previous page, so that no database cursor is kept open over the whole result, and only one row is held in memory
+ * at a time. Events are returned in the order of their event IDs, and are only decoded when requested (see
+ * {@link AuditQueryResult#getEvent()}). If {@link CommonProperties#isPayloadCompression()} is set, the stored events
+ * are decompressed transparently.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * AuditQuery query = new AuditQuery(properties)
+ *         .setAuditStreamName("myStream")
+ *         .addField("subject", "alice")
+ *         .addRange("timestamp", "2016-01-01T00:00:00.000", "2016-02-01T00:00:00.000");
+ * try (AuditQueryResult result = query.execute(dataSource)) {
+ *     while (result.next()) {
+ *         Event event = result.getEvent();
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ * <p>
+ * Instances of this class are not thread safe. The results of {@link AuditQuery#execute(DataSource)} are not affected
+ * by later modifications of the query.
+ */
+public final class AuditQuery {
+
+    /**
+     * The default name of the event table
+     */
+    public static final String DEFAULT_EVENT_TABLE = "events";
+
+    /**
+     * The default name of the indexed fields table
+     */
+    public static final String DEFAULT_FIELD_TABLE = "fields";
+
+    /**
+     * The default number of rows that are fetched from the database at once
+     */
+    public static final int DEFAULT_FETCH_SIZE = 100;
+
+    /**
+     * The default number of rows that are read with one query
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    /**
+     * The event ID, audit stream name, and event columns of the event table (if not stored in the indexed columns mode)
+     */
+    private static final String[] EVENT_COLUMNS = {"eventId", "auditStreamName", "eventJson"};
+
+    /**
+     * The processor configuration that has been used to write the events
+     */
+    private final JdbcProperties properties;
+
+    /**
+     * Truncates, converts, and normalizes the provided indexed field values like the stored values
+     */
+    private final IndexedValueNormalizer normalizer;
+
+    /**
+     * The indexed field configuration (only needed in the indexed columns mode)
+     */
+    private final FieldProjection projection;
+
+    /**
+     * The names of the event ID, audit stream name, and event columns of the event table
+     */
+    private final String[] eventColumns;
+
+    /**
+     * Creates the events that are decoded from the query results
+     */
+    private final EventFactory eventFactory;
+
+    /**
+     * The string encoding of the field values
+     */
+    private final String encoding;
+
+    /**
+     * Decompresses the serialized events ({@code null} if payload compression is not enabled)
+     */
+    private final PayloadCodec payloadCodec;
+
+    /**
+     * The selection criteria on the indexed fields
+     */
+    private final List<Criterion> criteria = new ArrayList<>();
+
+    /**
+     * The name of the audit stream to query
+     */
+    private String auditStreamName;
+
+    /**
+     * The name of the event table
+     */
+    private String eventTable;
+
+    /**
+     * The name of the indexed fields table
+     */
+    private String fieldTable = DEFAULT_FIELD_TABLE;
+
+    /**
+     * The number of rows that are fetched from the database at once
+     */
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
+    /**
+     * The number of rows that are read with one query
+     */
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    /**
+     * Create a query for the events that have been written by a JDBC processor with the provided configuration. The
+     * query selects the events of the default audit stream until another stream is set.
+     *
+     * @param pCommonProperties The configuration of the JDBC processor that has written the events
+     * @throws NullPointerException     When {@code pCommonProperties} is {@code null}
+     * @throws IllegalArgumentException When the indexed columns configuration is invalid
+     */
+    public AuditQuery(final CommonProperties pCommonProperties) {
+
+        Validate.notNull(pCommonProperties, "The validated object 'pCommonProperties' is null");
+
+        this.properties = MapBasedJdbcPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+        this.encoding = properties.getStringEncoding();
+        this.eventFactory = new EventFactory(pCommonProperties);
+        this.payloadCodec = pCommonProperties.isPayloadCompression() ? new PayloadCodec(pCommonProperties) : null;
+        this.auditStreamName = pCommonProperties.getDefaultAuditStream();
+
+        // We use the platform's default locale here, like the JDBC processors do when storing the values.
+        // Search for Locale.getDefault() to find all locations.
+        this.normalizer = new IndexedValueNormalizer(properties.getIndexedFieldsMaxLength(),
+                properties.isIndexedFieldsToLower(), Locale.getDefault());
+
+        if (properties.isIndexedColumns()) {
+
+            this.projection = FieldProjection.parse(properties.getIndexedFields(),
+                    properties.getIndexedFieldSeparator(), properties.getIndexedFieldNameSeparator());
+
+            // the column names end up in the statement, accept only the configurations the processors accept
+            AbstractJdbcProcessor.createIndexedColumnsInsertSql(properties, projection);
+
+            this.eventTable = properties.getIndexedColumnsTable().trim();
+            final String[] columns = StringUtils.split(properties.getIndexedColumnsEventColumns(),
+                    properties.getIndexedFieldSeparator());
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columns[i].trim();
+            }
+            this.eventColumns = columns;
+        } else {
+            this.projection = null;
+            this.eventTable = DEFAULT_EVENT_TABLE;
+            this.eventColumns = EVENT_COLUMNS.clone();
+        }
+    }
+
+    /**
+     * Set the audit stream to query.
+     *
+     * @param pAuditStreamName The name of the audit stream
+     * @return This query
+     * @throws NullPointerException     When {@code pAuditStreamName} is {@code null}
+     * @throws IllegalArgumentException When {@code pAuditStreamName} is empty
+     */
+    public AuditQuery setAuditStreamName(final String pAuditStreamName) {
+
+        Validate.notBlank(pAuditStreamName, "The validated character sequence 'pAuditStreamName' is null or empty");
+
+        this.auditStreamName = pAuditStreamName;
+        return this;
+    }
+
+    /**
+     * Set the name of the event table (e.g. the table of a specific partition, if the tables are partitioned).
+     * <p>
+     * The default is {@link AuditQuery#DEFAULT_EVENT_TABLE}, or {@link JdbcProperties#getIndexedColumnsTable()} if the
+     * indexed fields are stored in dedicated columns of the event table.
+     *
+     * @param pEventTable The name of the event table (optionally qualified with a schema name)
+     * @return This query
+     * @throws NullPointerException     When {@code pEventTable} is {@code null}
+     * @throws IllegalArgumentException When {@code pEventTable} is not a valid (unquoted) SQL identifier
+     */
+    public AuditQuery setEventTable(final String pEventTable) {
+
+        Validate.notNull(pEventTable, "The validated object 'pEventTable' is null");
+        Validate.isTrue(AbstractJdbcProcessor.TABLE_NAME.matcher(pEventTable).matches(), "Invalid table name: '%s'",
+                pEventTable);
+
+        this.eventTable = pEventTable;
+        return this;
+    }
+
+    /**
+     * Set the name of the indexed fields table (e.g. the table of a specific partition, if the tables are
+     * partitioned). This table is not used if the indexed fields are stored in dedicated columns of the event table.
+     * <p>
+     * The default is {@link AuditQuery#DEFAULT_FIELD_TABLE}.
+     *
+     * @param pFieldTable The name of the indexed fields table (optionally qualified with a schema name)
+     * @return This query
+     * @throws NullPointerException     When {@code pFieldTable} is {@code null}
+     * @throws IllegalArgumentException When {@code pFieldTable} is not a valid (unquoted) SQL identifier
+     */
+    public AuditQuery setFieldTable(final String pFieldTable) {
+
+        Validate.notNull(pFieldTable, "The validated object 'pFieldTable' is null");
+        Validate.isTrue(AbstractJdbcProcessor.TABLE_NAME.matcher(pFieldTable).matches(), "Invalid table name: '%s'",
+                pFieldTable);
+
+        this.fieldTable = pFieldTable;
+        return this;
+    }
+
+    /**
+     * Select the events with an indexed field of the provided value.
+     * <p>
+     * The value is truncated, converted, and normalized like the stored values.
+     *
+     * @param name  The name of the indexed field (the alias, if one is configured)
+     * @param value The value of the indexed field
+     * @return This query
+     * @throws NullPointerException     When {@code name} or {@code value} is {@code null}
+     * @throws IllegalArgumentException When {@code name} is empty, or is not an indexed column in the indexed columns
+     *                                  mode
+     */
+    public AuditQuery addField(final String name, final String value) {
+
+        Validate.notNull(value, "The validated object 'value' is null");
+
+        criteria.add(new Criterion(validateName(name), normalize(value), null, null));
+        return this;
+    }
+
+    /**
+     * Select the events with an indexed field in the provided range of values, e.g. a time range on an indexed
+     * timestamp field. The values are compared as strings, so this requires a format that sorts lexicographically,
+     * such as the timestamps written by the timestamp processor with a format of {@code yyyy-MM-dd'T'HH:mm:ss.SSS}
+     * in the {@code UTC} time zone.
+     * <p>
+     * The bounds are truncated, converted, and normalized like the stored values.
+     *
+     * @param name The name of the indexed field (the alias, if one is configured)
+     * @param from The lower bound (inclusive), or {@code null} for no lower bound
+     * @param to   The upper bound (exclusive), or {@code null} for no upper bound
+     * @return This query
+     * @throws NullPointerException     When {@code name} is {@code null}, or both bounds are {@code null}
+     * @throws IllegalArgumentException When {@code name} is empty, or is not an indexed column in the indexed columns
+     *                                  mode
+     */
+    public AuditQuery addRange(final String name, final String from, final String to) {
+
+        Validate.isTrue(from != null || to != null, "The range has neither a lower nor an upper bound");
+
+        criteria.add(new Criterion(validateName(name), null,
+                from == null ? null : normalize(from), to == null ? null : normalize(to)));
+        return this;
+    }
+
+    /**
+     * Set the number of rows that are fetched from the database at once (a hint to the JDBC driver).
+     * <p>
+     * The default is {@link AuditQuery#DEFAULT_FETCH_SIZE}.
+     *
+     * @param pFetchSize The fetch size
+     * @return This query
+     * @throws IllegalArgumentException When the provided value is less than 1
+     */
+    public AuditQuery setFetchSize(final int pFetchSize) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, pFetchSize);
+
+        this.fetchSize = pFetchSize;
+        return this;
+    }
+
+    /**
+     * Set the number of rows that are read with one query. Some JDBC drivers ignore the fetch size and read all rows
+     * of a query at once, the page size bounds the memory used by those drivers.
+     * <p>
+     * The default is {@link AuditQuery#DEFAULT_PAGE_SIZE}.
+     *
+     * @param pPageSize The page size
+     * @return This query
+     * @throws IllegalArgumentException When the provided value is less than 1
+     */
+    public AuditQuery setPageSize(final int pPageSize) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, pPageSize);
+
+        this.pageSize = pPageSize;
+        return this;
+    }
+
+    /**
+     * Execute the query. The rows are read when iterating over the result, using connections from the provided data
+     * source (one connection per page, returned after reading the page).
+     *
+     * @param dataSource The data source to obtain the connections from
+     * @return The result, which must be closed
+     * @throws NullPointerException When {@code dataSource} is {@code null}
+     */
+    public AuditQueryResult execute(final DataSource dataSource) {
+
+        Validate.notNull(dataSource, "The validated object 'dataSource' is null");
+
+        final List<String> parameters = new ArrayList<>();
+        final String firstPageSql = createSql(false, parameters);
+        final String nextPageSql = createSql(true, new ArrayList<String>());
+
+        return new AuditQueryResult(dataSource, firstPageSql, nextPageSql, Collections.unmodifiableList(parameters),
+                fetchSize, pageSize, eventFactory, encoding, payloadCodec);
+    }
+
+    /**
+     * Create the statement that reads a page of results: the first page, or a page that continues after the last event
+     * ID of the previous page (provided as an additional, last parameter).
+     *
+     * @param nextPage   Whether to create the statement for a page after the first page
+     * @param parameters The list to add the parameters of the statement to (without the last event ID)
+     * @return The statement
+     */
+    String createSql(final boolean nextPage, final List<String> parameters) {
+
+        final String eventId = "e." + eventColumns[0];
+        final String stream = "e." + eventColumns[1];
+
+        final StringBuilder sql = new StringBuilder("SELECT ").append(eventId).append(", ").append(stream)
+                .append(", e.").append(eventColumns[2]).append(" FROM ").append(eventTable).append(" e");
+        final StringBuilder where = new StringBuilder(" WHERE ").append(stream).append(" = ?");
+
+        if (projection == null) {
+
+            // select the events in the indexed fields table, with one join per criterion
+            for (int i = 0; i < criteria.size(); i++) {
+
+                final Criterion criterion = criteria.get(i);
+                final String alias = "f" + i;
+                sql.append(" INNER JOIN ").append(fieldTable).append(' ').append(alias)
+                        .append(" ON ").append(alias).append(".eventId = ").append(eventId)
+                        .append(" AND ").append(alias).append(".auditStreamName = ").append(stream)
+                        .append(" AND ").append(alias).append(".fieldName = ?");
+                parameters.add(criterion.name);
+                appendCondition(sql, alias + ".fieldValue", criterion, parameters);
+            }
+            parameters.add(auditStreamName);
+        } else {
+
+            // select the events in the indexed columns of the event table
+            parameters.add(auditStreamName);
+            for (final Criterion criterion : criteria) {
+                appendCondition(where, "e." + criterion.name, criterion, parameters);
+            }
+        }
+
+        if (nextPage) {
+            where.append(" AND ").append(eventId).append(" > ?");
+        }
+
+        return sql.append(where).append(" ORDER BY ").append(eventId).toString();
+    }
+
+    /**
+     * Append the condition of a criterion on a column to a statement.
+     *
+     * @param sql        The statement
+     * @param column     The column
+     * @param criterion  The criterion
+     * @param parameters The list to add the parameters of the condition to
+     */
+    private static void appendCondition(final StringBuilder sql, final String column, final Criterion criterion,
+                                        final List<String> parameters) {
+
+        if (criterion.value != null) {
+            sql.append(" AND ").append(column).append(" = ?");
+            parameters.add(criterion.value);
+        }
+        if (criterion.from != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            parameters.add(criterion.from);
+        }
+        if (criterion.to != null) {
+            sql.append(" AND ").append(column).append(" < ?");
+            parameters.add(criterion.to);
+        }
+    }
+
+    /**
+     * Validate the name of an indexed field. In the indexed columns mode, the name must be the name of an indexed
+     * column.
+     *
+     * @param name The name of the indexed field
+     * @return The name
+     */
+    private String validateName(final String name) {
+
+        Validate.notBlank(name, "The validated character sequence 'name' is null or empty");
+
+        if (projection != null) {
+            boolean found = false;
+            for (int i = 0; i < projection.size() && !found; i++) {
+                found = projection.getTargetName(i).equals(name);
+            }
+            Validate.isTrue(found, "Not an indexed column: '%s'", name);
+        }
+
+        return name;
+    }
+
+    /**
+     * Truncate, convert, and normalize a value like the stored values.
+     *
+     * @param value The value
+     * @return The normalized value
+     */
+    private String normalize(final String value) {
+
+        return normalizer.normalize(value.toCharArray());
+    }
+
+    /**
+     * A selection criterion on an indexed field: a value, or a range of values.
+     */
+    private static final class Criterion {
+
+        /**
+         * The name of the indexed field
+         */
+        private final String name;
+
+        /**
+         * The value ({@code null} if this is a range)
+         */
+        private final String value;
+
+        /**
+         * The lower bound of the range (inclusive, {@code null} if there is no lower bound)
+         */
+        private final String from;
+
+        /**
+         * The upper bound of the range (exclusive, {@code null} if there is no upper bound)
+         */
+        private final String to;
+
+        /**
+         * Create a criterion.
+         *
+         * @param name  The name of the indexed field
+         * @param value The value (may be {@code null})
+         * @param from  The lower bound of the range (may be {@code null})
+         * @param to    The upper bound of the range (may be {@code null})
+         */
+        private Criterion(final String name, final String value, final String from, final String to) {
+
+            this.name = name;
+            this.value = value;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
+import org.beiter.michael.eaudit4j.common.AuditException;
+import org.beiter.michael.eaudit4j.common.Event;
+import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.PayloadCodec;
+import org.beiter.michael.eaudit4j.common.impl.EventFactory;
+import org.beiter.michael.eaudit4j.common.impl.EventField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.nio.charset.Charset;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of an {@link AuditQuery}, read one row at a time in the style of a {@link ResultSet}.
+ * <p>
+ * The rows are read in pages: every page is read with a query of its own that continues after the last event ID of
+ * the previous page, using a connection that is obtained for the page and returned when the page has been read. The
+ * event of a row is only decoded when {@link AuditQueryResult#getEvent()} is called.
+ * <p>
+ * The result must be closed to return the connection of the current page, if the result has not been read to the end.
+ * Instances of this class are not thread safe.
+ */
+public final class AuditQueryResult
+        implements AutoCloseable {
+
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(AuditQueryResult.class);
+
+    /**
+     * The data source to obtain the connections from
+     */
+    private final DataSource dataSource;
+
+    /**
+     * The statement that reads the first page
+     */
+    private final String firstPageSql;
+
+    /**
+     * The statement that reads the next pages (with the last event ID of the previous page as the last parameter)
+     */
+    private final String nextPageSql;
+
+    /**
+     * The parameters of the statements (without the last event ID)
+     */
+    private final List<String> parameters;
+
+    /**
+     * The number of rows that are fetched from the database at once
+     */
+    private final int fetchSize;
+
+    /**
+     * The number of rows that are read with one query
+     */
+    private final int pageSize;
+
+    /**
+     * Creates the decoded events
+     */
+    private final EventFactory eventFactory;
+
+    /**
+     * The string encoding of the field values
+     */
+    private final String encoding;
+
+    /**
+     * Decompresses the serialized events ({@code null} if the events are stored as text)
+     */
+    private final PayloadCodec payloadCodec;
+
+    /**
+     * The connection of the current page ({@code null} if no page is being read)
+     */
+    private Connection connection;
+
+    /**
+     * The statement of the current page ({@code null} if no page is being read)
+     */
+    private PreparedStatement statement;
+
+    /**
+     * The rows of the current page ({@code null} if no page is being read)
+     */
+    private ResultSet resultSet;
+
+    /**
+     * The number of rows read from the current page
+     */
+    private int pageRows;
+
+    /**
+     * Whether all rows have been read, or the result has been closed
+     */
+    private boolean done;
+
+    /**
+     * The event ID of the current row (and the last event ID of the rows read so far)
+     */
+    private String eventId;
+
+    /**
+     * The audit stream name of the current row
+     */
+    private String auditStreamName;
+
+    /**
+     * The compressed serialized event of the current row ({@code null} if the events are stored as text)
+     */
+    private byte[] eventPayload;
+
+    /**
+     * The serialized event of the current row ({@code null} until it is requested, if the events are compressed)
+     */
+    private String eventJson;
+
+    /**
+     * The decoded event of the current row ({@code null} until it is requested)
+     */
+    private Event event;
+
+    /**
+     * Create a query result.
+     *
+     * @param dataSource   The data source to obtain the connections from
+     * @param firstPageSql The statement that reads the first page
+     * @param nextPageSql  The statement that reads the next pages
+     * @param parameters   The parameters of the statements (without the last event ID)
+     * @param fetchSize    The number of rows that are fetched from the database at once
+     * @param pageSize     The number of rows that are read with one query
+     * @param eventFactory Creates the decoded events
+     * @param encoding     The string encoding of the field values
+     * @param payloadCodec Decompresses the serialized events ({@code null} if the events are stored as text)
+     */
+    // suppress warnings about the number of parameters - this is a package private constructor, see AuditQuery
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    AuditQueryResult(final DataSource dataSource, final String firstPageSql, final String nextPageSql,
+                     final List<String> parameters, final int fetchSize, final int pageSize,
+                     final EventFactory eventFactory, final String encoding, final PayloadCodec payloadCodec) {
+
+        this.dataSource = dataSource;
+        this.firstPageSql = firstPageSql;
+        this.nextPageSql = nextPageSql;
+        this.parameters = parameters;
+        this.fetchSize = fetchSize;
+        this.pageSize = pageSize;
+        this.eventFactory = eventFactory;
+        this.encoding = encoding;
+        this.payloadCodec = payloadCodec;
+    }
+
+    /**
+     * Move to the next row, reading the next page from the database if needed.
+     *
+     * @return {@code true} if there is a next row, {@code false} if all rows have been read
+     * @throws AuditException When the rows cannot be read from the database (the result is closed in that case)
+     */
+    public boolean next()
+            throws AuditException {
+
+        while (!done) {
+
+            try {
+                if (resultSet == null) {
+                    openPage();
+                }
+
+                if (resultSet.next()) {
+                    pageRows++;
+                    eventId = resultSet.getString(1);
+                    auditStreamName = resultSet.getString(2);
+                    if (payloadCodec == null) {
+                        eventJson = resultSet.getString(3);
+                    } else {
+                        eventPayload = resultSet.getBytes(3);
+                        eventJson = null;
+                    }
+                    event = null;
+                    return true;
+                }
+
+                // a page that has not been filled is the last page
+                final boolean lastPage = pageRows < pageSize;
+                closePage();
+                done = lastPage;
+            } catch (SQLException e) {
+                close();
+
+                final String error = "Cannot read the audit events from the database";
+                LOG.warn(error, e);
+                throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return The event ID of the current row
+     */
+    public String getEventId() {
+
+        return eventId;
+    }
+
+    /**
+     * @return The audit stream name of the current row
+     */
+    public String getAuditStreamName() {
+
+        return auditStreamName;
+    }
+
+    /**
+     * Get the serialized event of the current row, decompressing it on the first call for the row if the events are
+     * stored compressed.
+     *
+     * @return The serialized event of the current row
+     * @throws AuditException When the compressed event cannot be decompressed
+     */
+    public String getEventJson()
+            throws AuditException {
+
+        if (eventJson == null && eventPayload != null) {
+            try {
+                eventJson = payloadCodec.decode(eventPayload);
+            } catch (IllegalArgumentException e) {
+                final String error = "Cannot decompress the audit event with the event ID '" + eventId + "'";
+                LOG.warn(error, e);
+                throw new AuditException(AuditErrorConditions.INVALID_EVENT, error, e);
+            }
+        }
+
+        return eventJson;
+    }
+
+    /**
+     * Get the event of the current row, decoding it from its JSON representation on the first call for the row.
+     * <p>
+     * See {@link EventJsonDecoder} for the limitations of decoding events.
+     *
+     * @return The event of the current row
+     * @throws AuditException When the serialized event cannot be decompressed or decoded
+     */
+    public Event getEvent()
+            throws AuditException {
+
+        final String json = getEventJson();
+        if (event == null && json != null) {
+
+            final Map<String, String> values;
+            try {
+                values = EventJsonDecoder.decode(json);
+            } catch (IllegalArgumentException e) {
+                final String error = "Cannot decode the audit event with the event ID '" + eventId + "'";
+                LOG.warn(error, e);
+                throw new AuditException(AuditErrorConditions.INVALID_EVENT, error, e);
+            }
+
+            final Charset charset = Charset.forName(encoding);
+            final Field[] fields = new Field[values.size()];
+            int i = 0;
+            for (final Map.Entry<String, String> value : values.entrySet()) {
+                fields[i++] = new EventField(value.getKey(), value.getValue().getBytes(charset));
+            }
+
+            event = eventFactory.createEvent(fields);
+        }
+
+        return event;
+    }
+
+    /**
+     * Close the result, returning the connection of the current page. Closing a closed result has no effect.
+     */
+    @Override
+    public void close() {
+
+        done = true;
+        closePage();
+    }
+
+    /**
+     * Read the next page: obtain a connection, and execute the statement that continues after the last event ID.
+     *
+     * @throws SQLException When the statement cannot be executed
+     */
+    // The SQL statement is created by AuditQuery from validated table and column names
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private void openPage()
+            throws SQLException {
+
+        connection = dataSource.getConnection();
+        statement = connection.prepareStatement(eventId == null ? firstPageSql : nextPageSql);
+        statement.setFetchSize(fetchSize);
+        statement.setMaxRows(pageSize);
+
+        int index = 1;
+        for (final String parameter : parameters) {
+            statement.setString(index++, parameter);
+        }
+        if (eventId != null) {
+            statement.setString(index, eventId);
+        }
+
+        resultSet = statement.executeQuery();
+        pageRows = 0;
+    }
+
+    /**
+     * Close the rows, statement, and connection of the current page, if a page is being read.
+     */
+    private void closePage() {
+
+        final ResultSet rs = resultSet;
+        final PreparedStatement stmt = statement;
+        final Connection con = connection;
+        resultSet = null;
+        statement = null;
+        connection = null;
+
+        // close every resource in a block of its own, so that a failure to close the rows or the statement does not
+        // leak the (pooled) connection
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+        } catch (SQLException e) {
+            final String error = "Cannot close the result set";
+            LOG.warn(error, e);
+        } finally {
+            try {
+                if (stmt != null) {
+                    stmt.close();
+                }
+            } catch (SQLException e) {
+                final String error = "Cannot close the prepared statement";
+                LOG.warn(error, e);
+            } finally {
+                try {
+                    if (con != null) {
+                        con.close();
+                    }
+                } catch (SQLException e) {
+                    final String error = "Cannot close the database connection";
+                    LOG.warn(error, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes the JSON representation of an event, as created by
+ * {@link org.beiter.michael.eaudit4j.common.Event#toJson(String)}, back into its field names and values.
+ * <p>
+ * The JSON representation is crafted without a JSON library, and the field values are written without escaping. This
+ * decoder therefore does not implement a generic JSON parser, but parses the exact structure written by the event:
+ * {@code {"version":"...","fields":{"name":"value",...}}}. A field value is terminated by the first {@code ","}
+ * sequence (or by the end of the field map), which means that field values containing the sequence {@code ","} cannot
+ * be decoded unambiguously.
+ */
+final class EventJsonDecoder {
+
+    /**
+     * The start of the JSON representation, up to the record format version
+     */
+    private static final String HEADER = "{\"version\":\"";
+
+    /**
+     * The separator between the record format version and the field map
+     */
+    private static final String FIELDS = "\",\"fields\":{";
+
+    /**
+     * The end of the JSON representation (the end of the field map, and of the event)
+     */
+    private static final String FOOTER = "}}";
+
+    /**
+     * The separator between a field name and its value
+     */
+    private static final String NAME_VALUE_SEPARATOR = "\":\"";
+
+    /**
+     * The separator between two fields
+     */
+    private static final String FIELD_SEPARATOR = "\",\"";
+
+    /**
+     * A private constructor to prevent instantiation of this class
+     */
+    private EventJsonDecoder() {
+    }
+
+    /**
+     * Decode the JSON representation of an event into its field names and values.
+     *
+     * @param json The JSON representation of the event
+     * @return The field values by field name, in the order of the JSON representation
+     * @throws NullPointerException     When {@code json} is {@code null}
+     * @throws IllegalArgumentException When {@code json} is not the JSON representation of an event
+     */
+    static Map<String, String> decode(final String json) {
+
+        Validate.notNull(json, "The validated object 'json' is null");
+        Validate.isTrue(json.startsWith(HEADER) && json.endsWith(FOOTER), "Not a JSON serialized event");
+
+        final int fieldsStart = json.indexOf(FIELDS, HEADER.length());
+        Validate.isTrue(fieldsStart >= 0, "Not a JSON serialized event: the field map is missing");
+
+        // the position of the closing bracket of the field map
+        final int end = json.length() - FOOTER.length();
+
+        final Map<String, String> fields = new LinkedHashMap<>();
+        int pos = fieldsStart + FIELDS.length();
+        if (pos == end) {
+            // an event without fields
+            return fields;
+        }
+
+        while (true) {
+
+            Validate.isTrue(json.charAt(pos) == '"', "Not a JSON serialized event: invalid field at position %s", pos);
+            final int nameEnd = json.indexOf(NAME_VALUE_SEPARATOR, pos + 1);
+            Validate.isTrue(nameEnd >= 0 && nameEnd < end, "Not a JSON serialized event: invalid field at position %s",
+                    pos);
+
+            final String name = json.substring(pos + 1, nameEnd);
+            final int valueStart = nameEnd + NAME_VALUE_SEPARATOR.length();
+
+            // the value ends at the next field, or at the end of the field map
+            final int separator = json.indexOf(FIELD_SEPARATOR, valueStart);
+            if (separator >= 0 && separator < end - 1) {
+                fields.put(name, json.substring(valueStart, separator));
+                pos = separator + FIELD_SEPARATOR.length() - 1;
+            } else {
+                Validate.isTrue(end - 1 >= valueStart && json.charAt(end - 1) == '"',
+                        "Not a JSON serialized event: invalid field at position %s", pos);
+                fields.put(name, json.substring(valueStart, end - 1));
+                return fields;
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+/**
+ * An event that has been prepared for persistence: the event ID, the audit stream, the serialized event, and the
+ * indexed field names and values (already truncated, converted and normalized as configured), as well as the
+ * statements that insert the event (which depend on the partition of the event if the tables are partitioned).
+ * <p>
+ * Preparing the event in the calling thread keeps the serialization and string processing out of the database
+ * transaction, which is particularly important when many events share one transaction.
+ */
+final class EventRecord {
+
+    /**
+     * The name of the audit stream
+     */
+    private final String auditStreamName;
+
+    /**
+     * The unique event ID of the event
+     */
+    private final String eventId;
+
+    /**
+     * The serialized event ({@code null} if the event is stored compressed)
+     */
+    private final String eventJson;
+
+    /**
+     * The compressed serialized event ({@code null} if the event is not stored compressed)
+     */
+    private final byte[] eventPayload;
+
+    /**
+     * The names of the indexed fields
+     */
+    private final String[] fieldNames;
+
+    /**
+     * The values of the indexed fields, in the same order as the names ({@code null} for fields that are not present
+     * in the event, if the indexed fields are stored in dedicated columns)
+     */
+    private final String[] fieldValues;
+
+    /**
+     * The statement to insert the event
+     */
+    private final String insertEventSql;
+
+    /**
+     * The statement to insert the indexed fields ({@code null} if the indexed fields table is not used)
+     */
+    private final String insertIndexedFieldSql;
+
+    /**
+     * The partition of the event ({@code null} if the tables are not partitioned)
+     */
+    private final PartitionScheme.Partition partition;
+
+    /**
+     * Create a prepared event. The arrays are not copied, and must not be modified by the caller afterwards.
+     *
+     * @param auditStreamName       The name of the audit stream
+     * @param eventId               The unique event ID of the event
+     * @param eventJson             The serialized event (may be {@code null} if the event is stored compressed)
+     * @param eventPayload          The compressed serialized event (may be {@code null})
+     * @param fieldNames            The names of the indexed fields
+     * @param fieldValues           The values of the indexed fields, in the same order as the names (values may be
+     *                              {@code null})
+     * @param insertEventSql        The statement to insert the event
+     * @param insertIndexedFieldSql The statement to insert the indexed fields (may be {@code null})
+     * @param partition             The partition of the event (may be {@code null})
+     */
+    // suppress warnings about storing the arrays directly - this is a package private value object, see above
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    EventRecord(final String auditStreamName, final String eventId, final String eventJson, final byte[] eventPayload,
+                final String[] fieldNames, final String[] fieldValues,
+                final String insertEventSql, final String insertIndexedFieldSql,
+                final PartitionScheme.Partition partition) {
+
+        this.auditStreamName = auditStreamName;
+        this.eventId = eventId;
+        this.eventJson = eventJson;
+        this.eventPayload = eventPayload;
+        this.fieldNames = fieldNames;
+        this.fieldValues = fieldValues;
+        this.insertEventSql = insertEventSql;
+        this.insertIndexedFieldSql = insertIndexedFieldSql;
+        this.partition = partition;
+    }
+
+    /**
+     * @return The name of the audit stream
+     */
+    String getAuditStreamName() {
+
+        return auditStreamName;
+    }
+
+    /**
+     * @return The unique event ID of the event
+     */
+    String getEventId() {
+
+        return eventId;
+    }
+
+    /**
+     * @return The serialized event ({@code null} if the event is stored compressed)
+     */
+    String getEventJson() {
+
+        return eventJson;
+    }
+
+    /**
+     * @return The compressed serialized event ({@code null} if the event is not stored compressed)
+     */
+    // suppress warnings about exposing the array - this is a package private value object, see above
+    @SuppressWarnings("PMD.MethodReturnsInternalArray")
+    byte[] getEventPayload() {
+
+        return eventPayload;
+    }
+
+    /**
+     * @return The number of indexed fields
+     */
+    int getFieldCount() {
+
+        return fieldNames.length;
+    }
+
+    /**
+     * @param index The index of the indexed field
+     * @return The name of the indexed field
+     */
+    String getFieldName(final int index) {
+
+        return fieldNames[index];
+    }
+
+    /**
+     * @param index The index of the indexed field
+     * @return The value of the indexed field, or {@code null} if the field is not present in the event
+     */
+    String getFieldValue(final int index) {
+
+        return fieldValues[index];
+    }
+
+    /**
+     * @return The statement to insert the event
+     */
+    String getInsertEventSql() {
+
+        return insertEventSql;
+    }
+
+    /**
+     * @return The statement to insert the indexed fields ({@code null} if the indexed fields table is not used)
+     */
+    String getInsertIndexedFieldSql() {
+
+        return insertIndexedFieldSql;
+    }
+
+    /**
+     * @return The partition of the event ({@code null} if the tables are not partitioned)
+     */
+    PartitionScheme.Partition getPartition() {
+
+        return partition;
+    }
+
+    /**
+     * @return The approximate size of the event, i.e. the number of characters (or bytes, if compressed) of the
+     * serialized event and the number of characters of the indexed field names and values
+     */
+    int getSize() {
+
+        int size = eventJson == null ? eventPayload.length : eventJson.length();
+        for (int i = 0; i < fieldNames.length; i++) {
+            size += fieldNames[i].length();
+            if (fieldValues[i] != null) {
+                size += fieldValues[i].length();
+            }
+        }
+
+        return size;
+    }
+}
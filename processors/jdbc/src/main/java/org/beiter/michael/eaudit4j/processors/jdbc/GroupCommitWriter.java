@@ -0,0 +1,481 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
+import org.beiter.michael.eaudit4j.common.AuditException;
+import org.beiter.michael.eaudit4j.common.ProcessingObjects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A writer that collects the events of many calling threads, and hands them to a {@link GroupCommitWriter.Sink} in
+ * groups, so that they can be persisted in one shared transaction ("group commit").
+ * <p>
+ * A group is closed as soon as it contains the configured maximum number of events, reaches the configured approximate
+ * maximum size, or the configured maximum delay has passed since the first event of the group has been picked up. The
+ * calling threads block in {@link GroupCommitWriter#submit(EventRecord, ProcessingObjects)} until their group has been
+ * written. If writing a group fails, the events of the group are written again one by one, so that only the callers of
+ * the offending events receive an error.
+ * <p>
+ * Events that come with processing objects referring to different connection sources (see
+ * {@link GroupCommitWriter.Sink#getConnectionSourceKey(ProcessingObjects)}) are never written in the same transaction.
+ */
+final class GroupCommitWriter
+        implements Runnable {
+
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(GroupCommitWriter.class);
+
+    /**
+     * The name of the writer thread
+     */
+    private static final String THREAD_NAME = "eAudit4j-jdbc-group-commit";
+
+    /**
+     * The time in milliseconds the idle writer thread waits for an event before checking whether it has been stopped
+     */
+    private static final long IDLE_POLL_INTERVAL = 100;
+
+    /**
+     * Persists a group of events in one transaction
+     */
+    interface Sink {
+
+        /**
+         * Persist a group of events in one transaction. Either all events are persisted, or none.
+         *
+         * @param records           The events to persist, all provided with processing objects that refer to the
+         *                          same connection source
+         * @param processingObjects The processing objects provided with the first event of the group
+         * @throws AuditException When the events cannot be persisted
+         */
+        void write(final List<EventRecord> records, final ProcessingObjects processingObjects)
+                throws AuditException;
+
+        /**
+         * Get the key of the connection source that the events provided with the processing objects are written to.
+         * Only events with equal keys are written in the same transaction.
+         *
+         * @param processingObjects The processing objects provided with an event
+         * @return The key of the connection source, may be {@code null}
+         */
+        Object getConnectionSourceKey(final ProcessingObjects processingObjects);
+    }
+
+    /**
+     * The sink that persists the groups
+     */
+    private final Sink sink;
+
+    /**
+     * The maximum number of events per group
+     */
+    private final int maxEvents;
+
+    /**
+     * The approximate maximum size of a group
+     */
+    private final int maxBytes;
+
+    /**
+     * The maximum time in nanoseconds to wait for more events after the first event of a group has been picked up
+     */
+    private final long maxDelayNanos;
+
+    /**
+     * The events waiting to be written
+     */
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Whether the writer accepts new events
+     */
+    private volatile boolean running;
+
+    /**
+     * The writer thread (guarded by {@code this})
+     */
+    private Thread thread;
+
+    /**
+     * Create a group commit writer. The writer needs to be started before events can be submitted.
+     *
+     * @param sink      The sink that persists the groups
+     * @param maxEvents The maximum number of events per group
+     * @param maxBytes  The approximate maximum size of a group
+     * @param maxDelay  The maximum time in milliseconds to wait for more events
+     */
+    GroupCommitWriter(final Sink sink, final int maxEvents, final int maxBytes, final int maxDelay) {
+
+        this.sink = sink;
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+    }
+
+    /**
+     * Start the writer thread.
+     */
+    synchronized void start() {
+
+        running = true;
+
+        thread = new Thread(this, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the writer. Events that have already been submitted are written before the writer thread terminates, new
+     * events are rejected.
+     */
+    void stop() {
+
+        running = false;
+
+        final Thread writerThread;
+        synchronized (this) {
+            writerThread = thread;
+            thread = null;
+        }
+
+        if (writerThread != null) {
+            boolean interrupted = false;
+            while (writerThread.isAlive()) {
+                try {
+                    writerThread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // fail anything that has been submitted while the writer thread was terminating
+        failQueued();
+    }
+
+    /**
+     * Submit an event, and wait until the group containing the event has been written.
+     *
+     * @param record            The prepared event
+     * @param processingObjects The provided processing objects
+     * @throws AuditException When the event cannot be persisted, or the writer has been stopped
+     */
+    void submit(final EventRecord record, final ProcessingObjects processingObjects)
+            throws AuditException {
+
+        if (!running) {
+            final String error = "The group commit writer has been stopped";
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.INITIALIZATION, error);
+        }
+
+        final Entry entry = new Entry(record, processingObjects);
+        queue.add(entry);
+
+        // the writer may have been stopped concurrently, in which case nobody would pick up the event
+        if (!running) {
+            failQueued();
+        }
+
+        final AuditException error = entry.await();
+        if (error != null) {
+            // re-throw in the calling thread, keeping the original error condition
+            throw new AuditException(error.getErrorCondition(), error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Collect the submitted events into groups and write them, until the writer has been stopped and all submitted
+     * events have been written.
+     */
+    @Override
+    public void run() {
+
+        final List<Entry> group = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+
+            final Entry first;
+            try {
+                first = queue.poll(IDLE_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            group.add(first);
+            collect(group, first.record.getSize());
+
+            write(group);
+            group.clear();
+        }
+    }
+
+    /**
+     * Add events to the group until one of the bounds is reached.
+     *
+     * @param group The group, containing the first event
+     * @param size  The size of the first event
+     */
+    private void collect(final List<Entry> group, final int size) {
+
+        final long deadline = System.nanoTime() + maxDelayNanos;
+        int groupSize = size;
+
+        while (group.size() < maxEvents && groupSize < maxBytes) {
+
+            Entry next = queue.poll();
+            if (next == null) {
+
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    return;
+                }
+
+                try {
+                    next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (next == null) {
+                    return;
+                }
+            }
+
+            group.add(next);
+            groupSize += next.record.getSize();
+        }
+    }
+
+    /**
+     * Split a group of events by the connection source of their processing objects, and write every part in one
+     * transaction.
+     *
+     * @param group The group of events
+     */
+    // suppress warnings about catching generic exceptions - we must release the callers, no matter what
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void write(final List<Entry> group) {
+
+        final Map<Object, List<Entry>> parts = new LinkedHashMap<>();
+        try {
+            for (final Entry entry : group) {
+                final Object key = sink.getConnectionSourceKey(entry.processingObjects);
+                List<Entry> part = parts.get(key);
+                if (part == null) {
+                    part = new ArrayList<>();
+                    parts.put(key, part);
+                }
+                part.add(entry);
+            }
+        } catch (RuntimeException e) {
+            final String error = "Unexpected error when grouping events by their connection source";
+            LOG.warn(error, e);
+            final AuditException auditException = new AuditException(AuditErrorConditions.PROCESSING, error, e);
+            for (final Entry entry : group) {
+                entry.complete(auditException);
+            }
+            return;
+        }
+
+        for (final List<Entry> part : parts.values()) {
+            writePart(part);
+        }
+    }
+
+    /**
+     * Write a group of events that refer to the same connection source in one transaction, falling back to writing
+     * the events one by one if the group fails, and complete the waiting callers.
+     *
+     * @param group The group of events
+     */
+    // suppress warnings about catching generic exceptions - we must release the callers, no matter what
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void writePart(final List<Entry> group) {
+
+        final List<EventRecord> records = new ArrayList<>(group.size());
+        for (final Entry entry : group) {
+            records.add(entry.record);
+        }
+
+        try {
+            try {
+                sink.write(records, group.get(0).processingObjects);
+                for (final Entry entry : group) {
+                    entry.complete(null);
+                }
+            } catch (AuditException e) {
+                if (group.size() == 1) {
+                    group.get(0).complete(e);
+                } else {
+                    LOG.warn("Cannot write a group of " + group.size() + " events, writing the events one by one", e);
+                    writeOneByOne(group);
+                }
+            }
+        } catch (RuntimeException e) {
+            final String error = "Unexpected error when writing a group of events";
+            LOG.warn(error, e);
+            final AuditException auditException = new AuditException(AuditErrorConditions.PROCESSING, error, e);
+            for (final Entry entry : group) {
+                entry.complete(auditException);
+            }
+        }
+    }
+
+    /**
+     * Write the events of a group one by one (one transaction per event), and complete the waiting callers.
+     *
+     * @param group The group of events
+     */
+    private void writeOneByOne(final List<Entry> group) {
+
+        for (final Entry entry : group) {
+            try {
+                sink.write(Collections.singletonList(entry.record), entry.processingObjects);
+                entry.complete(null);
+            } catch (AuditException e) {
+                entry.complete(e);
+            }
+        }
+    }
+
+    /**
+     * Fail all events that are still waiting in the queue.
+     */
+    private void failQueued() {
+
+        Entry entry = queue.poll();
+        while (entry != null) {
+            final String error = "The group commit writer has been stopped before the event could be written";
+            LOG.warn(error);
+            entry.complete(new AuditException(AuditErrorConditions.INITIALIZATION, error));
+            entry = queue.poll();
+        }
+    }
+
+    /**
+     * A submitted event, and the state of the caller waiting for it
+     */
+    private static final class Entry {
+
+        /**
+         * The prepared event
+         */
+        private final EventRecord record;
+
+        /**
+         * The processing objects provided with the event
+         */
+        private final ProcessingObjects processingObjects;
+
+        /**
+         * Released when the event has been written (or has failed)
+         */
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        /**
+         * The error, if the event could not be written (written before, and read after, {@link Entry#done} has been
+         * released)
+         */
+        private volatile AuditException error;
+
+        /**
+         * Create an entry.
+         *
+         * @param record            The prepared event
+         * @param processingObjects The processing objects provided with the event
+         */
+        private Entry(final EventRecord record, final ProcessingObjects processingObjects) {
+
+            this.record = record;
+            this.processingObjects = processingObjects;
+        }
+
+        /**
+         * Complete the entry and release the waiting caller. Only the first completion has an effect.
+         *
+         * @param pError The error, or {@code null} if the event has been written
+         */
+        private synchronized void complete(final AuditException pError) {
+
+            if (done.getCount() > 0) {
+                this.error = pError;
+                done.countDown();
+            }
+        }
+
+        /**
+         * Wait until the entry has been completed. Interrupts are deferred until the entry is complete, because the
+         * event may already be part of a transaction that is in progress.
+         *
+         * @return The error, or {@code null} if the event has been written
+         */
+        private AuditException await() {
+
+            boolean interrupted = false;
+            while (done.getCount() > 0) {
+                try {
+                    done.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            return error;
+        }
+    }
+}
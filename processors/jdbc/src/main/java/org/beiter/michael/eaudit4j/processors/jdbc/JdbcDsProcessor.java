@@ -34,7 +34,9 @@
  */
 package org.beiter.michael.eaudit4j.processors.jdbc;
 
+import org.apache.commons.lang3.Validate;
 import org.beiter.michael.db.FactoryException;
+import org.beiter.michael.eaudit4j.common.ProcessingKey;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +44,10 @@ import org.slf4j.LoggerFactory;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This processors persists events to a JDBC database using a connection obtained from a database connection pool that
@@ -49,6 +55,11 @@ import java.sql.SQLException;
  * through the {@link ProcessingObjects} in the
  * {@link AbstractJdbcProcessor#process(org.beiter.michael.eaudit4j.common.Event, String, ProcessingObjects)} method.
  * <p>
+ * Alternatively, an integrating application may register the data sources once with
+ * {@link JdbcDsProcessor#setDataSource(String, DataSource)}, and call the methods that do not take a
+ * {@link ProcessingObjects} parameter afterwards. A data source provided in the {@link ProcessingObjects} takes
+ * precedence over a registered data source of the same name.
+ * <p>
  * See {@link JdbcPoolProcessor} for more information.
  */
 public class JdbcDsProcessor
@@ -59,15 +70,78 @@ public class JdbcDsProcessor
      */
     private static final Logger LOG = LoggerFactory.getLogger(JdbcDsProcessor.class);
 
+    /**
+     * The keys of the data sources of every shard in the processing objects, created once during initialization
+     */
+    private volatile List<ProcessingKey<DataSource>> dataSourceKeys;
+
+    /**
+     * The data sources that have been registered by the integrating application, by data source name
+     */
+    private final ConcurrentMap<String, DataSource> registeredDataSources = new ConcurrentHashMap<>();
+
+    /**
+     * Register a data source under a data source name (see {@link JdbcProperties#getDataSourceName()}), so that it is
+     * used for the events that are processed without a data source of that name in the {@link ProcessingObjects}.
+     * <p>
+     * Registrations are kept when the processor is cleaned up or re-initialized. The data source is managed by the
+     * integrating application, and is not closed by this processor.
+     *
+     * @param dataSourceName The data source name
+     * @param dataSource     The data source, or {@code null} to remove the registration
+     * @throws NullPointerException     When the {@code dataSourceName} is {@code null}
+     * @throws IllegalArgumentException When the {@code dataSourceName} is empty
+     */
+    public final void setDataSource(final String dataSourceName, final DataSource dataSource) {
+
+        Validate.notBlank(dataSourceName, "The validated character sequence 'dataSourceName' is null or empty");
+
+        if (dataSource == null) {
+            registeredDataSources.remove(dataSourceName);
+        } else {
+            registeredDataSources.put(dataSourceName, dataSource);
+        }
+    }
+
+    /**
+     * Create the typed keys of the configured data source names of every shard, so that the data sources can be
+     * retrieved from the processing objects with a single array access.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected final void initConnectionSource(final List<JdbcProperties> pShardProperties) {
+
+        final List<ProcessingKey<DataSource>> keys = new ArrayList<>(pShardProperties.size());
+        for (final JdbcProperties shardProperties : pShardProperties) {
+            keys.add(ProcessingKey.of(shardProperties.getDataSourceName(), DataSource.class));
+        }
+        dataSourceKeys = keys;
+    }
+
     /**
      * This processor does not store any confidential information.
      * <p>
-     * The implementation of this method does nothing.
+     * The implementation of this method stops the group commit writer and closes the dedicated writer connection, if
+     * they are in use. The data sources are managed by the integrating application, and are not closed.
      */
     @Override
     public void cleanUp() {
 
-        // do nothing
+        closeConnections();
+    }
+
+    /**
+     * Events are only persisted in the same group commit transaction, or through the same dedicated writer connection,
+     * if they have been provided with the same data source, so that every event is written to the data source provided
+     * with it.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected final Object getConnectionSourceKey(final ProcessingObjects processingObjects, final int shard) {
+
+        return findDataSource(processingObjects, shard);
     }
 
     /**
@@ -81,29 +155,39 @@ public class JdbcDsProcessor
                                              final ProcessingObjects processingObjects)
             throws FactoryException {
 
-        final String dsName = pProperties.getDataSourceName();
+        return getConnection(pProperties, processingObjects, 0);
+    }
 
-        // get the data source from the processing objects, and throw an exception if the data source is not present
-        // or is of the wrong class type
-        final DataSource dataSource;
-        if (processingObjects.contains(dsName)) {
+    /**
+     * Retrieve a database connection to a shard from the data source of the shard (as provided in this class'
+     * processing objects, see {@link JdbcProperties#getShards()})
+     * <p>
+     * See {@link AbstractJdbcProcessor#getConnection(JdbcProperties, ProcessingObjects, int)}.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected final Connection getConnection(final JdbcProperties pProperties,
+                                             final ProcessingObjects processingObjects,
+                                             final int shard)
+            throws FactoryException {
 
-            final Object dsObject = processingObjects.get(dsName); // compiler will optimize this
-            if (dsObject instanceof DataSource) {
+        // get the data source from the processing objects, or the registered data source
+        final DataSource dataSource = findDataSource(processingObjects, shard);
 
-                dataSource = (DataSource) dsObject;
-            } else {
+        // throw an exception if the data source is not present (nor registered) or is of the wrong class type
+        if (dataSource == null) {
 
-                final String error = "The object provided in the 'ProcessingObjects' referenced by the configured "
+            final String dsName = pProperties.getDataSourceName();
+            final String error;
+            if (processingObjects.contains(dsName)) {
+                error = "The object provided in the 'ProcessingObjects' referenced by the configured "
                         + " data source name ('" + dsName + "') is not an instance of '"
                         + DataSource.class.getCanonicalName() + "'";
-                LOG.warn(error);
-                throw new FactoryException(error);
+            } else {
+                error = "The configured data source name ('" + dsName
+                        + "') does not exist in the 'ProcessingObjects', and no data source has been registered";
             }
-        } else {
-
-            final String error = "The configured data source name ('" + dsName
-                    + "') does not exist in the 'ProcessingObjects'";
             LOG.warn(error);
             throw new FactoryException(error);
         }
@@ -117,4 +201,24 @@ public class JdbcDsProcessor
             throw new FactoryException(error, e);
         }
     }
+
+    /**
+     * Find the data source of a shard in the processing objects (fast path: typed key lookup), or the registered data
+     * source of the shard if the processing objects do not contain it.
+     *
+     * @param processingObjects The processing objects provided with an event
+     * @param shard             The index of the shard (starting at {@code 0})
+     * @return The data source, or {@code null} if it is neither present (with the correct class type) nor registered
+     */
+    private DataSource findDataSource(final ProcessingObjects processingObjects, final int shard) {
+
+        final List<ProcessingKey<DataSource>> keys = dataSourceKeys;
+        final ProcessingKey<DataSource> key = keys == null || shard >= keys.size() ? null : keys.get(shard);
+        if (key == null) {
+            return null;
+        }
+
+        final DataSource provided = processingObjects.find(key);
+        return provided == null ? registeredDataSources.get(key.getName()) : provided;
+    }
 }
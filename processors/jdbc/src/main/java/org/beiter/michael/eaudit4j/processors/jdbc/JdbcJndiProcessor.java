@@ -37,30 +37,73 @@ package org.beiter.michael.eaudit4j.processors.jdbc;
 import org.beiter.michael.db.ConnectionFactory;
 import org.beiter.michael.db.FactoryException;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
 
 /**
  * This processors persists events to a JDBC database using a JNDI connection.
  * <p>
+ * The data source bound to the JNDI name of every shard is resolved once during initialization, and the connections
+ * are retrieved from that data source directly. If a JNDI name cannot be resolved during initialization (e.g. because
+ * the name is bound later), the name is looked up for every connection instead.
+ * <p>
  * See {@link JdbcPoolProcessor} for more information.
  */
 public class JdbcJndiProcessor
         extends AbstractJdbcProcessor {
 
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcJndiProcessor.class);
+
+    /**
+     * The data sources of every shard, resolved through JNDI once during initialization (an entry is {@code null} if
+     * the JNDI name of the shard could not be resolved)
+     */
+    private volatile DataSource[] dataSources;
+
+    /**
+     * Resolve the data sources bound to the configured JNDI names of every shard, so that the JNDI names do not have
+     * to be looked up for every event.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected final void initConnectionSource(final List<JdbcProperties> pShardProperties) {
+
+        final DataSource[] resolved = new DataSource[pShardProperties.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = lookupDataSource(pShardProperties.get(i).getJndiConnectionName());
+        }
+        dataSources = resolved;
+    }
+
     /**
      * This processor does not store any confidential information.
      * <p>
-     * The implementation of this method does nothing.
+     * The implementation of this method stops the group commit writer and closes the dedicated writer connection, if
+     * they are in use, and releases the data sources resolved during initialization. The data sources themselves are
+     * managed by the JNDI provider, and are not closed.
      */
     @Override
     public void cleanUp() {
 
-        // do nothing
+        closeConnections();
+        dataSources = null;
     }
 
     /**
-     * Retrieve a database connection from a connection pool spec (as provided in this class' additional properties)
+     * Retrieve a database connection from the data source bound to the JNDI name (as provided in this class'
+     * properties)
      * <p>
      * See {@link AbstractJdbcProcessor#getConnection(JdbcProperties, ProcessingObjects)}.
      * <p>
@@ -70,8 +113,73 @@ public class JdbcJndiProcessor
                                              final ProcessingObjects processingObjects)
             throws FactoryException {
 
-        final String jndiConName = pProperties.getJndiConnectionName();
+        return getConnection(pProperties, processingObjects, 0);
+    }
+
+    /**
+     * Retrieve a database connection to a shard from the data source bound to the JNDI name of the shard (see
+     * {@link JdbcProperties#getShards()})
+     * <p>
+     * See {@link AbstractJdbcProcessor#getConnection(JdbcProperties, ProcessingObjects, int)}.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected final Connection getConnection(final JdbcProperties pProperties,
+                                             final ProcessingObjects processingObjects,
+                                             final int shard)
+            throws FactoryException {
+
+        // use the data source resolved during initialization, or look up the JNDI name if this processor has not been
+        // initialized through init(), or if the name could not be resolved during initialization
+        final DataSource[] resolved = dataSources;
+        final DataSource dataSource = resolved == null || shard >= resolved.length ? null : resolved[shard];
+        if (dataSource == null) {
+            return ConnectionFactory.getConnection(pProperties.getJndiConnectionName());
+        }
+
+        // try to get a connection from the data source
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            final String error = "Cannot retrieve a connection from the data source bound to the JNDI name '"
+                    + pProperties.getJndiConnectionName() + "'";
+            LOG.warn(error);
+            throw new FactoryException(error, e);
+        }
+    }
+
+    /**
+     * Look up the data source bound to a JNDI name.
+     *
+     * @param jndiConName The JNDI name
+     * @return The data source bound to the JNDI name, or {@code null} if the name cannot be resolved to a data source
+     */
+    private static DataSource lookupDataSource(final String jndiConName) {
+
+        Context context = null;
+        try {
+            context = new InitialContext();
+            final Object object = context.lookup(jndiConName);
+            if (object instanceof DataSource) {
+                return (DataSource) object;
+            }
+
+            LOG.warn("The object bound to the JNDI name '" + jndiConName + "' is not an instance of '"
+                    + DataSource.class.getCanonicalName() + "', the name will be looked up for every connection");
+        } catch (NamingException e) {
+            LOG.warn("Cannot resolve the JNDI name '" + jndiConName
+                    + "', the name will be looked up for every connection", e);
+        } finally {
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (NamingException e) {
+                    LOG.warn("Cannot close the JNDI context", e);
+                }
+            }
+        }
 
-        return ConnectionFactory.getConnection(jndiConName);
+        return null;
     }
 }
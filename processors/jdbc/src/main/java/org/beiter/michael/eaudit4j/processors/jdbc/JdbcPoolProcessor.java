@@ -41,6 +41,8 @@ import org.beiter.michael.db.FactoryException;
 import org.beiter.michael.db.propsbuilder.MapBasedConnPropsBuilder;
 
 import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This processors persists events to a JDBC database using a configurable connection pool.
@@ -58,15 +60,37 @@ import java.sql.Connection;
 public class JdbcPoolProcessor
         extends AbstractJdbcProcessor {
 
+    /**
+     * The connection properties of every shard, built from the additional properties once during initialization
+     */
+    private volatile ConnectionProperties[] connectionProperties;
+
+    /**
+     * Build the connection properties of every shard from the additional properties, so that they do not have to be
+     * rebuilt for every event.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected final void initConnectionSource(final List<JdbcProperties> pShardProperties) {
+
+        final ConnectionProperties[] connProps = new ConnectionProperties[pShardProperties.size()];
+        for (int i = 0; i < connProps.length; i++) {
+            connProps[i] = MapBasedConnPropsBuilder.build(pShardProperties.get(i).getAdditionalProperties());
+        }
+        connectionProperties = connProps;
+    }
+
     /**
      * This processor does not store any confidential information.
      * <p>
-     * The implementation of this method does nothing.
+     * The implementation of this method stops the group commit writer and closes the dedicated writer connection, if
+     * they are in use.
      */
     @Override
     public void cleanUp() {
 
-        // do nothing
+        closeConnections();
     }
 
     /**
@@ -80,9 +104,31 @@ public class JdbcPoolProcessor
                                        final ProcessingObjects processingObjects)
             throws FactoryException {
 
-        // create the connection properties from the Additional Properties map
-        final ConnectionProperties connProps = MapBasedConnPropsBuilder.build(pProperties.getAdditionalProperties());
+        return getConnection(pProperties, processingObjects, 0);
+    }
+
+    /**
+     * Retrieve a database connection to a shard from the connection pool spec of the shard (as provided in this class'
+     * additional properties, see {@link JdbcProperties#getShards()})
+     * <p>
+     * See {@link AbstractJdbcProcessor#getConnection(JdbcProperties, ProcessingObjects, int)}.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected final Connection getConnection(final JdbcProperties pProperties,
+                                             final ProcessingObjects processingObjects,
+                                             final int shard)
+            throws FactoryException {
+
+        // use the connection properties parsed during initialization, or create them from the Additional Properties map
+        // if this processor has not been initialized through init()
+        final ConnectionProperties[] connProps = connectionProperties;
+        if (connProps == null || shard >= connProps.length) {
+            final Map<String, String> additionalProperties = pProperties.getAdditionalProperties();
+            return ConnectionFactory.getConnection(MapBasedConnPropsBuilder.build(additionalProperties));
+        }
 
-        return ConnectionFactory.getConnection(connProps);
+        return ConnectionFactory.getConnection(connProps[shard]);
     }
 }
@@ -102,6 +102,81 @@ public class JdbcProperties {
      */
     private String dataSourceName;
 
+    /**
+     * @see JdbcProperties#setDedicatedConnection(boolean)
+     */
+    private boolean dedicatedConnection;
+
+    /**
+     * @see JdbcProperties#setGroupCommit(boolean)
+     */
+    private boolean groupCommit;
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxEvents(int)
+     */
+    private int groupCommitMaxEvents;
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxBytes(int)
+     */
+    private int groupCommitMaxBytes;
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxDelay(int)
+     */
+    private int groupCommitMaxDelay;
+
+    /**
+     * @see JdbcProperties#setIndexedColumns(boolean)
+     */
+    private boolean indexedColumns;
+
+    /**
+     * @see JdbcProperties#setIndexedColumnsTable(String)
+     */
+    private String indexedColumnsTable;
+
+    /**
+     * @see JdbcProperties#setIndexedColumnsEventColumns(String)
+     */
+    private String indexedColumnsEventColumns;
+
+    /**
+     * @see JdbcProperties#setPartitioning(String)
+     */
+    private String partitioning;
+
+    /**
+     * @see JdbcProperties#setPartitionsAhead(int)
+     */
+    private int partitionsAhead;
+
+    /**
+     * @see JdbcProperties#setPartitionRetention(int)
+     */
+    private int partitionRetention;
+
+    /**
+     * @see JdbcProperties#setPartitionCreateSqlStmts(String)
+     */
+    private String partitionCreateSqlStmts;
+
+    /**
+     * @see JdbcProperties#setPartitionDropSqlStmts(String)
+     */
+    private String partitionDropSqlStmts;
+
+    /**
+     * @see JdbcProperties#setShards(int)
+     */
+    private int shards;
+
+    /**
+     * @see JdbcProperties#setShardKey(String)
+     */
+    private String shardKey;
+
     /**
      * @see JdbcProperties#setAdditionalProperties(Map)
      */
@@ -148,6 +223,21 @@ public class JdbcProperties {
         setIndexedFieldNameSeparator(properties.getIndexedFieldNameSeparator());
         setJndiConnectionName(properties.getJndiConnectionName());
         setDataSourceName(properties.getDataSourceName());
+        setDedicatedConnection(properties.isDedicatedConnection());
+        setGroupCommit(properties.isGroupCommit());
+        setGroupCommitMaxEvents(properties.getGroupCommitMaxEvents());
+        setGroupCommitMaxBytes(properties.getGroupCommitMaxBytes());
+        setGroupCommitMaxDelay(properties.getGroupCommitMaxDelay());
+        setIndexedColumns(properties.isIndexedColumns());
+        setIndexedColumnsTable(properties.getIndexedColumnsTable());
+        setIndexedColumnsEventColumns(properties.getIndexedColumnsEventColumns());
+        setPartitioning(properties.getPartitioning());
+        setPartitionsAhead(properties.getPartitionsAhead());
+        setPartitionRetention(properties.getPartitionRetention());
+        setPartitionCreateSqlStmts(properties.getPartitionCreateSqlStmts());
+        setPartitionDropSqlStmts(properties.getPartitionDropSqlStmts());
+        setShards(properties.getShards());
+        setShardKey(properties.getShardKey());
         setAdditionalProperties(properties.getAdditionalProperties());
     }
 
@@ -493,6 +583,477 @@ public class JdbcProperties {
         this.dataSourceName = dataSourceName;
     }
 
+    /**
+     * @return whether the processor writes events through a long-lived dedicated connection
+     * @see JdbcProperties#setDedicatedConnection(boolean)
+     */
+    public final boolean isDedicatedConnection() {
+
+        // no need for defensive copies of boolean
+
+        return dedicatedConnection;
+    }
+
+    /**
+     * Whether the processor writes events through a long-lived dedicated connection.
+     * <p>
+     * When enabled, the processor obtains one connection when the first event is processed and keeps it open until
+     * the processor is cleaned up or re-initialized. The insert statements are prepared once on that connection and
+     * re-used for every event, and events are written one at a time.
+     * <p>
+     * When disabled, the processor obtains a connection for every event and returns it after the transaction. In that
+     * case, statement caching depends on the connection pool or JDBC driver (e.g. a pool with prepared statement
+     * pooling enabled).
+     *
+     * @param dedicatedConnection whether to write events through a dedicated connection
+     */
+    public final void setDedicatedConnection(final boolean dedicatedConnection) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of boolean
+
+        this.dedicatedConnection = dedicatedConnection;
+    }
+
+    /**
+     * @return whether the processor writes the events of many callers in one shared transaction
+     * @see JdbcProperties#setGroupCommit(boolean)
+     */
+    public final boolean isGroupCommit() {
+
+        // no need for defensive copies of boolean
+
+        return groupCommit;
+    }
+
+    /**
+     * Whether the processor writes the events of many callers in one shared transaction ("group commit").
+     * <p>
+     * When enabled, a writer thread collects the events of all threads calling the processor, and writes them (and
+     * their indexed fields) with JDBC batches in one transaction, until one of the bounds configured with
+     * {@link JdbcProperties#setGroupCommitMaxEvents(int)}, {@link JdbcProperties#setGroupCommitMaxBytes(int)}, and
+     * {@link JdbcProperties#setGroupCommitMaxDelay(int)} is reached. The calling threads block until the transaction
+     * containing their event has been committed (or has failed). If a shared transaction fails, the events of that
+     * transaction are written again one by one, so that only the callers of the offending events receive an error.
+     * <p>
+     * When disabled, every event is written in its own transaction by the calling thread.
+     *
+     * @param groupCommit whether to write the events of many callers in one shared transaction
+     */
+    public final void setGroupCommit(final boolean groupCommit) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of boolean
+
+        this.groupCommit = groupCommit;
+    }
+
+    /**
+     * @return the maximum number of events that are written in one shared transaction
+     * @see JdbcProperties#setGroupCommitMaxEvents(int)
+     */
+    public final int getGroupCommitMaxEvents() {
+
+        // no need for defensive copies of int
+
+        return groupCommitMaxEvents;
+    }
+
+    /**
+     * The maximum number of events that are written in one shared transaction if
+     * {@link JdbcProperties#isGroupCommit()} is set.
+     *
+     * @param groupCommitMaxEvents the maximum number of events in one shared transaction (must be greater 0)
+     * @throws IllegalArgumentException When the provided value of {@code groupCommitMaxEvents} is out of range
+     */
+    public final void setGroupCommitMaxEvents(final int groupCommitMaxEvents) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, groupCommitMaxEvents);
+
+        // no need for defensive copies of int
+
+        this.groupCommitMaxEvents = groupCommitMaxEvents;
+    }
+
+    /**
+     * @return the approximate maximum size of the events that are written in one shared transaction
+     * @see JdbcProperties#setGroupCommitMaxBytes(int)
+     */
+    public final int getGroupCommitMaxBytes() {
+
+        // no need for defensive copies of int
+
+        return groupCommitMaxBytes;
+    }
+
+    /**
+     * The approximate maximum size of the events that are written in one shared transaction if
+     * {@link JdbcProperties#isGroupCommit()} is set.
+     * <p>
+     * The size of an event is approximated by the number of characters of the serialized event and its indexed field
+     * names and values. A transaction is closed as soon as the accumulated size reaches this value, which means that
+     * a single event larger than this value is written in a transaction of its own.
+     *
+     * @param groupCommitMaxBytes the approximate maximum size of the events in one transaction (must be greater 0)
+     * @throws IllegalArgumentException When the provided value of {@code groupCommitMaxBytes} is out of range
+     */
+    public final void setGroupCommitMaxBytes(final int groupCommitMaxBytes) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, groupCommitMaxBytes);
+
+        // no need for defensive copies of int
+
+        this.groupCommitMaxBytes = groupCommitMaxBytes;
+    }
+
+    /**
+     * @return the maximum time in milliseconds the writer waits for more events before writing a shared transaction
+     * @see JdbcProperties#setGroupCommitMaxDelay(int)
+     */
+    public final int getGroupCommitMaxDelay() {
+
+        // no need for defensive copies of int
+
+        return groupCommitMaxDelay;
+    }
+
+    /**
+     * The maximum time in milliseconds the writer waits for more events before writing a shared transaction if
+     * {@link JdbcProperties#isGroupCommit()} is set.
+     * <p>
+     * The time is measured from the moment the writer picks up the first event of a transaction, and bounds the
+     * additional latency a caller may experience because of group commit. A value of {@code 0} makes the writer
+     * write whatever events are queued at that moment without waiting for more.
+     *
+     * @param groupCommitMaxDelay the maximum time in milliseconds to wait for more events (must be 0 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code groupCommitMaxDelay} is out of range
+     */
+    public final void setGroupCommitMaxDelay(final int groupCommitMaxDelay) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, groupCommitMaxDelay);
+
+        // no need for defensive copies of int
+
+        this.groupCommitMaxDelay = groupCommitMaxDelay;
+    }
+
+    /**
+     * @return whether the indexed fields are stored in dedicated columns of the event table
+     * @see JdbcProperties#setIndexedColumns(boolean)
+     */
+    public final boolean isIndexedColumns() {
+
+        // no need for defensive copies of boolean
+
+        return indexedColumns;
+    }
+
+    /**
+     * Whether the indexed fields are stored in dedicated columns of the event table ("wide row"), instead of one row
+     * per indexed field in the indexed fields table.
+     * <p>
+     * When enabled, the processor generates the statement to insert events from
+     * {@link JdbcProperties#setIndexedColumnsTable(String)},
+     * {@link JdbcProperties#setIndexedColumnsEventColumns(String)}, and the indexed fields configured in
+     * {@link JdbcProperties#setIndexedFields(String)}, where the (alias) name of each indexed field is used as the
+     * column name. Every event is written as a single row, and indexed fields that are not present in an event are
+     * written as {@code NULL}. {@link JdbcProperties#setInsertEventSqlStmt(String)} and
+     * {@link JdbcProperties#setInsertIndexedFieldSqlStmt(String)} are not used in this mode.
+     * <p>
+     * When disabled, the event is written with {@link JdbcProperties#setInsertEventSqlStmt(String)}, and every indexed
+     * field with {@link JdbcProperties#setInsertIndexedFieldSqlStmt(String)}.
+     *
+     * @param indexedColumns whether to store the indexed fields in dedicated columns of the event table
+     */
+    public final void setIndexedColumns(final boolean indexedColumns) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of boolean
+
+        this.indexedColumns = indexedColumns;
+    }
+
+    /**
+     * @return the name of the event table if the indexed fields are stored in dedicated columns
+     * @see JdbcProperties#setIndexedColumnsTable(String)
+     */
+    public final String getIndexedColumnsTable() {
+
+        // no need for defensive copies of String
+
+        return indexedColumnsTable;
+    }
+
+    /**
+     * The name of the event table if {@link JdbcProperties#isIndexedColumns()} is set.
+     * <p>
+     * The name may be qualified with a schema name (e.g. {@code audit.events}). Quoted identifiers are not supported.
+     *
+     * @param indexedColumnsTable the name of the event table
+     * @throws NullPointerException     When the {@code indexedColumnsTable} is {@code null}
+     * @throws IllegalArgumentException When the {@code indexedColumnsTable} is empty
+     */
+    public final void setIndexedColumnsTable(final String indexedColumnsTable) {
+
+        Validate.notBlank(indexedColumnsTable,
+                "The validated character sequence 'indexedColumnsTable' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.indexedColumnsTable = indexedColumnsTable;
+    }
+
+    /**
+     * @return the names of the event ID, audit stream name, and event columns of the event table
+     * @see JdbcProperties#setIndexedColumnsEventColumns(String)
+     */
+    public final String getIndexedColumnsEventColumns() {
+
+        // no need for defensive copies of String
+
+        return indexedColumnsEventColumns;
+    }
+
+    /**
+     * The names of the event ID, audit stream name, and event columns of the event table if
+     * {@link JdbcProperties#isIndexedColumns()} is set, in this order, and separated by the character configured in
+     * {@link JdbcProperties#setIndexedFieldSeparator(String)}.
+     * <p>
+     * Example: {@code eventId,auditStreamName,eventJson}
+     *
+     * @param indexedColumnsEventColumns the names of the event ID, audit stream name, and event columns
+     * @throws NullPointerException     When the {@code indexedColumnsEventColumns} is {@code null}
+     * @throws IllegalArgumentException When the {@code indexedColumnsEventColumns} is empty
+     */
+    public final void setIndexedColumnsEventColumns(final String indexedColumnsEventColumns) {
+
+        Validate.notBlank(indexedColumnsEventColumns,
+                "The validated character sequence 'indexedColumnsEventColumns' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.indexedColumnsEventColumns = indexedColumnsEventColumns;
+    }
+
+    /**
+     * @return the partitioning mode of the audit tables
+     * @see JdbcProperties#setPartitioning(String)
+     */
+    public final String getPartitioning() {
+
+        // no need for defensive copies of String
+
+        return partitioning;
+    }
+
+    /**
+     * The partitioning mode of the audit tables: {@code none}, {@code daily}, or {@code weekly}.
+     * <p>
+     * When set to {@code daily} or {@code weekly}, the placeholders {@code {partition}} and {@code {stream}} in the
+     * insert statements (and in {@link JdbcProperties#setIndexedColumnsTable(String)}) are replaced for every event
+     * with the period the event is processed in (the UTC start date of the period, formatted as {@code yyyyMMdd}, where
+     * weeks start on Monday), and with the name of the audit stream (with all characters other than letters and digits
+     * replaced by {@code _}, and a hash of the name appended unless the name consists of lower case letters and digits
+     * only). This allows writing the events of each period (and stream) to dedicated
+     * tables, which are created ahead of time with {@link JdbcProperties#setPartitionCreateSqlStmts(String)}, and
+     * dropped as a whole when they expire with {@link JdbcProperties#setPartitionDropSqlStmts(String)}.
+     *
+     * @param partitioning the partitioning mode of the audit tables
+     * @throws NullPointerException     When the {@code partitioning} is {@code null}
+     * @throws IllegalArgumentException When the {@code partitioning} is not one of the supported modes
+     */
+    public final void setPartitioning(final String partitioning) {
+
+        Validate.notNull(partitioning, "The validated object 'partitioning' is null");
+        Validate.isTrue(PartitionScheme.isSupported(partitioning), "Unsupported partitioning mode: '%s'", partitioning);
+
+        // no need for defensive copies of String
+
+        this.partitioning = partitioning;
+    }
+
+    /**
+     * @return the number of future partitions that are created ahead of time
+     * @see JdbcProperties#setPartitionsAhead(int)
+     */
+    public final int getPartitionsAhead() {
+
+        // no need for defensive copies of int
+
+        return partitionsAhead;
+    }
+
+    /**
+     * The number of future partitions that are created ahead of time, in addition to the partition of the current
+     * period, if the audit tables are partitioned.
+     *
+     * @param partitionsAhead the number of future partitions that are created ahead of time (must be 0 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code partitionsAhead} is out of range
+     */
+    public final void setPartitionsAhead(final int partitionsAhead) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, partitionsAhead);
+
+        // no need for defensive copies of int
+
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    /**
+     * @return the number of partitions that are retained, including the partition of the current period
+     * @see JdbcProperties#setPartitionRetention(int)
+     */
+    public final int getPartitionRetention() {
+
+        // no need for defensive copies of int
+
+        return partitionRetention;
+    }
+
+    /**
+     * The number of partitions that are retained, including the partition of the current period, if the audit tables
+     * are partitioned. Older partitions are dropped with {@link JdbcProperties#setPartitionDropSqlStmts(String)}.
+     * <p>
+     * A value of {@code 0} disables dropping partitions.
+     *
+     * @param partitionRetention the number of partitions that are retained (must be 0 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code partitionRetention} is out of range
+     */
+    public final void setPartitionRetention(final int partitionRetention) {
+
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, partitionRetention);
+
+        // no need for defensive copies of int
+
+        this.partitionRetention = partitionRetention;
+    }
+
+    /**
+     * @return the SQL statements that create the tables of a partition
+     * @see JdbcProperties#setPartitionCreateSqlStmts(String)
+     */
+    public final String getPartitionCreateSqlStmts() {
+
+        // no need for defensive copies of String
+
+        return partitionCreateSqlStmts;
+    }
+
+    /**
+     * The SQL statements that create the tables of a partition, separated by {@code ;}, if the audit tables are
+     * partitioned. The statements may use the {@code {partition}} and {@code {stream}} placeholders, and must not fail
+     * if the tables already exist (e.g. {@code CREATE TABLE IF NOT EXISTS ...}).
+     * <p>
+     * If this is {@code null} or empty, no partitions are created.
+     *
+     * @param partitionCreateSqlStmts the SQL statements that create the tables of a partition
+     */
+    public final void setPartitionCreateSqlStmts(final String partitionCreateSqlStmts) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of String
+
+        this.partitionCreateSqlStmts = partitionCreateSqlStmts;
+    }
+
+    /**
+     * @return the SQL statements that drop the tables of a partition
+     * @see JdbcProperties#setPartitionDropSqlStmts(String)
+     */
+    public final String getPartitionDropSqlStmts() {
+
+        // no need for defensive copies of String
+
+        return partitionDropSqlStmts;
+    }
+
+    /**
+     * The SQL statements that drop the tables of a partition, separated by {@code ;}, if the audit tables are
+     * partitioned. The statements may use the {@code {partition}} and {@code {stream}} placeholders, and must not fail
+     * if the tables do not exist (e.g. {@code DROP TABLE IF EXISTS ...}).
+     * <p>
+     * If this is {@code null} or empty, no partitions are dropped.
+     *
+     * @param partitionDropSqlStmts the SQL statements that drop the tables of a partition
+     */
+    public final void setPartitionDropSqlStmts(final String partitionDropSqlStmts) {
+
+        // no need for validation, as all values are allowed
+
+        // no need for defensive copies of String
+
+        this.partitionDropSqlStmts = partitionDropSqlStmts;
+    }
+
+    /**
+     * @return the number of shards the events are distributed over
+     * @see JdbcProperties#setShards(int)
+     */
+    public final int getShards() {
+
+        // no need for defensive copies of int
+
+        return shards;
+    }
+
+    /**
+     * The number of shards the events are distributed over. Every shard is a database of its own, with its own
+     * connections, dedicated writer connection, and group commit writer. The connection settings of a shard are
+     * configured with the {@code audit.processor.jdbc.shards.<shard>.} prefix (see
+     * {@link org.beiter.michael.eaudit4j.processors.jdbc.propsbuilder.MapBasedJdbcPropsBuilder#buildShard(Map, int)}),
+     * and the events are routed to the shards by the hash of {@link JdbcProperties#getShardKey()}.
+     * <p>
+     * A value of {@code 1} disables sharding.
+     *
+     * @param shards the number of shards the events are distributed over (must be 1 or greater)
+     * @throws IllegalArgumentException When the provided value of {@code shards} is out of range
+     */
+    public final void setShards(final int shards) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, shards);
+
+        // no need for defensive copies of int
+
+        this.shards = shards;
+    }
+
+    /**
+     * @return the value the events are routed to the shards by
+     * @see JdbcProperties#setShardKey(String)
+     */
+    public final String getShardKey() {
+
+        // no need for defensive copies of String
+
+        return shardKey;
+    }
+
+    /**
+     * The value the events are routed to the shards by, if the events are distributed over several shards:
+     * {@code eventId} or {@code auditStreamName}.
+     * <p>
+     * Routing by the event ID spreads the events of all audit streams evenly over the shards. Routing by the audit
+     * stream name keeps all events of an audit stream in the same shard, which allows querying an audit stream in a
+     * single database.
+     *
+     * @param shardKey the value the events are routed to the shards by
+     * @throws NullPointerException     When the {@code shardKey} is {@code null}
+     * @throws IllegalArgumentException When the {@code shardKey} is not one of the supported values
+     */
+    public final void setShardKey(final String shardKey) {
+
+        Validate.notNull(shardKey, "The validated object 'shardKey' is null");
+        Validate.isTrue(ShardRouter.isSupported(shardKey), "Unsupported shard key: '%s'", shardKey);
+
+        // no need for defensive copies of String
+
+        this.shardKey = shardKey;
+    }
+
     /**
      * @return Any additional properties stored in this object that have not explicitly been parsed
      * @see JdbcProperties#setAdditionalProperties(Map)
@@ -0,0 +1,609 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TimeZone;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Resolves the tables of time-partitioned audit tables, and maintains the partitions: creating the partitions of the
+ * current and upcoming periods ahead of time, and dropping expired partitions as a whole.
+ * <p>
+ * The placeholder {@link PartitionScheme#PARTITION_PLACEHOLDER} in the configured SQL statements is replaced with the
+ * UTC start date of the period (formatted as {@code yyyyMMdd}, weeks start on Monday), and the placeholder
+ * {@link PartitionScheme#STREAM_PLACEHOLDER} with the (sanitized) name of the audit stream.
+ * <p>
+ * The partitions of a stream are maintained with the first event of the stream in every period, using the connection
+ * that writes the event. The statements run inline, before the event is written, which adds the time of the DDL
+ * statements to the latency of that event (creating the partitions ahead of time keeps that time short). With the
+ * first maintenance of a stream after the processor has been initialized, the expired partitions are looked up in the
+ * database catalog, using the table names in the drop statements, so that partitions that have expired while the
+ * application was not running are dropped as well. Later maintenances drop the partitions that have expired since the
+ * previous maintenance.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+final class PartitionScheme {
+
+    /**
+     * The partitioning mode that disables partitioning
+     */
+    static final String NONE = "none";
+
+    /**
+     * The partitioning mode with one partition per day
+     */
+    static final String DAILY = "daily";
+
+    /**
+     * The partitioning mode with one partition per week
+     */
+    static final String WEEKLY = "weekly";
+
+    /**
+     * The placeholder for the period of a partition in the SQL statements
+     */
+    static final String PARTITION_PLACEHOLDER = "{partition}";
+
+    /**
+     * The placeholder for the audit stream name in the SQL statements
+     */
+    static final String STREAM_PLACEHOLDER = "{stream}";
+
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionScheme.class);
+
+    /**
+     * The separator of the SQL statements that create and drop partitions
+     */
+    private static final String STATEMENT_SEPARATOR = ";";
+
+    /**
+     * The number of milliseconds per day
+     */
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /**
+     * The number of days per week
+     */
+    private static final int DAYS_PER_WEEK = 7;
+
+    /**
+     * The offset that aligns the epoch (a Thursday) with the start of a week (a Monday)
+     */
+    private static final int WEEK_OFFSET = 3;
+
+    /**
+     * Finds the names of the tables of a partition in a statement: identifiers (optionally qualified and quoted) that
+     * contain the {@link PartitionScheme#PARTITION_PLACEHOLDER}
+     */
+    private static final Pattern TABLE_NAME = Pattern.compile("[\\w$.\"`{}]*\\{partition\\}[\\w$\"`{}]*");
+
+    /**
+     * The format of the labels of the periods
+     */
+    private static final String LABEL_FORMAT = "yyyyMMdd";
+
+    /**
+     * The number of days per period
+     */
+    private final int daysPerPeriod;
+
+    /**
+     * The offset in days that aligns the epoch with the start of a period
+     */
+    private final int dayOffset;
+
+    /**
+     * The statement to insert events, with placeholders
+     */
+    private final String insertEventSql;
+
+    /**
+     * The statement to insert indexed fields, with placeholders ({@code null} if the indexed fields table is not used)
+     */
+    private final String insertIndexedFieldSql;
+
+    /**
+     * The statements that create the tables of a partition, with placeholders
+     */
+    private final String[] createSql;
+
+    /**
+     * The statements that drop the tables of a partition, with placeholders
+     */
+    private final String[] dropSql;
+
+    /**
+     * The names of the tables of a partition, with placeholders and without schema and quotes, found in the drop
+     * statements
+     */
+    private final String[] tableNames;
+
+    /**
+     * The number of future partitions that are created ahead of time
+     */
+    private final int ahead;
+
+    /**
+     * The number of partitions that are retained (0 if partitions are never dropped)
+     */
+    private final int retention;
+
+    /**
+     * The partition of the current period, per audit stream
+     */
+    private final ConcurrentMap<String, Partition> current = new ConcurrentHashMap<>();
+
+    /**
+     * The most recent period that has been maintained, per audit stream (guarded by {@code this})
+     */
+    private final Map<String, Long> maintained = new HashMap<>();
+
+    /**
+     * Create a partition scheme.
+     *
+     * @param partitioning          The partitioning mode ({@link PartitionScheme#DAILY} or
+     *                              {@link PartitionScheme#WEEKLY})
+     * @param insertEventSql        The statement to insert events, with placeholders
+     * @param insertIndexedFieldSql The statement to insert indexed fields, with placeholders (may be {@code null})
+     * @param createSqlStmts        The statements that create the tables of a partition (may be {@code null})
+     * @param dropSqlStmts          The statements that drop the tables of a partition (may be {@code null})
+     * @param ahead                 The number of future partitions that are created ahead of time
+     * @param retention             The number of partitions that are retained (0 to never drop partitions)
+     * @throws IllegalArgumentException When the partitioning mode does not partition the tables
+     */
+    PartitionScheme(final String partitioning, final String insertEventSql, final String insertIndexedFieldSql,
+                    final String createSqlStmts, final String dropSqlStmts, final int ahead, final int retention) {
+
+        if (DAILY.equalsIgnoreCase(partitioning)) {
+            this.daysPerPeriod = 1;
+            this.dayOffset = 0;
+        } else if (WEEKLY.equalsIgnoreCase(partitioning)) {
+            this.daysPerPeriod = DAYS_PER_WEEK;
+            this.dayOffset = WEEK_OFFSET;
+        } else {
+            throw new IllegalArgumentException("Not a partitioning mode with partitions: '" + partitioning + "'");
+        }
+
+        this.insertEventSql = insertEventSql;
+        this.insertIndexedFieldSql = insertIndexedFieldSql;
+        this.createSql = splitStatements(createSqlStmts);
+        this.dropSql = splitStatements(dropSqlStmts);
+        this.tableNames = findTableNames(dropSql);
+        this.ahead = ahead;
+        this.retention = retention;
+    }
+
+    /**
+     * Check whether a partitioning mode is supported.
+     *
+     * @param partitioning The partitioning mode
+     * @return {@code true} if the mode is supported
+     */
+    static boolean isSupported(final String partitioning) {
+
+        return NONE.equalsIgnoreCase(partitioning)
+                || DAILY.equalsIgnoreCase(partitioning)
+                || WEEKLY.equalsIgnoreCase(partitioning);
+    }
+
+    /**
+     * Check whether a partitioning mode partitions the tables.
+     *
+     * @param partitioning The partitioning mode
+     * @return {@code true} if the mode partitions the tables
+     */
+    static boolean isPartitioned(final String partitioning) {
+
+        return isSupported(partitioning) && !NONE.equalsIgnoreCase(partitioning);
+    }
+
+    /**
+     * Resolve the partition of an event.
+     *
+     * @param auditStreamName The name of the audit stream
+     * @param timestamp       The time of the event, in milliseconds since the epoch
+     * @return The partition
+     */
+    Partition resolve(final String auditStreamName, final long timestamp) {
+
+        final long period = getPeriod(timestamp);
+
+        // the statements are only resolved once per period and stream
+        Partition partition = current.get(auditStreamName);
+        if (partition == null || partition.period != period) {
+            partition = new Partition(auditStreamName, period,
+                    resolve(insertEventSql, auditStreamName, period),
+                    resolve(insertIndexedFieldSql, auditStreamName, period));
+            current.put(auditStreamName, partition);
+        }
+
+        return partition;
+    }
+
+    /**
+     * Maintain the partitions of the stream of a partition, if this has not already been done for its period: create
+     * the partition and the partitions of the upcoming periods, and drop the partitions that have expired since the
+     * last maintenance. The caller is responsible for committing the transaction.
+     *
+     * @param con       The database connection
+     * @param partition The partition of the event that is about to be written
+     * @throws SQLException When a statement fails
+     */
+    // The SQL statements are retrieved from the configuration, and the admin is trusted
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings("SQL_NONCONSTANT_STRING_PASSED_TO_EXECUTE")
+    synchronized void maintain(final Connection con, final Partition partition)
+            throws SQLException {
+
+        if (partition.maintained) {
+            return;
+        }
+
+        final Long last = maintained.get(partition.stream);
+        if (last == null || last < partition.period) {
+
+            try (Statement stmt = con.createStatement()) {
+
+                for (long period = partition.period; period <= partition.period + ahead; period++) {
+                    for (final String sql : createSql) {
+                        stmt.execute(resolve(sql, partition.stream, period));
+                    }
+                }
+
+                if (retention > 0) {
+
+                    // drop what has expired since the last maintenance (or within one retention period on startup,
+                    // plus whatever expired partitions can be found in the catalog)
+                    final long newestExpired = partition.period - retention;
+                    final long oldestExpired = last == null ? newestExpired - retention + 1 : last - retention + 1;
+                    final SortedSet<Long> expired = last == null
+                            ? findPeriods(con, partition.stream, newestExpired) : new TreeSet<Long>();
+                    for (long period = oldestExpired; period <= newestExpired; period++) {
+                        expired.add(period);
+                    }
+                    for (final long period : expired) {
+                        for (final String sql : dropSql) {
+                            stmt.execute(resolve(sql, partition.stream, period));
+                        }
+                    }
+                }
+            }
+
+            maintained.put(partition.stream, partition.period);
+            LOG.info("Maintained the partitions of audit stream '" + partition.stream + "' for period '"
+                    + getLabel(partition.period) + "'");
+        }
+
+        partition.maintained = true;
+    }
+
+    /**
+     * Get the period of a point in time.
+     *
+     * @param timestamp The time, in milliseconds since the epoch
+     * @return The period
+     */
+    long getPeriod(final long timestamp) {
+
+        final long day = floorDiv(timestamp, MILLIS_PER_DAY);
+        return floorDiv(day + dayOffset, daysPerPeriod);
+    }
+
+    /**
+     * Get the label of a period, i.e. the UTC start date of the period, formatted as {@code yyyyMMdd}.
+     *
+     * @param period The period
+     * @return The label
+     */
+    String getLabel(final long period) {
+
+        // this is only called once per period and stream, so there is no need to cache the formatter
+        return createLabelFormat().format(new Date((period * daysPerPeriod - dayOffset) * MILLIS_PER_DAY));
+    }
+
+    /**
+     * Find the periods of the partitions of a stream in the database catalog, using the table names of the drop
+     * statements.
+     *
+     * @param con         The database connection
+     * @param stream      The name of the audit stream
+     * @param newestValid The newest period to return
+     * @return The periods of the tables that exist in the catalog, up to and including {@code newestValid}
+     * @throws SQLException When the catalog cannot be read
+     */
+    private SortedSet<Long> findPeriods(final Connection con, final String stream, final long newestValid)
+            throws SQLException {
+
+        final SortedSet<Long> periods = new TreeSet<>();
+        if (tableNames.length == 0) {
+            return periods;
+        }
+
+        // unquoted identifiers may be stored in upper or lower case, depending on the database
+        final List<Pattern> patterns = new ArrayList<>(tableNames.length);
+        for (final String tableName : tableNames) {
+            final String name = tableName.replace(STREAM_PLACEHOLDER, sanitize(stream));
+            final int index = name.indexOf(PARTITION_PLACEHOLDER);
+            patterns.add(Pattern.compile(Pattern.quote(name.substring(0, index)) + "([0-9]{8})"
+                    + Pattern.quote(name.substring(index + PARTITION_PLACEHOLDER.length())), Pattern.CASE_INSENSITIVE));
+        }
+
+        final SimpleDateFormat format = createLabelFormat();
+        try (ResultSet tables = con.getMetaData().getTables(null, null, null, new String[]{"TABLE"})) {
+            while (tables.next()) {
+                final String table = tables.getString("TABLE_NAME");
+                for (final Pattern pattern : patterns) {
+                    final Matcher matcher = pattern.matcher(table);
+                    if (matcher.matches()) {
+                        try {
+                            final long period = getPeriod(format.parse(matcher.group(1)).getTime());
+                            if (period <= newestValid) {
+                                periods.add(period);
+                            }
+                        } catch (ParseException e) {
+                            LOG.debug("Not the table of a partition: '" + table + "'", e);
+                        }
+                    }
+                }
+            }
+        }
+
+        return periods;
+    }
+
+    /**
+     * Find the names of the tables of a partition in a list of statements.
+     *
+     * @param statements The statements
+     * @return The table names, with placeholders, without schema and quotes
+     */
+    private static String[] findTableNames(final String[] statements) {
+
+        final List<String> names = new ArrayList<>();
+        for (final String statement : statements) {
+            final Matcher matcher = TABLE_NAME.matcher(statement);
+            while (matcher.find()) {
+                String name = matcher.group().replace("\"", "").replace("`", "");
+                name = name.substring(name.lastIndexOf('.') + 1);
+                if (name.contains(PARTITION_PLACEHOLDER) && !names.contains(name)) {
+                    names.add(name);
+                }
+            }
+        }
+
+        return names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * @return A formatter for the labels of the periods
+     */
+    private static SimpleDateFormat createLabelFormat() {
+
+        final SimpleDateFormat format = new SimpleDateFormat(LABEL_FORMAT, Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        format.setLenient(false);
+        return format;
+    }
+
+    /**
+     * Replace the placeholders in a statement.
+     *
+     * @param sql             The statement with placeholders (may be {@code null})
+     * @param auditStreamName The name of the audit stream
+     * @param period          The period
+     * @return The statement, or {@code null} if the statement is {@code null}
+     */
+    private String resolve(final String sql, final String auditStreamName, final long period) {
+
+        if (sql == null) {
+            return null;
+        }
+
+        return sql.replace(PARTITION_PLACEHOLDER, getLabel(period))
+                .replace(STREAM_PLACEHOLDER, sanitize(auditStreamName));
+    }
+
+    /**
+     * Make an audit stream name usable in a table name, replacing all characters other than letters and digits with
+     * {@code _}.
+     * <p>
+     * Names that consist of lower case letters and digits only are used as they are. All other names are changed by
+     * the replacement (or may be folded into the same identifier by the database, such as {@code Events} and
+     * {@code events}), and get a {@code _} and a hash of the original name appended. This way, two different audit
+     * streams are not mapped to the same tables (unless their hashes collide).
+     *
+     * @param auditStreamName The name of the audit stream
+     * @return The sanitized name
+     */
+    static String sanitize(final String auditStreamName) {
+
+        final char[] chars = auditStreamName.toCharArray();
+        boolean changed = false;
+        for (int i = 0; i < chars.length; i++) {
+            final char c = chars[i];
+            if (!(c >= 'a' && c <= 'z' || c >= '0' && c <= '9')) {
+                changed = true;
+                if (!(c >= 'A' && c <= 'Z')) {
+                    chars[i] = '_';
+                }
+            }
+        }
+
+        if (!changed) {
+            return auditStreamName;
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(auditStreamName.getBytes(StandardCharsets.UTF_8));
+        return new String(chars) + '_' + String.format(Locale.ROOT, "%08x", crc.getValue());
+    }
+
+    /**
+     * Split a list of statements separated by {@link PartitionScheme#STATEMENT_SEPARATOR}, ignoring empty statements.
+     *
+     * @param sqlStmts The statements (may be {@code null})
+     * @return The statements
+     */
+    private static String[] splitStatements(final String sqlStmts) {
+
+        final String[] statements = StringUtils.split(sqlStmts, STATEMENT_SEPARATOR);
+        if (statements == null) {
+            return new String[0];
+        }
+
+        int count = 0;
+        for (final String statement : statements) {
+            if (StringUtils.isNotBlank(statement)) {
+                statements[count++] = statement.trim();
+            }
+        }
+
+        final String[] result = new String[count];
+        System.arraycopy(statements, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Floor division (Java 7 does not provide {@code Math.floorDiv()}).
+     *
+     * @param x The dividend
+     * @param y The divisor (must be positive)
+     * @return The largest value that is less than or equal to the algebraic quotient
+     */
+    private static long floorDiv(final long x, final long y) {
+
+        final long q = x / y;
+        return x % y < 0 ? q - 1 : q;
+    }
+
+    /**
+     * The tables of an event: the audit stream and period, and the resolved insert statements.
+     */
+    static final class Partition {
+
+        /**
+         * The name of the audit stream
+         */
+        private final String stream;
+
+        /**
+         * The period
+         */
+        private final long period;
+
+        /**
+         * The resolved statement to insert events
+         */
+        private final String insertEventSql;
+
+        /**
+         * The resolved statement to insert indexed fields ({@code null} if the indexed fields table is not used)
+         */
+        private final String insertIndexedFieldSql;
+
+        /**
+         * Whether the partitions of the stream have been maintained for this period
+         */
+        private volatile boolean maintained;
+
+        /**
+         * Create a partition.
+         *
+         * @param stream                The name of the audit stream
+         * @param period                The period
+         * @param insertEventSql        The resolved statement to insert events
+         * @param insertIndexedFieldSql The resolved statement to insert indexed fields (may be {@code null})
+         */
+        private Partition(final String stream, final long period,
+                          final String insertEventSql, final String insertIndexedFieldSql) {
+
+            this.stream = stream;
+            this.period = period;
+            this.insertEventSql = insertEventSql;
+            this.insertIndexedFieldSql = insertIndexedFieldSql;
+        }
+
+        /**
+         * @return The resolved statement to insert events
+         */
+        String getInsertEventSql() {
+
+            return insertEventSql;
+        }
+
+        /**
+         * @return The resolved statement to insert indexed fields ({@code null} if the indexed fields table is not
+         * used)
+         */
+        String getInsertIndexedFieldSql() {
+
+            return insertIndexedFieldSql;
+        }
+
+        /**
+         * @return Whether the partitions of the stream have been maintained for this period
+         */
+        boolean isMaintained() {
+
+            return maintained;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Routes events to the shards they are persisted in, and tracks the health of every shard.
+ * <p>
+ * Events are routed by the hash of their event ID ({@link ShardRouter#EVENT_ID}) or of the name of their audit stream
+ * ({@link ShardRouter#AUDIT_STREAM_NAME}). The hash is stable, so that an event is always routed to the same shard as
+ * long as the number of shards does not change.
+ * <p>
+ * A shard is healthy until a transaction fails on the shard, and becomes healthy again with the next successful
+ * transaction. The health of a shard does not affect the routing: events are not moved to another shard while a shard
+ * is unhealthy.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+final class ShardRouter {
+
+    /**
+     * The shard key that routes events by their event ID
+     */
+    static final String EVENT_ID = "eventId";
+
+    /**
+     * The shard key that routes events by the name of their audit stream
+     */
+    static final String AUDIT_STREAM_NAME = "auditStreamName";
+
+    /**
+     * The number of shards
+     */
+    private final int shards;
+
+    /**
+     * Whether the events are routed by the name of their audit stream (or else by their event ID)
+     */
+    private final boolean byAuditStream;
+
+    /**
+     * The number of consecutive failed transactions of every shard
+     */
+    private final AtomicIntegerArray failures;
+
+    /**
+     * Create a router for the provided number of shards.
+     *
+     * @param shards   The number of shards
+     * @param shardKey The value the events are routed by
+     * @throws NullPointerException     When {@code shardKey} is {@code null}
+     * @throws IllegalArgumentException When {@code shards} is smaller than 1, or {@code shardKey} is not supported
+     */
+    ShardRouter(final int shards, final String shardKey) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, shards);
+        Validate.notNull(shardKey, "The validated object 'shardKey' is null");
+        Validate.isTrue(isSupported(shardKey), "Unsupported shard key: '%s'", shardKey);
+
+        this.shards = shards;
+        this.byAuditStream = AUDIT_STREAM_NAME.equalsIgnoreCase(shardKey);
+        this.failures = new AtomicIntegerArray(shards);
+    }
+
+    /**
+     * Check if a shard key is supported.
+     *
+     * @param shardKey The shard key
+     * @return {@code true} if the shard key is supported (ignoring case), {@code false} otherwise
+     */
+    static boolean isSupported(final String shardKey) {
+
+        return EVENT_ID.equalsIgnoreCase(shardKey) || AUDIT_STREAM_NAME.equalsIgnoreCase(shardKey);
+    }
+
+    /**
+     * @return The number of shards
+     */
+    int getShards() {
+
+        return shards;
+    }
+
+    /**
+     * Determine the shard of an event.
+     *
+     * @param eventId         The event ID of the event
+     * @param auditStreamName The name of the audit stream of the event
+     * @return The index of the shard (starting at {@code 0})
+     */
+    int route(final String eventId, final String auditStreamName) {
+
+        if (shards == 1) {
+            return 0;
+        }
+
+        final int hash = (byAuditStream ? auditStreamName : eventId).hashCode();
+
+        // spread the higher bits, as the lower bits of similar keys (e.g. sequential IDs) differ little
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards;
+    }
+
+    /**
+     * Record a successful transaction on a shard.
+     *
+     * @param shard The index of the shard
+     * @return {@code true} if the shard has been unhealthy before, {@code false} otherwise
+     */
+    boolean recordSuccess(final int shard) {
+
+        // avoid the write (and the cache line invalidation) in the common case of a healthy shard
+        return failures.get(shard) != 0 && failures.getAndSet(shard, 0) != 0;
+    }
+
+    /**
+     * Record a failed transaction on a shard.
+     *
+     * @param shard The index of the shard
+     * @return {@code true} if the shard has been healthy before, {@code false} otherwise
+     */
+    boolean recordFailure(final int shard) {
+
+        return failures.getAndIncrement(shard) == 0;
+    }
+
+    /**
+     * @param shard The index of the shard
+     * @return {@code true} if the last transaction on the shard has succeeded (or there has not been a transaction yet)
+     */
+    boolean isHealthy(final int shard) {
+
+        return failures.get(shard) == 0;
+    }
+
+    /**
+     * @param shard The index of the shard
+     * @return The number of consecutive failed transactions on the shard
+     */
+    int getFailures(final int shard) {
+
+        return failures.get(shard);
+    }
+}
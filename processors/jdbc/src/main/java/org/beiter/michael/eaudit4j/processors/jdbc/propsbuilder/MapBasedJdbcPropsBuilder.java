@@ -40,6 +40,7 @@ import org.beiter.michael.eaudit4j.processors.jdbc.JdbcProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -119,6 +120,81 @@ public final class MapBasedJdbcPropsBuilder {
      */
     public static final String DEFAULT_DATA_SOURCE_NAME = "TODO - CONFIGURE ME!";
 
+    /**
+     * @see JdbcProperties#setDedicatedConnection(boolean)
+     */
+    public static final boolean DEFAULT_DEDICATED_CONNECTION = false;
+
+    /**
+     * @see JdbcProperties#setGroupCommit(boolean)
+     */
+    public static final boolean DEFAULT_GROUP_COMMIT = false;
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxEvents(int)
+     */
+    public static final int DEFAULT_GROUP_COMMIT_MAX_EVENTS = 100;
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxBytes(int)
+     */
+    public static final int DEFAULT_GROUP_COMMIT_MAX_BYTES = 1048576;
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxDelay(int)
+     */
+    public static final int DEFAULT_GROUP_COMMIT_MAX_DELAY = 10;
+
+    /**
+     * @see JdbcProperties#setIndexedColumns(boolean)
+     */
+    public static final boolean DEFAULT_INDEXED_COLUMNS = false;
+
+    /**
+     * @see JdbcProperties#setIndexedColumnsTable(String)
+     */
+    public static final String DEFAULT_INDEXED_COLUMNS_TABLE = "events";
+
+    /**
+     * @see JdbcProperties#setIndexedColumnsEventColumns(String)
+     */
+    public static final String DEFAULT_INDEXED_COLUMNS_EVENT_COLUMNS = "eventId,auditStreamName,eventJson";
+
+    /**
+     * @see JdbcProperties#setPartitioning(String)
+     */
+    public static final String DEFAULT_PARTITIONING = "none";
+
+    /**
+     * @see JdbcProperties#setPartitionsAhead(int)
+     */
+    public static final int DEFAULT_PARTITIONS_AHEAD = 1;
+
+    /**
+     * @see JdbcProperties#setPartitionRetention(int)
+     */
+    public static final int DEFAULT_PARTITION_RETENTION = 0;
+
+    /**
+     * @see JdbcProperties#setPartitionCreateSqlStmts(String)
+     */
+    public static final String DEFAULT_PARTITION_CREATE_SQL_STMTS = null;
+
+    /**
+     * @see JdbcProperties#setPartitionDropSqlStmts(String)
+     */
+    public static final String DEFAULT_PARTITION_DROP_SQL_STMTS = null;
+
+    /**
+     * @see JdbcProperties#setShards(int)
+     */
+    public static final int DEFAULT_SHARDS = 1;
+
+    /**
+     * @see JdbcProperties#setShardKey(String)
+     */
+    public static final String DEFAULT_SHARD_KEY = "eventId";
+
     // #####################
     // # Configuration Keys
     // #####################
@@ -178,6 +254,89 @@ public final class MapBasedJdbcPropsBuilder {
      */
     public static final String KEY_DATA_SOURCE_NAME = "audit.processor.jdbc.dataSource.Name";
 
+    /**
+     * @see JdbcProperties#setDedicatedConnection(boolean)
+     */
+    public static final String KEY_DEDICATED_CONNECTION = "audit.processor.jdbc.dedicatedConnection";
+
+    /**
+     * @see JdbcProperties#setGroupCommit(boolean)
+     */
+    public static final String KEY_GROUP_COMMIT = "audit.processor.jdbc.groupCommit";
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxEvents(int)
+     */
+    public static final String KEY_GROUP_COMMIT_MAX_EVENTS = "audit.processor.jdbc.groupCommit.maxEvents";
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxBytes(int)
+     */
+    public static final String KEY_GROUP_COMMIT_MAX_BYTES = "audit.processor.jdbc.groupCommit.maxBytes";
+
+    /**
+     * @see JdbcProperties#setGroupCommitMaxDelay(int)
+     */
+    public static final String KEY_GROUP_COMMIT_MAX_DELAY = "audit.processor.jdbc.groupCommit.maxDelay";
+
+    /**
+     * @see JdbcProperties#setIndexedColumns(boolean)
+     */
+    public static final String KEY_INDEXED_COLUMNS = "audit.processor.jdbc.indexedColumns";
+
+    /**
+     * @see JdbcProperties#setIndexedColumnsTable(String)
+     */
+    public static final String KEY_INDEXED_COLUMNS_TABLE = "audit.processor.jdbc.indexedColumns.table";
+
+    /**
+     * @see JdbcProperties#setIndexedColumnsEventColumns(String)
+     */
+    public static final String KEY_INDEXED_COLUMNS_EVENT_COLUMNS = "audit.processor.jdbc.indexedColumns.eventColumns";
+
+    /**
+     * @see JdbcProperties#setPartitioning(String)
+     */
+    public static final String KEY_PARTITIONING = "audit.processor.jdbc.partitioning";
+
+    /**
+     * @see JdbcProperties#setPartitionsAhead(int)
+     */
+    public static final String KEY_PARTITIONS_AHEAD = "audit.processor.jdbc.partitioning.ahead";
+
+    /**
+     * @see JdbcProperties#setPartitionRetention(int)
+     */
+    public static final String KEY_PARTITION_RETENTION = "audit.processor.jdbc.partitioning.retention";
+
+    /**
+     * @see JdbcProperties#setPartitionCreateSqlStmts(String)
+     */
+    public static final String KEY_PARTITION_CREATE_SQL_STMTS = "audit.processor.jdbc.partitioning.createSqlStmts";
+
+    /**
+     * @see JdbcProperties#setPartitionDropSqlStmts(String)
+     */
+    public static final String KEY_PARTITION_DROP_SQL_STMTS = "audit.processor.jdbc.partitioning.dropSqlStmts";
+
+    /**
+     * @see JdbcProperties#setShards(int)
+     */
+    public static final String KEY_SHARDS = "audit.processor.jdbc.shards";
+
+    /**
+     * @see JdbcProperties#setShardKey(String)
+     */
+    public static final String KEY_SHARD_KEY = "audit.processor.jdbc.shards.key";
+
+    /**
+     * The prefix of the keys that configure a single shard, followed by the index of the shard (starting at
+     * {@code 0}), a {@code .}, and the key to configure for the shard.
+     *
+     * @see MapBasedJdbcPropsBuilder#buildShard(Map, int)
+     */
+    public static final String KEY_SHARD_PREFIX = "audit.processor.jdbc.shards.";
+
     /**
      * A private constructor to prevent instantiation of this class
      */
@@ -318,6 +477,186 @@ public final class MapBasedJdbcPropsBuilder {
             logDefault(KEY_DATA_SOURCE_NAME, DEFAULT_DATA_SOURCE_NAME);
         }
 
+        tmp = properties.get(KEY_DEDICATED_CONNECTION);
+        if (StringUtils.isNotEmpty(tmp)) {
+            jdbcProperties.setDedicatedConnection(Boolean.parseBoolean(tmp));
+            logValue(KEY_DEDICATED_CONNECTION, tmp);
+        } else {
+            jdbcProperties.setDedicatedConnection(DEFAULT_DEDICATED_CONNECTION);
+            logDefault(KEY_DEDICATED_CONNECTION, String.valueOf(DEFAULT_DEDICATED_CONNECTION));
+        }
+
+        tmp = properties.get(KEY_GROUP_COMMIT);
+        if (StringUtils.isNotEmpty(tmp)) {
+            jdbcProperties.setGroupCommit(Boolean.parseBoolean(tmp));
+            logValue(KEY_GROUP_COMMIT, tmp);
+        } else {
+            jdbcProperties.setGroupCommit(DEFAULT_GROUP_COMMIT);
+            logDefault(KEY_GROUP_COMMIT, String.valueOf(DEFAULT_GROUP_COMMIT));
+        }
+
+        tmp = properties.get(KEY_GROUP_COMMIT_MAX_EVENTS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                jdbcProperties.setGroupCommitMaxEvents(Integer.decode(tmp));
+                logValue(KEY_GROUP_COMMIT_MAX_EVENTS, tmp);
+            } else {
+                jdbcProperties.setGroupCommitMaxEvents(DEFAULT_GROUP_COMMIT_MAX_EVENTS);
+                logDefault(KEY_GROUP_COMMIT_MAX_EVENTS, tmp, "not numeric or less than 1",
+                        String.valueOf(DEFAULT_GROUP_COMMIT_MAX_EVENTS));
+            }
+        } else {
+            jdbcProperties.setGroupCommitMaxEvents(DEFAULT_GROUP_COMMIT_MAX_EVENTS);
+            logDefault(KEY_GROUP_COMMIT_MAX_EVENTS, String.valueOf(DEFAULT_GROUP_COMMIT_MAX_EVENTS));
+        }
+
+        tmp = properties.get(KEY_GROUP_COMMIT_MAX_BYTES);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                jdbcProperties.setGroupCommitMaxBytes(Integer.decode(tmp));
+                logValue(KEY_GROUP_COMMIT_MAX_BYTES, tmp);
+            } else {
+                jdbcProperties.setGroupCommitMaxBytes(DEFAULT_GROUP_COMMIT_MAX_BYTES);
+                logDefault(KEY_GROUP_COMMIT_MAX_BYTES, tmp, "not numeric or less than 1",
+                        String.valueOf(DEFAULT_GROUP_COMMIT_MAX_BYTES));
+            }
+        } else {
+            jdbcProperties.setGroupCommitMaxBytes(DEFAULT_GROUP_COMMIT_MAX_BYTES);
+            logDefault(KEY_GROUP_COMMIT_MAX_BYTES, String.valueOf(DEFAULT_GROUP_COMMIT_MAX_BYTES));
+        }
+
+        tmp = properties.get(KEY_GROUP_COMMIT_MAX_DELAY);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 0) {
+                jdbcProperties.setGroupCommitMaxDelay(Integer.decode(tmp));
+                logValue(KEY_GROUP_COMMIT_MAX_DELAY, tmp);
+            } else {
+                jdbcProperties.setGroupCommitMaxDelay(DEFAULT_GROUP_COMMIT_MAX_DELAY);
+                logDefault(KEY_GROUP_COMMIT_MAX_DELAY, tmp, "not numeric",
+                        String.valueOf(DEFAULT_GROUP_COMMIT_MAX_DELAY));
+            }
+        } else {
+            jdbcProperties.setGroupCommitMaxDelay(DEFAULT_GROUP_COMMIT_MAX_DELAY);
+            logDefault(KEY_GROUP_COMMIT_MAX_DELAY, String.valueOf(DEFAULT_GROUP_COMMIT_MAX_DELAY));
+        }
+
+        tmp = properties.get(KEY_INDEXED_COLUMNS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            jdbcProperties.setIndexedColumns(Boolean.parseBoolean(tmp));
+            logValue(KEY_INDEXED_COLUMNS, tmp);
+        } else {
+            jdbcProperties.setIndexedColumns(DEFAULT_INDEXED_COLUMNS);
+            logDefault(KEY_INDEXED_COLUMNS, String.valueOf(DEFAULT_INDEXED_COLUMNS));
+        }
+
+        tmp = properties.get(KEY_INDEXED_COLUMNS_TABLE);
+        if (StringUtils.isNotEmpty(tmp)) {
+            jdbcProperties.setIndexedColumnsTable(tmp);
+            logValue(KEY_INDEXED_COLUMNS_TABLE, tmp);
+        } else {
+            jdbcProperties.setIndexedColumnsTable(DEFAULT_INDEXED_COLUMNS_TABLE);
+            logDefault(KEY_INDEXED_COLUMNS_TABLE, DEFAULT_INDEXED_COLUMNS_TABLE);
+        }
+
+        tmp = properties.get(KEY_INDEXED_COLUMNS_EVENT_COLUMNS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            jdbcProperties.setIndexedColumnsEventColumns(tmp);
+            logValue(KEY_INDEXED_COLUMNS_EVENT_COLUMNS, tmp);
+        } else {
+            jdbcProperties.setIndexedColumnsEventColumns(DEFAULT_INDEXED_COLUMNS_EVENT_COLUMNS);
+            logDefault(KEY_INDEXED_COLUMNS_EVENT_COLUMNS, DEFAULT_INDEXED_COLUMNS_EVENT_COLUMNS);
+        }
+
+        tmp = properties.get(KEY_PARTITIONING);
+        if (StringUtils.isNotEmpty(tmp)) {
+            try {
+                jdbcProperties.setPartitioning(tmp);
+                logValue(KEY_PARTITIONING, tmp);
+            } catch (IllegalArgumentException e) {
+                jdbcProperties.setPartitioning(DEFAULT_PARTITIONING);
+                logDefault(KEY_PARTITIONING, tmp, "not a supported partitioning mode", DEFAULT_PARTITIONING);
+            }
+        } else {
+            jdbcProperties.setPartitioning(DEFAULT_PARTITIONING);
+            logDefault(KEY_PARTITIONING, DEFAULT_PARTITIONING);
+        }
+
+        tmp = properties.get(KEY_PARTITIONS_AHEAD);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 0) {
+                jdbcProperties.setPartitionsAhead(Integer.decode(tmp));
+                logValue(KEY_PARTITIONS_AHEAD, tmp);
+            } else {
+                jdbcProperties.setPartitionsAhead(DEFAULT_PARTITIONS_AHEAD);
+                logDefault(KEY_PARTITIONS_AHEAD, tmp, "not numeric",
+                        String.valueOf(DEFAULT_PARTITIONS_AHEAD));
+            }
+        } else {
+            jdbcProperties.setPartitionsAhead(DEFAULT_PARTITIONS_AHEAD);
+            logDefault(KEY_PARTITIONS_AHEAD, String.valueOf(DEFAULT_PARTITIONS_AHEAD));
+        }
+
+        tmp = properties.get(KEY_PARTITION_RETENTION);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 0) {
+                jdbcProperties.setPartitionRetention(Integer.decode(tmp));
+                logValue(KEY_PARTITION_RETENTION, tmp);
+            } else {
+                jdbcProperties.setPartitionRetention(DEFAULT_PARTITION_RETENTION);
+                logDefault(KEY_PARTITION_RETENTION, tmp, "not numeric",
+                        String.valueOf(DEFAULT_PARTITION_RETENTION));
+            }
+        } else {
+            jdbcProperties.setPartitionRetention(DEFAULT_PARTITION_RETENTION);
+            logDefault(KEY_PARTITION_RETENTION, String.valueOf(DEFAULT_PARTITION_RETENTION));
+        }
+
+        tmp = properties.get(KEY_PARTITION_CREATE_SQL_STMTS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            jdbcProperties.setPartitionCreateSqlStmts(tmp);
+            logValue(KEY_PARTITION_CREATE_SQL_STMTS, tmp);
+        } else {
+            jdbcProperties.setPartitionCreateSqlStmts(DEFAULT_PARTITION_CREATE_SQL_STMTS);
+            logDefault(KEY_PARTITION_CREATE_SQL_STMTS, DEFAULT_PARTITION_CREATE_SQL_STMTS);
+        }
+
+        tmp = properties.get(KEY_PARTITION_DROP_SQL_STMTS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            jdbcProperties.setPartitionDropSqlStmts(tmp);
+            logValue(KEY_PARTITION_DROP_SQL_STMTS, tmp);
+        } else {
+            jdbcProperties.setPartitionDropSqlStmts(DEFAULT_PARTITION_DROP_SQL_STMTS);
+            logDefault(KEY_PARTITION_DROP_SQL_STMTS, DEFAULT_PARTITION_DROP_SQL_STMTS);
+        }
+
+        tmp = properties.get(KEY_SHARDS);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) >= 1) {
+                jdbcProperties.setShards(Integer.decode(tmp));
+                logValue(KEY_SHARDS, tmp);
+            } else {
+                jdbcProperties.setShards(DEFAULT_SHARDS);
+                logDefault(KEY_SHARDS, tmp, "not numeric", String.valueOf(DEFAULT_SHARDS));
+            }
+        } else {
+            jdbcProperties.setShards(DEFAULT_SHARDS);
+            logDefault(KEY_SHARDS, String.valueOf(DEFAULT_SHARDS));
+        }
+
+        tmp = properties.get(KEY_SHARD_KEY);
+        if (StringUtils.isNotEmpty(tmp)) {
+            try {
+                jdbcProperties.setShardKey(tmp);
+                logValue(KEY_SHARD_KEY, tmp);
+            } catch (IllegalArgumentException e) {
+                jdbcProperties.setShardKey(DEFAULT_SHARD_KEY);
+                logDefault(KEY_SHARD_KEY, tmp, "not a supported shard key", DEFAULT_SHARD_KEY);
+            }
+        } else {
+            jdbcProperties.setShardKey(DEFAULT_SHARD_KEY);
+            logDefault(KEY_SHARD_KEY, DEFAULT_SHARD_KEY);
+        }
+
         // set the additional properties, preserving the originally provided properties
         // create a defensive copy of the map and all its properties
         // the code looks a little more complicated than a simple "putAll()", but it catches situations
@@ -337,6 +676,38 @@ public final class MapBasedJdbcPropsBuilder {
         return jdbcProperties;
     }
 
+    /**
+     * Initialize the set of JDBC properties of a shard based on key / values in a <code>HashMap</code>.
+     * <p>
+     * The properties of the shard are the provided properties, overridden by the properties that are prefixed with
+     * {@link MapBasedJdbcPropsBuilder#KEY_SHARD_PREFIX} and the index of the shard. For instance,
+     * {@code audit.processor.jdbc.shards.1.audit.processor.jdbc.dataSource.Name} configures the data source name of
+     * the second shard, and {@code audit.processor.jdbc.shards.1.database.url} the database URL of the connection pool
+     * of the second shard. The overridden properties are also available as additional properties.
+     *
+     * @param properties A <code>HashMap</code> with configuration properties, using the keys as specified in this class
+     * @param shard      The index of the shard (starting at {@code 0})
+     * @return A {@link JdbcProperties} object with default values, plus the provided parameters of the shard
+     * @throws NullPointerException     When {@code properties} is {@code null}
+     * @throws IllegalArgumentException When {@code shard} is negative
+     */
+    public static JdbcProperties buildShard(final Map<String, String> properties, final int shard) {
+
+        Validate.notNull(properties, "The validated object 'properties' is null");
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, shard);
+
+        final String prefix = KEY_SHARD_PREFIX + shard + ".";
+        final Map<String, String> shardProperties = new HashMap<>(properties);
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            final String key = entry.getKey();
+            if (key != null && key.startsWith(prefix) && key.length() > prefix.length()) {
+                shardProperties.put(key.substring(prefix.length()), entry.getValue());
+            }
+        }
+
+        return build(shardProperties);
+    }
+
     /**
      * Create a log entry when a value has been successfully configured.
      *
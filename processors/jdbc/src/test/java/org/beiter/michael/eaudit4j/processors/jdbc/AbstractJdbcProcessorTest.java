@@ -39,16 +39,19 @@ import org.beiter.michael.eaudit4j.common.AuditException;
 import org.beiter.michael.eaudit4j.common.CommonProperties;
 import org.beiter.michael.eaudit4j.common.Event;
 import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.FieldProjection;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.Reversible;
 import org.beiter.michael.eaudit4j.common.impl.AuditEvent;
+import org.beiter.michael.eaudit4j.common.impl.EventField;
 import org.beiter.michael.eaudit4j.common.impl.EventBuilder;
 import org.beiter.michael.eaudit4j.common.propsbuilder.MapBasedCommonPropsBuilder;
 import org.beiter.michael.eaudit4j.processors.jdbc.propsbuilder.MapBasedJdbcPropsBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
@@ -75,7 +78,7 @@ public class AbstractJdbcProcessorTest {
         try {
             field_commonProperties = AbstractJdbcProcessor.class.getDeclaredField("commonProperties");
             field_properties = AbstractJdbcProcessor.class.getDeclaredField("properties");
-            method_getIndexedFields = AbstractJdbcProcessor.class.getDeclaredMethod("getIndexedFields", Event.class, JdbcProperties.class);
+            method_getIndexedFields = AbstractJdbcProcessor.class.getDeclaredMethod("getIndexedFields", Event.class, FieldProjection.class);
         } catch (NoSuchFieldException | NoSuchMethodException e) {
             AssertionError ae = new AssertionError("An expected private field or method does not exist");
             ae.initCause(e);
@@ -462,7 +465,9 @@ public class AbstractJdbcProcessorTest {
                 .setResult("Some result".toCharArray())
                 .build();
 
-        Map<String, Field> map = (Map<String, Field>) method_getIndexedFields.invoke(processor, event, jdbcProps);
+        FieldProjection projection = FieldProjection.parse(jdbcProps.getIndexedFields(),
+                jdbcProps.getIndexedFieldSeparator(), jdbcProps.getIndexedFieldNameSeparator());
+        Map<String, Field> map = (Map<String, Field>) method_getIndexedFields.invoke(processor, event, projection);
 
         String error = "The map does not have the correct number of fields";
         assertThat(error, map.size(), is(equalTo(2)));
@@ -529,4 +534,124 @@ public class AbstractJdbcProcessorTest {
         Processor processor = new AbstractJdbcProcessorImpl();
         processor.cleanUp();
     }
+
+    /**
+     * Test that an invalid indexed field mapping results in a configuration error when processing an event
+     *
+     * @throws UnsupportedEncodingException When the encoding used to create the event ID bytes is invalid
+     */
+    @Test
+    public void testInvalidIndexedFieldMapping()
+            throws UnsupportedEncodingException {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor:otherActor");
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(props);
+        Processor processor = new AbstractJdbcProcessorImpl();
+        processor.init(commonProps);
+
+        Event event = new EventBuilder(commonProps)
+                .setSubject("SubjectId-1234".toCharArray())
+                .build();
+        event.setField(new EventField(MapBasedJdbcPropsBuilder.DEFAULT_EVENT_ID_FIELD_NAME, "1234".getBytes("UTF-8")));
+
+        // the mapping could not be parsed during init, so processing the event must fail before it is persisted
+        try {
+            processor.process(event, "some audit stream", new ProcessingObjects());
+            throw new AssertionError("Processing an event with an invalid indexed field mapping did not fail");
+        } catch (AuditException e) {
+            String error = "The error condition is not correct";
+            assertThat(error, e.getErrorCondition(), is(equalTo(AuditErrorConditions.CONFIGURATION)));
+        }
+    }
+
+    /**
+     * Test that the insert statement for the indexed columns mode is generated from the table, the event columns, and
+     * the (alias) names of the indexed fields
+     */
+    @Test
+    public void indexedColumnsInsertSqlTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+        properties.setIndexedColumnsTable("audit.events");
+        properties.setIndexedColumnsEventColumns("id, stream, json");
+        FieldProjection projection = FieldProjection.parse("subject,actor:myActor", ",", ":");
+
+        String error = "The generated insert statement is not correct";
+        assertThat(error, AbstractJdbcProcessor.createIndexedColumnsInsertSql(properties, projection),
+                is(equalTo("INSERT INTO audit.events (id, stream, json, subject, myActor) VALUES (?, ?, ?, ?, ?)")));
+    }
+
+    /**
+     * Test that an invalid table name is rejected when generating the insert statement for the indexed columns mode
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void indexedColumnsInsertSqlInvalidTableTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+        properties.setIndexedColumnsTable("events; DROP TABLE events");
+        FieldProjection projection = FieldProjection.parse("subject", ",", ":");
+
+        AbstractJdbcProcessor.createIndexedColumnsInsertSql(properties, projection);
+    }
+
+    /**
+     * Test that a wrong number of event columns is rejected when generating the insert statement for the indexed
+     * columns mode
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void indexedColumnsInsertSqlInvalidEventColumnsTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+        properties.setIndexedColumnsEventColumns("eventId,eventJson");
+        FieldProjection projection = FieldProjection.parse("subject", ",", ":");
+
+        AbstractJdbcProcessor.createIndexedColumnsInsertSql(properties, projection);
+    }
+
+    /**
+     * Test that an indexed field that maps to an event column is rejected when generating the insert statement for
+     * the indexed columns mode
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void indexedColumnsInsertSqlDuplicateColumnTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+        FieldProjection projection = FieldProjection.parse("subject:eventJson", ",", ":");
+
+        AbstractJdbcProcessor.createIndexedColumnsInsertSql(properties, projection);
+    }
+
+    /**
+     * Test that an invalid indexed columns configuration results in a configuration error when processing an event
+     *
+     * @throws UnsupportedEncodingException When the encoding used to create the event ID bytes is invalid
+     */
+    @Test
+    public void testInvalidIndexedColumnsConfiguration()
+            throws UnsupportedEncodingException {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:my-actor");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS, "true");
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(props);
+        Processor processor = new AbstractJdbcProcessorImpl();
+        processor.init(commonProps);
+
+        Event event = new EventBuilder(commonProps)
+                .setSubject("SubjectId-1234".toCharArray())
+                .build();
+        event.setField(new EventField(MapBasedJdbcPropsBuilder.DEFAULT_EVENT_ID_FIELD_NAME, "1234".getBytes("UTF-8")));
+
+        // the column names could not be validated during init, so processing the event must fail before it is persisted
+        try {
+            processor.process(event, "some audit stream", new ProcessingObjects());
+            throw new AssertionError("Processing an event with an invalid indexed columns configuration did not fail");
+        } catch (AuditException e) {
+            String error = "The error condition is not correct";
+            assertThat(error, e.getErrorCondition(), is(equalTo(AuditErrorConditions.CONFIGURATION)));
+        }
+    }
 }
@@ -0,0 +1,486 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.beiter.michael.eaudit4j.common.AuditException;
+import org.beiter.michael.eaudit4j.common.CommonProperties;
+import org.beiter.michael.eaudit4j.common.Event;
+import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.Processor;
+import org.beiter.michael.eaudit4j.common.impl.EventBuilder;
+import org.beiter.michael.eaudit4j.common.impl.EventField;
+import org.beiter.michael.eaudit4j.common.propsbuilder.MapBasedCommonPropsBuilder;
+import org.beiter.michael.eaudit4j.processors.jdbc.propsbuilder.MapBasedJdbcPropsBuilder;
+import org.beiter.michael.db.propsbuilder.MapBasedConnPropsBuilder;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class AuditQueryTest {
+
+    // the number of events written for each test
+    private static final int EVENT_COUNT = 5;
+
+    // the name of the indexed timestamp field
+    private static final String TIMESTAMP_FIELD_NAME = "timestamp";
+
+    /**
+     * Start the in-memory database server
+     *
+     * @throws SQLException When the startup fails
+     */
+    @BeforeClass
+    public static void startDbServer()
+            throws SQLException {
+
+        H2Server.start();
+    }
+
+    /**
+     * Stops the in-memory database server
+     */
+    @AfterClass
+    public static void stopDbServer() {
+
+        H2Server.stop();
+    }
+
+    /**
+     * Initialize the database with a default database schema + values
+     *
+     * @throws SQLException When the initialization fails
+     */
+    @Before
+    public void initDatabase()
+            throws SQLException {
+
+        H2Server.init();
+    }
+
+    /**
+     * Test that all events of an audit stream are read over several pages, in the order of their event IDs, and are
+     * decoded with their fields
+     */
+    @Test
+    public void queryStreamTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        CommonProperties properties = writeEvents(getProperties());
+
+        List<String> eventIds = new ArrayList<>();
+        AuditQuery query = new AuditQuery(properties).setPageSize(2).setFetchSize(1);
+        try (AuditQueryResult result = query.execute(getDataSource())) {
+            while (result.next()) {
+                eventIds.add(result.getEventId());
+
+                String error = "The audit stream name is not correct";
+                assertThat(error, result.getAuditStreamName(), is(equalTo(JdbcPoolProcessorTest.T_AUDIT_STREAM_NAME)));
+
+                Event event = result.getEvent();
+                error = "The event has not been decoded correctly";
+                assertThat(error, String.valueOf(event.getField(JdbcPoolProcessorTest.EVENT_ID_FIELD_NAME)
+                        .getCharValue("UTF-8")), is(equalTo(result.getEventId())));
+                assertThat(error, String.valueOf(event.getField("subject").getCharValue("UTF-8")),
+                        is(equalTo(getSubject(Integer.parseInt(result.getEventId().substring(6))))));
+                error = "The decoded event is not re-used for the same row";
+                assertThat(error, result.getEvent() == event, is(equalTo(true)));
+            }
+        }
+
+        String error = "The events of the audit stream have not been read correctly";
+        assertThat(error, eventIds, contains("event-0", "event-1", "event-2", "event-3", "event-4"));
+    }
+
+    /**
+     * Test that compressed events are decompressed transparently
+     */
+    @Test
+    public void queryCompressedTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = getProperties();
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO binary_events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_COMPRESSION, "true");
+        CommonProperties properties = writeEvents(props);
+
+        List<String> eventIds = new ArrayList<>();
+        AuditQuery query = new AuditQuery(properties).setEventTable("binary_events").addField("subject", getSubject(0));
+        try (AuditQueryResult result = query.execute(getDataSource())) {
+            while (result.next()) {
+                eventIds.add(result.getEventId());
+
+                String error = "The compressed event has not been decompressed";
+                assertThat(error, result.getEventJson(), startsWith("{\"version\":"));
+                Event event = result.getEvent();
+                error = "The compressed event has not been decoded correctly";
+                assertThat(error, String.valueOf(event.getField("subject").getCharValue("UTF-8")),
+                        is(equalTo(getSubject(0))));
+            }
+        }
+
+        String error = "The compressed events have not been read correctly";
+        assertThat(error, eventIds, contains("event-0", "event-2", "event-4"));
+    }
+
+    /**
+     * Test that events are selected by the value of an indexed field
+     */
+    @Test
+    public void queryFieldTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        CommonProperties properties = writeEvents(getProperties());
+
+        AuditQuery query = new AuditQuery(properties).addField("subject", getSubject(1));
+
+        String error = "The events have not been selected by the indexed field";
+        assertThat(error, readEventIds(query), contains("event-1", "event-3"));
+    }
+
+    /**
+     * Test that events are selected by a range of values of an indexed field, combined with the value of another
+     * indexed field
+     */
+    @Test
+    public void queryRangeTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        CommonProperties properties = writeEvents(getProperties());
+
+        AuditQuery query = new AuditQuery(properties).addRange(TIMESTAMP_FIELD_NAME, getTimestamp(1), getTimestamp(4));
+
+        String error = "The events have not been selected by the range";
+        assertThat(error, readEventIds(query), contains("event-1", "event-2", "event-3"));
+
+        query.addField("subject", getSubject(0));
+        error = "The events have not been selected by the range and the indexed field";
+        assertThat(error, readEventIds(query), contains("event-2"));
+
+        query = new AuditQuery(properties).addRange(TIMESTAMP_FIELD_NAME, getTimestamp(3), null);
+        error = "The events have not been selected by the range without an upper bound";
+        assertThat(error, readEventIds(query), contains("event-3", "event-4"));
+    }
+
+    /**
+     * Test that the events of other audit streams are not selected
+     */
+    @Test
+    public void queryOtherStreamTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        CommonProperties properties = writeEvents(getProperties());
+
+        AuditQuery query = new AuditQuery(properties).setAuditStreamName("otherStream");
+
+        String error = "The events of another audit stream have been selected";
+        assertThat(error, readEventIds(query), is(empty()));
+    }
+
+    /**
+     * Test that the values of the query are normalized like the stored values
+     */
+    @Test
+    public void queryNormalizedFieldTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = getProperties();
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS_TO_LOWER, "true");
+        CommonProperties properties = writeEvents(props);
+
+        AuditQuery query = new AuditQuery(properties).addField("subject", getSubject(1).toUpperCase());
+
+        String error = "The value of the query has not been normalized";
+        assertThat(error, readEventIds(query), contains("event-1", "event-3"));
+    }
+
+    /**
+     * Test that events are selected in the indexed columns of the event table, if the indexed fields are stored in
+     * dedicated columns
+     */
+    @Test
+    public void queryIndexedColumnsTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        Map<String, String> props = getProperties();
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,timestamp:myActor");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS, "true");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS_TABLE, "wide_events");
+        CommonProperties properties = writeEvents(props);
+
+        AuditQuery query = new AuditQuery(properties).setPageSize(1)
+                .addField("subject", getSubject(0))
+                .addRange("myActor", getTimestamp(1), null);
+
+        String error = "The events have not been selected in the indexed columns";
+        assertThat(error, readEventIds(query), contains("event-2", "event-4"));
+    }
+
+    /**
+     * Test that only indexed columns can be selected, if the indexed fields are stored in dedicated columns
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void queryInvalidIndexedColumnTest() {
+
+        Map<String, String> props = getProperties();
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS, "true");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS_TABLE, "wide_events");
+
+        new AuditQuery(MapBasedCommonPropsBuilder.build(props)).addField("subject = subject OR 1", "x");
+    }
+
+    /**
+     * Test that an invalid table name is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void queryInvalidTableTest() {
+
+        new AuditQuery(MapBasedCommonPropsBuilder.build(getProperties())).setEventTable("events; DROP TABLE events");
+    }
+
+    /**
+     * Test that a statement error is reported as an {@link AuditException}
+     */
+    @Test(expected = AuditException.class)
+    public void queryMissingTableTest()
+            throws AuditException {
+
+        AuditQuery query = new AuditQuery(MapBasedCommonPropsBuilder.build(getProperties()))
+                .setEventTable("missing_events");
+        readEventIds(query);
+    }
+
+    /**
+     * Test the statements that read the first and the next pages
+     */
+    @Test
+    public void createSqlTest() {
+
+        AuditQuery query = new AuditQuery(MapBasedCommonPropsBuilder.build(getProperties()))
+                .setAuditStreamName("stream")
+                .addRange(TIMESTAMP_FIELD_NAME, "a", "b");
+
+        List<String> parameters = new ArrayList<>();
+        String error = "The statement of the first page is not correct";
+        assertThat(error, query.createSql(false, parameters), is(equalTo("SELECT e.eventId, e.auditStreamName, "
+                + "e.eventJson FROM events e INNER JOIN fields f0 ON f0.eventId = e.eventId AND f0.auditStreamName = "
+                + "e.auditStreamName AND f0.fieldName = ? AND f0.fieldValue >= ? AND f0.fieldValue < ? "
+                + "WHERE e.auditStreamName = ? ORDER BY e.eventId")));
+        error = "The parameters of the statement are not correct";
+        assertThat(error, parameters, contains(TIMESTAMP_FIELD_NAME, "a", "b", "stream"));
+
+        error = "The statement of the next pages is not correct";
+        assertThat(error, query.createSql(true, new ArrayList<String>()).endsWith(
+                "WHERE e.auditStreamName = ? AND e.eventId > ? ORDER BY e.eventId"), is(equalTo(true)));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Utility methods
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Produce the configuration of the processor that writes the events
+     */
+    private Map<String, String> getProperties() {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the DB configuration
+        props.put(MapBasedConnPropsBuilder.KEY_DRIVER, H2Server.DRIVER);
+        props.put(MapBasedConnPropsBuilder.KEY_URL, H2Server.URL);
+        props.put(MapBasedConnPropsBuilder.KEY_USERNAME, H2Server.USER);
+        props.put(MapBasedConnPropsBuilder.KEY_PASSWORD, H2Server.PASSWORD);
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, JdbcPoolProcessorTest.EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_INDEXED_FIELD_SQL_STMT,
+                "INSERT INTO fields (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject," + TIMESTAMP_FIELD_NAME);
+
+        return props;
+    }
+
+    /**
+     * Write the test events (in reverse order, to make sure that the results are ordered by the query)
+     */
+    private CommonProperties writeEvents(Map<String, String> props)
+            throws AuditException, UnsupportedEncodingException {
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(JdbcPoolProcessorTest.T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        Processor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+        for (int i = EVENT_COUNT - 1; i >= 0; i--) {
+
+            Field eventIdField = new EventField(JdbcPoolProcessorTest.EVENT_ID_FIELD_NAME,
+                    ("event-" + i).getBytes("UTF-8"));
+            processor.process(new EventBuilder(properties)
+                    .setField(eventIdField)
+                    .setSubject(getSubject(i).toCharArray())
+                    .setField(TIMESTAMP_FIELD_NAME, getTimestamp(i).toCharArray())
+                    .build());
+        }
+        processor.cleanUp();
+
+        return properties;
+    }
+
+    /**
+     * Test that the connection of a page is returned to the pool, even if the rows of the page cannot be closed
+     */
+    @Test
+    public void queryCloseFailureTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        CommonProperties properties = writeEvents(getProperties());
+
+        JdbcConnectionPool pool = getDataSource();
+        DataSource dataSource = wrap(pool, DataSource.class);
+
+        List<String> eventIds = new ArrayList<>();
+        AuditQuery query = new AuditQuery(properties).setPageSize(2);
+        try (AuditQueryResult result = query.execute(dataSource)) {
+            while (result.next()) {
+                eventIds.add(result.getEventId());
+            }
+        }
+
+        String error = "The events of the audit stream have not been read correctly";
+        assertThat(error, eventIds, contains("event-0", "event-1", "event-2", "event-3", "event-4"));
+        error = "The connections have not been returned to the pool";
+        assertThat(error, pool.getActiveConnections(), is(equalTo(0)));
+    }
+
+    /**
+     * Read the event IDs of the results of a query
+     */
+    private List<String> readEventIds(AuditQuery query)
+            throws AuditException {
+
+        List<String> eventIds = new ArrayList<>();
+        try (AuditQueryResult result = query.execute(getDataSource())) {
+            while (result.next()) {
+                eventIds.add(result.getEventId());
+            }
+        }
+
+        return eventIds;
+    }
+
+    /**
+     * Wrap a JDBC object, and the connections, statements, and result sets it returns, in a proxy whose result sets
+     * throw an exception when they are closed (after closing the underlying result set)
+     */
+    private static <T> T wrap(final Object target, final Class<T> type) {
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args)
+                    throws Throwable {
+
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+
+                if (type == ResultSet.class && "close".equals(method.getName())) {
+                    throw new SQLException("Cannot close the result set");
+                } else if (result instanceof Connection) {
+                    return wrap(result, Connection.class);
+                } else if (result instanceof PreparedStatement) {
+                    return wrap(result, PreparedStatement.class);
+                } else if (result instanceof ResultSet) {
+                    return wrap(result, ResultSet.class);
+                }
+                return result;
+            }
+        }));
+    }
+
+    /**
+     * Produce a data source for the in-memory database
+     */
+    private JdbcConnectionPool getDataSource() {
+
+        return JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+    }
+
+    /**
+     * Produce the subject of a test event (alternating between two subjects)
+     */
+    private String getSubject(int index) {
+
+        return "Subject-" + (index % 2);
+    }
+
+    /**
+     * Produce the timestamp of a test event (one day apart)
+     */
+    private String getTimestamp(int index) {
+
+        return "2016-01-0" + (index + 1) + "T00:00:00.000";
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class EventJsonDecoderTest {
+
+    /**
+     * Test that the fields of a serialized event are decoded in order
+     */
+    @Test
+    public void decodeTest() {
+
+        Map<String, String> fields = EventJsonDecoder.decode(JdbcPoolProcessorTest.T_EVENT_JSON);
+
+        String error = "The field names have not been decoded correctly";
+        assertThat(error, fields.keySet(), contains("actor", "result", JdbcPoolProcessorTest.EVENT_ID_FIELD_NAME,
+                "subject", "byteField", "object"));
+        error = "The field values have not been decoded correctly";
+        assertThat(error, fields.get("actor"), is(equalTo(JdbcPoolProcessorTest.T_ACTOR)));
+        assertThat(error, fields.get("result"), is(equalTo(JdbcPoolProcessorTest.T_RESULT)));
+        assertThat(error, fields.get("object"), is(equalTo(JdbcPoolProcessorTest.T_OBJECT)));
+    }
+
+    /**
+     * Test that values containing quotes, colons, and commas are decoded, as long as they do not contain the field
+     * separator
+     */
+    @Test
+    public void decodeSpecialCharactersTest() {
+
+        Map<String, String> fields = EventJsonDecoder.decode(
+                "{\"version\":\"1.0\",\"fields\":{\"a\":\"x\\\":\\\"y, \\\"z\\\"\",\"b\":\"\"}}");
+
+        String error = "The field value with special characters has not been decoded correctly";
+        assertThat(error, fields.get("a"), is(equalTo("x\\\":\\\"y, \\\"z\\\"")));
+        error = "The empty field value has not been decoded correctly";
+        assertThat(error, fields.get("b"), is(equalTo("")));
+    }
+
+    /**
+     * Test that an event without fields is decoded
+     */
+    @Test
+    public void decodeEmptyTest() {
+
+        String error = "The event without fields has not been decoded correctly";
+        assertThat(error, EventJsonDecoder.decode("{\"version\":\"1.0\",\"fields\":{}}").isEmpty(), is(equalTo(true)));
+    }
+
+    /**
+     * Test that a string that is not a serialized event is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeInvalidTest() {
+
+        EventJsonDecoder.decode("{\"fields\":{\"a\":\"b\"}}");
+    }
+
+    /**
+     * Test that a serialized event with a truncated field is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeTruncatedFieldTest() {
+
+        EventJsonDecoder.decode("{\"version\":\"1.0\",\"fields\":{\"a\"}}");
+    }
+}
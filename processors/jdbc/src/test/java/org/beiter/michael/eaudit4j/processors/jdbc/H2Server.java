@@ -58,6 +58,7 @@ public class H2Server {
 
     private static AtomicBoolean serverRunning = new AtomicBoolean(false);
     private static volatile Server server;
+    private static volatile Connection keepAlive;
 
     // prevent instantiation of this class
     private H2Server() {
@@ -81,7 +82,7 @@ public class H2Server {
         JdbcConnectionPool cp = JdbcConnectionPool.create(URL, USER, PASSWORD);
         Connection con = cp.getConnection();
 
-        String stmt = "DROP TABLE IF EXISTS events, fields";
+        String stmt = "DROP TABLE IF EXISTS events, fields, wide_events, binary_events";
         con.prepareStatement(stmt).execute();
 
         // create an event table that stores events, with the eventId indexed
@@ -103,6 +104,28 @@ public class H2Server {
                 + ")";
         con.prepareStatement(stmt).execute();
 
+        // create an event table that stores events with their searchable fields in dedicated columns ("wide row")
+        stmt = "CREATE TABLE wide_events ("
+                + " id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,"
+                + " eventId VARCHAR(16) NOT NULL UNIQUE,"
+                + " auditStreamName VARCHAR(32) NOT NULL,"
+                + " eventJson CLOB NOT NULL,"
+                + " subject VARCHAR(255),"
+                + " myActor VARCHAR(255),"
+                + " byteField VARCHAR(255),"
+                + " missingField VARCHAR(255)"
+                + ")";
+        con.prepareStatement(stmt).execute();
+
+        // create an event table that stores compressed events
+        stmt = "CREATE TABLE binary_events ("
+                + " id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,"
+                + " eventId VARCHAR(16) NOT NULL UNIQUE,"
+                + " auditStreamName VARCHAR(32) NOT NULL,"
+                + " eventJson BLOB NOT NULL"
+                + ")";
+        con.prepareStatement(stmt).execute();
+
         // create an few indexes to speed up search. Not really needed for the in-memory demo though :)
         stmt = "CREATE INDEX ON fields (eventId)";
         con.prepareStatement(stmt).execute();
@@ -169,13 +192,13 @@ public class H2Server {
         }
 
 
-        // connect to the DB (using the internal H2 connection pool) to trigger creation of an empty database owned by
-        // the correct user. The H2 documentation says that even if we throw the pool away immediately, using the pool
-        // is still faster than getting a direct connection with the driver manager...
-        JdbcConnectionPool cp = JdbcConnectionPool.create(URL, USER, PASSWORD);
-        Connection conn = cp.getConnection();
-        conn.close();
-        //cp.dispose(); // Closing the last connection to an H2 database destroys it. Hence, do not dispose the pool!
+        // connect to the DB to trigger creation of an empty database owned by the correct user, and keep that
+        // connection open: closing the last connection to an H2 in-memory database destroys it, and the idle
+        // connections of a pool that is no longer referenced may be closed at any time when the pool is collected.
+        if (keepAlive == null || keepAlive.isClosed()) {
+            JdbcConnectionPool cp = JdbcConnectionPool.create(URL, USER, PASSWORD);
+            keepAlive = cp.getConnection();
+        }
     }
 
     /**
@@ -189,6 +212,13 @@ public class H2Server {
         if (serverRunning.compareAndSet(true, false)) {
 
             LOG.info("Stopping the in-memory database server");
+            try {
+                if (keepAlive != null) {
+                    keepAlive.close();
+                }
+            } catch (SQLException e) {
+                LOG.warn("Cannot close the in-memory database connection", e);
+            }
             server.stop();
             LOG.info("In-memory database server stopped");
         } else
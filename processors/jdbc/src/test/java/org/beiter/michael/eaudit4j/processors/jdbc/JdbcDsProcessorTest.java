@@ -60,10 +60,14 @@ import javax.sql.DataSource;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThat;
@@ -73,6 +77,9 @@ public class JdbcDsProcessorTest {
     // The data source  configuration
     private static final String DS_NAME = "myDataSource";
 
+    // the URL of a second database, used to test that events are written to the data source provided with them
+    private static final String OTHER_URL = H2Server.URL + "_other";
+
     // a default field name and value for the event ID that we will use in this test
     public static final String EVENT_ID_FIELD_NAME = "eventId";
     public static final String EVENT_ID = "1234567890ABCDEF";
@@ -240,6 +247,267 @@ public class JdbcDsProcessorTest {
         audit.audit(event, T_AUDIT_STREAM_NAME, processingObjects);
     }
 
+    /**
+     * Test that, when the processor is configured to use group commit, the events of concurrent callers that provide
+     * different data sources are each persisted with the data source provided with them
+     */
+    @Test
+    public void groupCommitDataSourcesTest()
+            throws AuditException, SQLException, InterruptedException {
+
+        assertGroupCommitDataSources(false);
+    }
+
+    /**
+     * Test that, when the processor is configured to use group commit through a dedicated connection, the events of
+     * concurrent callers that provide different data sources are each persisted with the data source provided with them
+     */
+    @Test
+    public void groupCommitDedicatedConnectionDataSourcesTest()
+            throws AuditException, SQLException, InterruptedException {
+
+        assertGroupCommitDataSources(true);
+    }
+
+    /**
+     * Persist the events of two concurrent callers that provide different data sources with group commit, and assert
+     * that each event is persisted with the data source provided with it
+     *
+     * @param dedicatedConnection Whether the processor writes through a dedicated connection
+     */
+    private void assertGroupCommitDataSources(boolean dedicatedConnection)
+            throws AuditException, SQLException, InterruptedException {
+
+        // a second database, kept alive by an open connection for the duration of the test
+        JdbcConnectionPool otherCp = JdbcConnectionPool.create(OTHER_URL, H2Server.USER, H2Server.PASSWORD);
+        Connection otherCon = openOtherDatabase(otherCp);
+
+        try {
+            JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+            final ProcessingObjects[] processingObjects = {new ProcessingObjects(), new ProcessingObjects()};
+            processingObjects[0].add(DS_NAME, cp);
+            processingObjects[1].add(DS_NAME, otherCp);
+
+            Map<String, String> props = new HashMap<>();
+
+            // the JDBC Processor configuration
+            props.put(MapBasedJdbcPropsBuilder.KEY_DATA_SOURCE_NAME, DS_NAME);
+            props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+            props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                    "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+            props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "");
+            props.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT, "true");
+            props.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_EVENTS, "20");
+            props.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_DELAY, "50");
+            props.put(MapBasedJdbcPropsBuilder.KEY_DEDICATED_CONNECTION, String.valueOf(dedicatedConnection));
+
+            // the audit library common configuration
+            final CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+            properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+            properties.setEncoding("UTF-8");
+
+            final Processor processor = new JdbcDsProcessor();
+            processor.init(properties);
+
+            // every thread persists a number of events with its own data source
+            final int eventsPerThread = 25;
+            final AtomicInteger unexpectedErrors = new AtomicInteger();
+            final CountDownLatch startGate = new CountDownLatch(1);
+            final Thread[] threads = new Thread[processingObjects.length];
+            for (int t = 0; t < threads.length; t++) {
+                final int threadId = t;
+                threads[t] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+
+                        try {
+                            startGate.await();
+                            for (int i = 0; i < eventsPerThread; i++) {
+                                processor.process(getTestEvent(properties, "event-" + threadId + "-" + i),
+                                        T_AUDIT_STREAM_NAME, processingObjects[threadId]);
+                            }
+                        } catch (Exception e) {
+                            unexpectedErrors.incrementAndGet();
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            startGate.countDown();
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+            processor.cleanUp();
+
+            String error = "Valid events have failed";
+            assertThat(error, unexpectedErrors.get(), is(equalTo(0)));
+            error = "The events have not been written with the data source provided with them";
+            assertThat(error, countEvents(), is(equalTo(eventsPerThread)));
+            assertThat(error, countEvents(otherCon), is(equalTo(eventsPerThread)));
+        } finally {
+            otherCon.close();
+        }
+    }
+
+    /**
+     * Test that, when the processor is configured to use a dedicated connection, events that are provided with
+     * different data sources are each persisted with the data source provided with them
+     */
+    @Test
+    public void dedicatedConnectionDataSourcesTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        // a second database, kept alive by an open connection for the duration of the test
+        JdbcConnectionPool otherCp = JdbcConnectionPool.create(OTHER_URL, H2Server.USER, H2Server.PASSWORD);
+        Connection otherCon = openOtherDatabase(otherCp);
+
+        try {
+            JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+            ProcessingObjects[] processingObjects = {new ProcessingObjects(), new ProcessingObjects()};
+            processingObjects[0].add(DS_NAME, cp);
+            processingObjects[1].add(DS_NAME, otherCp);
+
+            Map<String, String> props = new HashMap<>();
+
+            // the JDBC Processor configuration
+            props.put(MapBasedJdbcPropsBuilder.KEY_DATA_SOURCE_NAME, DS_NAME);
+            props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+            props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                    "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+            props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "");
+            props.put(MapBasedJdbcPropsBuilder.KEY_DEDICATED_CONNECTION, "true");
+
+            // the audit library common configuration
+            CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+            properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+            properties.setEncoding("UTF-8");
+
+            Processor processor = new JdbcDsProcessor();
+            processor.init(properties);
+
+            // alternate between the data sources
+            for (int i = 0; i < 6; i++) {
+                processor.process(getTestEvent(properties, "event-" + i), T_AUDIT_STREAM_NAME,
+                        processingObjects[i % 2]);
+            }
+            processor.cleanUp();
+
+            String error = "The events have not been written with the data source provided with them";
+            assertThat(error, countEvents(), is(equalTo(3)));
+            assertThat(error, countEvents(otherCon), is(equalTo(3)));
+        } finally {
+            otherCon.close();
+        }
+    }
+
+    /**
+     * Test that the data source provided with an event is not used for the events that come without a data source
+     */
+    @Test(expected = AuditException.class)
+    public void providedDataSourceNotRetainedTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        // get a data source and add it to the ProcessingObjects
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(DS_NAME, cp);
+
+        CommonProperties properties = getDataSourceProperties();
+
+        Processor processor = new JdbcDsProcessor();
+        processor.init(properties);
+
+        processor.process(getTestEvent(properties, "event-1"), T_AUDIT_STREAM_NAME, processingObjects);
+        processor.process(getTestEvent(properties, "event-2"), T_AUDIT_STREAM_NAME, new ProcessingObjects());
+    }
+
+    /**
+     * Test that a registered data source is used for the events that come without a data source, also after the
+     * processor has been re-initialized
+     */
+    @Test
+    public void registeredDataSourceTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        // get a data source and register it with the processor
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+
+        CommonProperties properties = getDataSourceProperties();
+
+        JdbcDsProcessor processor = new JdbcDsProcessor();
+        processor.setDataSource(DS_NAME, cp);
+        processor.init(properties);
+
+        processor.process(getTestEvent(properties, "event-1"), T_AUDIT_STREAM_NAME, new ProcessingObjects());
+        processor.process(getTestEvent(properties, "event-2"));
+
+        processor.cleanUp();
+        processor.init(properties);
+        processor.process(getTestEvent(properties, "event-3"));
+
+        String error = "The events have not been written with the registered data source";
+        assertThat(error, countEvents(), is(equalTo(3)));
+    }
+
+    /**
+     * Test that a data source provided with an event takes precedence over a registered data source
+     */
+    @Test
+    public void registeredDataSourcePrecedenceTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        // get a data source and add it to the ProcessingObjects, and register an invalid data source
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        ProcessingObjects processingObjects = new ProcessingObjects();
+        processingObjects.add(DS_NAME, cp);
+        JdbcConnectionPool invalidCp = JdbcConnectionPool.create(H2Server.URL + "_INVALID;IFEXISTS=TRUE",
+                H2Server.USER, H2Server.PASSWORD);
+
+        CommonProperties properties = getDataSourceProperties();
+
+        JdbcDsProcessor processor = new JdbcDsProcessor();
+        processor.setDataSource(DS_NAME, invalidCp);
+        processor.init(properties);
+
+        processor.process(getTestEvent(properties, "event-1"), T_AUDIT_STREAM_NAME, processingObjects);
+
+        String error = "The event has not been written with the provided data source";
+        assertThat(error, countEvents(), is(equalTo(1)));
+    }
+
+    /**
+     * Test that a removed registration is no longer used
+     */
+    @Test(expected = AuditException.class)
+    public void registeredDataSourceRemoveTest()
+            throws AuditException, UnsupportedEncodingException {
+
+        // get a data source and register it with the processor
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+
+        CommonProperties properties = getDataSourceProperties();
+
+        JdbcDsProcessor processor = new JdbcDsProcessor();
+        processor.setDataSource(DS_NAME, cp);
+        processor.init(properties);
+
+        processor.process(getTestEvent(properties, "event-1"));
+        processor.setDataSource(DS_NAME, null);
+        processor.process(getTestEvent(properties, "event-2"));
+    }
+
+    /**
+     * Test that a data source cannot be registered without a name
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void registeredDataSourceBlankNameTest() {
+
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+
+        JdbcDsProcessor processor = new JdbcDsProcessor();
+        processor.setDataSource(" ", cp);
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Clean up tests
     ///////////////////////////////////////////////////////////////////////////
@@ -266,8 +534,16 @@ public class JdbcDsProcessorTest {
      */
     private Event getTestEvent(CommonProperties properties) throws UnsupportedEncodingException {
 
+        return getTestEvent(properties, EVENT_ID);
+    }
+
+    /**
+     * Produce a test event with a specific event ID
+     */
+    private Event getTestEvent(CommonProperties properties, String eventId) throws UnsupportedEncodingException {
+
         // the event ID is required for this processor to work
-        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, EVENT_ID.getBytes("UTF-8"));
+        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, eventId.getBytes("UTF-8"));
 
         // test data
         Field field = new EventField("byteField", new Hex().encode("1234".getBytes("UTF-8")), Encodings.HEX);
@@ -282,4 +558,69 @@ public class JdbcDsProcessorTest {
                 .setField(field)
                 .build();
     }
+
+    /**
+     * Produce a processor configuration that connects through the test data source name
+     */
+    private CommonProperties getDataSourceProperties() {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_DATA_SOURCE_NAME, DS_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "");
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        return properties;
+    }
+
+    /**
+     * Create the event table in the second database, and return a connection that keeps the database alive
+     */
+    private Connection openOtherDatabase(DataSource otherDs) throws SQLException {
+
+        Connection otherCon = otherDs.getConnection();
+        otherCon.prepareStatement("DROP TABLE IF EXISTS events").execute();
+        otherCon.prepareStatement("CREATE TABLE events ("
+                + " id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,"
+                + " eventId VARCHAR(16) NOT NULL UNIQUE,"
+                + " auditStreamName VARCHAR(32) NOT NULL,"
+                + " eventJson CLOB NOT NULL"
+                + ")").execute();
+
+        return otherCon;
+    }
+
+    /**
+     * Count the events in the event table of the database of a connection
+     */
+    private int countEvents(Connection con) throws SQLException {
+
+        ResultSet rs = con.prepareStatement("SELECT COUNT(*) FROM events").executeQuery();
+        rs.next();
+        return rs.getInt(1);
+    }
+
+    /**
+     * Count the events in the event table
+     */
+    private int countEvents() throws SQLException {
+
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        Connection con = cp.getConnection();
+
+        ResultSet rs = con.prepareStatement("SELECT COUNT(*) FROM events").executeQuery();
+        rs.next();
+        int count = rs.getInt(1);
+
+        con.close();
+        return count;
+    }
 }
@@ -49,19 +49,24 @@ import org.beiter.michael.eaudit4j.common.impl.EventBuilder;
 import org.beiter.michael.eaudit4j.common.impl.EventField;
 import org.beiter.michael.eaudit4j.common.propsbuilder.MapBasedCommonPropsBuilder;
 import org.beiter.michael.eaudit4j.processors.jdbc.propsbuilder.MapBasedJdbcPropsBuilder;
+import org.h2.jdbcx.JdbcConnectionPool;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import javax.naming.Context;
+import javax.naming.InitialContext;
 import javax.naming.NamingException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -214,6 +219,77 @@ public class JdbcJndiProcessorTest {
         audit.audit(event);
     }
 
+    /**
+     * Test that the events are written through the data source resolved during initialization
+     */
+    @Test
+    public void resolvedDataSourceTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_JNDI_CONNECTION_NAME, JNDI_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "");
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        Processor processor = new JdbcJndiProcessor();
+        processor.init(properties);
+
+        processor.process(getTestEvent(properties, "event-1"));
+        processor.process(getTestEvent(properties, "event-2"));
+
+        String error = "The events have not been written through the resolved data source";
+        assertThat(error, countEvents(), is(equalTo(2)));
+        processor.cleanUp();
+    }
+
+    /**
+     * Test that a JNDI name that is bound after the initialization is looked up when the events are written
+     */
+    @Test
+    public void lateBoundJndiNameTest()
+            throws AuditException, UnsupportedEncodingException, SQLException, NamingException {
+
+        String jndiName = JNDI_NAME + "_LATE";
+
+        Map<String, String> props = new HashMap<>();
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_JNDI_CONNECTION_NAME, jndiName);
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "");
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        Processor processor = new JdbcJndiProcessor();
+        processor.init(properties);
+
+        // bind the name after the processor has been initialized
+        Context context = new InitialContext();
+        context.bind(jndiName, JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD));
+        try {
+            processor.process(getTestEvent(properties, "event-1"));
+        } finally {
+            context.unbind(jndiName);
+        }
+
+        String error = "The event has not been written through the late bound data source";
+        assertThat(error, countEvents(), is(equalTo(1)));
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Clean up tests
     ///////////////////////////////////////////////////////////////////////////
@@ -240,8 +316,16 @@ public class JdbcJndiProcessorTest {
      */
     private Event getTestEvent(CommonProperties properties) throws UnsupportedEncodingException {
 
+        return getTestEvent(properties, EVENT_ID);
+    }
+
+    /**
+     * Produce a test event with a specific event ID
+     */
+    private Event getTestEvent(CommonProperties properties, String eventId) throws UnsupportedEncodingException {
+
         // the event ID is required for this processor to work
-        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, EVENT_ID.getBytes("UTF-8"));
+        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, eventId.getBytes("UTF-8"));
 
         // test data
         Field field = new EventField("byteField", new Hex().encode("1234".getBytes("UTF-8")), Encodings.HEX);
@@ -256,4 +340,20 @@ public class JdbcJndiProcessorTest {
                 .setField(field)
                 .build();
     }
+
+    /**
+     * Count the events in the event table
+     */
+    private int countEvents() throws SQLException {
+
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        Connection con = cp.getConnection();
+
+        ResultSet rs = con.prepareStatement("SELECT COUNT(*) FROM events").executeQuery();
+        rs.next();
+        int count = rs.getInt(1);
+
+        con.close();
+        return count;
+    }
 }
@@ -44,6 +44,7 @@ import org.beiter.michael.eaudit4j.common.Encodings;
 import org.beiter.michael.eaudit4j.common.Event;
 import org.beiter.michael.eaudit4j.common.FactoryException;
 import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.PayloadCodec;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.impl.EventBuilder;
 import org.beiter.michael.eaudit4j.common.impl.EventField;
@@ -59,15 +60,23 @@ import org.junit.Test;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class JdbcPoolProcessorTest {
@@ -751,6 +760,517 @@ public class JdbcPoolProcessorTest {
     // Clean up tests
     ///////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Test that, when the processor is configured to use a dedicated connection, events and fields are inserted through
+     * that connection, that a failed transaction does not affect subsequent events, and that the connection is released
+     * when the processor is cleaned up.
+     */
+    @Test
+    public void dedicatedConnectionInsertTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the DB configuration
+        props.put(MapBasedConnPropsBuilder.KEY_DRIVER, H2Server.DRIVER);
+        props.put(MapBasedConnPropsBuilder.KEY_URL, H2Server.URL);
+        props.put(MapBasedConnPropsBuilder.KEY_USERNAME, H2Server.USER);
+        props.put(MapBasedConnPropsBuilder.KEY_PASSWORD, H2Server.PASSWORD);
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_INDEXED_FIELD_SQL_STMT,
+                "INSERT INTO fields (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor,byteField");
+        props.put(MapBasedJdbcPropsBuilder.KEY_DEDICATED_CONNECTION, "true");
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        Processor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+
+        processor.process(getTestEvent(properties, "event-1"));
+        processor.process(getTestEvent(properties, "event-2"));
+
+        // a duplicate event ID violates the unique constraint, and the transaction must be rolled back
+        try {
+            processor.process(getTestEvent(properties, "event-2"));
+            throw new AssertionError("A duplicate event has been persisted");
+        } catch (AuditException e) {
+            String error = "The error condition does not match the expected value";
+            assertThat(error, e.getErrorCondition(), is(equalTo(AuditErrorConditions.PROCESSING)));
+        }
+
+        // the processor must recover from the failed transaction
+        processor.process(getTestEvent(properties, "event-3"));
+        processor.cleanUp();
+
+        // assert that the audit operation was successful - count the rows in the DB!
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        Connection con = cp.getConnection();
+
+        ResultSet rs = con.prepareStatement("SELECT COUNT(*) FROM events").executeQuery();
+        rs.next();
+        String error = "The event table does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(3)));
+
+        rs = con.prepareStatement("SELECT COUNT(*) FROM fields").executeQuery();
+        rs.next();
+        error = "The fields table does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(9)));
+
+        con.close();
+    }
+
+    /**
+     * Test that, when the processor is configured to store the indexed fields in dedicated columns, every event is
+     * written as a single row with the indexed field values (and {@code NULL} for missing fields), and that the indexed
+     * fields table is not used.
+     */
+    @Test
+    public void indexedColumnsInsertTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the DB configuration
+        props.put(MapBasedConnPropsBuilder.KEY_DRIVER, H2Server.DRIVER);
+        props.put(MapBasedConnPropsBuilder.KEY_URL, H2Server.URL);
+        props.put(MapBasedConnPropsBuilder.KEY_USERNAME, H2Server.USER);
+        props.put(MapBasedConnPropsBuilder.KEY_PASSWORD, H2Server.PASSWORD);
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor,byteField,missingField");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS, "true");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS_TABLE, "wide_events");
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        Processor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+        processor.process(getTestEvent(properties));
+        processor.cleanUp();
+
+        // assert that the audit operation was successful - check the row in the DB!
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        Connection con = cp.getConnection();
+
+        ResultSet rs = con.prepareStatement("SELECT COUNT(*) FROM wide_events").executeQuery();
+        rs.next();
+        String error = "The event table does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(1)));
+
+        rs = con.prepareStatement("SELECT eventId, auditStreamName, eventJson, subject, myActor, byteField, "
+                + "missingField FROM wide_events").executeQuery();
+        rs.next();
+        error = "The event ID column does not have the correct value";
+        assertThat(error, rs.getString(1), is(equalTo(EVENT_ID)));
+        error = "The audit stream name column does not have the correct value";
+        assertThat(error, rs.getString(2), is(equalTo(T_AUDIT_STREAM_NAME)));
+        error = "The event column does not have the correct value";
+        assertThat(error, rs.getString(3), is(equalTo(T_EVENT_JSON)));
+        for (int i = 0; i < T_FIELD_NAMES.length; i++) {
+            error = "The indexed column '" + T_FIELD_NAMES[i] + "' does not have the correct value";
+            assertThat(error, rs.getString(4 + i), is(equalTo(T_FIELD_VALUES[i])));
+        }
+        error = "The indexed column of a field that is not present in the event is not NULL";
+        assertThat(error, rs.getString(7), is(nullValue()));
+
+        rs = con.prepareStatement("SELECT COUNT(*) FROM fields").executeQuery();
+        rs.next();
+        error = "The fields table has been used";
+        assertThat(error, rs.getInt(1), is(equalTo(0)));
+
+        con.close();
+    }
+
+    /**
+     * Test that, when the processor is configured to use group commit, the events of many concurrent callers are
+     * persisted with their indexed fields, that a failing event in a shared transaction only fails its own caller, and
+     * that the processor keeps working after being cleaned up.
+     */
+    @Test
+    public void groupCommitInsertTest()
+            throws AuditException, UnsupportedEncodingException, SQLException, InterruptedException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the DB configuration
+        props.put(MapBasedConnPropsBuilder.KEY_DRIVER, H2Server.DRIVER);
+        props.put(MapBasedConnPropsBuilder.KEY_URL, H2Server.URL);
+        props.put(MapBasedConnPropsBuilder.KEY_USERNAME, H2Server.USER);
+        props.put(MapBasedConnPropsBuilder.KEY_PASSWORD, H2Server.PASSWORD);
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_INDEXED_FIELD_SQL_STMT,
+                "INSERT INTO fields (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor,byteField");
+        props.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT, "true");
+        props.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_EVENTS, "20");
+        props.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_DELAY, "50");
+
+        // the audit library common configuration
+        final CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        final Processor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+
+        processor.process(getTestEvent(properties, "event-duplicate"));
+
+        // every thread persists a number of events, and the first thread additionally re-submits the duplicate
+        final int threadCount = 8;
+        final int eventsPerThread = 25;
+        final AtomicInteger processingErrors = new AtomicInteger();
+        final AtomicInteger unexpectedErrors = new AtomicInteger();
+        final CountDownLatch startGate = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int threadId = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+
+                    try {
+                        startGate.await();
+                        for (int i = 0; i < eventsPerThread; i++) {
+                            if (threadId == 0 && i == eventsPerThread / 2) {
+                                try {
+                                    processor.process(getTestEvent(properties, "event-duplicate"));
+                                } catch (AuditException e) {
+                                    if (e.getErrorCondition() == AuditErrorConditions.PROCESSING) {
+                                        processingErrors.incrementAndGet();
+                                    }
+                                }
+                            }
+                            processor.process(getTestEvent(properties, "event-" + threadId + "-" + i));
+                        }
+                    } catch (Exception e) {
+                        unexpectedErrors.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        startGate.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        String error = "Valid events have failed in a shared transaction";
+        assertThat(error, unexpectedErrors.get(), is(equalTo(0)));
+        error = "The duplicate event has not failed with the expected error condition";
+        assertThat(error, processingErrors.get(), is(equalTo(1)));
+
+        // after clean up, events are persisted in a transaction of their own
+        processor.cleanUp();
+        processor.process(getTestEvent(properties, "event-cleanup"));
+
+        // assert that the audit operation was successful - count the rows in the DB!
+        final int expectedEvents = threadCount * eventsPerThread + 2;
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        Connection con = cp.getConnection();
+
+        ResultSet rs = con.prepareStatement("SELECT COUNT(*) FROM events").executeQuery();
+        rs.next();
+        error = "The event table does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(expectedEvents)));
+
+        rs = con.prepareStatement("SELECT COUNT(*) FROM fields").executeQuery();
+        rs.next();
+        error = "The fields table does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(expectedEvents * 3)));
+
+        con.close();
+    }
+
+    /**
+     * Test that, when the tables are partitioned by day, the events are written to the tables of the current day, the
+     * tables of the next day are created ahead of time, and the expired tables are dropped (including tables that
+     * expired long before the processor was initialized).
+     */
+    @Test
+    public void partitionedInsertTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        long now = System.currentTimeMillis();
+        String today = getDayLabel(now, 0);
+        String tomorrow = getDayLabel(now, 1);
+        String yesterday = getDayLabel(now, -1);
+        String expired = getDayLabel(now, -3);
+        String expiredLongAgo = getDayLabel(now, -30);
+
+        String createSql = "CREATE TABLE IF NOT EXISTS events_{partition} ("
+                + " eventId VARCHAR(16) NOT NULL UNIQUE, auditStreamName VARCHAR(32) NOT NULL,"
+                + " eventJson CLOB NOT NULL);"
+                + "CREATE TABLE IF NOT EXISTS fields_{partition} ("
+                + " eventId VARCHAR(16) NOT NULL, auditStreamName VARCHAR(32) NOT NULL,"
+                + " fieldName VARCHAR(128) NOT NULL, fieldValue VARCHAR(255) NOT NULL)";
+        String dropSql = "DROP TABLE IF EXISTS events_{partition}; DROP TABLE IF EXISTS fields_{partition}";
+
+        // the tables of the previous days (one within the retention, two expired)
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        Connection con = cp.getConnection();
+        for (String day : Arrays.asList(yesterday, expired, expiredLongAgo)) {
+            for (String stmt : createSql.split(";")) {
+                con.prepareStatement(stmt.replace("{partition}", day)).execute();
+            }
+        }
+
+        Map<String, String> props = new HashMap<>();
+
+        // the DB configuration
+        props.put(MapBasedConnPropsBuilder.KEY_DRIVER, H2Server.DRIVER);
+        props.put(MapBasedConnPropsBuilder.KEY_URL, H2Server.URL);
+        props.put(MapBasedConnPropsBuilder.KEY_USERNAME, H2Server.USER);
+        props.put(MapBasedConnPropsBuilder.KEY_PASSWORD, H2Server.PASSWORD);
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events_{partition} (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_INDEXED_FIELD_SQL_STMT,
+                "INSERT INTO fields_{partition} (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor,byteField");
+        props.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONING, "daily");
+        props.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONS_AHEAD, "1");
+        props.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_RETENTION, "2");
+        props.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_CREATE_SQL_STMTS, createSql);
+        props.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_DROP_SQL_STMTS, dropSql);
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        Processor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+        processor.process(getTestEvent(properties));
+        processor.process(getTestEvent(properties, "event-2"));
+        processor.cleanUp();
+
+        // assert that the audit operation was successful - check the partitions in the DB!
+        ResultSet rs = con.prepareStatement("SELECT COUNT(*) FROM events_" + today).executeQuery();
+        rs.next();
+        String error = "The event table of the current day does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(2)));
+
+        rs = con.prepareStatement("SELECT COUNT(*) FROM fields_" + today).executeQuery();
+        rs.next();
+        error = "The fields table of the current day does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(2 * T_FIELD_NAMES.length)));
+
+        error = "The tables of the next day have not been created ahead of time";
+        assertThat(error, tableExists(con, "events_" + tomorrow), is(equalTo(true)));
+        assertThat(error, tableExists(con, "fields_" + tomorrow), is(equalTo(true)));
+
+        error = "The tables of the previous day have been dropped within the retention";
+        assertThat(error, tableExists(con, "events_" + yesterday), is(equalTo(true)));
+
+        error = "The expired tables have not been dropped";
+        assertThat(error, tableExists(con, "events_" + expired), is(equalTo(false)));
+        assertThat(error, tableExists(con, "fields_" + expired), is(equalTo(false)));
+
+        error = "The tables that expired long before the processor was initialized have not been dropped";
+        assertThat(error, tableExists(con, "events_" + expiredLongAgo), is(equalTo(false)));
+        assertThat(error, tableExists(con, "fields_" + expiredLongAgo), is(equalTo(false)));
+
+        error = "The unpartitioned tables have been used";
+        rs = con.prepareStatement("SELECT COUNT(*) FROM events").executeQuery();
+        rs.next();
+        assertThat(error, rs.getInt(1), is(equalTo(0)));
+
+        // clean up the partitions, these are not dropped by the database initialization
+        for (String day : Arrays.asList(today, tomorrow, yesterday)) {
+            for (String stmt : dropSql.split(";")) {
+                con.prepareStatement(stmt.replace("{partition}", day)).execute();
+            }
+        }
+
+        con.close();
+    }
+
+    /**
+     * Test that, when payload compression is enabled, the events are stored as compressed binary data that decodes to
+     * the serialized event, and that the indexed fields are still stored as text.
+     */
+    @Test
+    public void compressedInsertTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the DB configuration
+        props.put(MapBasedConnPropsBuilder.KEY_DRIVER, H2Server.DRIVER);
+        props.put(MapBasedConnPropsBuilder.KEY_URL, H2Server.URL);
+        props.put(MapBasedConnPropsBuilder.KEY_USERNAME, H2Server.USER);
+        props.put(MapBasedConnPropsBuilder.KEY_PASSWORD, H2Server.PASSWORD);
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO binary_events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_INDEXED_FIELD_SQL_STMT,
+                "INSERT INTO fields (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor,byteField");
+        props.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_COMPRESSION, "true");
+        props.put(MapBasedCommonPropsBuilder.KEY_PAYLOAD_DICTIONARY, T_SUBJECT + "," + T_OBJECT);
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(props);
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        Processor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+        processor.process(getTestEvent(properties));
+        processor.cleanUp();
+
+        // assert that the audit operation was successful - check the row in the DB!
+        JdbcConnectionPool cp = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD);
+        Connection con = cp.getConnection();
+
+        ResultSet rs = con.prepareStatement("SELECT eventId, eventJson FROM binary_events").executeQuery();
+        rs.next();
+        String error = "The event ID column does not have the correct value";
+        assertThat(error, rs.getString(1), is(equalTo(EVENT_ID)));
+        byte[] payload = rs.getBytes(2);
+        error = "The event has not been stored compressed";
+        assertThat(error, PayloadCodec.isEncoded(payload), is(equalTo(true)));
+        error = "The compressed event does not decode to the serialized event";
+        assertThat(error, new PayloadCodec(properties).decode(payload), is(equalTo(T_EVENT_JSON)));
+
+        rs = con.prepareStatement("SELECT COUNT(*) FROM fields").executeQuery();
+        rs.next();
+        error = "The fields table does not have the correct number of rows";
+        assertThat(error, rs.getInt(1), is(equalTo(T_FIELD_NAMES.length)));
+
+        con.close();
+    }
+
+    /**
+     * Test that, when the events are distributed over two shards, every event is written to the database of the shard
+     * it is routed to, with its indexed fields.
+     */
+    @Test
+    public void shardedInsertTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        String shardUrl = "jdbc:h2:mem:h2test_shard1;DB_CLOSE_DELAY=-1";
+        Connection shardCon = JdbcConnectionPool.create(shardUrl, H2Server.USER, H2Server.PASSWORD).getConnection();
+        createShardTables(shardCon);
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(getShardedProperties(shardUrl));
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        ShardRouter router = new ShardRouter(2, ShardRouter.EVENT_ID);
+        int[] expected = new int[2];
+
+        JdbcPoolProcessor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+        for (int i = 0; i < 20; i++) {
+            String eventId = "event-" + i;
+            processor.process(getTestEvent(properties, eventId));
+            expected[router.route(eventId, T_AUDIT_STREAM_NAME)]++;
+        }
+        processor.cleanUp();
+
+        String error = "The processor does not have the configured number of shards";
+        assertThat(error, processor.getShardCount(), is(equalTo(2)));
+        error = "The test events have not been routed to both shards";
+        assertThat(error, expected[0] > 0 && expected[1] > 0, is(equalTo(true)));
+
+        // assert that the audit operation was successful - check the rows in both DBs!
+        Connection con = JdbcConnectionPool.create(H2Server.URL, H2Server.USER, H2Server.PASSWORD).getConnection();
+        Connection[] cons = {con, shardCon};
+        for (int i = 0; i < cons.length; i++) {
+            ResultSet rs = cons[i].prepareStatement("SELECT COUNT(*) FROM events").executeQuery();
+            rs.next();
+            error = "The event table of shard " + i + " does not have the correct number of rows";
+            assertThat(error, rs.getInt(1), is(equalTo(expected[i])));
+
+            rs = cons[i].prepareStatement("SELECT COUNT(*) FROM fields").executeQuery();
+            rs.next();
+            error = "The fields table of shard " + i + " does not have the correct number of rows";
+            assertThat(error, rs.getInt(1), is(equalTo(expected[i] * T_FIELD_NAMES.length)));
+
+            error = "Shard " + i + " is not healthy";
+            assertThat(error, processor.isShardHealthy(i), is(equalTo(true)));
+        }
+
+        shardCon.prepareStatement("DROP TABLE IF EXISTS events, fields").execute();
+        shardCon.close();
+        con.close();
+    }
+
+    /**
+     * Test that the health of the shards is tracked independently: a failing shard does not affect the other shard,
+     * and becomes healthy again with the next successful transaction.
+     */
+    @Test
+    public void shardHealthTest()
+            throws AuditException, UnsupportedEncodingException, SQLException {
+
+        // the tables of the second shard do not exist yet
+        String shardUrl = "jdbc:h2:mem:h2test_shard2;DB_CLOSE_DELAY=-1";
+        Connection shardCon = JdbcConnectionPool.create(shardUrl, H2Server.USER, H2Server.PASSWORD).getConnection();
+
+        // the audit library common configuration
+        CommonProperties properties = MapBasedCommonPropsBuilder.build(getShardedProperties(shardUrl));
+        properties.setDefaultAuditStream(T_AUDIT_STREAM_NAME);
+        properties.setEncoding("UTF-8");
+
+        // find an event ID for every shard
+        ShardRouter router = new ShardRouter(2, ShardRouter.EVENT_ID);
+        String[] eventIds = new String[2];
+        for (int i = 0; eventIds[0] == null || eventIds[1] == null; i++) {
+            eventIds[router.route("event-" + i, T_AUDIT_STREAM_NAME)] = "event-" + i;
+        }
+
+        JdbcPoolProcessor processor = new JdbcPoolProcessor();
+        processor.init(properties);
+
+        try {
+            processor.process(getTestEvent(properties, eventIds[1]));
+            throw new AssertionError("Expected an exception, but that exception was not thrown");
+        } catch (AuditException e) {
+            String error = "The type of exception thrown is not correct";
+            assertThat(error, e.getErrorCondition(), is(equalTo(AuditErrorConditions.PROCESSING)));
+        }
+
+        String error = "The failing shard is healthy";
+        assertThat(error, processor.isShardHealthy(1), is(equalTo(false)));
+        assertThat(error, processor.getShardFailures(1), is(equalTo(1)));
+
+        processor.process(getTestEvent(properties, eventIds[0]));
+        error = "The failing shard affects the other shard";
+        assertThat(error, processor.isShardHealthy(0), is(equalTo(true)));
+
+        createShardTables(shardCon);
+        processor.process(getTestEvent(properties, eventIds[1]));
+        error = "The shard has not become healthy again";
+        assertThat(error, processor.isShardHealthy(1), is(equalTo(true)));
+        processor.cleanUp();
+
+        shardCon.prepareStatement("DROP TABLE IF EXISTS events, fields").execute();
+        shardCon.close();
+    }
+
     /**
      * Clean up test
      *
@@ -773,8 +1293,16 @@ public class JdbcPoolProcessorTest {
      */
     private Event getTestEvent(CommonProperties properties) throws UnsupportedEncodingException {
 
+        return getTestEvent(properties, EVENT_ID);
+    }
+
+    /**
+     * Produce a test event with the provided event ID
+     */
+    private Event getTestEvent(CommonProperties properties, String eventId) throws UnsupportedEncodingException {
+
         // the event ID is required for this processor to work
-        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, EVENT_ID.getBytes("UTF-8"));
+        Field eventIdField = new EventField(EVENT_ID_FIELD_NAME, eventId.getBytes("UTF-8"));
 
         // test data
         Field field = new EventField("byteField", new Hex().encode("1234".getBytes("UTF-8")), Encodings.HEX);
@@ -789,4 +1317,67 @@ public class JdbcPoolProcessorTest {
                 .setField(field)
                 .build();
     }
+
+    /**
+     * Produce the label of the daily partition of a day, relative to the provided time
+     */
+    private String getDayLabel(long now, int days) {
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd", Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(now + days * 24L * 60 * 60 * 1000));
+    }
+
+    /**
+     * Check whether a table exists
+     */
+    private boolean tableExists(Connection con, String table) throws SQLException {
+
+        PreparedStatement ps = con.prepareStatement(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = ?");
+        ps.setString(1, table.toUpperCase(Locale.ROOT));
+        ResultSet rs = ps.executeQuery();
+        rs.next();
+        return rs.getInt(1) > 0;
+    }
+
+    /**
+     * Produce the configuration of a processor that distributes the events over the test database (shard 0) and the
+     * provided database (shard 1)
+     */
+    private Map<String, String> getShardedProperties(String shardUrl) {
+
+        Map<String, String> props = new HashMap<>();
+
+        // the DB configuration
+        props.put(MapBasedConnPropsBuilder.KEY_DRIVER, H2Server.DRIVER);
+        props.put(MapBasedConnPropsBuilder.KEY_URL, H2Server.URL);
+        props.put(MapBasedConnPropsBuilder.KEY_USERNAME, H2Server.USER);
+        props.put(MapBasedConnPropsBuilder.KEY_PASSWORD, H2Server.PASSWORD);
+        props.put(MapBasedJdbcPropsBuilder.KEY_SHARD_PREFIX + "1." + MapBasedConnPropsBuilder.KEY_URL, shardUrl);
+
+        // the JDBC Processor configuration
+        props.put(MapBasedJdbcPropsBuilder.KEY_EVENT_ID_FIELD_NAME, EVENT_ID_FIELD_NAME);
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_EVENT_SQL_STMT,
+                "INSERT INTO events (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INSERT_INDEXED_FIELD_SQL_STMT,
+                "INSERT INTO fields (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)");
+        props.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_FIELDS, "subject,actor:myActor,byteField");
+        props.put(MapBasedJdbcPropsBuilder.KEY_SHARDS, "2");
+
+        return props;
+    }
+
+    /**
+     * Create the event and fields tables in the database of a shard
+     */
+    private void createShardTables(Connection con) throws SQLException {
+
+        con.prepareStatement("CREATE TABLE IF NOT EXISTS events ("
+                + " eventId VARCHAR(16) NOT NULL UNIQUE, auditStreamName VARCHAR(32) NOT NULL,"
+                + " eventJson CLOB NOT NULL)").execute();
+        con.prepareStatement("CREATE TABLE IF NOT EXISTS fields ("
+                + " eventId VARCHAR(16) NOT NULL, auditStreamName VARCHAR(32) NOT NULL,"
+                + " fieldName VARCHAR(128) NOT NULL, fieldValue VARCHAR(255) NOT NULL)").execute();
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PartitionSchemeTest {
+
+    /**
+     * 2016-01-06 (a Wednesday) 12:00 UTC
+     */
+    private static final long WEDNESDAY = 1452081600000L;
+
+    /**
+     * 2016-01-10 (a Sunday) 23:59 UTC
+     */
+    private static final long SUNDAY = 1452470340000L;
+
+    /**
+     * 2016-01-11 (a Monday) 00:00 UTC
+     */
+    private static final long MONDAY = 1452470400000L;
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO events_{stream}_{partition} (eventId, auditStreamName, eventJson) VALUES (?, ?, ?)";
+
+    private static final String INSERT_FIELD_SQL =
+            "INSERT INTO fields_{partition} (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)";
+
+    /**
+     * Test that the supported partitioning modes are recognized
+     */
+    @Test
+    public void supportedModesTest() {
+
+        String error = "A supported partitioning mode is not recognized";
+        assertThat(error, PartitionScheme.isSupported("none"), is(equalTo(true)));
+        assertThat(error, PartitionScheme.isSupported("daily"), is(equalTo(true)));
+        assertThat(error, PartitionScheme.isSupported("WEEKLY"), is(equalTo(true)));
+
+        error = "An unsupported partitioning mode is recognized";
+        assertThat(error, PartitionScheme.isSupported("hourly"), is(equalTo(false)));
+        assertThat(error, PartitionScheme.isSupported(null), is(equalTo(false)));
+
+        error = "The partitioning mode 'none' partitions the tables";
+        assertThat(error, PartitionScheme.isPartitioned("none"), is(equalTo(false)));
+    }
+
+    /**
+     * Test that a partition scheme cannot be created for the partitioning mode 'none'
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void noneModeTest() {
+
+        new PartitionScheme("none", INSERT_EVENT_SQL, null, null, null, 1, 0);
+    }
+
+    /**
+     * Test that daily partitions are labelled with their UTC date
+     */
+    @Test
+    public void dailyLabelTest() {
+
+        PartitionScheme scheme = new PartitionScheme("daily", INSERT_EVENT_SQL, null, null, null, 1, 0);
+
+        String error = "The daily partition does not have the correct label";
+        assertThat(error, scheme.getLabel(scheme.getPeriod(WEDNESDAY)), is(equalTo("20160106")));
+        assertThat(error, scheme.getLabel(scheme.getPeriod(MONDAY)), is(equalTo("20160111")));
+
+        error = "The daily partition before the epoch does not have the correct label";
+        assertThat(error, scheme.getLabel(scheme.getPeriod(-1L)), is(equalTo("19691231")));
+    }
+
+    /**
+     * Test that weekly partitions start on Monday, and are labelled with the UTC date of that Monday
+     */
+    @Test
+    public void weeklyLabelTest() {
+
+        PartitionScheme scheme = new PartitionScheme("weekly", INSERT_EVENT_SQL, null, null, null, 1, 0);
+
+        String error = "The weekly partition does not have the correct label";
+        assertThat(error, scheme.getLabel(scheme.getPeriod(WEDNESDAY)), is(equalTo("20160104")));
+        assertThat(error, scheme.getLabel(scheme.getPeriod(SUNDAY)), is(equalTo("20160104")));
+        assertThat(error, scheme.getLabel(scheme.getPeriod(MONDAY)), is(equalTo("20160111")));
+
+        error = "The weekly partition before the epoch does not have the correct label";
+        assertThat(error, scheme.getLabel(scheme.getPeriod(-1L)), is(equalTo("19691229")));
+    }
+
+    /**
+     * Test that the placeholders in the insert statements are resolved, and that the resolved partition is re-used
+     * within the same period
+     */
+    @Test
+    public void resolveTest() {
+
+        PartitionScheme scheme =
+                new PartitionScheme("daily", INSERT_EVENT_SQL, INSERT_FIELD_SQL, null, null, 1, 0);
+
+        PartitionScheme.Partition partition = scheme.resolve("my-stream.1", WEDNESDAY);
+
+        String error = "The insert event statement has not been resolved correctly";
+        assertThat(error, partition.getInsertEventSql(), is(equalTo("INSERT INTO events_my_stream_1_3da956ca_20160106 "
+                + "(eventId, auditStreamName, eventJson) VALUES (?, ?, ?)")));
+        error = "The insert indexed field statement has not been resolved correctly";
+        assertThat(error, partition.getInsertIndexedFieldSql(), is(equalTo(
+                "INSERT INTO fields_20160106 (eventId, auditStreamName, fieldName, fieldValue) VALUES (?, ?, ?, ?)")));
+
+        error = "The partition has not been re-used within the same period";
+        assertThat(error, scheme.resolve("my-stream.1", WEDNESDAY + 1000L) == partition, is(equalTo(true)));
+        error = "The partition has been re-used in another period";
+        assertThat(error, scheme.resolve("my-stream.1", MONDAY).getInsertEventSql(),
+                is(not(equalTo(partition.getInsertEventSql()))));
+    }
+
+    /**
+     * Test that the insert indexed field statement is not resolved if the indexed fields table is not used
+     */
+    @Test
+    public void resolveWithoutIndexTableTest() {
+
+        PartitionScheme scheme = new PartitionScheme("daily", INSERT_EVENT_SQL, null, null, null, 1, 0);
+
+        String error = "The insert indexed field statement is not null";
+        assertThat(error, scheme.resolve("stream", WEDNESDAY).getInsertIndexedFieldSql(), is(nullValue()));
+    }
+
+    /**
+     * Test that audit stream names are sanitized for use in table names
+     */
+    @Test
+    public void sanitizeTest() {
+
+        String error = "The audit stream name has not been sanitized correctly";
+        assertThat(error, PartitionScheme.sanitize("Stream_1-a.b c"), is(equalTo("Stream_1_a_b_c_5d9479a5")));
+        assertThat(error, PartitionScheme.sanitize("stream1"), is(equalTo("stream1")));
+    }
+
+    /**
+     * Test that different audit stream names are not sanitized to the same table name
+     */
+    @Test
+    public void sanitizeCollisionTest() {
+
+        String error = "Different audit stream names have been sanitized to the same name";
+        assertThat(error, PartitionScheme.sanitize("my-stream"),
+                is(not(equalTo(PartitionScheme.sanitize("my.stream")))));
+        assertThat(error, PartitionScheme.sanitize("my-stream"),
+                is(not(equalTo(PartitionScheme.sanitize("my_stream")))));
+        assertThat(error, PartitionScheme.sanitize("Events").toLowerCase(Locale.ROOT),
+                is(not(equalTo(PartitionScheme.sanitize("events").toLowerCase(Locale.ROOT)))));
+    }
+}
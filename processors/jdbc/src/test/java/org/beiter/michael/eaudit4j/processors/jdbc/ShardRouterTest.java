@@ -0,0 +1,165 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that persists
+ * audit events to a JDBC database.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.jdbc;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+public class ShardRouterTest {
+
+    private static final int SHARDS = 4;
+
+    /**
+     * Test that the supported shard keys are recognized
+     */
+    @Test
+    public void supportedKeysTest() {
+
+        String error = "A supported shard key is not recognized";
+        assertThat(error, ShardRouter.isSupported("eventId"), is(equalTo(true)));
+        assertThat(error, ShardRouter.isSupported("AUDITSTREAMNAME"), is(equalTo(true)));
+
+        error = "An unsupported shard key is recognized";
+        assertThat(error, ShardRouter.isSupported("subject"), is(equalTo(false)));
+        assertThat(error, ShardRouter.isSupported(null), is(equalTo(false)));
+    }
+
+    /**
+     * Test that a router cannot be created for an unsupported shard key
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedKeyTest() {
+
+        new ShardRouter(SHARDS, "subject");
+    }
+
+    /**
+     * Test that a router cannot be created without shards
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void noShardsTest() {
+
+        new ShardRouter(0, "eventId");
+    }
+
+    /**
+     * Test that events are routed by their event ID to a stable shard, and spread over all shards
+     */
+    @Test
+    public void routeByEventIdTest() {
+
+        ShardRouter router = new ShardRouter(SHARDS, "eventId");
+        int[] counts = new int[SHARDS];
+        for (int i = 0; i < 1000; i++) {
+            String eventId = "event-" + i;
+            int shard = router.route(eventId, "stream");
+
+            String error = "The shard is out of range";
+            assertThat(error, shard, is(greaterThan(-1)));
+            assertThat(error, shard, is(lessThan(SHARDS)));
+            error = "The shard of an event is not stable";
+            assertThat(error, router.route(eventId, "other stream"), is(equalTo(shard)));
+
+            counts[shard]++;
+        }
+
+        for (int count : counts) {
+            String error = "The events are not spread over all shards";
+            assertThat(error, count, is(greaterThan(1000 / SHARDS / 2)));
+        }
+    }
+
+    /**
+     * Test that all events of an audit stream are routed to the same shard
+     */
+    @Test
+    public void routeByAuditStreamNameTest() {
+
+        ShardRouter router = new ShardRouter(SHARDS, "auditStreamName");
+        int shard = router.route("event-0", "stream");
+        for (int i = 1; i < 100; i++) {
+            String error = "The events of an audit stream are not routed to the same shard";
+            assertThat(error, router.route("event-" + i, "stream"), is(equalTo(shard)));
+        }
+    }
+
+    /**
+     * Test that a single shard receives all events
+     */
+    @Test
+    public void singleShardTest() {
+
+        ShardRouter router = new ShardRouter(1, "eventId");
+
+        String error = "An event is not routed to the single shard";
+        assertThat(error, router.route("event-1", "stream"), is(equalTo(0)));
+        assertThat(error, router.route("event-2", "stream"), is(equalTo(0)));
+    }
+
+    /**
+     * Test that the health of every shard is tracked independently, and that the health changes are reported once
+     */
+    @Test
+    public void healthTest() {
+
+        ShardRouter router = new ShardRouter(SHARDS, "eventId");
+
+        String error = "A shard is not healthy initially";
+        assertThat(error, router.isHealthy(1), is(equalTo(true)));
+
+        error = "The first failure does not report the health change";
+        assertThat(error, router.recordFailure(1), is(equalTo(true)));
+        error = "A subsequent failure reports a health change";
+        assertThat(error, router.recordFailure(1), is(equalTo(false)));
+        error = "The failures of the shard are not counted";
+        assertThat(error, router.getFailures(1), is(equalTo(2)));
+        assertThat(error, router.isHealthy(1), is(equalTo(false)));
+
+        error = "The failures of a shard affect another shard";
+        assertThat(error, router.isHealthy(0), is(equalTo(true)));
+        assertThat(error, router.recordSuccess(0), is(equalTo(false)));
+
+        error = "The recovery of the shard is not reported";
+        assertThat(error, router.recordSuccess(1), is(equalTo(true)));
+        assertThat(error, router.isHealthy(1), is(equalTo(true)));
+        error = "A subsequent success reports a health change";
+        assertThat(error, router.recordSuccess(1), is(equalTo(false)));
+    }
+}
@@ -563,4 +563,718 @@ public class MapPropsJdbcPropsBuilderTest {
         error = "copy constructor does not copy field";
         assertThat(error, properties2.getDataSourceName(), is(equalTo("42")));
     }
+
+    /**
+     * default dedicated connection test
+     */
+    @Test
+    public void defaultDedicatedConnectionTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "dedicated connection does not match expected default value";
+        assertThat(error, properties.isDedicatedConnection(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_DEDICATED_CONNECTION)));
+        error = "dedicated connection does not match expected value";
+        properties.setDedicatedConnection(!MapBasedJdbcPropsBuilder.DEFAULT_DEDICATED_CONNECTION);
+        assertThat(error, properties.isDedicatedConnection(), is(equalTo(!MapBasedJdbcPropsBuilder.DEFAULT_DEDICATED_CONNECTION)));
+    }
+
+    /**
+     * dedicated connection test
+     */
+    @Test
+    public void dedicatedConnectionTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_DEDICATED_CONNECTION, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "dedicated connection does not match expected default value";
+        assertThat(error, properties.isDedicatedConnection(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_DEDICATED_CONNECTION)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_DEDICATED_CONNECTION, "asdf");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "dedicated connection does not match expected value";
+        assertThat(error, properties.isDedicatedConnection(), is(equalTo(false)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_DEDICATED_CONNECTION, "tRuE");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "dedicated connection does not match expected value";
+        assertThat(error, properties.isDedicatedConnection(), is(equalTo(true)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.isDedicatedConnection(), is(equalTo(true)));
+    }
+
+    /**
+     * default group commit test
+     */
+    @Test
+    public void defaultGroupCommitTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "group commit does not match expected default value";
+        assertThat(error, properties.isGroupCommit(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT)));
+        error = "group commit does not match expected value";
+        properties.setGroupCommit(!MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT);
+        assertThat(error, properties.isGroupCommit(), is(equalTo(!MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT)));
+    }
+
+    /**
+     * group commit test
+     */
+    @Test
+    public void groupCommitTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "group commit does not match expected default value";
+        assertThat(error, properties.isGroupCommit(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT, "asdf");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit does not match expected value";
+        assertThat(error, properties.isGroupCommit(), is(equalTo(false)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT, "tRuE");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit does not match expected value";
+        assertThat(error, properties.isGroupCommit(), is(equalTo(true)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.isGroupCommit(), is(equalTo(true)));
+    }
+
+    /**
+     * default group commit max events test
+     */
+    @Test
+    public void defaultGroupCommitMaxEventsTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "group commit max events does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxEvents(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_EVENTS)));
+        error = "group commit max events does not match expected value";
+        properties.setGroupCommitMaxEvents(42);
+        assertThat(error, properties.getGroupCommitMaxEvents(), is(equalTo(42)));
+    }
+
+    /**
+     * group commit max events test
+     */
+    @Test
+    public void groupCommitMaxEventsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_EVENTS, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "group commit max events does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxEvents(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_EVENTS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_EVENTS, "0");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max events does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxEvents(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_EVENTS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_EVENTS, "abc");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max events does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxEvents(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_EVENTS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_EVENTS, "42");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max events does not match expected value";
+        assertThat(error, properties.getGroupCommitMaxEvents(), is(equalTo(42)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getGroupCommitMaxEvents(), is(equalTo(42)));
+    }
+
+    /**
+     * default group commit max bytes test
+     */
+    @Test
+    public void defaultGroupCommitMaxBytesTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "group commit max bytes does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxBytes(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_BYTES)));
+        error = "group commit max bytes does not match expected value";
+        properties.setGroupCommitMaxBytes(4096);
+        assertThat(error, properties.getGroupCommitMaxBytes(), is(equalTo(4096)));
+    }
+
+    /**
+     * group commit max bytes test
+     */
+    @Test
+    public void groupCommitMaxBytesTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_BYTES, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "group commit max bytes does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxBytes(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_BYTES)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_BYTES, "0");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max bytes does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxBytes(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_BYTES)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_BYTES, "abc");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max bytes does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxBytes(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_BYTES)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_BYTES, "4096");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max bytes does not match expected value";
+        assertThat(error, properties.getGroupCommitMaxBytes(), is(equalTo(4096)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getGroupCommitMaxBytes(), is(equalTo(4096)));
+    }
+
+    /**
+     * default group commit max delay test
+     */
+    @Test
+    public void defaultGroupCommitMaxDelayTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "group commit max delay does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxDelay(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_DELAY)));
+        error = "group commit max delay does not match expected value";
+        properties.setGroupCommitMaxDelay(0);
+        assertThat(error, properties.getGroupCommitMaxDelay(), is(equalTo(0)));
+    }
+
+    /**
+     * group commit max delay test
+     */
+    @Test
+    public void groupCommitMaxDelayTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_DELAY, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "group commit max delay does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxDelay(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_DELAY)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_DELAY, "-1");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max delay does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxDelay(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_DELAY)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_DELAY, "abc");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max delay does not match expected default value";
+        assertThat(error, properties.getGroupCommitMaxDelay(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_GROUP_COMMIT_MAX_DELAY)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_GROUP_COMMIT_MAX_DELAY, "0");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "group commit max delay does not match expected value";
+        assertThat(error, properties.getGroupCommitMaxDelay(), is(equalTo(0)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getGroupCommitMaxDelay(), is(equalTo(0)));
+    }
+
+    /**
+     * default indexed columns test
+     */
+    @Test
+    public void defaultIndexedColumnsTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "indexed columns does not match expected default value";
+        assertThat(error, properties.isIndexedColumns(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS)));
+        error = "indexed columns does not match expected value";
+        properties.setIndexedColumns(!MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS);
+        assertThat(error, properties.isIndexedColumns(), is(equalTo(!MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS)));
+    }
+
+    /**
+     * indexed columns test
+     */
+    @Test
+    public void indexedColumnsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "indexed columns does not match expected default value";
+        assertThat(error, properties.isIndexedColumns(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS, "asdf");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "indexed columns does not match expected value";
+        assertThat(error, properties.isIndexedColumns(), is(equalTo(false)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS, "tRuE");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "indexed columns does not match expected value";
+        assertThat(error, properties.isIndexedColumns(), is(equalTo(true)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.isIndexedColumns(), is(equalTo(true)));
+    }
+
+    /**
+     * default indexed columns table test
+     */
+    @Test
+    public void defaultIndexedColumnsTableTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "indexed columns table does not match expected default value";
+        assertThat(error, properties.getIndexedColumnsTable(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS_TABLE)));
+        error = "indexed columns table does not match expected value";
+        properties.setIndexedColumnsTable("audit.events");
+        assertThat(error, properties.getIndexedColumnsTable(), is(equalTo("audit.events")));
+    }
+
+    /**
+     * indexed columns table test
+     */
+    @Test
+    public void indexedColumnsTableTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS_TABLE, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "indexed columns table does not match expected default value";
+        assertThat(error, properties.getIndexedColumnsTable(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS_TABLE)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS_TABLE, "audit.events");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "indexed columns table does not match expected value";
+        assertThat(error, properties.getIndexedColumnsTable(), is(equalTo("audit.events")));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedColumnsTable(), is(equalTo("audit.events")));
+    }
+
+    /**
+     * default indexed columns event columns test
+     */
+    @Test
+    public void defaultIndexedColumnsEventColumnsTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "indexed columns event columns does not match expected default value";
+        assertThat(error, properties.getIndexedColumnsEventColumns(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS_EVENT_COLUMNS)));
+        error = "indexed columns event columns does not match expected value";
+        properties.setIndexedColumnsEventColumns("id,stream,json");
+        assertThat(error, properties.getIndexedColumnsEventColumns(), is(equalTo("id,stream,json")));
+    }
+
+    /**
+     * indexed columns event columns test
+     */
+    @Test
+    public void indexedColumnsEventColumnsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS_EVENT_COLUMNS, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "indexed columns event columns does not match expected default value";
+        assertThat(error, properties.getIndexedColumnsEventColumns(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_INDEXED_COLUMNS_EVENT_COLUMNS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_INDEXED_COLUMNS_EVENT_COLUMNS, "id,stream,json");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "indexed columns event columns does not match expected value";
+        assertThat(error, properties.getIndexedColumnsEventColumns(), is(equalTo("id,stream,json")));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getIndexedColumnsEventColumns(), is(equalTo("id,stream,json")));
+    }
+
+    /**
+     * default partitioning test
+     */
+    @Test
+    public void defaultPartitioningTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "partitioning does not match expected default value";
+        assertThat(error, properties.getPartitioning(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONING)));
+        error = "partitioning does not match expected value";
+        properties.setPartitioning("weekly");
+        assertThat(error, properties.getPartitioning(), is(equalTo("weekly")));
+    }
+
+    /**
+     * partitioning test
+     */
+    @Test
+    public void partitioningTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONING, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "partitioning does not match expected default value";
+        assertThat(error, properties.getPartitioning(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONING)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONING, "hourly");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partitioning does not match expected default value";
+        assertThat(error, properties.getPartitioning(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONING)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONING, "");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partitioning does not match expected default value";
+        assertThat(error, properties.getPartitioning(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONING)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONING, "weekly");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partitioning does not match expected value";
+        assertThat(error, properties.getPartitioning(), is(equalTo("weekly")));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getPartitioning(), is(equalTo("weekly")));
+    }
+
+    /**
+     * default partitions ahead test
+     */
+    @Test
+    public void defaultPartitionsAheadTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "partitions ahead does not match expected default value";
+        assertThat(error, properties.getPartitionsAhead(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONS_AHEAD)));
+        error = "partitions ahead does not match expected value";
+        properties.setPartitionsAhead(3);
+        assertThat(error, properties.getPartitionsAhead(), is(equalTo(3)));
+    }
+
+    /**
+     * partitions ahead test
+     */
+    @Test
+    public void partitionsAheadTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONS_AHEAD, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "partitions ahead does not match expected default value";
+        assertThat(error, properties.getPartitionsAhead(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONS_AHEAD)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONS_AHEAD, "-1");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partitions ahead does not match expected default value";
+        assertThat(error, properties.getPartitionsAhead(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONS_AHEAD)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONS_AHEAD, "abc");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partitions ahead does not match expected default value";
+        assertThat(error, properties.getPartitionsAhead(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITIONS_AHEAD)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITIONS_AHEAD, "3");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partitions ahead does not match expected value";
+        assertThat(error, properties.getPartitionsAhead(), is(equalTo(3)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getPartitionsAhead(), is(equalTo(3)));
+    }
+
+    /**
+     * default partition retention test
+     */
+    @Test
+    public void defaultPartitionRetentionTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "partition retention does not match expected default value";
+        assertThat(error, properties.getPartitionRetention(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_RETENTION)));
+        error = "partition retention does not match expected value";
+        properties.setPartitionRetention(30);
+        assertThat(error, properties.getPartitionRetention(), is(equalTo(30)));
+    }
+
+    /**
+     * partition retention test
+     */
+    @Test
+    public void partitionRetentionTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_RETENTION, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "partition retention does not match expected default value";
+        assertThat(error, properties.getPartitionRetention(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_RETENTION)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_RETENTION, "-1");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partition retention does not match expected default value";
+        assertThat(error, properties.getPartitionRetention(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_RETENTION)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_RETENTION, "abc");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partition retention does not match expected default value";
+        assertThat(error, properties.getPartitionRetention(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_RETENTION)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_RETENTION, "30");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partition retention does not match expected value";
+        assertThat(error, properties.getPartitionRetention(), is(equalTo(30)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getPartitionRetention(), is(equalTo(30)));
+    }
+
+    /**
+     * default partition create SQL statements test
+     */
+    @Test
+    public void defaultPartitionCreateSqlStmtsTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "partition create SQL statements does not match expected default value";
+        assertThat(error, properties.getPartitionCreateSqlStmts(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_CREATE_SQL_STMTS)));
+        error = "partition create SQL statements does not match expected value";
+        properties.setPartitionCreateSqlStmts("CREATE TABLE events_{partition} (id INT)");
+        assertThat(error, properties.getPartitionCreateSqlStmts(), is(equalTo("CREATE TABLE events_{partition} (id INT)")));
+    }
+
+    /**
+     * partition create SQL statements test
+     */
+    @Test
+    public void partitionCreateSqlStmtsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_CREATE_SQL_STMTS, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "partition create SQL statements does not match expected default value";
+        assertThat(error, properties.getPartitionCreateSqlStmts(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_CREATE_SQL_STMTS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_CREATE_SQL_STMTS, "CREATE TABLE events_{partition} (id INT)");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partition create SQL statements does not match expected value";
+        assertThat(error, properties.getPartitionCreateSqlStmts(), is(equalTo("CREATE TABLE events_{partition} (id INT)")));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getPartitionCreateSqlStmts(), is(equalTo("CREATE TABLE events_{partition} (id INT)")));
+    }
+
+    /**
+     * default partition drop SQL statements test
+     */
+    @Test
+    public void defaultPartitionDropSqlStmtsTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "partition drop SQL statements does not match expected default value";
+        assertThat(error, properties.getPartitionDropSqlStmts(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_DROP_SQL_STMTS)));
+        error = "partition drop SQL statements does not match expected value";
+        properties.setPartitionDropSqlStmts("DROP TABLE events_{partition}");
+        assertThat(error, properties.getPartitionDropSqlStmts(), is(equalTo("DROP TABLE events_{partition}")));
+    }
+
+    /**
+     * partition drop SQL statements test
+     */
+    @Test
+    public void partitionDropSqlStmtsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_DROP_SQL_STMTS, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "partition drop SQL statements does not match expected default value";
+        assertThat(error, properties.getPartitionDropSqlStmts(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_PARTITION_DROP_SQL_STMTS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_PARTITION_DROP_SQL_STMTS, "DROP TABLE events_{partition}");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "partition drop SQL statements does not match expected value";
+        assertThat(error, properties.getPartitionDropSqlStmts(), is(equalTo("DROP TABLE events_{partition}")));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getPartitionDropSqlStmts(), is(equalTo("DROP TABLE events_{partition}")));
+    }
+
+    /**
+     * default shards test
+     */
+    @Test
+    public void defaultShardsTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "shards does not match expected default value";
+        assertThat(error, properties.getShards(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARDS)));
+        error = "shards does not match expected value";
+        properties.setShards(3);
+        assertThat(error, properties.getShards(), is(equalTo(3)));
+    }
+
+    /**
+     * shards test
+     */
+    @Test
+    public void shardsTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARDS, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "shards does not match expected default value";
+        assertThat(error, properties.getShards(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARDS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARDS, "asdf");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "shards does not match expected default value";
+        assertThat(error, properties.getShards(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARDS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARDS, "0");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "shards does not match expected default value";
+        assertThat(error, properties.getShards(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARDS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARDS, "-1");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "shards does not match expected default value";
+        assertThat(error, properties.getShards(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARDS)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARDS, "3");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "shards does not match expected value";
+        assertThat(error, properties.getShards(), is(equalTo(3)));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getShards(), is(equalTo(3)));
+    }
+
+    /**
+     * default shard key test
+     */
+    @Test
+    public void defaultShardKeyTest() {
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildDefault();
+
+        String error = "shard key does not match expected default value";
+        assertThat(error, properties.getShardKey(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARD_KEY)));
+        error = "shard key does not match expected value";
+        properties.setShardKey("auditStreamName");
+        assertThat(error, properties.getShardKey(), is(equalTo("auditStreamName")));
+    }
+
+    /**
+     * shard key test
+     */
+    @Test
+    public void shardKeyTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARD_KEY, null);
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.build(map);
+        String error = "shard key does not match expected default value";
+        assertThat(error, properties.getShardKey(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARD_KEY)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARD_KEY, "subject");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "shard key does not match expected default value";
+        assertThat(error, properties.getShardKey(), is(equalTo(MapBasedJdbcPropsBuilder.DEFAULT_SHARD_KEY)));
+
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARD_KEY, "auditStreamName");
+        properties = MapBasedJdbcPropsBuilder.build(map);
+        error = "shard key does not match expected value";
+        assertThat(error, properties.getShardKey(), is(equalTo("auditStreamName")));
+
+        // copy constructor test
+        JdbcProperties properties2 = new JdbcProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getShardKey(), is(equalTo("auditStreamName")));
+    }
+
+    /**
+     * shard properties test
+     */
+    @Test
+    public void buildShardTest() {
+
+        Map<String, String> map = new HashMap<>();
+        map.put(MapBasedJdbcPropsBuilder.KEY_DATA_SOURCE_NAME, "ds");
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARDS, "2");
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARD_PREFIX + "1." + MapBasedJdbcPropsBuilder.KEY_DATA_SOURCE_NAME, "ds1");
+        map.put(MapBasedJdbcPropsBuilder.KEY_SHARD_PREFIX + "1.database.url", "jdbc:h2:mem:shard1");
+
+        JdbcProperties properties = MapBasedJdbcPropsBuilder.buildShard(map, 0);
+        String error = "The properties of a shard without overrides do not match the common properties";
+        assertThat(error, properties.getDataSourceName(), is(equalTo("ds")));
+        assertThat(error, properties.getShards(), is(equalTo(2)));
+
+        properties = MapBasedJdbcPropsBuilder.buildShard(map, 1);
+        error = "The properties of a shard are not overridden";
+        assertThat(error, properties.getDataSourceName(), is(equalTo("ds1")));
+        assertThat(error, properties.getAdditionalProperties().get("database.url"), is(equalTo("jdbc:h2:mem:shard1")));
+        error = "The properties of a shard do not include the common properties";
+        assertThat(error, properties.getShards(), is(equalTo(2)));
+    }
+
+    /**
+     * shard properties with negative shard index test
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void buildShardNegativeTest() {
+
+        MapBasedJdbcPropsBuilder.buildShard(new HashMap<String, String>(), -1);
+    }
 }
@@ -36,7 +36,6 @@
 package org.beiter.michael.eaudit4j.processors.machineid;
 
 import org.apache.commons.lang3.Validate;
-import org.beiter.michael.array.Cleanser;
 import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
 import org.beiter.michael.eaudit4j.common.AuditException;
 import org.beiter.michael.eaudit4j.common.CommonProperties;
@@ -45,12 +44,17 @@ import org.beiter.michael.eaudit4j.common.Field;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.Reversible;
-import org.beiter.michael.eaudit4j.common.impl.EventField;
+import org.beiter.michael.eaudit4j.common.impl.ImmutableField;
 import org.beiter.michael.eaudit4j.processors.machineid.propsbuilder.MapBasedMachineIdPropsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -60,6 +64,11 @@ import java.util.concurrent.atomic.AtomicReference;
  * <p>
  * Note that a specific instance of this class will always return the same
  * machine ID once it has been determined.
+ * <p>
+ * The machine ID is resolved when the processor is initialized, and the
+ * encoded event field is built once and then shared by all events. Resolving
+ * the machine ID from the hostname is bounded by a configurable timeout, after
+ * which the processor falls back on a randomly generated ID.
  */
 public class MachineIdProcessor
         implements Processor, Reversible {
@@ -85,9 +94,23 @@ public class MachineIdProcessor
      */
     private final AtomicReference<String> machineId = new AtomicReference<>();
 
+    /**
+     * The pre-built machine ID field that is attached to every event
+     */
+    private volatile Field machineIdField;
+
+    /**
+     * The error that occurred when resolving or encoding the machine ID in {@code init()}, if any
+     */
+    private volatile AuditException resolutionError;
+
 
     /**
      * {@inheritDoc}
+     * <p>
+     * This method also resolves the machine ID (unless it has already been resolved by a previous initialization of
+     * this instance) and builds the event field that is added to each processed event. If the machine ID cannot be
+     * resolved or encoded, the error is reported when an event is processed.
      */
     @Override
     public final void init(final CommonProperties pCommonProperties) {
@@ -96,6 +119,89 @@ public class MachineIdProcessor
 
         this.commonProperties = new CommonProperties(pCommonProperties);
         this.properties = MapBasedMachineIdPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+
+        Field field = null;
+        AuditException error = null;
+        try {
+            if (machineId.get() == null) {
+                machineId.compareAndSet(null, resolveMachineId(properties));
+            }
+
+            final byte[] bytes = machineId.get().getBytes(commonProperties.getEncoding());
+            field = new ImmutableField(properties.getEventFieldName(), bytes);
+        } catch (AuditException e) {
+            error = e;
+        } catch (UnsupportedEncodingException e) {
+            final String message = "Encoding is not supported: " + commonProperties.getEncoding();
+            LOG.warn(message);
+            error = new AuditException(AuditErrorConditions.PROCESSING, message, e);
+        }
+
+        this.resolutionError = error;
+        this.machineIdField = field;
+    }
+
+    /**
+     * Resolve the machine ID as configured in the provided properties.
+     * <p>
+     * Resolving the machine ID from the hostname runs in a separate thread and is bounded by
+     * {@link MachineIdProperties#getResolveTimeout()}. If the hostname cannot be resolved in time, a random machine ID
+     * is used instead.
+     *
+     * @param props The properties to use for resolving the machine ID
+     * @return The machine ID
+     * @throws AuditException When the machine ID cannot be determined
+     */
+    private static String resolveMachineId(final MachineIdProperties props)
+            throws AuditException {
+
+        // if the properties have a machine ID configured, we can use that instead of making one up / creating one
+        // from other means:
+        if (props.getMachineId() != null && !props.getMachineId().isEmpty()) {
+            return props.getMachineId();
+        }
+
+        // all other options are local and cheap, only the hostname resolution may block on the network
+        if (!props.isMachineIdFromHostname()) {
+            return Util.getMachineId(props.isMachineIdFromEnv(), props.getMachineIdEnvName(), false);
+        }
+
+        final FutureTask<String> task = new FutureTask<>(new Callable<String>() {
+            @Override
+            public String call()
+                    throws AuditException {
+
+                return Util.getMachineId(
+                        props.isMachineIdFromEnv(),
+                        props.getMachineIdEnvName(),
+                        props.isMachineIdFromHostname());
+            }
+        });
+
+        final Thread resolver = new Thread(task, "eAudit4j-machineId-resolver");
+        resolver.setDaemon(true);
+        resolver.start();
+
+        try {
+            return task.get(props.getResolveTimeout(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuditException) {
+                throw (AuditException) e.getCause();
+            }
+            final String error = "The machine ID could not be resolved";
+            LOG.warn(error, e.getCause());
+            throw new AuditException(AuditErrorConditions.INITIALIZATION, error, e.getCause());
+        } catch (TimeoutException e) {
+            LOG.warn("The machine ID could not be resolved within " + props.getResolveTimeout()
+                    + "ms, falling back to a random machine ID");
+            task.cancel(true);
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while resolving the machine ID, falling back to a random machine ID");
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+
+        return Util.getMachineId(false, null, false);
     }
 
     /**
@@ -144,7 +250,7 @@ public class MachineIdProcessor
      * <p>
      * The method obtains a machine ID, and adds that machine ID to the event.
      * <p>
-     * The machine ID is resolved as follows:
+     * The machine ID is resolved during {@code init()} as follows:
      * <ul>
      * <li>First, check if a machine ID has been explicitly configured, and use that ID</li>
      * <li>If no machine ID has been configured, try to retrieve the machine ID from an environment variable.</li>
@@ -152,8 +258,8 @@ public class MachineIdProcessor
      * or that retrieval operation failed), then try build a machine ID from a combination of the canonical host name
      * and a timestamp</li>
      * <li>If this failed (e.g. the processor is not configured to use the canonical hostname, or the canonical
-     * hostname could not be resolved), then the processor will create a pseudo-random machine ID and log that
-     * machine ID in the log.</li>
+     * hostname could not be resolved in time), then the processor will create a pseudo-random machine ID and log
+     * that machine ID in the log.</li>
      * </ul>
      * <p>
      * See {@link org.beiter.michael.eaudit4j.common.Audit#audit(Event, String)}.
@@ -204,46 +310,14 @@ public class MachineIdProcessor
             throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
         }
 
-        // we could further reduce unnecessary performance loss by introducing a double synchronized block, but it is
-        // okay to go through the machine ID resolution multiple times (and throw n-1 of the results away) like this
-        // because the operation is cheap and we can so avoid unnecessary locking through a double-check if/synchronized
-        if (machineId.get() == null) {
-
-            String resolvedMachineId;
-
-            // if the properties have a machine ID configured, we can use that instead of making one up / creating one
-            // from other means:
-            if (properties.getMachineId() == null || properties.getMachineId().isEmpty()) {
-
-                resolvedMachineId = Util.getMachineId(
-                        properties.isMachineIdFromEnv(),
-                        properties.getMachineIdEnvName(),
-                        properties.isMachineIdFromHostname());
-            } else {
-
-                resolvedMachineId = properties.getMachineId();
-            }
-
-            machineId.compareAndSet(null, resolvedMachineId);
-        }
-
-        // add the machine ID to the event
-        byte[] bytes;
-        try {
-            bytes = machineId.get().getBytes(commonProperties.getEncoding());
-        } catch (UnsupportedEncodingException e) {
-            final String error = "Encoding is not supported: " + commonProperties.getEncoding();
-            LOG.warn(error);
-            throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
+        // report any error that occurred when resolving the machine ID during initialization
+        if (resolutionError != null) {
+            throw new AuditException(resolutionError.getErrorCondition(), resolutionError.getMessage(),
+                    resolutionError);
         }
 
-        final Field field = new EventField(properties.getEventFieldName(), bytes);
-
-        event.setField(field);
-
-        // clear confidential data from local variables
-        Cleanser.wipe(bytes);
-        field.clear();
+        // add the pre-built machine ID field to the event (the event stores its own copy)
+        event.setField(machineIdField);
 
         return event;
     }
@@ -72,6 +72,11 @@ public class MachineIdProperties {
      */
     private boolean machineIdFromHostname;
 
+    /**
+     * @see MachineIdProperties#setResolveTimeout(int)
+     */
+    private int resolveTimeout;
+
     /**
      * @see MachineIdProperties#setAdditionalProperties(Map)
      */
@@ -111,6 +116,7 @@ public class MachineIdProperties {
         setMachineIdFromEnv(properties.isMachineIdFromEnv());
         setMachineIdEnvName(properties.getMachineIdEnvName());
         setMachineIdFromHostname(properties.isMachineIdFromHostname());
+        setResolveTimeout(properties.getResolveTimeout());
         setAdditionalProperties(properties.getAdditionalProperties());
     }
 
@@ -250,6 +256,36 @@ public class MachineIdProperties {
         this.machineIdFromHostname = machineIdFromHostname;
     }
 
+    /**
+     * @return The maximum time (in milliseconds) to wait for the machine ID to be resolved
+     * @see MachineIdProperties#setResolveTimeout(int)
+     */
+    public final int getResolveTimeout() {
+
+        // no need for defensive copies of int
+
+        return resolveTimeout;
+    }
+
+    /**
+     * The maximum time (in milliseconds) to wait for the machine ID to be resolved from the hostname when the
+     * processor is initialized.
+     * <p>
+     * Resolving the canonical hostname may require a (potentially slow) DNS lookup. If the hostname cannot be resolved
+     * within this time, a random machine ID is used instead.
+     *
+     * @param resolveTimeout The timeout in milliseconds (must be greater 0)
+     * @throws IllegalArgumentException When the provided value of {@code resolveTimeout} is out of range
+     */
+    public final void setResolveTimeout(final int resolveTimeout) {
+
+        Validate.inclusiveBetween(1, Integer.MAX_VALUE, resolveTimeout);
+
+        // no need for defensive copies of int
+
+        this.resolveTimeout = resolveTimeout;
+    }
+
     /**
      * @return Any additional properties stored in this object that have not explicitly been parsed
      * @see MachineIdProperties#setAdditionalProperties(Map)
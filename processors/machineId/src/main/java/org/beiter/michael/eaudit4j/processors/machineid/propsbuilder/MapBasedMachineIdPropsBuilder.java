@@ -90,6 +90,11 @@ public final class MapBasedMachineIdPropsBuilder {
      */
     public static final boolean DEFAULT_MACHINE_ID_FROM_HOSTNAME = false;
 
+    /**
+     * @see MachineIdProperties#setResolveTimeout(int)
+     */
+    public static final int DEFAULT_RESOLVE_TIMEOUT = 2000;
+
 
     // #####################
     // # Configuration Keys
@@ -120,6 +125,11 @@ public final class MapBasedMachineIdPropsBuilder {
      */
     public static final String KEY_MACHINE_ID_FROM_HOSTNAME = "audit.processor.mid.fromHostname";
 
+    /**
+     * @see MachineIdProperties#setResolveTimeout(int)
+     */
+    public static final String KEY_RESOLVE_TIMEOUT = "audit.processor.mid.resolveTimeout";
+
 
     /**
      * A private constructor to prevent instantiation of this class
@@ -201,6 +211,21 @@ public final class MapBasedMachineIdPropsBuilder {
             logDefault(KEY_MACHINE_ID_FROM_HOSTNAME, String.valueOf(DEFAULT_MACHINE_ID_FROM_HOSTNAME));
         }
 
+        tmp = properties.get(KEY_RESOLVE_TIMEOUT);
+        if (StringUtils.isNotEmpty(tmp)) {
+            if (StringUtils.isNumeric(tmp) && Integer.decode(tmp) > 0) {
+                machineIdProperties.setResolveTimeout(Integer.decode(tmp));
+                logValue(KEY_RESOLVE_TIMEOUT, tmp);
+            } else {
+                machineIdProperties.setResolveTimeout(DEFAULT_RESOLVE_TIMEOUT);
+                logDefault(KEY_RESOLVE_TIMEOUT, tmp, "not numeric or not greater 0",
+                        String.valueOf(DEFAULT_RESOLVE_TIMEOUT));
+            }
+        } else {
+            machineIdProperties.setResolveTimeout(DEFAULT_RESOLVE_TIMEOUT);
+            logDefault(KEY_RESOLVE_TIMEOUT, String.valueOf(DEFAULT_RESOLVE_TIMEOUT));
+        }
+
         // set the additional properties, preserving the originally provided properties
         // create a defensive copy of the map and all its properties
         // the code looks a little more complicated than a simple "putAll()", but it catches situations
@@ -286,7 +311,6 @@ public final class MapBasedMachineIdPropsBuilder {
      * @param validationError The validation error that caused the invalid value to be refused
      * @param defaultValue    The default value that is being used
      */
-    /* This method is not needed anymore, but keep it around for debugging in case we will need it again
     // suppress warnings about not using an object for the four strings in this PRIVATE method
     @SuppressWarnings("PMD.UseObjectForClearerAPI")
     private static void logDefault(final String key,
@@ -310,5 +334,4 @@ public final class MapBasedMachineIdPropsBuilder {
             LOG.warn(msg.toString());
         }
     }
-    */
 }
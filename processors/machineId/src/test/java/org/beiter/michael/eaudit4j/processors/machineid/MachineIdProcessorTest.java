@@ -530,6 +530,61 @@ public class MachineIdProcessorTest {
                 is(true));
     }
 
+    /**
+     * Test that the machine ID is resolved during init(), and that all events of a processor share the same ID
+     */
+    @Test
+    public void machineIdResolvedInInitTest()
+            throws AuditException {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedMachineIdPropsBuilder.KEY_MACHINE_ID_FROM_HOSTNAME, "true");
+        props.put(MapBasedMachineIdPropsBuilder.KEY_RESOLVE_TIMEOUT, "10000");
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(props);
+        Processor processor = new MachineIdProcessor();
+        processor.init(commonProps);
+
+        // re-initializing the processor keeps the machine ID that has already been resolved
+        processor.init(commonProps);
+
+        Event event1 = new AuditEvent();
+        Event event2 = new AuditEvent();
+
+        processor.process(event1);
+        processor.process(event2);
+
+        String error = "The machine IDs of two events processed by the same processor are different";
+        String id1 = String.valueOf(event1.getField(MapBasedMachineIdPropsBuilder.DEFAULT_EVENT_FIELD_NAME).getCharValue(encoding));
+        String id2 = String.valueOf(event2.getField(MapBasedMachineIdPropsBuilder.DEFAULT_EVENT_FIELD_NAME).getCharValue(encoding));
+        assertThat(error, id1, is(equalTo(id2)));
+
+        // clearing the field in one event must not affect the machine ID field of other events
+        event1.getField(MapBasedMachineIdPropsBuilder.DEFAULT_EVENT_FIELD_NAME).clear();
+        Event event3 = new AuditEvent();
+        processor.process(event3);
+        String id3 = String.valueOf(event3.getField(MapBasedMachineIdPropsBuilder.DEFAULT_EVENT_FIELD_NAME).getCharValue(encoding));
+        error = "The shared machine ID field has been modified through an event";
+        assertThat(error, id3, is(equalTo(id2)));
+    }
+
+    /**
+     * Test that an error during machine ID resolution in init() is reported when an event is processed
+     */
+    @Test(expected = AuditException.class)
+    public void machineIdResolutionErrorTest()
+            throws AuditException {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedMachineIdPropsBuilder.KEY_MACHINE_ID_FROM_ENV, "true");
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(props);
+        Processor processor = new MachineIdProcessor();
+        processor.init(commonProps);
+
+        processor.process(new AuditEvent());
+    }
+
     /**
      * Test that two processor instances return different machine IDs (using a random source for the machine ID,
      * assuming that this also works when using timestamp based hostname extensions)
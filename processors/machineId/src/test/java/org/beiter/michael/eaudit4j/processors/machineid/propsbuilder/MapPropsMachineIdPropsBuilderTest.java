@@ -296,4 +296,57 @@ public class MapPropsMachineIdPropsBuilderTest {
         error = "copy constructor does not copy field";
         assertThat(error, properties2.isMachineIdFromHostname(), is(equalTo(true)));
     }
+
+    /**
+     * default resolveTimeout test
+     */
+    @Test
+    public void defaultResolveTimeoutTest() {
+
+        MachineIdProperties properties = MapBasedMachineIdPropsBuilder.buildDefault();
+
+        String error = "resolveTimeout does not match expected default value";
+        assertThat(error, properties.getResolveTimeout(),
+                is(equalTo(MapBasedMachineIdPropsBuilder.DEFAULT_RESOLVE_TIMEOUT)));
+        error = "resolveTimeout does not match expected value";
+        properties.setResolveTimeout(42);
+        assertThat(error, properties.getResolveTimeout(), is(equalTo(42)));
+    }
+
+    /**
+     * resolveTimeout test
+     */
+    @Test
+    public void resolveTimeoutTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedMachineIdPropsBuilder.KEY_RESOLVE_TIMEOUT, null);
+        MachineIdProperties properties = MapBasedMachineIdPropsBuilder.build(map);
+        String error = "resolveTimeout does not match expected default value";
+        assertThat(error, properties.getResolveTimeout(),
+                is(equalTo(MapBasedMachineIdPropsBuilder.DEFAULT_RESOLVE_TIMEOUT)));
+
+        map.put(MapBasedMachineIdPropsBuilder.KEY_RESOLVE_TIMEOUT, "asdf");
+        properties = MapBasedMachineIdPropsBuilder.build(map);
+        error = "resolveTimeout does not match expected default value";
+        assertThat(error, properties.getResolveTimeout(),
+                is(equalTo(MapBasedMachineIdPropsBuilder.DEFAULT_RESOLVE_TIMEOUT)));
+
+        map.put(MapBasedMachineIdPropsBuilder.KEY_RESOLVE_TIMEOUT, "0");
+        properties = MapBasedMachineIdPropsBuilder.build(map);
+        error = "resolveTimeout does not match expected default value";
+        assertThat(error, properties.getResolveTimeout(),
+                is(equalTo(MapBasedMachineIdPropsBuilder.DEFAULT_RESOLVE_TIMEOUT)));
+
+        map.put(MapBasedMachineIdPropsBuilder.KEY_RESOLVE_TIMEOUT, "500");
+        properties = MapBasedMachineIdPropsBuilder.build(map);
+        error = "resolveTimeout does not match expected value";
+        assertThat(error, properties.getResolveTimeout(), is(equalTo(500)));
+
+        // copy constructor test
+        MachineIdProperties properties2 = new MachineIdProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getResolveTimeout(), is(equalTo(500)));
+    }
 }
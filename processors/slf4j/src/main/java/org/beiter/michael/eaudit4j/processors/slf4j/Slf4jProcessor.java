@@ -40,6 +40,8 @@ import org.beiter.michael.eaudit4j.common.AuditException;
 import org.beiter.michael.eaudit4j.common.CommonProperties;
 import org.beiter.michael.eaudit4j.common.Event;
 import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.FieldProjection;
+import org.beiter.michael.eaudit4j.common.Persisting;
 import org.beiter.michael.eaudit4j.common.ProcessingObjects;
 import org.beiter.michael.eaudit4j.common.Processor;
 import org.beiter.michael.eaudit4j.common.Reversible;
@@ -68,7 +70,7 @@ import org.slf4j.spi.MDCAdapter;
  * field name, or through an "alias", which allows storing {@link Event} fields in the MDC using an alternative name.
  */
 public class Slf4jProcessor
-        implements Processor, Reversible {
+        implements Processor, Reversible, Persisting {
 
     /**
      * The logger object for this class
@@ -85,6 +87,11 @@ public class Slf4jProcessor
      */
     private Slf4jProperties properties;
 
+    /**
+     * The MDC fields, parsed from the processor specific properties during initialization. This is {@code null} if
+     * the MDC field list configuration is invalid.
+     */
+    private FieldProjection mdcFieldProjection;
 
     /**
      * {@inheritDoc}
@@ -96,6 +103,15 @@ public class Slf4jProcessor
 
         this.commonProperties = new CommonProperties(pCommonProperties);
         this.properties = MapBasedSlf4jPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+
+        // parse the MDC field list once, instead of splitting the configuration string for every event
+        try {
+            this.mdcFieldProjection = FieldProjection.parse(properties.getMdcFields(),
+                    properties.getMdcFieldSeparator(), properties.getMdcFieldNameSeparator());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("The Event field name / MDC mapping is invalid. ", e);
+            this.mdcFieldProjection = null;
+        }
     }
 
     /**
@@ -265,65 +281,30 @@ public class Slf4jProcessor
      * @return The {@code MDCAdapter} that is used in the modified MDC
      * @throws AuditException When there is an invalid MDC field list configuration
      */
-    // Need to validate sizes of the mdcField split to decide whether we use a custom name, or the field name
-    // We could do that with a null check, but that seems to be awkward.
-    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
     private MDCAdapter addEventFieldsToMdc(final Event event, final Slf4jProperties pProperties)
             throws AuditException {
 
-        // split the configured event name list, and see what we need to add to the MDC
-        if (pProperties.getMdcFields() != null && !pProperties.getMdcFields().isEmpty()) {
-
-            // split the list of fields that we need to add to the MDC
-            final String[] mdcFieldNames = pProperties.getMdcFields().split(pProperties.getMdcFieldSeparator());
-
-            // Go to the list of configured fields, and check if there is an alias configured.
-            // If so, use that alias - otherwise, use the field name directly.
-            // Only add the field if it exists in the event (not all events necessarily contain all fields)
-            for (final String mdcFieldName : mdcFieldNames) {
-
-                final String[] mdcField = mdcFieldName.split(pProperties.getMdcFieldNameSeparator());
-                final Field field; // the actual field
-                final String fieldName; // the name we use for the field in the MDC
-
-                if (mdcField.length == 1) {
-
-                    // we do not have a dedicated MDC name configured, hence use the field name.
-                    // first, we check if the field has been set:
-                    if (event.containsField(mdcField[0])) {
-
-                        // the field exists for this event, which means we can pull it
-                        field = event.getField(mdcField[0]);
-                        fieldName = field.getName();
-                    } else {
-
-                        // the field does not exist in this event, hence proceed to the next field
-                        continue;
-                    }
-                } else if (mdcField.length == 2) {
-
-                    // we do have a dedicated MDC name configured
-                    // first, we check if the field has been set:
-                    if (event.containsField(mdcField[0])) {
-
-                        // the field exists for this event, which means we can pull it
-                        field = event.getField(mdcField[0]);
-                        fieldName = mdcField[1];
-                    } else {
-
-                        // the field does not exist in this event, hence proceed to the next field
-                        continue;
-                    }
-                } else {
-                    // We have less than 1 and more than 2 field name components.
-                    // This should never happen.
-                    final String error = "The Event field name / MDC mapping is invalid. ";
-                    LOG.warn(error);
-                    throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
-                }
+        // the MDC field list configuration has been parsed during initialization
+        final FieldProjection projection = mdcFieldProjection;
+
+        if (projection == null) {
+            // the MDC field list configuration could not be parsed during initialization
+            final String error = "The Event field name / MDC mapping is invalid. ";
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
+        }
+
+        // Go through the list of configured fields, and add them under their alias (or field name, if no alias is
+        // configured). Only add the field if it exists in the event (not all events necessarily contain all fields)
+        final int size = projection.size();
+        for (int i = 0; i < size; i++) {
+
+            final Field field = event.findField(projection.getSourceName(i));
+            if (field != null) {
 
                 // write the field to the MDC
-                MDC.put(fieldName, String.valueOf(field.getCharValue(pProperties.getStringEncoding())));
+                MDC.put(projection.getTargetName(i),
+                        String.valueOf(field.getCharValue(pProperties.getStringEncoding())));
             }
         }
 
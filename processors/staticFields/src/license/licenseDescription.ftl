@@ -0,0 +1,3 @@
+This file is part of eAudit4j, a library for creating pluggable
+auditing solutions, providing an audit processor that appends a
+set of configured constant fields to audit events.
\ No newline at end of file
@@ -0,0 +1,273 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that appends a
+ * set of configured constant fields to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.staticfields;
+
+import org.apache.commons.lang3.Validate;
+import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
+import org.beiter.michael.eaudit4j.common.AuditException;
+import org.beiter.michael.eaudit4j.common.CommonProperties;
+import org.beiter.michael.eaudit4j.common.Event;
+import org.beiter.michael.eaudit4j.common.Field;
+import org.beiter.michael.eaudit4j.common.ProcessingObjects;
+import org.beiter.michael.eaudit4j.common.Processor;
+import org.beiter.michael.eaudit4j.common.Reversible;
+import org.beiter.michael.eaudit4j.common.impl.ImmutableField;
+import org.beiter.michael.eaudit4j.processors.staticfields.propsbuilder.MapBasedStaticFieldsPropsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+
+/**
+ * This processor adds a set of configured constant fields (e.g. the application name, version, region, or pod) to
+ * audit events.
+ * <p>
+ * The fields are encoded once when the processor is initialized, and are attached to each event as shared
+ * {@link ImmutableField}s, i.e. processing an event does not allocate or copy any field values.
+ * <p>
+ * Do not use this processor for confidential values: the shared fields are not wiped when an event is cleared.
+ */
+public class StaticFieldsProcessor
+        implements Processor, Reversible {
+
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(StaticFieldsProcessor.class);
+
+    /**
+     * A copy of the common properties
+     */
+    private CommonProperties commonProperties;
+
+    /**
+     * A copy of the processor specific properties
+     */
+    private StaticFieldsProperties properties;
+
+    /**
+     * The pre-encoded fields that are attached to every event
+     */
+    private volatile Field[] staticFields = new Field[0];
+
+    /**
+     * The error that occurred when encoding the fields in {@code init()}, if any
+     */
+    private volatile AuditException initError;
+
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method also encodes the configured fields. If the fields cannot be encoded, the error is reported when an
+     * event is processed.
+     */
+    @Override
+    public final void init(final CommonProperties pCommonProperties) {
+
+        Validate.notNull(pCommonProperties, "The validated object 'pCommonProperties' is null");
+
+        this.commonProperties = new CommonProperties(pCommonProperties);
+        this.properties = MapBasedStaticFieldsPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+
+        final Map<String, String> fields = properties.getFields();
+        final Field[] tmpFields = new Field[fields.size()];
+        AuditException error = null;
+
+        int index = 0;
+        try {
+            for (final Map.Entry<String, String> entry : fields.entrySet()) {
+                final byte[] bytes = entry.getValue().getBytes(commonProperties.getEncoding());
+                tmpFields[index++] = new ImmutableField(entry.getKey(), bytes);
+            }
+        } catch (UnsupportedEncodingException e) {
+            final String message = "Encoding is not supported: " + commonProperties.getEncoding();
+            LOG.warn(message);
+            error = new AuditException(AuditErrorConditions.PROCESSING, message, e);
+        }
+
+        this.initError = error;
+        this.staticFields = error == null ? tmpFields : new Field[0];
+    }
+
+    /**
+     * This method processes an event in the default audit stream.
+     * <p>
+     * The method adds the configured constant fields to the event.
+     * <p>
+     * See {@link org.beiter.michael.eaudit4j.common.Audit#audit(Event)}.
+     * See {@link StaticFieldsProcessor#process(Event, String, ProcessingObjects)}.
+     *
+     * @param event The event to audit
+     * @return The event after processing (for synchronous audit implementations), undefined otherwise
+     * @throws AuditException when the audit operation fails (e.g. the event already contains one of the fields)
+     */
+    @Override
+    public final Event process(final Event event)
+            throws AuditException {
+
+        return process(event, commonProperties.getDefaultAuditStream());
+    }
+
+    /**
+     * This method processes an event in the provided audit stream.
+     * <p>
+     * The method adds the configured constant fields to the event.
+     * <p>
+     * See {@link org.beiter.michael.eaudit4j.common.Audit#audit(Event)}.
+     * See {@link StaticFieldsProcessor#process(Event, String, ProcessingObjects)}.
+     *
+     * @param event           The event to audit
+     * @param auditStreamName The audit stream to send events to
+     * @return The event after processing (for synchronous audit implementations), undefined otherwise
+     * @throws AuditException           when the audit operation fails (e.g. the event already contains one of the
+     *                                  fields)
+     * @throws NullPointerException     When the {@code auditStreamName} or {@code processingObjects} are {@code null}
+     * @throws IllegalArgumentException When {@code auditStreamName} is empty
+     */
+    @Override
+    public final Event process(final Event event, final String auditStreamName)
+            throws AuditException {
+
+        return process(event, auditStreamName, new ProcessingObjects());
+    }
+
+    /**
+     * This method processes an event in the provided audit stream and includes a set of {@link ProcessingObjects}.
+     * <p>
+     * The method adds the configured constant fields to the event. If the event already contains any of these fields,
+     * the event is not modified and an exception is thrown.
+     * <p>
+     * See {@link org.beiter.michael.eaudit4j.common.Audit#audit(Event, String)}.
+     *
+     * @param event             The event to audit
+     * @param auditStreamName   The audit stream to send events to
+     * @param processingObjects The processing objects available to the processors
+     * @return The event after processing (for synchronous audit implementations), undefined otherwise
+     * @throws AuditException           when the audit operation fails (e.g. the event already contains one of the
+     *                                  fields)
+     * @throws NullPointerException     When the {@code auditStreamName} or {@code processingObjects} are {@code null}
+     * @throws IllegalArgumentException When {@code auditStreamName} is empty
+     */
+    @Override
+    public final Event process(final Event event,
+                               final String auditStreamName,
+                               final ProcessingObjects processingObjects)
+            throws AuditException {
+
+        if (event == null) {
+            final String error = "The validated object 'event' is null";
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.INVALID_EVENT, error);
+        }
+
+        // this implementation does not use audit streams, but validate anyway to ensure library API compliance
+        Validate.notBlank(auditStreamName, "The validated character sequence 'auditStreamName' is null or empty");
+
+        // this implementation does not use processing objects, but validate anyway to ensure library API compliance
+        Validate.notNull(processingObjects, "The validated object 'processingObjects' is null");
+
+        // Make sure that the properties we need are available
+        if (properties == null) {
+
+            final String error = "eAudit4j processor specific properties for " + this.getClass().getCanonicalName()
+                    + " have not been initialized.";
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.INITIALIZATION, error);
+        }
+
+        // report any error that occurred when encoding the fields during initialization
+        if (initError != null) {
+            throw new AuditException(initError.getErrorCondition(), initError.getMessage(), initError);
+        }
+
+        final Field[] fields = staticFields;
+
+        // throw an exception if the event already contains one of the fields.
+        // At best, this is an indication that this processor has been executed repeatedly in the audit chain
+        for (final Field field : fields) {
+            if (event.containsField(field.getName())) {
+
+                final String error = "The event already contains the field " + field.getName()
+                        + " (is the processor " + this.getClass().getCanonicalName()
+                        + " present multiple times in the audit chain?)";
+                LOG.warn(error);
+                throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
+            }
+        }
+
+        // the fields are immutable and are shared with the event without copying them
+        for (final Field field : fields) {
+            event.setField(field);
+        }
+
+        return event;
+    }
+
+    /**
+     * This processor does not store any confidential information.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void cleanUp() {
+
+        // do nothing
+    }
+
+    /**
+     * This method removes the configured constant fields from an event. Fields that are not present in the event are
+     * ignored.
+     *
+     * @param event The event to revert changes on
+     * @return An event with the constant fields removed
+     * @throws AuditException When the operation fails
+     */
+    @Override
+    public final Event revert(final Event event)
+            throws AuditException {
+
+        Validate.notNull(event, "The validated object 'event' is null");
+
+        for (final Field field : staticFields) {
+            if (event.containsField(field.getName())) {
+                event.unsetField(field.getName());
+            }
+        }
+
+        return event;
+    }
+}
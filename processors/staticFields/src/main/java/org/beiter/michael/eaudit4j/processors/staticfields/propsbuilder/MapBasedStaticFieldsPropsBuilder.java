@@ -0,0 +1,171 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that appends a
+ * set of configured constant fields to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.staticfields.propsbuilder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.beiter.michael.eaudit4j.processors.staticfields.StaticFieldsProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class builds a set of {@link StaticFieldsProperties} using the settings obtained from a Map.
+ * <p>
+ * Each constant field is configured with a key that starts with {@link #KEY_FIELD_PREFIX}, followed by the name of
+ * the field. The value of the key is the value of the field.
+ */
+public final class MapBasedStaticFieldsPropsBuilder {
+
+    /**
+     * The logger object for this class
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(MapBasedStaticFieldsPropsBuilder.class);
+
+    // #####################
+    // # Configuration Keys
+    // #####################
+
+    /**
+     * The prefix of the keys that configure the constant fields (e.g. {@code audit.processor.static.field.appName}
+     * configures the field {@code appName}).
+     *
+     * @see StaticFieldsProperties#setFields(Map)
+     */
+    public static final String KEY_FIELD_PREFIX = "audit.processor.static.field.";
+
+
+    /**
+     * A private constructor to prevent instantiation of this class
+     */
+    private MapBasedStaticFieldsPropsBuilder() {
+    }
+
+    /**
+     * Creates a set of static fields properties that use the defaults as specified in this class (i.e. no fields).
+     *
+     * @return A set of static fields properties with (reasonable) defaults
+     * @see MapBasedStaticFieldsPropsBuilder
+     */
+    public static StaticFieldsProperties buildDefault() {
+
+        return build(new ConcurrentHashMap<String, String>());
+    }
+
+    /**
+     * Initialize a set of static fields properties based on key / values in a <code>HashMap</code>.
+     *
+     * @param properties A <code>HashMap</code> with configuration properties, using the keys as specified in this class
+     * @return A {@link StaticFieldsProperties} object with default values, plus the provided parameters
+     * @throws NullPointerException When {@code properties} is {@code null}
+     */
+    public static StaticFieldsProperties build(final Map<String, String> properties) {
+
+        Validate.notNull(properties, "The validated object 'value' is null");
+
+        final StaticFieldsProperties staticFieldsProperties = new StaticFieldsProperties();
+
+        // collect all keys with the field prefix, the remainder of the key being the field name
+        final Map<String, String> fields = new ConcurrentHashMap<>();
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            final String key = entry.getKey();
+            final String value = entry.getValue();
+
+            if (key != null && key.startsWith(KEY_FIELD_PREFIX) && value != null) {
+                final String fieldName = key.substring(KEY_FIELD_PREFIX.length());
+                if (StringUtils.isNotBlank(fieldName)) {
+                    fields.put(fieldName, value);
+                    logValue(key, value);
+                }
+            }
+        }
+        if (fields.isEmpty() && LOG.isInfoEnabled()) {
+            LOG.info("No keys with prefix '" + KEY_FIELD_PREFIX + "' found in configuration, no static fields are added");
+        }
+        staticFieldsProperties.setFields(fields);
+
+        // set the additional properties, preserving the originally provided properties
+        // create a defensive copy of the map and all its properties
+        // the code looks a little more complicated than a simple "putAll()", but it catches situations
+        // where a Map is provided that supports null values (e.g. a HashMap) vs Map implementations
+        // that do not (e.g. ConcurrentHashMap).
+        final Map<String, String> tempMap = new ConcurrentHashMap<>();
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            final String key = entry.getKey();
+            final String value = entry.getValue();
+
+            if (value != null) {
+                tempMap.put(key, value);
+            }
+        }
+        staticFieldsProperties.setAdditionalProperties(tempMap);
+
+        return staticFieldsProperties;
+    }
+
+    /**
+     * Create a log entry when a value has been successfully configured.
+     *
+     * @param key   The configuration key
+     * @param value The value that is being used
+     */
+    private static void logValue(final String key, final String value) {
+
+        // Fortify will report a violation here because of disclosure of potentially confidential information.
+        // However, the configuration keys are not confidential, which makes this a non-issue / false positive.
+        if (LOG.isInfoEnabled()) {
+            final StringBuilder msg = new StringBuilder("Key found in configuration ('")
+                    .append(key)
+                    .append("'), using configured value (not disclosed here for security reasons)");
+            LOG.info(msg.toString());
+        }
+
+        // Fortify will report a violation here because of disclosure of potentially confidential information.
+        // The configuration VALUES are confidential. DO NOT activate DEBUG logging in production.
+        if (LOG.isDebugEnabled()) {
+            final StringBuilder msg = new StringBuilder("Key found in configuration ('")
+                    .append(key)
+                    .append("'), using configured value ('");
+            if (value == null) {
+                msg.append("null')");
+            } else {
+                msg.append(value).append("')");
+            }
+            LOG.debug(msg.toString());
+        }
+    }
+}
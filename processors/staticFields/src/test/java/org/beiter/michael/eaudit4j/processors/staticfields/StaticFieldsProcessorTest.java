@@ -0,0 +1,195 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that appends a
+ * set of configured constant fields to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.staticfields;
+
+import org.beiter.michael.eaudit4j.common.*;
+import org.beiter.michael.eaudit4j.common.impl.AuditEvent;
+import org.beiter.michael.eaudit4j.common.propsbuilder.MapBasedCommonPropsBuilder;
+import org.beiter.michael.eaudit4j.processors.staticfields.propsbuilder.MapBasedStaticFieldsPropsBuilder;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class StaticFieldsProcessorTest {
+
+    private final String encoding = "UTF-8";
+
+    /**
+     * Create a processor configured with two constant fields
+     *
+     * @return An initialized processor
+     */
+    private StaticFieldsProcessor getProcessor() {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedStaticFieldsPropsBuilder.KEY_FIELD_PREFIX + "appName", "myApp");
+        props.put(MapBasedStaticFieldsPropsBuilder.KEY_FIELD_PREFIX + "appVersion", "1.2.3");
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(props);
+        StaticFieldsProcessor processor = new StaticFieldsProcessor();
+        processor.init(commonProps);
+
+        return processor;
+    }
+
+    /**
+     * Initialize the processor with 'null' properties
+     */
+    @Test(expected = NullPointerException.class)
+    public void initWithNullPropertiesTest() {
+
+        Processor processor = new StaticFieldsProcessor();
+        processor.init(null);
+    }
+
+    /**
+     * Process a null event
+     *
+     * @throws AuditException When the event cannot be processed
+     */
+    @Test(expected = AuditException.class)
+    public void processNullEventTest()
+            throws AuditException {
+
+        getProcessor().process(null);
+    }
+
+    /**
+     * Process an event without initializing the processor
+     *
+     * @throws AuditException When the event cannot be processed
+     */
+    @Test(expected = AuditException.class)
+    public void processWithoutInitTest()
+            throws AuditException {
+
+        new StaticFieldsProcessor().process(new AuditEvent(), "stream", new ProcessingObjects());
+    }
+
+    /**
+     * The processor adds all configured fields to each event
+     *
+     * @throws AuditException When the event cannot be processed
+     */
+    @Test
+    public void processEventTest()
+            throws AuditException {
+
+        Processor processor = getProcessor();
+
+        Event event1 = new AuditEvent();
+        Event event2 = new AuditEvent();
+        processor.process(event1);
+        processor.process(event2);
+
+        String error = "The field has not been set";
+        assertThat(error, event1.containsField("appName"), is(equalTo(true)));
+        assertThat(error, event1.containsField("appVersion"), is(equalTo(true)));
+        error = "The field value does not match the expected value";
+        assertThat(error, String.valueOf(event1.getField("appName").getCharValue(encoding)), is(equalTo("myApp")));
+        assertThat(error, String.valueOf(event1.getField("appVersion").getCharValue(encoding)), is(equalTo("1.2.3")));
+        assertThat(error, String.valueOf(event2.getField("appName").getCharValue(encoding)), is(equalTo("myApp")));
+
+        // clearing one event must not affect the fields of other events
+        event1.clear();
+        Event event3 = new AuditEvent();
+        processor.process(event3);
+        error = "Clearing an event modified the shared fields";
+        assertThat(error, String.valueOf(event2.getField("appName").getCharValue(encoding)), is(equalTo("myApp")));
+        assertThat(error, String.valueOf(event3.getField("appName").getCharValue(encoding)), is(equalTo("myApp")));
+    }
+
+    /**
+     * A processor without configured fields does not change the event
+     *
+     * @throws AuditException When the event cannot be processed
+     */
+    @Test
+    public void processWithoutFieldsTest()
+            throws AuditException {
+
+        Processor processor = new StaticFieldsProcessor();
+        processor.init(MapBasedCommonPropsBuilder.buildDefault());
+
+        Event event = new AuditEvent();
+        processor.process(event);
+
+        String error = "The processor added fields to the event";
+        assertThat(error, event.getFieldNames().size(), is(equalTo(0)));
+    }
+
+    /**
+     * Processing an event that already contains one of the fields must fail
+     *
+     * @throws AuditException When the event cannot be processed
+     */
+    @Test(expected = AuditException.class)
+    public void doubleFieldTest()
+            throws AuditException {
+
+        Processor processor = getProcessor();
+
+        Event event = new AuditEvent();
+        processor.process(event);
+        processor.process(event);
+    }
+
+    /**
+     * Reverting an event removes the configured fields
+     *
+     * @throws AuditException When the event cannot be processed
+     */
+    @Test
+    public void revertTest()
+            throws AuditException {
+
+        StaticFieldsProcessor processor = getProcessor();
+
+        Event event = new AuditEvent();
+        processor.process(event);
+        processor.revert(event);
+
+        String error = "The field has not been removed";
+        assertThat(error, event.containsField("appName"), is(equalTo(false)));
+        assertThat(error, event.containsField("appVersion"), is(equalTo(false)));
+
+        // reverting an event without the fields does not fail
+        processor.revert(event);
+    }
+}
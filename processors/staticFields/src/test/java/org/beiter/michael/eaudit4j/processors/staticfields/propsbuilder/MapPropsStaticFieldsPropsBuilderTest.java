@@ -0,0 +1,107 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that appends a
+ * set of configured constant fields to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.staticfields.propsbuilder;
+
+import org.beiter.michael.eaudit4j.processors.staticfields.StaticFieldsProperties;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class MapPropsStaticFieldsPropsBuilderTest {
+
+    /**
+     * By default, no fields are configured
+     */
+    @Test
+    public void defaultFieldsTest() {
+
+        StaticFieldsProperties properties = MapBasedStaticFieldsPropsBuilder.buildDefault();
+
+        String error = "fields does not match expected default value";
+        assertThat(error, properties.getFields().size(), is(equalTo(0)));
+    }
+
+    /**
+     * fields test
+     */
+    @Test
+    public void fieldsTest() {
+
+        Map<String, String> map = new HashMap<>();
+        map.put(MapBasedStaticFieldsPropsBuilder.KEY_FIELD_PREFIX + "appName", "myApp");
+        map.put(MapBasedStaticFieldsPropsBuilder.KEY_FIELD_PREFIX + "region", "eu-west");
+        map.put(MapBasedStaticFieldsPropsBuilder.KEY_FIELD_PREFIX + "nullValue", null);
+        map.put(MapBasedStaticFieldsPropsBuilder.KEY_FIELD_PREFIX + " ", "blankName");
+        map.put("audit.processor.other", "other");
+
+        StaticFieldsProperties properties = MapBasedStaticFieldsPropsBuilder.build(map);
+
+        String error = "fields does not contain the expected number of fields";
+        assertThat(error, properties.getFields().size(), is(equalTo(2)));
+        error = "fields does not match expected value";
+        assertThat(error, properties.getFields().get("appName"), is(equalTo("myApp")));
+        assertThat(error, properties.getFields().get("region"), is(equalTo("eu-west")));
+
+        // copy constructor test
+        StaticFieldsProperties properties2 = new StaticFieldsProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getFields(), is(equalTo(properties.getFields())));
+
+        // defensive copy test
+        properties2.getFields().put("other", "value");
+        error = "getter does not return a defensive copy";
+        assertThat(error, properties2.getFields().size(), is(equalTo(2)));
+    }
+
+    /**
+     * additionalProperties test
+     */
+    @Test
+    public void additionalPropertiesTest() {
+
+        Map<String, String> map = new HashMap<>();
+        map.put("foo", "bar");
+        map.put("nullValue", null);
+
+        StaticFieldsProperties properties = MapBasedStaticFieldsPropsBuilder.build(map);
+        String error = "additionalProperties does not match expected value";
+        assertThat(error, properties.getAdditionalProperties().get("foo"), is(equalTo("bar")));
+        assertThat(error, properties.getAdditionalProperties().containsKey("nullValue"), is(false));
+    }
+}
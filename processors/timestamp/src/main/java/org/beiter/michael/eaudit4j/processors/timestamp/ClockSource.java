@@ -0,0 +1,89 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that retrieves
+ * the system time and appends a timestamp as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.timestamp;
+
+/**
+ * A source of timestamps for the {@link TimestampProcessor}.
+ * <p>
+ * A clock source returns a "tick" for every event, which is a {@code long} value in an implementation specific
+ * format (e.g. a packed physical time and logical counter). The tick is then decomposed with the accessor methods of
+ * this interface. This avoids creating an object for every timestamp.
+ * <p>
+ * Classes implementing this interface must provide a public no-argument constructor, and <b>must</b> be thread safe.
+ */
+public interface ClockSource {
+
+    /**
+     * Start the clock source (e.g. start a background thread), before the first tick is requested.
+     */
+    void start();
+
+    /**
+     * Stop the clock source, and release all resources held by the clock source (e.g. stop a background thread).
+     */
+    void stop();
+
+    /**
+     * Read the clock.
+     *
+     * @return The current tick of the clock, in an implementation specific format
+     */
+    long tick();
+
+    /**
+     * Return the physical time of a tick in milliseconds since the epoch.
+     *
+     * @param tick A tick obtained from {@link #tick()}
+     * @return The time of the tick in milliseconds since the epoch
+     */
+    long getEpochMillis(long tick);
+
+    /**
+     * Return the physical time of a tick in microseconds since the epoch.
+     *
+     * @param tick A tick obtained from {@link #tick()}
+     * @return The time of the tick in microseconds since the epoch, or {@code -1} if the clock source does not
+     * provide sub-millisecond precision
+     */
+    long getEpochMicros(long tick);
+
+    /**
+     * Return the logical counter of a tick.
+     *
+     * @param tick A tick obtained from {@link #tick()}
+     * @return The logical counter of the tick, or {@code -1} if the clock source is not a logical clock
+     */
+    long getLogicalCounter(long tick);
+}
@@ -0,0 +1,134 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that retrieves
+ * the system time and appends a timestamp as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.timestamp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A clock source that returns the system time cached by a background thread, with millisecond precision.
+ * <p>
+ * The background thread updates the cached time about every millisecond, so that the threads processing events only
+ * read a volatile field instead of the system clock. The returned time may lag behind the system clock by the
+ * scheduling delay of the background thread.
+ * <p>
+ * The tick is the cached system time in milliseconds since the epoch.
+ */
+public class CoarseClockSource
+        implements ClockSource, Runnable {
+
+    /**
+     * The short name of this clock source
+     */
+    public static final String NAME = "coarse";
+
+    /**
+     * The interval in which the background thread updates the cached time
+     */
+    private static final long TICK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The cached system time
+     */
+    private volatile long now = System.currentTimeMillis();
+
+    /**
+     * The background thread updating the cached time, {@code null} if the clock source is not running
+     */
+    private volatile Thread ticker;
+
+    @Override
+    public final synchronized void start() {
+
+        if (ticker == null) {
+            now = System.currentTimeMillis();
+            ticker = new Thread(this, "eAudit4j-timestamp-clock");
+            ticker.setDaemon(true);
+            ticker.start();
+        }
+    }
+
+    @Override
+    public final synchronized void stop() {
+
+        final Thread thread = ticker;
+        ticker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Update the cached time until the clock source is stopped.
+     */
+    @Override
+    public final void run() {
+
+        final Thread self = Thread.currentThread();
+        while (ticker == self) {
+            now = System.currentTimeMillis();
+            LockSupport.parkNanos(this, TICK_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the clock source has not been started, the system clock is read directly.
+     */
+    @Override
+    public final long tick() {
+
+        return ticker == null ? System.currentTimeMillis() : now;
+    }
+
+    @Override
+    public final long getEpochMillis(final long tick) {
+
+        return tick;
+    }
+
+    @Override
+    public final long getEpochMicros(final long tick) {
+
+        return -1;
+    }
+
+    @Override
+    public final long getLogicalCounter(final long tick) {
+
+        return -1;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that retrieves
+ * the system time and appends a timestamp as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.timestamp;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A hybrid logical clock (HLC), which combines the physical time in milliseconds with a logical counter.
+ * <p>
+ * The ticks of a hybrid logical clock are strictly increasing, and stay close to the physical time. The logical
+ * counter distinguishes (and orders) events that happen within the same millisecond. If the clock observes the
+ * ticks of other nodes (see {@link #observe(long)}), e.g. ticks received with a message, the clock advances beyond
+ * these ticks. Events can then be totally ordered across nodes by their physical time and logical counter, also if
+ * the physical clocks of the nodes are slightly out of sync.
+ * <p>
+ * The tick is a packed {@code long} value, with the physical time in milliseconds since the epoch in the upper 48
+ * bits, and the logical counter in the lower 16 bits. Ticks can be compared as plain {@code long} values. If the
+ * logical counter overflows, the physical time of the tick is advanced by one millisecond.
+ * <p>
+ * The state of the clock is shared by all instances of this class in the JVM, so that all timestamp processors of a
+ * node stamp events with the same clock.
+ */
+public class HybridLogicalClockSource
+        implements ClockSource {
+
+    /**
+     * The short name of this clock source
+     */
+    public static final String NAME = "hlc";
+
+    /**
+     * The number of bits of the logical counter in a tick
+     */
+    private static final int COUNTER_BITS = 16;
+
+    /**
+     * The mask to extract the logical counter from a tick
+     */
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * The last tick of the clock
+     */
+    private static final AtomicLong LAST_TICK = new AtomicLong();
+
+    /**
+     * This clock source does not hold any resources.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void start() {
+
+        // do nothing
+    }
+
+    /**
+     * This clock source does not hold any resources.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void stop() {
+
+        // do nothing
+    }
+
+    @Override
+    public final long tick() {
+
+        return advance(0L);
+    }
+
+    /**
+     * Observe a tick received from another node, and advance the clock beyond that tick.
+     * <p>
+     * Applications that exchange messages between nodes can send the current tick of the sending node with a message,
+     * and call this method on the receiving node. Events stamped on the receiving node are then ordered after the
+     * events stamped on the sending node before the message was sent.
+     *
+     * @param remoteTick The tick received from another node
+     * @return The new tick of this clock, which is greater than {@code remoteTick}
+     */
+    public final long observe(final long remoteTick) {
+
+        return advance(remoteTick);
+    }
+
+    @Override
+    public final long getEpochMillis(final long tick) {
+
+        return tick >>> COUNTER_BITS;
+    }
+
+    @Override
+    public final long getEpochMicros(final long tick) {
+
+        return -1;
+    }
+
+    @Override
+    public final long getLogicalCounter(final long tick) {
+
+        return tick & COUNTER_MASK;
+    }
+
+    /**
+     * Advance the clock beyond the current physical time, the last tick, and the provided tick.
+     *
+     * @param minimumTick A tick the new tick must be greater than
+     * @return The new tick
+     */
+    private static long advance(final long minimumTick) {
+
+        final long physical = System.currentTimeMillis() << COUNTER_BITS;
+
+        long previous;
+        long next;
+        do {
+            previous = LAST_TICK.get();
+            final long latest = Math.max(previous, minimumTick);
+            // a new millisecond resets the counter, otherwise the counter is incremented (and may carry over)
+            next = physical > latest ? physical : latest + 1;
+        } while (!LAST_TICK.compareAndSet(previous, next));
+
+        return next;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that retrieves
+ * the system time and appends a timestamp as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.timestamp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock source with microsecond precision.
+ * <p>
+ * The clock is anchored to the system clock, and advanced with {@link System#nanoTime()}. The anchor is refreshed
+ * every second, so that the clock follows adjustments of the system clock. The ticks of this clock source are
+ * strictly increasing within the JVM: if two ticks are requested within the same microsecond, the second tick is
+ * advanced by one microsecond. This makes every tick unique, and totally orders the events of a JVM.
+ * <p>
+ * The tick is the time in microseconds since the epoch.
+ */
+public class MicroClockSource
+        implements ClockSource {
+
+    /**
+     * The short name of this clock source
+     */
+    public static final String NAME = "micro";
+
+    /**
+     * The number of microseconds per millisecond
+     */
+    private static final long MICROS_PER_MILLI = 1000L;
+
+    /**
+     * The interval in which the clock is re-anchored to the system clock
+     */
+    private static final long ANCHOR_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The current anchor of the clock
+     */
+    private volatile Anchor anchor = new Anchor();
+
+    /**
+     * The last tick of the clock
+     */
+    private final AtomicLong lastTick = new AtomicLong();
+
+    /**
+     * This clock source does not hold any resources.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void start() {
+
+        // do nothing
+    }
+
+    /**
+     * This clock source does not hold any resources.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void stop() {
+
+        // do nothing
+    }
+
+    @Override
+    public final long tick() {
+
+        final long nanos = System.nanoTime();
+
+        Anchor current = anchor;
+        if (nanos - current.nanos > ANCHOR_INTERVAL_NANOS) {
+            // a concurrent re-anchoring is harmless, the last one wins
+            current = new Anchor();
+            anchor = current;
+        }
+        final long micros = current.epochMicros + TimeUnit.NANOSECONDS.toMicros(nanos - current.nanos);
+
+        // make the ticks strictly increasing, also if the anchor moved backwards
+        long previous;
+        long next;
+        do {
+            previous = lastTick.get();
+            next = micros > previous ? micros : previous + 1;
+        } while (!lastTick.compareAndSet(previous, next));
+
+        return next;
+    }
+
+    @Override
+    public final long getEpochMillis(final long tick) {
+
+        return tick / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public final long getEpochMicros(final long tick) {
+
+        return tick;
+    }
+
+    @Override
+    public final long getLogicalCounter(final long tick) {
+
+        return -1;
+    }
+
+    /**
+     * A reading of the system clock and the nano time at (approximately) the same instant.
+     */
+    private static final class Anchor {
+
+        /**
+         * The system time in microseconds since the epoch
+         */
+        private final long epochMicros;
+
+        /**
+         * The nano time
+         */
+        private final long nanos;
+
+        /**
+         * Create an anchor for the current instant.
+         */
+        private Anchor() {
+
+            this.epochMicros = System.currentTimeMillis() * MICROS_PER_MILLI;
+            this.nanos = System.nanoTime();
+        }
+    }
+}
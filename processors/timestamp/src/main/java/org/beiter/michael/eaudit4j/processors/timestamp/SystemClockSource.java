@@ -0,0 +1,95 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that retrieves
+ * the system time and appends a timestamp as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.timestamp;
+
+/**
+ * A clock source that reads the system clock for every tick, with millisecond precision.
+ * <p>
+ * The tick is the system time in milliseconds since the epoch.
+ */
+public class SystemClockSource
+        implements ClockSource {
+
+    /**
+     * The short name of this clock source
+     */
+    public static final String NAME = "system";
+
+    /**
+     * This clock source does not hold any resources.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void start() {
+
+        // do nothing
+    }
+
+    /**
+     * This clock source does not hold any resources.
+     * <p>
+     * The implementation of this method does nothing.
+     */
+    @Override
+    public void stop() {
+
+        // do nothing
+    }
+
+    @Override
+    public final long tick() {
+
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public final long getEpochMillis(final long tick) {
+
+        return tick;
+    }
+
+    @Override
+    public final long getEpochMicros(final long tick) {
+
+        return -1;
+    }
+
+    @Override
+    public final long getLogicalCounter(final long tick) {
+
+        return -1;
+    }
+}
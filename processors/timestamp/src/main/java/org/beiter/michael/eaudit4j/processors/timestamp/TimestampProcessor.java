@@ -35,7 +35,7 @@
 package org.beiter.michael.eaudit4j.processors.timestamp;
 
 import org.apache.commons.lang3.Validate;
-import org.beiter.michael.array.Cleanser;
+import org.apache.commons.lang3.time.FastDateFormat;
 import org.beiter.michael.eaudit4j.common.AuditErrorConditions;
 import org.beiter.michael.eaudit4j.common.AuditException;
 import org.beiter.michael.eaudit4j.common.CommonProperties;
@@ -50,14 +50,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.UnsupportedEncodingException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Locale;
 import java.util.TimeZone;
 
 /**
- * This processors obtains the current system time and adds it to an audit
+ * This processors obtains the current time from a configurable {@link ClockSource} and adds it to an audit
  * event as a ({@link String}) timestamp in a configurable format.
+ * <p>
+ * Depending on the clock source, the processor also adds the timestamp in microseconds since the epoch, and the
+ * logical counter of a hybrid logical clock.
  */
 public class TimestampProcessor
         implements Processor, Reversible {
@@ -77,8 +79,28 @@ public class TimestampProcessor
      */
     private TimestampProperties properties;
 
+    /**
+     * The formatter and encoding for the timestamps, created once during initialization
+     */
+    private volatile TimestampFormat timestampFormat;
+
+    /**
+     * The last timestamp created by the current thread.
+     * <p>
+     * At high event rates, many events are processed within the same millisecond. These events share the same
+     * timestamp, which is then formatted and encoded only once per thread.
+     */
+    private final ThreadLocal<CachedTimestamp> lastTimestamp = new ThreadLocal<>();
+
+    /**
+     * The clock source, created and started during initialization
+     */
+    private volatile ClockSource clockSource;
+
     /**
      * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException When the configured timestamp format or clock source is invalid
      */
     @Override
     public final void init(final CommonProperties pCommonProperties) {
@@ -87,6 +109,29 @@ public class TimestampProcessor
 
         this.commonProperties = new CommonProperties(pCommonProperties);
         this.properties = MapBasedTimestampPropsBuilder.build(pCommonProperties.getAdditionalProperties());
+
+        // parse the timezone string and create a timezone object
+        // (returns GMT if the configuration String is not understood)
+        final TimeZone timeZone = TimeZone.getTimeZone(properties.getTimezone());
+
+        // We use the platform's default locale here. This could be made configurable, but we wait until someone asks
+        // for it. Using an existing object here will help a lot with performance, and the alternative of using a
+        // constant (e.g. Locale.US) is not very appealing either.
+        // This is a pattern used throughout the library. Search for Locale.getDefault() to find all
+        // locations.
+        // FastDateFormat is thread safe, and can be shared by all threads that process events.
+        this.timestampFormat = new TimestampFormat(
+                FastDateFormat.getInstance(properties.getFormat(), timeZone, Locale.getDefault()),
+                commonProperties.getEncoding());
+
+        // replace the clock source of a previous initialization, as the configuration may have changed
+        final ClockSource newClockSource = createClockSource(properties.getClockSource());
+        newClockSource.start();
+        final ClockSource previousClockSource = clockSource;
+        clockSource = newClockSource;
+        if (previousClockSource != null) {
+            previousClockSource.stop();
+        }
     }
 
     /**
@@ -185,44 +230,51 @@ public class TimestampProcessor
             throw new AuditException(AuditErrorConditions.CONFIGURATION, error);
         }
 
-        // get a String timestamp representation of NOW()
-        final String timestamp = getTimestamp(new Date());
+        // get the encoded String timestamp representation of NOW()
+        final ClockSource clock = clockSource;
+        final long tick = clock.tick();
+        final byte[] bytes = getTimestampBytes(clock.getEpochMillis(tick));
 
         // add the timestamp to the event
-        byte[] bytes;
-        try {
-            bytes = timestamp.getBytes(commonProperties.getEncoding());
-        } catch (UnsupportedEncodingException e) {
-            final String error = "Encoding is not supported: " + commonProperties.getEncoding();
-            LOG.warn(error);
-            throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
-        }
-
+        // the field creates a copy of the bytes, which are cached and must not be wiped here (the timestamp is not
+        // confidential)
         final Field field = new EventField(properties.getEventFieldName(), bytes);
 
         event.setField(field);
 
-        // clear confidential data from local variables
-        Cleanser.wipe(bytes);
+        // clear data from local variables
         field.clear();
 
+        // add the sub-millisecond timestamp and the logical counter, if the clock source provides them
+        final long micros = clock.getEpochMicros(tick);
+        if (micros >= 0) {
+            setNumericField(event, properties.getMicrosFieldName(), micros);
+        }
+        final long logicalCounter = clock.getLogicalCounter(tick);
+        if (logicalCounter >= 0) {
+            setNumericField(event, properties.getLogicalCounterFieldName(), logicalCounter);
+        }
+
         return event;
     }
 
     /**
      * This processor does not store any confidential information.
      * <p>
-     * The implementation of this method does nothing.
+     * The implementation of this method stops the clock source.
      */
     @Override
     public void cleanUp() {
 
-        // do nothing
+        final ClockSource clock = clockSource;
+        if (clock != null) {
+            clock.stop();
+        }
     }
 
     /**
-     * This method removes the timestamp field from an event. If the event does not contain the field, then it is
-     * returned unchanged.
+     * This method removes the timestamp field (and the microsecond timestamp and logical counter fields, if present)
+     * from an event. If the event does not contain the field, then it is returned unchanged.
      *
      * @param event The event to revert changes on
      * @return An event with the timestamp field removed
@@ -234,6 +286,13 @@ public class TimestampProcessor
 
         Validate.notNull(event, "The validated object 'event' is null");
 
+        if (event.containsField(properties.getMicrosFieldName())) {
+            event.unsetField(properties.getMicrosFieldName());
+        }
+        if (event.containsField(properties.getLogicalCounterFieldName())) {
+            event.unsetField(properties.getLogicalCounterFieldName());
+        }
+
         if (event.containsField(properties.getEventFieldName())) {
 
             final boolean result = event.unsetField(properties.getEventFieldName());
@@ -252,28 +311,144 @@ public class TimestampProcessor
     }
 
     /**
-     * Compute a String representation of the provided timestamp.
+     * Compute the encoded String representation of the provided timestamp.
+     * <p>
+     * The encoded timestamp is cached per thread, and re-used for subsequent calls with the same timestamp. The
+     * returned array is shared with the cache, and must not be modified by the caller.
      *
-     * The method uses the the processor's properties to determine the format of the String.
+     * @param millis The timestamp to convert, in milliseconds since the epoch
+     * @return The String representation of the timestamp, encoded with the configured encoding
+     * @throws AuditException When the configured encoding is not supported
+     */
+    private byte[] getTimestampBytes(final long millis)
+            throws AuditException {
+
+        final TimestampFormat format = timestampFormat;
+
+        CachedTimestamp cached = lastTimestamp.get();
+        if (cached == null) {
+            cached = new CachedTimestamp();
+            lastTimestamp.set(cached);
+        } else if (cached.format == format && cached.millis == millis) {
+            return cached.bytes;
+        }
+
+        try {
+            cached.bytes = format.dateFormat.format(millis).getBytes(format.encoding);
+        } catch (UnsupportedEncodingException e) {
+            final String error = "Encoding is not supported: " + format.encoding;
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
+        }
+        cached.millis = millis;
+        cached.format = format;
+
+        return cached.bytes;
+    }
+
+    /**
+     * Add a field with the decimal String representation of a number to the event.
      *
-     * @param now The timestamp to convert
-     * @return The String representation of the timestamp
+     * @param event     The event to add the field to
+     * @param fieldName The name of the field
+     * @param value     The value of the field
+     * @throws AuditException When the configured encoding is not supported
      */
-    private String getTimestamp(final Date now) {
+    private void setNumericField(final Event event, final String fieldName, final long value)
+            throws AuditException {
 
-        // parse the timezone string and create a timezone object
-        // (returns GMT if the configuration String is not understood)
-        final TimeZone timeZone = TimeZone.getTimeZone(properties.getTimezone());
+        final String encoding = timestampFormat.encoding;
+        final byte[] bytes;
+        try {
+            bytes = String.valueOf(value).getBytes(encoding);
+        } catch (UnsupportedEncodingException e) {
+            final String error = "Encoding is not supported: " + encoding;
+            LOG.warn(error);
+            throw new AuditException(AuditErrorConditions.PROCESSING, error, e);
+        }
 
-        // Format the current time with the provided timezone, and turn it into a String.
-        // We use the platform's default locale here. This could be made configurable, but we wait until someone asks
-        // for it. Using an existing object here will help a lot with performance, and the alternative of using a
-        // constant (e.g. Locale.US) is not very appealing either.
-        // This is a pattern used throughout the library. Search for Locale.getDefault() to find all
-        // locations.
-        final SimpleDateFormat dateFormat = new SimpleDateFormat(properties.getFormat(), Locale.getDefault());
-        dateFormat.setTimeZone(timeZone);
+        final Field field = new EventField(fieldName, bytes);
+        event.setField(field);
+        field.clear();
+    }
+
+    /**
+     * Create a clock source from its short name, or from the fully qualified name of a class implementing
+     * {@link ClockSource}.
+     *
+     * @param name The name of the clock source
+     * @return A new (not yet started) clock source
+     * @throws IllegalArgumentException When the clock source cannot be created
+     */
+    private static ClockSource createClockSource(final String name) {
+
+        switch (name) {
+            case SystemClockSource.NAME:
+                return new SystemClockSource();
+            case CoarseClockSource.NAME:
+                return new CoarseClockSource();
+            case MicroClockSource.NAME:
+                return new MicroClockSource();
+            case HybridLogicalClockSource.NAME:
+                return new HybridLogicalClockSource();
+            default:
+                try {
+                    return Class.forName(name).asSubclass(ClockSource.class).getDeclaredConstructor().newInstance();
+                } catch (ClassNotFoundException | ClassCastException | InstantiationException | IllegalAccessException
+                        | InvocationTargetException | NoSuchMethodException e) {
+                    final String error = "Cannot create the clock source '" + name + "'";
+                    LOG.warn(error, e);
+                    throw new IllegalArgumentException(error, e);
+                }
+        }
+    }
+
+    /**
+     * The formatter and encoding for the timestamps of an initialized processor.
+     */
+    private static final class TimestampFormat {
+
+        /**
+         * The (thread safe) formatter for the timestamps
+         */
+        private final FastDateFormat dateFormat;
+
+        /**
+         * The encoding of the timestamps
+         */
+        private final String encoding;
+
+        /**
+         * Create a timestamp format.
+         *
+         * @param dateFormat The formatter for the timestamps
+         * @param encoding   The encoding of the timestamps
+         */
+        private TimestampFormat(final FastDateFormat dateFormat, final String encoding) {
+
+            this.dateFormat = dateFormat;
+            this.encoding = encoding;
+        }
+    }
 
-        return dateFormat.format(now);
+    /**
+     * The last timestamp created by a thread.
+     */
+    private static final class CachedTimestamp {
+
+        /**
+         * The format the timestamp has been created with
+         */
+        private TimestampFormat format;
+
+        /**
+         * The timestamp, in milliseconds since the epoch
+         */
+        private long millis;
+
+        /**
+         * The encoded String representation of the timestamp
+         */
+        private byte[] bytes;
     }
 }
@@ -61,6 +61,21 @@ public class TimestampProperties {
      */
     private String eventFieldName;
 
+    /**
+     * @see TimestampProperties#setClockSource(String)
+     */
+    private String clockSource;
+
+    /**
+     * @see TimestampProperties#setMicrosFieldName(String)
+     */
+    private String microsFieldName;
+
+    /**
+     * @see TimestampProperties#setLogicalCounterFieldName(String)
+     */
+    private String logicalCounterFieldName;
+
     /**
      * @see TimestampProperties#setAdditionalProperties(Map)
      */
@@ -98,6 +113,9 @@ public class TimestampProperties {
         setTimezone(properties.getTimezone());
         setFormat(properties.getFormat());
         setEventFieldName(properties.getEventFieldName());
+        setClockSource(properties.getClockSource());
+        setMicrosFieldName(properties.getMicrosFieldName());
+        setLogicalCounterFieldName(properties.getLogicalCounterFieldName());
         setAdditionalProperties(properties.getAdditionalProperties());
     }
 
@@ -201,6 +219,103 @@ public class TimestampProperties {
         this.eventFieldName = eventFieldName;
     }
 
+    /**
+     * @return The name of the clock source used to obtain the current time
+     * @see TimestampProperties#setClockSource(String)
+     */
+    public final String getClockSource() {
+
+        // no need for defensive copies of String
+
+        return clockSource;
+    }
+
+    /**
+     * Set the clock source used to obtain the current time.
+     * <p>
+     * This is either the short name of one of the bundled clock sources, or the fully qualified class name of a
+     * {@link ClockSource} implementation with a public no-argument constructor:
+     * <ul>
+     * <li>{@link SystemClockSource#NAME}: reads the system clock for every event (millisecond precision)</li>
+     * <li>{@link CoarseClockSource#NAME}: returns the system time cached by a background thread (millisecond
+     * precision, updated about every millisecond)</li>
+     * <li>{@link MicroClockSource#NAME}: microsecond precision, strictly increasing within the JVM</li>
+     * <li>{@link HybridLogicalClockSource#NAME}: a hybrid logical clock, which adds a logical counter to the
+     * millisecond timestamp</li>
+     * </ul>
+     *
+     * @param clockSource The name of the clock source
+     * @throws NullPointerException     When the {@code clockSource} is {@code null}
+     * @throws IllegalArgumentException When the {@code clockSource} is {@code empty}
+     */
+    public final void setClockSource(final String clockSource) {
+
+        Validate.notBlank(clockSource, "The validated character sequence 'clockSource' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.clockSource = clockSource;
+    }
+
+    /**
+     * @return The field name used to store the timestamp in microseconds since the epoch in events
+     * @see TimestampProperties#setMicrosFieldName(String)
+     */
+    public final String getMicrosFieldName() {
+
+        // no need for defensive copies of String
+
+        return microsFieldName;
+    }
+
+    /**
+     * Set the field name to be used when storing the timestamp in microseconds since the epoch in audit events.
+     * <p>
+     * The field is only added if the clock source provides sub-millisecond precision.
+     *
+     * @param microsFieldName The field name to store the microsecond timestamp in
+     * @throws NullPointerException     When the {@code microsFieldName} is {@code null}
+     * @throws IllegalArgumentException When the {@code microsFieldName} is {@code empty}
+     */
+    public final void setMicrosFieldName(final String microsFieldName) {
+
+        Validate.notBlank(microsFieldName, "The validated character sequence 'microsFieldName' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.microsFieldName = microsFieldName;
+    }
+
+    /**
+     * @return The field name used to store the logical counter of a hybrid logical clock in events
+     * @see TimestampProperties#setLogicalCounterFieldName(String)
+     */
+    public final String getLogicalCounterFieldName() {
+
+        // no need for defensive copies of String
+
+        return logicalCounterFieldName;
+    }
+
+    /**
+     * Set the field name to be used when storing the logical counter of a hybrid logical clock in audit events.
+     * <p>
+     * The field is only added if the clock source is a logical clock.
+     *
+     * @param logicalCounterFieldName The field name to store the logical counter in
+     * @throws NullPointerException     When the {@code logicalCounterFieldName} is {@code null}
+     * @throws IllegalArgumentException When the {@code logicalCounterFieldName} is {@code empty}
+     */
+    public final void setLogicalCounterFieldName(final String logicalCounterFieldName) {
+
+        Validate.notBlank(logicalCounterFieldName,
+                "The validated character sequence 'logicalCounterFieldName' is null or empty");
+
+        // no need for defensive copies of String
+
+        this.logicalCounterFieldName = logicalCounterFieldName;
+    }
+
     /**
      * @return Any additional properties stored in this object that have not explicitly been parsed
      * @see TimestampProperties#setAdditionalProperties(Map)
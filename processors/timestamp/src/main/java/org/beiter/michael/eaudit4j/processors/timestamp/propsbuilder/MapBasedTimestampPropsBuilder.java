@@ -36,6 +36,7 @@ package org.beiter.michael.eaudit4j.processors.timestamp.propsbuilder;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.beiter.michael.eaudit4j.processors.timestamp.SystemClockSource;
 import org.beiter.michael.eaudit4j.processors.timestamp.TimestampProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,6 +80,22 @@ public final class MapBasedTimestampPropsBuilder {
      */
     public static final String DEFAULT_EVENT_FIELD_NAME = "org.beiter.michael.eaudit4j.processors.timestamp";
 
+    /**
+     * @see TimestampProperties#setClockSource(String)
+     */
+    public static final String DEFAULT_CLOCK_SOURCE = SystemClockSource.NAME;
+
+    /**
+     * @see TimestampProperties#setMicrosFieldName(String)
+     */
+    public static final String DEFAULT_MICROS_FIELD_NAME = "org.beiter.michael.eaudit4j.processors.timestamp.micros";
+
+    /**
+     * @see TimestampProperties#setLogicalCounterFieldName(String)
+     */
+    public static final String DEFAULT_LOGICAL_COUNTER_FIELD_NAME =
+            "org.beiter.michael.eaudit4j.processors.timestamp.logical";
+
 
     // #####################
     // # Configuration Keys
@@ -99,6 +116,21 @@ public final class MapBasedTimestampPropsBuilder {
      */
     public static final String KEY_EVENT_FIELD_NAME = "audit.processor.timestamp.eventFieldName";
 
+    /**
+     * @see TimestampProperties#setClockSource(String)
+     */
+    public static final String KEY_CLOCK_SOURCE = "audit.processor.timestamp.clockSource";
+
+    /**
+     * @see TimestampProperties#setMicrosFieldName(String)
+     */
+    public static final String KEY_MICROS_FIELD_NAME = "audit.processor.timestamp.microsFieldName";
+
+    /**
+     * @see TimestampProperties#setLogicalCounterFieldName(String)
+     */
+    public static final String KEY_LOGICAL_COUNTER_FIELD_NAME = "audit.processor.timestamp.logicalCounterFieldName";
+
 
     /**
      * A private constructor to prevent instantiation of this class
@@ -162,6 +194,33 @@ public final class MapBasedTimestampPropsBuilder {
             logDefault(KEY_EVENT_FIELD_NAME, DEFAULT_EVENT_FIELD_NAME);
         }
 
+        tmp = properties.get(KEY_CLOCK_SOURCE);
+        if (StringUtils.isNotEmpty(tmp)) {
+            timestampProperties.setClockSource(tmp);
+            logValue(KEY_CLOCK_SOURCE, tmp);
+        } else {
+            timestampProperties.setClockSource(DEFAULT_CLOCK_SOURCE);
+            logDefault(KEY_CLOCK_SOURCE, DEFAULT_CLOCK_SOURCE);
+        }
+
+        tmp = properties.get(KEY_MICROS_FIELD_NAME);
+        if (StringUtils.isNotEmpty(tmp)) {
+            timestampProperties.setMicrosFieldName(tmp);
+            logValue(KEY_MICROS_FIELD_NAME, tmp);
+        } else {
+            timestampProperties.setMicrosFieldName(DEFAULT_MICROS_FIELD_NAME);
+            logDefault(KEY_MICROS_FIELD_NAME, DEFAULT_MICROS_FIELD_NAME);
+        }
+
+        tmp = properties.get(KEY_LOGICAL_COUNTER_FIELD_NAME);
+        if (StringUtils.isNotEmpty(tmp)) {
+            timestampProperties.setLogicalCounterFieldName(tmp);
+            logValue(KEY_LOGICAL_COUNTER_FIELD_NAME, tmp);
+        } else {
+            timestampProperties.setLogicalCounterFieldName(DEFAULT_LOGICAL_COUNTER_FIELD_NAME);
+            logDefault(KEY_LOGICAL_COUNTER_FIELD_NAME, DEFAULT_LOGICAL_COUNTER_FIELD_NAME);
+        }
+
         // set the additional properties, preserving the originally provided properties
         // create a defensive copy of the map and all its properties
         // the code looks a little more complicated than a simple "putAll()", but it catches situations
@@ -0,0 +1,90 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that retrieves
+ * the system time and appends a timestamp as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.timestamp;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class CoarseClockSourceTest {
+
+    /**
+     * Test that the cached time is updated by the background thread while the clock source is running
+     *
+     * @throws InterruptedException When the test is interrupted
+     */
+    @Test
+    public void cachedTimeIsUpdatedTest()
+            throws InterruptedException {
+
+        ClockSource clock = new CoarseClockSource();
+        clock.start();
+
+        try {
+            long first = clock.tick();
+            Thread.sleep(50);
+            long second = clock.tick();
+
+            String error = "The cached time has not been updated";
+            assertThat(error, second, is(greaterThan(first)));
+            error = "The cached time is not close to the system time";
+            assertThat(error, clock.getEpochMillis(second), is(greaterThan(System.currentTimeMillis() - 1000)));
+        } finally {
+            clock.stop();
+        }
+    }
+
+    /**
+     * Test that a stopped clock source falls back to the system clock
+     *
+     * @throws InterruptedException When the test is interrupted
+     */
+    @Test
+    public void stoppedClockSourceReadsSystemClockTest()
+            throws InterruptedException {
+
+        ClockSource clock = new CoarseClockSource();
+        clock.start();
+        clock.stop();
+
+        long before = System.currentTimeMillis();
+        Thread.sleep(5);
+        long tick = clock.tick();
+
+        String error = "A stopped clock source does not read the system clock";
+        assertThat(error, tick, is(greaterThan(before)));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * This file is part of eAudit4j, a library for creating pluggable
+ * auditing solutions, providing an audit processor that retrieves
+ * the system time and appends a timestamp as a field to audit events.
+ * %%
+ * Copyright (C) 2015 - 2016 Michael Beiter <michael@beiter.org>
+ * %%
+ * All rights reserved.
+ * .
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the copyright holder nor the names of the
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ * .
+ * .
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package org.beiter.michael.eaudit4j.processors.timestamp;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class HybridLogicalClockSourceTest {
+
+    /**
+     * Test that the ticks are strictly increasing, and that the logical counter orders ticks within a millisecond
+     */
+    @Test
+    public void ticksAreStrictlyIncreasingTest() {
+
+        ClockSource clock = new HybridLogicalClockSource();
+
+        long previous = clock.tick();
+        for (int i = 0; i < 10000; i++) {
+            long tick = clock.tick();
+
+            String error = "The ticks are not strictly increasing";
+            assertThat(error, tick, is(greaterThan(previous)));
+            if (clock.getEpochMillis(tick) == clock.getEpochMillis(previous)) {
+                error = "The logical counter does not increase within the same millisecond";
+                assertThat(error, clock.getLogicalCounter(tick), is(greaterThan(clock.getLogicalCounter(previous))));
+            }
+            previous = tick;
+        }
+    }
+
+    /**
+     * Test that the physical time of a tick is close to the system time
+     */
+    @Test
+    public void physicalTimeTest() {
+
+        ClockSource clock = new HybridLogicalClockSource();
+
+        long before = System.currentTimeMillis();
+        long tick = clock.tick();
+
+        String error = "The physical time of the tick is not close to the system time";
+        assertThat(error, clock.getEpochMillis(tick), is(greaterThanOrEqualTo(before)));
+        error = "The clock source provides microseconds, although it is not a microsecond clock";
+        assertThat(error, clock.getEpochMicros(tick), is(equalTo(-1L)));
+    }
+
+    /**
+     * Test that the clock advances beyond an observed remote tick that is ahead of the local clock
+     */
+    @Test
+    public void observeRemoteTickTest() {
+
+        HybridLogicalClockSource clock = new HybridLogicalClockSource();
+
+        // a remote tick one minute in the future, with a logical counter of 5
+        long remoteTick = ((System.currentTimeMillis() + 60000L) << 16) | 5L;
+
+        long observed = clock.observe(remoteTick);
+        long tick = clock.tick();
+
+        String error = "The clock did not advance beyond the observed tick";
+        assertThat(error, observed, is(greaterThan(remoteTick)));
+        assertThat(error, tick, is(greaterThan(observed)));
+        error = "The physical time of the remote tick is not preserved";
+        assertThat(error, clock.getEpochMillis(tick), is(equalTo(clock.getEpochMillis(remoteTick))));
+        error = "The logical counter does not continue from the remote tick";
+        assertThat(error, clock.getLogicalCounter(tick), is(equalTo(7L)));
+    }
+}
@@ -41,8 +41,8 @@ import org.beiter.michael.eaudit4j.processors.timestamp.propsbuilder.MapBasedTim
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -71,7 +71,7 @@ public class TimestampProcessorTest {
         try {
             field_commonProperties = TimestampProcessor.class.getDeclaredField("commonProperties");
             field_properties = TimestampProcessor.class.getDeclaredField("properties");
-            method_getTimestamp = TimestampProcessor.class.getDeclaredMethod("getTimestamp", Date.class);
+            method_getTimestamp = TimestampProcessor.class.getDeclaredMethod("getTimestampBytes", long.class);
         } catch (NoSuchFieldException | NoSuchMethodException e) {
             AssertionError ae = new AssertionError("An expected private field or method does not exist");
             ae.initCause(e);
@@ -407,23 +407,23 @@ public class TimestampProcessorTest {
     /**
      * Test that the method computing the timestamp creates the timestamp properly.
      * <p>
-     * This test uses a static input timestamp (ie. a static return of Date() at a specific point in time), and then
+     * This test uses a static input timestamp (ie. a specific point in time in milliseconds since the epoch), and then
      * ensures that the String representation of that timestamp is returned in the correct format and timezone.
      */
     @Test
     public void getTimestampTest()
-            throws InvocationTargetException, IllegalAccessException {
+            throws InvocationTargetException, IllegalAccessException, UnsupportedEncodingException {
 
-        Date date = new Date(303866400000l);
+        long millis = 303866400000l;
 
-        getTimestamp(date, "UTC", "1979-08-18T23:20:00.000+0000");
-        getTimestamp(date, "America/Denver", "1979-08-18T17:20:00.000-0600");
-        getTimestamp(date, "Europe/Berlin", "1979-08-19T00:20:00.000+0100");
+        getTimestamp(millis, "UTC", "1979-08-18T23:20:00.000+0000");
+        getTimestamp(millis, "America/Denver", "1979-08-18T17:20:00.000-0600");
+        getTimestamp(millis, "Europe/Berlin", "1979-08-19T00:20:00.000+0100");
     }
 
     // The actual test implementation of getTimestampTest()
-    private void getTimestamp(Date date, String timezone, String expected)
-            throws IllegalAccessException, InvocationTargetException {
+    private void getTimestamp(long millis, String timezone, String expected)
+            throws IllegalAccessException, InvocationTargetException, UnsupportedEncodingException {
 
         Map<String, String> props = new HashMap<>();
         props.put(MapBasedTimestampPropsBuilder.KEY_TIMEZONE, timezone);
@@ -433,7 +433,7 @@ public class TimestampProcessorTest {
         Processor processor = new TimestampProcessor();
         processor.init(commonProps);
 
-        String actualTimestamp = (String) method_getTimestamp.invoke(processor, date);
+        String actualTimestamp = new String((byte[]) method_getTimestamp.invoke(processor, millis), "UTF-8");
 
         String error = "The timestamp is null or empty";
         assertThat(error, actualTimestamp, is(not(nullValue())));
@@ -443,6 +443,159 @@ public class TimestampProcessorTest {
         assertThat(error, actualTimestamp, is(equalTo(expected)));
     }
 
+    /**
+     * Test that the encoded timestamp is cached per millisecond, and re-computed for a new millisecond or after the
+     * processor has been re-initialized with a different format.
+     */
+    @Test
+    public void getTimestampBytesCachedTest()
+            throws InvocationTargetException, IllegalAccessException, NoSuchMethodException,
+            UnsupportedEncodingException {
+
+        java.lang.reflect.Method method_getTimestampBytes =
+                TimestampProcessor.class.getDeclaredMethod("getTimestampBytes", long.class);
+        method_getTimestampBytes.setAccessible(true);
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedTimestampPropsBuilder.KEY_TIMEZONE, "UTC");
+        props.put(MapBasedTimestampPropsBuilder.KEY_FORMAT, TIMESTAMP_FORMAT);
+
+        CommonProperties commonProps = MapBasedCommonPropsBuilder.build(props);
+        Processor processor = new TimestampProcessor();
+        processor.init(commonProps);
+
+        byte[] bytes1 = (byte[]) method_getTimestampBytes.invoke(processor, 303866400000l);
+        byte[] bytes2 = (byte[]) method_getTimestampBytes.invoke(processor, 303866400000l);
+
+        String error = "The encoded timestamp does not match the expected value";
+        assertThat(error, new String(bytes1, encoding), is(equalTo("1979-08-18T23:20:00.000+0000")));
+        error = "The encoded timestamp is not re-used within the same millisecond";
+        assertThat(error, bytes2, is(sameInstance(bytes1)));
+
+        byte[] bytes3 = (byte[]) method_getTimestampBytes.invoke(processor, 303866400001l);
+        error = "The encoded timestamp does not match the expected value";
+        assertThat(error, new String(bytes3, encoding), is(equalTo("1979-08-18T23:20:00.001+0000")));
+
+        props.put(MapBasedTimestampPropsBuilder.KEY_FORMAT, "yyyy-MM-dd");
+        processor.init(MapBasedCommonPropsBuilder.build(props));
+
+        byte[] bytes4 = (byte[]) method_getTimestampBytes.invoke(processor, 303866400001l);
+        error = "The encoded timestamp is not re-computed after re-initialization";
+        assertThat(error, new String(bytes4, encoding), is(equalTo("1979-08-18")));
+    }
+
+    /**
+     * Test that an invalid timestamp format is rejected during initialization
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void initWithInvalidFormatTest() {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedTimestampPropsBuilder.KEY_FORMAT, "yyyy-MM-dd'T'HH:mm:ss.SSSZ ii");
+
+        Processor processor = new TimestampProcessor();
+        processor.init(MapBasedCommonPropsBuilder.build(props));
+    }
+
+    /**
+     * Test that a processor with a hybrid logical clock adds the logical counter to the event, and that the revert()
+     * method removes it again
+     */
+    @Test
+    public void hybridLogicalClockTest()
+            throws AuditException {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedTimestampPropsBuilder.KEY_CLOCK_SOURCE, HybridLogicalClockSource.NAME);
+
+        Processor processor = new TimestampProcessor();
+        processor.init(MapBasedCommonPropsBuilder.build(props));
+
+        Event event = new AuditEvent();
+        processor.process(event);
+
+        String error = "The event does not contain the logical counter";
+        assertThat(error, event.containsField(MapBasedTimestampPropsBuilder.DEFAULT_LOGICAL_COUNTER_FIELD_NAME),
+                is(true));
+        String counter = String.valueOf(event.getField(
+                MapBasedTimestampPropsBuilder.DEFAULT_LOGICAL_COUNTER_FIELD_NAME).getCharValue(encoding));
+        error = "The logical counter is not numeric";
+        assertThat(error, counter.matches("[0-9]+"), is(true));
+        error = "The event contains a microsecond timestamp, although the clock does not provide it";
+        assertThat(error, event.containsField(MapBasedTimestampPropsBuilder.DEFAULT_MICROS_FIELD_NAME), is(false));
+
+        ((Reversible) processor).revert(event);
+        error = "The logical counter has not been removed from the event";
+        assertThat(error, event.containsField(MapBasedTimestampPropsBuilder.DEFAULT_LOGICAL_COUNTER_FIELD_NAME),
+                is(false));
+
+        processor.cleanUp();
+    }
+
+    /**
+     * Test that a processor with a microsecond clock adds the microsecond timestamp to the event
+     */
+    @Test
+    public void microClockTest()
+            throws AuditException {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedTimestampPropsBuilder.KEY_CLOCK_SOURCE, MicroClockSource.NAME);
+
+        Processor processor = new TimestampProcessor();
+        processor.init(MapBasedCommonPropsBuilder.build(props));
+
+        Event event = new AuditEvent();
+        long before = System.currentTimeMillis();
+        processor.process(event);
+
+        String error = "The event does not contain the microsecond timestamp";
+        assertThat(error, event.containsField(MapBasedTimestampPropsBuilder.DEFAULT_MICROS_FIELD_NAME), is(true));
+        long micros = Long.parseLong(String.valueOf(event.getField(
+                MapBasedTimestampPropsBuilder.DEFAULT_MICROS_FIELD_NAME).getCharValue(encoding)));
+        error = "The microsecond timestamp is not close to the system time";
+        assertThat(error, micros / 1000, is(greaterThanOrEqualTo(before - 1)));
+        error = "The event does not contain the timestamp";
+        assertThat(error, event.containsField(MapBasedTimestampPropsBuilder.DEFAULT_EVENT_FIELD_NAME), is(true));
+
+        processor.cleanUp();
+    }
+
+    /**
+     * Test that a custom clock source can be configured by its class name
+     */
+    @Test
+    public void customClockSourceTest()
+            throws AuditException {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedTimestampPropsBuilder.KEY_CLOCK_SOURCE, CoarseClockSource.class.getCanonicalName());
+
+        Processor processor = new TimestampProcessor();
+        processor.init(MapBasedCommonPropsBuilder.build(props));
+
+        Event event = new AuditEvent();
+        processor.process(event);
+
+        String error = "The event does not contain the timestamp";
+        assertThat(error, event.containsField(MapBasedTimestampPropsBuilder.DEFAULT_EVENT_FIELD_NAME), is(true));
+
+        processor.cleanUp();
+    }
+
+    /**
+     * Test that an unknown clock source is rejected during initialization
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void initWithInvalidClockSourceTest() {
+
+        Map<String, String> props = new HashMap<>();
+        props.put(MapBasedTimestampPropsBuilder.KEY_CLOCK_SOURCE, "some.invalid.ClockSource");
+
+        Processor processor = new TimestampProcessor();
+        processor.init(MapBasedCommonPropsBuilder.build(props));
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Revert & clean up tests
     ///////////////////////////////////////////////////////////////////////////
@@ -198,4 +198,127 @@ public class MapPropsTimestampPropsBuilderTest {
         error = "copy constructor does not copy field";
         assertThat(error, properties2.getEventFieldName(), is(equalTo("42")));
     }
+
+    /**
+     * default clock source test
+     */
+    @Test
+    public void defaultClockSourceTest() {
+
+        TimestampProperties properties = MapBasedTimestampPropsBuilder.buildDefault();
+
+        String error = "clock source does not match expected default value";
+        assertThat(error, properties.getClockSource(),
+                is(equalTo(MapBasedTimestampPropsBuilder.DEFAULT_CLOCK_SOURCE)));
+        error = "clock source does not match expected value";
+        properties.setClockSource("42");
+        assertThat(error, properties.getClockSource(), is(equalTo("42")));
+    }
+
+    /**
+     * clock source test
+     */
+    @Test
+    public void clockSourceTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedTimestampPropsBuilder.KEY_CLOCK_SOURCE, null);
+        TimestampProperties properties = MapBasedTimestampPropsBuilder.build(map);
+        String error = "clock source does not match expected default value";
+        assertThat(error, properties.getClockSource(),
+                is(equalTo(MapBasedTimestampPropsBuilder.DEFAULT_CLOCK_SOURCE)));
+
+        map.put(MapBasedTimestampPropsBuilder.KEY_CLOCK_SOURCE, "42");
+        properties = MapBasedTimestampPropsBuilder.build(map);
+        error = "clock source does not match expected value";
+        assertThat(error, properties.getClockSource(), is(equalTo("42")));
+
+        // copy constructor test
+        TimestampProperties properties2 = new TimestampProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getClockSource(), is(equalTo("42")));
+    }
+
+    /**
+     * default micros field name test
+     */
+    @Test
+    public void defaultMicrosFieldNameTest() {
+
+        TimestampProperties properties = MapBasedTimestampPropsBuilder.buildDefault();
+
+        String error = "micros field name does not match expected default value";
+        assertThat(error, properties.getMicrosFieldName(),
+                is(equalTo(MapBasedTimestampPropsBuilder.DEFAULT_MICROS_FIELD_NAME)));
+        error = "micros field name does not match expected value";
+        properties.setMicrosFieldName("42");
+        assertThat(error, properties.getMicrosFieldName(), is(equalTo("42")));
+    }
+
+    /**
+     * micros field name test
+     */
+    @Test
+    public void microsFieldNameTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedTimestampPropsBuilder.KEY_MICROS_FIELD_NAME, null);
+        TimestampProperties properties = MapBasedTimestampPropsBuilder.build(map);
+        String error = "micros field name does not match expected default value";
+        assertThat(error, properties.getMicrosFieldName(),
+                is(equalTo(MapBasedTimestampPropsBuilder.DEFAULT_MICROS_FIELD_NAME)));
+
+        map.put(MapBasedTimestampPropsBuilder.KEY_MICROS_FIELD_NAME, "42");
+        properties = MapBasedTimestampPropsBuilder.build(map);
+        error = "micros field name does not match expected value";
+        assertThat(error, properties.getMicrosFieldName(), is(equalTo("42")));
+
+        // copy constructor test
+        TimestampProperties properties2 = new TimestampProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getMicrosFieldName(), is(equalTo("42")));
+    }
+
+    /**
+     * default logical counter field name test
+     */
+    @Test
+    public void defaultLogicalCounterFieldNameTest() {
+
+        TimestampProperties properties = MapBasedTimestampPropsBuilder.buildDefault();
+
+        String error = "logical counter field name does not match expected default value";
+        assertThat(error, properties.getLogicalCounterFieldName(),
+                is(equalTo(MapBasedTimestampPropsBuilder.DEFAULT_LOGICAL_COUNTER_FIELD_NAME)));
+        error = "logical counter field name does not match expected value";
+        properties.setLogicalCounterFieldName("42");
+        assertThat(error, properties.getLogicalCounterFieldName(), is(equalTo("42")));
+    }
+
+    /**
+     * logical counter field name test
+     */
+    @Test
+    public void logicalCounterFieldNameTest() {
+
+        Map<String, String> map = new HashMap<>();
+
+        map.put(MapBasedTimestampPropsBuilder.KEY_LOGICAL_COUNTER_FIELD_NAME, null);
+        TimestampProperties properties = MapBasedTimestampPropsBuilder.build(map);
+        String error = "logical counter field name does not match expected default value";
+        assertThat(error, properties.getLogicalCounterFieldName(),
+                is(equalTo(MapBasedTimestampPropsBuilder.DEFAULT_LOGICAL_COUNTER_FIELD_NAME)));
+
+        map.put(MapBasedTimestampPropsBuilder.KEY_LOGICAL_COUNTER_FIELD_NAME, "42");
+        properties = MapBasedTimestampPropsBuilder.build(map);
+        error = "logical counter field name does not match expected value";
+        assertThat(error, properties.getLogicalCounterFieldName(), is(equalTo("42")));
+
+        // copy constructor test
+        TimestampProperties properties2 = new TimestampProperties(properties);
+        error = "copy constructor does not copy field";
+        assertThat(error, properties2.getLogicalCounterFieldName(), is(equalTo("42")));
+    }
 }